@@ -0,0 +1,194 @@
+package benchmark;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import csv.TokenizadorCsv;
+import model.ContenidoAudiovisual;
+import service.ContenidoRepository;
+import service.ContenidoService;
+import service.FileHandlerService;
+
+/**
+ * Casos que cubren los caminos críticos: tokenización, lectura y escritura de CSV,
+ * consultas del repositorio y altas en lote a través del servicio
+ */
+final class BenchmarksContenido {
+    // Consultas que se alternan para no medir siempre la misma lista de resultados
+    private static final String[] TITULOS = {"amor", "noche 1", "sombra fuego", "ciudad", "memoria", "mar 99"};
+    // Primeras pulsaciones de la búsqueda incremental
+    private static final String[] TITULOS_CORTOS = {"a", "no", "m", "so", "9", "ci"};
+    private static final String[] GENEROS = {"drama", "ficción", "acción", "ciencia", "terror", "historia"};
+
+    @FunctionalInterface
+    private interface Preparador {
+        Caso.Operacion preparar(int tamano, Path directorio) throws Exception;
+    }
+
+    private BenchmarksContenido() {
+    }
+
+    static List<Caso> todos() {
+        return List.of(
+            // Las filas sin comillas no deben ser más lentas con el tokenizador que con split
+            caso("tokenizador.sinComillas", Caso.Modo.THROUGHPUT, "filas/s", (tamano, directorio) ->
+                    tokenizar(filas(tamano, false))),
+            caso("tokenizador.conComillas", Caso.Modo.THROUGHPUT, "filas/s", (tamano, directorio) ->
+                    tokenizar(filas(tamano, true))),
+            caso("tokenizador.split", Caso.Modo.THROUGHPUT, "filas/s", (tamano, directorio) -> {
+                List<String> filas = filas(tamano, false);
+                return () -> {
+                    long caracteres = 0;
+                    for (String fila : filas) {
+                        for (String campo : fila.split(",")) {
+                            caracteres += campo.length();
+                        }
+                    }
+                    return filas.size() + (caracteres & 1);
+                };
+            }),
+            caso("archivo.leer", Caso.Modo.THROUGHPUT, "filas/s", (tamano, directorio) ->
+                    leer(tamano, directorio, new FileHandlerService(false))),
+            caso("archivo.leerParalelo", Caso.Modo.THROUGHPUT, "filas/s", (tamano, directorio) ->
+                    leer(tamano, directorio, new FileHandlerService(true))),
+            caso("archivo.escribir", Caso.Modo.THROUGHPUT, "filas/s", (tamano, directorio) -> {
+                FileHandlerService handler = new FileHandlerService();
+                List<ContenidoAudiovisual> catalogo = Catalogos.generar(tamano);
+                String ruta = directorio.resolve("escritura.csv").toString();
+                return () -> {
+                    handler.escribirArchivo(ruta, catalogo);
+                    return catalogo.size();
+                };
+            }),
+            caso("repositorio.buscarPorTitulo", Caso.Modo.LATENCIA, "ns/op", (tamano, directorio) -> {
+                ContenidoRepository repository = repositorio(tamano);
+                int[] siguiente = {0};
+                return () -> repository.buscarPorTitulo(TITULOS[siguiente[0]++ % TITULOS.length]).size();
+            }),
+            caso("repositorio.buscarPorTituloCorto", Caso.Modo.LATENCIA, "ns/op", (tamano, directorio) -> {
+                ContenidoRepository repository = repositorio(tamano);
+                int[] siguiente = {0};
+                return () -> repository.buscarPorTitulo(TITULOS_CORTOS[siguiente[0]++ % TITULOS_CORTOS.length]).size();
+            }),
+            caso("repositorio.buscarPorGenero", Caso.Modo.LATENCIA, "ns/op", (tamano, directorio) -> {
+                ContenidoRepository repository = repositorio(tamano);
+                int[] siguiente = {0};
+                return () -> repository.buscarPorGenero(GENEROS[siguiente[0]++ % GENEROS.length]).size();
+            }),
+            caso("repositorio.buscarPorDuracion", Caso.Modo.LATENCIA, "ns/op", (tamano, directorio) -> {
+                ContenidoRepository repository = repositorio(tamano);
+                int[] siguiente = {0};
+                return () -> {
+                    int minima = 1 + siguiente[0]++ % 150;
+                    return repository.buscarPorDuracion(minima, minima + 5).size();
+                };
+            }),
+            caso("repositorio.ordenarPorTitulo", Caso.Modo.LATENCIA, "ns/op", (tamano, directorio) -> {
+                ContenidoRepository repository = repositorio(tamano);
+                return () -> repository.ordenarPorTitulo().size();
+            }),
+            caso("servicio.buscarPorTituloPaginado", Caso.Modo.LATENCIA, "ns/op", (tamano, directorio) -> {
+                ContenidoService service = new ContenidoService(repositorio(tamano),
+                        directorio.resolve("servicio.csv").toString());
+                int[] siguiente = {0};
+                return () -> service.buscarPorTituloPaginado(TITULOS[siguiente[0]++ % TITULOS.length], null, 20)
+                        .getElementos().size();
+            }),
+            caso("servicio.agregarContenido", Caso.Modo.THROUGHPUT, "altas/s", (tamano, directorio) -> {
+                List<ContenidoAudiovisual> catalogo = Catalogos.generar(tamano);
+                String ruta = directorio.resolve("servicio.csv").toString();
+                return () -> {
+                    // Servicio vacío en cada operación: mide el costo de llenar el catálogo completo
+                    ContenidoService service = new ContenidoService(
+                            new ContenidoRepository(new FileHandlerService()), ruta);
+                    for (ContenidoAudiovisual contenido : catalogo) {
+                        service.agregarContenido(contenido);
+                    }
+                    return catalogo.size();
+                };
+            }),
+            caso("servicio.agregarTodos", Caso.Modo.THROUGHPUT, "altas/s", (tamano, directorio) -> {
+                List<ContenidoAudiovisual> catalogo = Catalogos.generar(tamano);
+                String ruta = directorio.resolve("servicio.csv").toString();
+                return () -> {
+                    ContenidoService service = new ContenidoService(
+                            new ContenidoRepository(new FileHandlerService()), ruta);
+                    service.agregarTodos(catalogo);
+                    return catalogo.size();
+                };
+            })
+        );
+    }
+
+    /**
+     * Recorre todos los campos de cada fila como texto, el mismo trabajo que split
+     */
+    private static Caso.Operacion tokenizar(List<String> filas) {
+        TokenizadorCsv campos = new TokenizadorCsv();
+        return () -> {
+            long caracteres = 0;
+            for (String fila : filas) {
+                int cantidad = campos.reiniciar(fila).contarCampos();
+                for (int i = 0; i < cantidad; i++) {
+                    caracteres += campos.siguienteTexto().length();
+                }
+            }
+            return filas.size() + (caracteres & 1);
+        };
+    }
+
+    /**
+     * Filas CSV del catálogo; con comillas, el título lleva una coma y comillas internas
+     */
+    private static List<String> filas(int tamano, boolean conComillas) {
+        List<ContenidoAudiovisual> catalogo = Catalogos.generar(tamano);
+        List<String> filas = new ArrayList<>(catalogo.size());
+        for (ContenidoAudiovisual contenido : catalogo) {
+            String fila = contenido.toCSV();
+            if (conComillas) {
+                int inicioTitulo = fila.indexOf(',', fila.indexOf(',') + 1) + 1;
+                int finTitulo = inicioTitulo + TokenizadorCsv.escapar(contenido.getTitulo()).length();
+                fila = fila.substring(0, inicioTitulo)
+                        + TokenizadorCsv.escapar(contenido.getTitulo() + ", \"edición\"")
+                        + fila.substring(finTitulo);
+            }
+            filas.add(fila);
+        }
+        return filas;
+    }
+
+    private static Caso.Operacion leer(int tamano, Path directorio, FileHandlerService handler) {
+        String ruta = directorio.resolve("lectura.csv").toString();
+        Catalogos.escribir(ruta, tamano);
+        return () -> handler.leerArchivo(ruta, contenido -> { });
+    }
+
+    private static ContenidoRepository repositorio(int tamano) {
+        ContenidoRepository repository = new ContenidoRepository(new FileHandlerService());
+        for (ContenidoAudiovisual contenido : Catalogos.generar(tamano)) {
+            repository.guardar(contenido);
+        }
+        // El primer recorrido ordenado construye el índice; se excluye de la medición
+        repository.ordenarPorTitulo();
+        return repository;
+    }
+
+    private static Caso caso(String nombre, Caso.Modo modo, String unidad, Preparador preparador) {
+        return new Caso() {
+            @Override
+            public String getNombre() { return nombre; }
+
+            @Override
+            public Caso.Modo getModo() { return modo; }
+
+            @Override
+            public String getUnidad() { return unidad; }
+
+            @Override
+            public Caso.Operacion preparar(int tamano, Path directorio) throws Exception {
+                return preparador.preparar(tamano, directorio);
+            }
+        };
+    }
+}
@@ -0,0 +1,43 @@
+package benchmark;
+
+import java.nio.file.Path;
+
+/**
+ * Un caso de benchmark: prepara su estado para un tamaño de catálogo y devuelve la
+ * operación que el ejecutor repite durante cada iteración
+ */
+interface Caso {
+    enum Modo {
+        // Unidades procesadas por segundo (filas/s, altas/s)
+        THROUGHPUT("thrpt"),
+        // Tiempo promedio por operación, en nanosegundos
+        LATENCIA("avgt");
+
+        private final String abreviatura;
+
+        Modo(String abreviatura) {
+            this.abreviatura = abreviatura;
+        }
+
+        String getAbreviatura() { return abreviatura; }
+    }
+
+    /**
+     * En THROUGHPUT el valor devuelto es la cantidad de unidades procesadas; en LATENCIA
+     * solo se consume para que el JIT no pueda descartar el trabajo
+     */
+    @FunctionalInterface
+    interface Operacion {
+        long ejecutar() throws Exception;
+    }
+
+    String getNombre();
+    Modo getModo();
+    // Unidad del resultado en THROUGHPUT, por ejemplo "filas/s"; en LATENCIA es ns/op
+    String getUnidad();
+
+    /**
+     * @param directorio directorio temporal propio del caso; se borra al terminar
+     */
+    Operacion preparar(int tamano, Path directorio) throws Exception;
+}
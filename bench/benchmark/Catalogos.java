@@ -0,0 +1,43 @@
+package benchmark;
+
+import java.util.List;
+
+import model.ContenidoAudiovisual;
+import service.GeneradorCatalogo;
+
+/**
+ * Catálogos sintéticos deterministas para los benchmarks
+ * La misma semilla y tamaño producen siempre los mismos contenidos, así los resultados
+ * de distintas versiones son comparables. Los títulos llevan el ID para que el servicio
+ * acepte todas las altas. Se recuerda el último catálogo generado porque varios casos
+ * seguidos usan el mismo tamaño.
+ */
+final class Catalogos {
+    static final long SEMILLA = 42;
+
+    private static int tamanoGenerado = -1;
+    private static List<ContenidoAudiovisual> generado;
+
+    private Catalogos() {
+    }
+
+    static GeneradorCatalogo generador() {
+        return new GeneradorCatalogo(SEMILLA).setTitulosUnicos(true);
+    }
+
+    static synchronized List<ContenidoAudiovisual> generar(int tamano) {
+        if (tamano != tamanoGenerado) {
+            generado = null; // Liberar el anterior antes de armar el nuevo
+            generado = generador().generar(tamano);
+            tamanoGenerado = tamano;
+        }
+        return generado;
+    }
+
+    /**
+     * Escribe el mismo catálogo que generar() sin crear los objetos
+     */
+    static void escribir(String ruta, int tamano) {
+        generador().escribirArchivo(ruta, tamano);
+    }
+}
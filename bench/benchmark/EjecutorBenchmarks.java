@@ -0,0 +1,209 @@
+package benchmark;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Ejecuta los benchmarks y muestra o exporta los resultados
+ * Sigue el esquema de JMH: iteraciones de calentamiento que se descartan y luego
+ * iteraciones de medición de duración fija, cada una repitiendo la operación hasta
+ * agotar su tiempo. El JSON exportado usa el mismo formato que JMH (-rf json), así
+ * pueden compararse corridas de distintas versiones con las herramientas habituales.
+ *
+ * Uso: java -cp bin:bench-bin benchmark.EjecutorBenchmarks [opciones]
+ *   --tamanos 10000,1000000   tamaños de catálogo (10000000 requiere -Xmx8g o más)
+ *   --filtro regex            solo los casos cuyo nombre coincide
+ *   --calentamiento 3         iteraciones descartadas
+ *   --mediciones 5            iteraciones medidas
+ *   --tiempo 1000             milisegundos por iteración
+ *   --json ruta               exporta los resultados
+ */
+public final class EjecutorBenchmarks {
+    // Acumula los resultados de las operaciones para que el JIT no elimine el trabajo
+    private static volatile long sumidero;
+
+    private final int calentamiento;
+    private final int mediciones;
+    private final long nanosPorIteracion;
+
+    EjecutorBenchmarks(int calentamiento, int mediciones, long milisPorIteracion) {
+        this.calentamiento = calentamiento;
+        this.mediciones = mediciones;
+        this.nanosPorIteracion = milisPorIteracion * 1_000_000L;
+    }
+
+    public static void main(String[] args) throws Exception {
+        List<Integer> tamanos = List.of(10_000, 1_000_000);
+        Pattern filtro = Pattern.compile(".*");
+        int calentamiento = 3;
+        int mediciones = 5;
+        long tiempo = 1000;
+        Path json = null;
+
+        for (int i = 0; i < args.length; i++) {
+            String opcion = args[i];
+            if (opcion.equals("--ayuda")) {
+                System.out.println("Opciones: --tamanos n,n --filtro regex --calentamiento n "
+                        + "--mediciones n --tiempo ms --json ruta");
+                return;
+            }
+            if (i + 1 >= args.length) {
+                throw new IllegalArgumentException("Falta el valor de " + opcion);
+            }
+            String valor = args[++i];
+            switch (opcion) {
+                case "--tamanos":
+                    tamanos = Stream.of(valor.split(",")).map(String::trim).map(Integer::valueOf).collect(Collectors.toList());
+                    break;
+                case "--filtro":
+                    filtro = Pattern.compile(valor);
+                    break;
+                case "--calentamiento":
+                    calentamiento = Integer.parseInt(valor);
+                    break;
+                case "--mediciones":
+                    mediciones = Integer.parseInt(valor);
+                    break;
+                case "--tiempo":
+                    tiempo = Long.parseLong(valor);
+                    break;
+                case "--json":
+                    json = Paths.get(valor);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Opción desconocida: " + opcion);
+            }
+        }
+
+        EjecutorBenchmarks ejecutor = new EjecutorBenchmarks(calentamiento, mediciones, tiempo);
+        List<ResultadoBenchmark> resultados = new ArrayList<>();
+        for (int tamano : tamanos) {
+            for (Caso caso : BenchmarksContenido.todos()) {
+                if (filtro.matcher(caso.getNombre()).find()) {
+                    resultados.add(ejecutor.ejecutar(caso, tamano));
+                }
+            }
+        }
+
+        mostrar(resultados);
+        if (json != null) {
+            ejecutor.exportarJson(resultados, json);
+            System.out.println("Resultados exportados a " + json);
+        }
+    }
+
+    ResultadoBenchmark ejecutar(Caso caso, int tamano) throws Exception {
+        Path directorio = Files.createTempDirectory("benchmark-");
+        try {
+            Caso.Operacion operacion = caso.preparar(tamano, directorio);
+            System.gc();
+
+            for (int i = 0; i < calentamiento; i++) {
+                double muestra = iterar(caso, operacion);
+                System.out.printf(Locale.ROOT, "%s [%d] calentamiento %d: %.3f %s%n",
+                        caso.getNombre(), tamano, i + 1, muestra, caso.getUnidad());
+            }
+            double[] muestras = new double[mediciones];
+            for (int i = 0; i < mediciones; i++) {
+                muestras[i] = iterar(caso, operacion);
+                System.out.printf(Locale.ROOT, "%s [%d] iteración %d: %.3f %s%n",
+                        caso.getNombre(), tamano, i + 1, muestras[i], caso.getUnidad());
+            }
+            return new ResultadoBenchmark(caso.getNombre(), caso.getModo(), caso.getUnidad(), tamano, muestras);
+        } finally {
+            borrar(directorio);
+        }
+    }
+
+    /**
+     * Repite la operación hasta agotar el tiempo de la iteración (al menos una vez)
+     */
+    private double iterar(Caso caso, Caso.Operacion operacion) throws Exception {
+        long operaciones = 0;
+        long unidades = 0;
+        long inicio = System.nanoTime();
+        long limite = inicio + nanosPorIteracion;
+        long ahora;
+        do {
+            unidades += operacion.ejecutar();
+            operaciones++;
+            ahora = System.nanoTime();
+        } while (ahora < limite);
+        sumidero += unidades;
+
+        long transcurrido = ahora - inicio;
+        return caso.getModo() == Caso.Modo.THROUGHPUT
+                ? unidades * 1e9 / transcurrido
+                : (double) transcurrido / operaciones;
+    }
+
+    private static void mostrar(List<ResultadoBenchmark> resultados) {
+        System.out.println();
+        System.out.printf(Locale.ROOT, "%-32s %10s %6s %18s %14s  %s%n",
+                "Benchmark", "Tamaño", "Modo", "Resultado", "Error", "Unidad");
+        for (ResultadoBenchmark resultado : resultados) {
+            System.out.printf(Locale.ROOT, "%-32s %10d %6s %18.3f %14.3f  %s%n",
+                    resultado.getNombre(), resultado.getTamano(), resultado.getModo().getAbreviatura(),
+                    resultado.getPromedio(), resultado.getError(), resultado.getUnidad());
+        }
+    }
+
+    void exportarJson(List<ResultadoBenchmark> resultados, Path destino) throws IOException {
+        try (Writer escritor = Files.newBufferedWriter(destino, StandardCharsets.UTF_8)) {
+            escritor.write("[\n");
+            for (int i = 0; i < resultados.size(); i++) {
+                ResultadoBenchmark resultado = resultados.get(i);
+                escritor.write("  {\n");
+                escritor.write("    \"jdkVersion\" : " + texto(System.getProperty("java.version")) + ",\n");
+                escritor.write("    \"vmName\" : " + texto(System.getProperty("java.vm.name")) + ",\n");
+                escritor.write("    \"benchmark\" : " + texto(resultado.getNombre()) + ",\n");
+                escritor.write("    \"mode\" : " + texto(resultado.getModo().getAbreviatura()) + ",\n");
+                escritor.write("    \"threads\" : 1,\n");
+                escritor.write("    \"forks\" : 0,\n");
+                escritor.write("    \"warmupIterations\" : " + calentamiento + ",\n");
+                escritor.write("    \"measurementIterations\" : " + mediciones + ",\n");
+                escritor.write("    \"measurementTime\" : " + texto(nanosPorIteracion / 1_000_000 + " ms") + ",\n");
+                escritor.write("    \"params\" : {\n      \"tamano\" : " + texto(String.valueOf(resultado.getTamano())) + "\n    },\n");
+                escritor.write("    \"primaryMetric\" : {\n");
+                escritor.write("      \"score\" : " + numero(resultado.getPromedio()) + ",\n");
+                escritor.write("      \"scoreError\" : " + numero(resultado.getError()) + ",\n");
+                escritor.write("      \"scoreUnit\" : " + texto(resultado.getUnidad()) + ",\n");
+                escritor.write("      \"rawData\" : [\n        [");
+                double[] muestras = resultado.getMuestras();
+                for (int j = 0; j < muestras.length; j++) {
+                    escritor.write((j > 0 ? ", " : "") + numero(muestras[j]));
+                }
+                escritor.write("]\n      ]\n    }\n");
+                escritor.write(i + 1 < resultados.size() ? "  },\n" : "  }\n");
+            }
+            escritor.write("]\n");
+        }
+    }
+
+    private static String texto(String valor) {
+        return "\"" + valor.replace("\\", "\\\\").replace("\"", "\\\"") + "\"";
+    }
+
+    private static String numero(double valor) {
+        return Double.isFinite(valor) ? String.format(Locale.ROOT, "%.6f", valor) : "\"NaN\"";
+    }
+
+    private static void borrar(Path directorio) throws IOException {
+        try (Stream<Path> rutas = Files.walk(directorio)) {
+            for (Path ruta : rutas.sorted(Comparator.reverseOrder()).collect(Collectors.toList())) {
+                Files.deleteIfExists(ruta);
+            }
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package benchmark;
+
+import java.util.Arrays;
+
+/**
+ * Resultado de un caso para un tamaño: una muestra por iteración de medición
+ * El error es la mitad del intervalo de confianza del 99,9 % (t de Student), el mismo
+ * criterio que usa JMH, para que los números sean comparables entre herramientas.
+ */
+class ResultadoBenchmark {
+    // Cuantiles t de Student para 0,9995 con 1 a 10 grados de libertad
+    private static final double[] T_999 = {636.62, 31.60, 12.92, 8.61, 6.87, 5.96, 5.41, 5.04, 4.78, 4.59};
+
+    private final String nombre;
+    private final Caso.Modo modo;
+    private final String unidad;
+    private final int tamano;
+    private final double[] muestras;
+
+    ResultadoBenchmark(String nombre, Caso.Modo modo, String unidad, int tamano, double[] muestras) {
+        this.nombre = nombre;
+        this.modo = modo;
+        this.unidad = unidad;
+        this.tamano = tamano;
+        this.muestras = muestras.clone();
+    }
+
+    String getNombre() { return nombre; }
+    Caso.Modo getModo() { return modo; }
+    String getUnidad() { return unidad; }
+    int getTamano() { return tamano; }
+    double[] getMuestras() { return muestras.clone(); }
+
+    double getPromedio() {
+        return Arrays.stream(muestras).average().orElse(Double.NaN);
+    }
+
+    double getError() {
+        int n = muestras.length;
+        if (n < 2) {
+            return Double.NaN;
+        }
+        double promedio = getPromedio();
+        double suma = 0;
+        for (double muestra : muestras) {
+            suma += (muestra - promedio) * (muestra - promedio);
+        }
+        double desvio = Math.sqrt(suma / (n - 1));
+        return cuantilT(n - 1) * desvio / Math.sqrt(n);
+    }
+
+    private static double cuantilT(int gradosLibertad) {
+        if (gradosLibertad <= T_999.length) {
+            return T_999[gradosLibertad - 1];
+        }
+        return gradosLibertad <= 20 ? 3.85 : gradosLibertad <= 30 ? 3.65 : 3.29;
+    }
+}
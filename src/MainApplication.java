@@ -10,9 +10,15 @@ import interfaces.IContenidoRepository;
 import interfaces.IContenidoService;
 import interfaces.IFileHandler;
 import model.ContenidoAudiovisual;
-import service.ContenidoRepository;
+import service.ContenidoRepositoryConcurrente;
 import service.ContenidoService;
+import service.DiarioCambios;
+import service.ContenidoRepositoryMedido;
+import service.ContenidoServiceMedido;
+import service.FileHandlerMedido;
 import service.FileHandlerService;
+import service.RegistroMetricas;
+import service.SnapshotBinarioService;
 import view.MainView;
 
 /**
@@ -22,7 +28,12 @@ import view.MainView;
  */
 public class MainApplication {
     private static final String RUTA_ARCHIVO_DATOS = "data/contenidos.csv";
+    private static final String RUTA_DIARIO_CAMBIOS = "data/contenidos.diario";
+    private static final long INTERVALO_GRUPO_DIARIO_MS = 5;
     private static final String DIRECTORIO_DATOS = "data";
+    // Con -Dmetricas=<archivo> se miden servicio, repositorio y archivos y se vuelcan ahí
+    private static final String PROPIEDAD_METRICAS = "metricas";
+    private static final long INTERVALO_VOLCADO_METRICAS_S = 60;
 
     public static void main(String[] args) {
         // Configurar Look and Feel del sistema (opcional)
@@ -47,9 +58,25 @@ public class MainApplication {
         crearDirectorioDatos();
 
         // Configurar dependencias usando Dependency Injection
-        IFileHandler<ContenidoAudiovisual> fileHandler = new FileHandlerService();
-        IContenidoRepository repository = new ContenidoRepository(fileHandler);
-        IContenidoService contenidoService = new ContenidoService(repository, RUTA_ARCHIVO_DATOS);
+        IFileHandler<ContenidoAudiovisual> fileHandler = new FileHandlerService(true);
+        IFileHandler<ContenidoAudiovisual> snapshotHandler = new SnapshotBinarioService();
+        String rutaMetricas = System.getProperty(PROPIEDAD_METRICAS);
+        // Sin métricas no se agregan los decoradores y no hay ningún costo
+        RegistroMetricas metricas = rutaMetricas == null ? null : new RegistroMetricas();
+        IContenidoRepository repository = metricas == null
+                ? new ContenidoRepositoryConcurrente(fileHandler, snapshotHandler)
+                : new ContenidoRepositoryMedido(new ContenidoRepositoryConcurrente(
+                        new FileHandlerMedido<>(fileHandler, metricas),
+                        new FileHandlerMedido<>(snapshotHandler, metricas, "instantanea")), metricas);
+        ContenidoService servicioBase = new ContenidoService(repository, RUTA_ARCHIVO_DATOS,
+                new DiarioCambios(RUTA_DIARIO_CAMBIOS, INTERVALO_GRUPO_DIARIO_MS));
+        servicioBase.iniciar();
+        IContenidoService contenidoService = servicioBase;
+        if (metricas != null) {
+            contenidoService = new ContenidoServiceMedido(contenidoService, metricas);
+            metricas.iniciarVolcadoPeriodico(rutaMetricas, INTERVALO_VOLCADO_METRICAS_S);
+            System.out.println("Métricas en " + rutaMetricas);
+        }
 
         // Crear controlador
         ContenidoController controller = new ContenidoController(contenidoService);
@@ -64,18 +91,16 @@ public class MainApplication {
         mainView.addWindowListener(new WindowAdapter() {
             @Override
             public void windowClosing(WindowEvent e) {
-                cerrarAplicacion(controller, mainView);
+                cerrarAplicacion(controller, servicioBase, mainView);
             }
         });
 
         // Crear archivo de ejemplo si no existen datos
         crearDatosEjemplo(fileHandler);
 
-        // Inicializar el controlador (carga datos)
-        controller.inicializar();
-
-        // Mostrar la ventana principal
+        // Mostrar la ventana principal y cargar los datos en segundo plano
         mainView.setVisible(true);
+        mainView.cargarDatosIniciales();
 
         System.out.println("Aplicación iniciada correctamente");
         System.out.println("Archivo de datos: " + RUTA_ARCHIVO_DATOS);
@@ -109,7 +134,8 @@ public class MainApplication {
         }
     }
 
-    private static void cerrarAplicacion(ContenidoController controller, MainView mainView) {
+    private static void cerrarAplicacion(ContenidoController controller, ContenidoService servicio,
+                                         MainView mainView) {
         int confirmacion = JOptionPane.showConfirmDialog(
             mainView,
             "¿Desea guardar los datos antes de salir?",
@@ -122,6 +148,7 @@ public class MainApplication {
             case JOptionPane.YES_OPTION:
                 try {
                     controller.cerrarAplicacion();
+                    servicio.cerrar();
                     JOptionPane.showMessageDialog(mainView, 
                         "Datos guardados exitosamente", 
                         "Guardado", 
@@ -136,6 +163,7 @@ public class MainApplication {
                 break;
                 
             case JOptionPane.NO_OPTION:
+                servicio.cerrar();
                 System.exit(0);
                 break;
                 
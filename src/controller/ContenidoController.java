@@ -3,7 +3,11 @@ package controller;
 import java.util.List;
 
 import interfaces.IContenidoService;
+import interfaces.IProgresoOperacion;
 import model.ContenidoAudiovisual;
+import model.EstadisticasContenido;
+import model.Pagina;
+import service.BusquedaIncremental;
 import view.MainView;
 
 /**
@@ -13,10 +17,12 @@ import view.MainView;
  */
 public class ContenidoController {
     private final IContenidoService contenidoService;
+    private final BusquedaIncremental busquedaIncremental;
     private MainView mainView;
 
     public ContenidoController(IContenidoService contenidoService) {
         this.contenidoService = contenidoService;
+        this.busquedaIncremental = new BusquedaIncremental(contenidoService);
     }
 
     public void setMainView(MainView mainView) {
@@ -27,6 +33,7 @@ public class ContenidoController {
     public void inicializar() {
         try {
             contenidoService.cargarDatos();
+            busquedaIncremental.invalidar();
             if (mainView != null) {
                 mainView.actualizarTabla();
             }
@@ -38,14 +45,17 @@ public class ContenidoController {
     // Métodos de gestión de contenido
     public void agregarContenido(ContenidoAudiovisual contenido) {
         contenidoService.agregarContenido(contenido);
+        busquedaIncremental.invalidar();
     }
 
     public void eliminarContenido(int id) {
         contenidoService.eliminarContenido(id);
+        busquedaIncremental.invalidar();
     }
 
     public void actualizarContenido(ContenidoAudiovisual contenido) {
         contenidoService.actualizarContenido(contenido);
+        busquedaIncremental.invalidar();
     }
 
     public ContenidoAudiovisual obtenerContenidoPorId(int id) {
@@ -65,9 +75,41 @@ public class ContenidoController {
         return contenidoService.filtrarPorGenero(genero);
     }
 
+    public <T extends ContenidoAudiovisual> List<T> filtrarPorTipo(Class<T> tipo) {
+        return contenidoService.filtrarPorTipo(tipo);
+    }
+
+    // Búsqueda mientras se escribe: refina el resultado anterior cuando el término lo extiende
+    public List<ContenidoAudiovisual> buscarPorTituloIncremental(String titulo) {
+        return busquedaIncremental.buscar(BusquedaIncremental.Criterio.TITULO, titulo);
+    }
+
+    public List<ContenidoAudiovisual> filtrarPorGeneroIncremental(String genero) {
+        return busquedaIncremental.buscar(BusquedaIncremental.Criterio.GENERO, genero);
+    }
+
+    // Métodos de consulta paginada
+    public Pagina<ContenidoAudiovisual> obtenerPaginaDeContenidos(String cursor, int tamanoPagina) {
+        return contenidoService.obtenerPaginaDeContenidos(cursor, tamanoPagina);
+    }
+
+    public Pagina<ContenidoAudiovisual> buscarPorTituloPaginado(String titulo, String cursor, int tamanoPagina) {
+        return contenidoService.buscarPorTituloPaginado(titulo, cursor, tamanoPagina);
+    }
+
+    public Pagina<ContenidoAudiovisual> filtrarPorGeneroPaginado(String genero, String cursor, int tamanoPagina) {
+        return contenidoService.filtrarPorGeneroPaginado(genero, cursor, tamanoPagina);
+    }
+
+    public Pagina<ContenidoAudiovisual> filtrarPorDuracionPaginado(int duracionMinima, int duracionMaxima,
+                                                                   String cursor, int tamanoPagina) {
+        return contenidoService.filtrarPorDuracionPaginado(duracionMinima, duracionMaxima, cursor, tamanoPagina);
+    }
+
     // Métodos de archivo
     public void cargarDatosDesdeArchivo(String rutaArchivo) {
         contenidoService.cargarDatosDesdeArchivo(rutaArchivo);
+        busquedaIncremental.invalidar();
     }
 
     public void guardarDatosEnArchivo(String rutaArchivo) {
@@ -78,11 +120,30 @@ public class ContenidoController {
         contenidoService.guardarDatos();
     }
 
+    // Variantes para ejecutar fuera del hilo de la interfaz; no actualizan la vista
+    public void cargarDatos(IProgresoOperacion progreso) {
+        contenidoService.cargarDatos(progreso);
+        busquedaIncremental.invalidar();
+    }
+
+    public void cargarDatosDesdeArchivo(String rutaArchivo, IProgresoOperacion progreso) {
+        contenidoService.cargarDatosDesdeArchivo(rutaArchivo, progreso);
+        busquedaIncremental.invalidar();
+    }
+
+    public void guardarDatosEnArchivo(String rutaArchivo, IProgresoOperacion progreso) {
+        contenidoService.guardarDatosEnArchivo(rutaArchivo, progreso);
+    }
+
     // Métodos de estadísticas y utilidades
     public String obtenerEstadisticas() {
         return contenidoService.obtenerEstadisticas();
     }
 
+    public EstadisticasContenido obtenerResumenEstadisticas() {
+        return contenidoService.obtenerResumenEstadisticas();
+    }
+
     public int getCantidadTotal() {
         return contenidoService.getCantidadTotal();
     }
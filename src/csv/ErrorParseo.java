@@ -0,0 +1,40 @@
+package csv;
+
+/**
+ * Error de formato de una línea CSV, sin traza de pila
+ * Se lanza en cada línea inválida, así que no se captura la pila y el mensaje se
+ * arma recién cuando alguien lo pide.
+ */
+public final class ErrorParseo extends IllegalArgumentException {
+    private final ErroresLectura.Codigo codigo;
+    private final int campo;
+    private final String detalle;
+
+    public ErrorParseo(ErroresLectura.Codigo codigo, int campo) {
+        this(codigo, campo, null);
+    }
+
+    public ErrorParseo(ErroresLectura.Codigo codigo, int campo, String detalle) {
+        this.codigo = codigo;
+        this.campo = campo;
+        this.detalle = detalle;
+    }
+
+    public ErroresLectura.Codigo getCodigo() {
+        return codigo;
+    }
+
+    public int getCampo() {
+        return campo;
+    }
+
+    @Override
+    public String getMessage() {
+        return detalle == null ? codigo.getDescripcion() : codigo.getDescripcion() + ": " + detalle;
+    }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
+}
@@ -0,0 +1,180 @@
+package csv;
+
+/**
+ * Errores encontrados al leer un archivo, en un buffer de capacidad fija
+ * Se cuentan todos los errores por código, pero solo se guardan los primeros
+ * "capacidad" con su número de línea, código, índice de campo (0 = tipo, -1 si no
+ * corresponde a un campo) y mensaje. Así un archivo con cientos de miles de filas
+ * inválidas no llena la memoria ni la consola.
+ *
+ * No es thread-safe: cada hilo de lectura usa el suyo y luego se combinan con agregar().
+ */
+public class ErroresLectura {
+    public enum Codigo {
+        LINEA_INVALIDA("Formato de línea inválido"),
+        TIPO_DESCONOCIDO("Tipo de contenido desconocido"),
+        CAMPOS_INSUFICIENTES("Faltan campos para el tipo de contenido"),
+        NUMERO_INVALIDO("Número inválido"),
+        COMILLAS_INVALIDAS("Comillas mal formadas"),
+        ID_INVALIDO("El ID debe ser mayor a 0"),
+        ID_DUPLICADO("ID repetido en el archivo"),
+        DURACION_INVALIDA("La duración debe ser mayor a 0"),
+        VALOR_INVALIDO("Valor rechazado por el modelo");
+
+        private final String descripcion;
+
+        Codigo(String descripcion) {
+            this.descripcion = descripcion;
+        }
+
+        public String getDescripcion() {
+            return descripcion;
+        }
+    }
+
+    private static final Codigo[] CODIGOS = Codigo.values();
+
+    private final int capacidad;
+    private final int[] lineas;
+    private final int[] campos;
+    private final byte[] codigos;
+    private final String[] mensajes;
+    private final long[] cantidadPorCodigo = new long[CODIGOS.length];
+    private int registrados;
+    private long cantidad;
+
+    public ErroresLectura(int capacidad) {
+        if (capacidad < 0) {
+            throw new IllegalArgumentException("La capacidad no puede ser negativa");
+        }
+        this.capacidad = capacidad;
+        this.lineas = new int[capacidad];
+        this.campos = new int[capacidad];
+        this.codigos = new byte[capacidad];
+        this.mensajes = new String[capacidad];
+    }
+
+    public void registrar(int linea, Codigo codigo, int campo, String mensaje) {
+        cantidad++;
+        cantidadPorCodigo[codigo.ordinal()]++;
+        if (registrados < capacidad) {
+            lineas[registrados] = linea;
+            campos[registrados] = campo;
+            codigos[registrados] = (byte) codigo.ordinal();
+            mensajes[registrados] = mensaje;
+            registrados++;
+        }
+    }
+
+    /**
+     * Registra la excepción con que se rechazó una línea. El mensaje solo se arma si
+     * la línea entra en el buffer.
+     *
+     * @param campoActual campo que se estaba leyendo, para errores que no lo indican
+     */
+    public void registrar(int linea, RuntimeException error, int campoActual) {
+        Codigo codigo;
+        int campo;
+        if (error instanceof ErrorParseo) {
+            codigo = ((ErrorParseo) error).getCodigo();
+            campo = ((ErrorParseo) error).getCampo();
+        } else if (error instanceof NumberFormatException) {
+            codigo = Codigo.NUMERO_INVALIDO;
+            campo = campoActual;
+        } else {
+            codigo = Codigo.VALOR_INVALIDO;
+            campo = -1;
+        }
+        registrar(linea, codigo, campo, registrados < capacidad ? error.getMessage() : null);
+    }
+
+    /**
+     * Agrega los errores de otro registro cuyas líneas empiezan después de lineasPrevias
+     */
+    public void agregar(ErroresLectura otros, int lineasPrevias) {
+        for (int i = 0; i < otros.registrados && registrados < capacidad; i++) {
+            lineas[registrados] = lineasPrevias + otros.lineas[i];
+            campos[registrados] = otros.campos[i];
+            codigos[registrados] = otros.codigos[i];
+            mensajes[registrados] = otros.mensajes[i];
+            registrados++;
+        }
+        for (int i = 0; i < CODIGOS.length; i++) {
+            cantidadPorCodigo[i] += otros.cantidadPorCodigo[i];
+        }
+        cantidad += otros.cantidad;
+    }
+
+    public int getCapacidad() {
+        return capacidad;
+    }
+
+    public boolean estaVacio() {
+        return cantidad == 0;
+    }
+
+    /**
+     * Total de errores, incluidos los que no entraron en el buffer
+     */
+    public long getCantidad() {
+        return cantidad;
+    }
+
+    public long getCantidad(Codigo codigo) {
+        return cantidadPorCodigo[codigo.ordinal()];
+    }
+
+    /**
+     * Errores guardados con su detalle (como mucho la capacidad)
+     */
+    public int getRegistrados() {
+        return registrados;
+    }
+
+    public int getLinea(int indice) {
+        return lineas[verificar(indice)];
+    }
+
+    public Codigo getCodigo(int indice) {
+        return CODIGOS[codigos[verificar(indice)]];
+    }
+
+    public int getCampo(int indice) {
+        return campos[verificar(indice)];
+    }
+
+    public String getMensaje(int indice) {
+        return mensajes[verificar(indice)];
+    }
+
+    private int verificar(int indice) {
+        if (indice < 0 || indice >= registrados) {
+            throw new IndexOutOfBoundsException("Índice de error inválido: " + indice);
+        }
+        return indice;
+    }
+
+    /**
+     * Resumen en una línea por código y una por cada error guardado
+     */
+    public String resumen() {
+        StringBuilder texto = new StringBuilder().append(cantidad).append(" líneas con errores");
+        for (Codigo codigo : CODIGOS) {
+            long porCodigo = cantidadPorCodigo[codigo.ordinal()];
+            if (porCodigo > 0) {
+                texto.append(System.lineSeparator()).append("  ").append(codigo).append(": ").append(porCodigo);
+            }
+        }
+        for (int i = 0; i < registrados; i++) {
+            texto.append(System.lineSeparator()).append("  Línea ").append(lineas[i]);
+            if (campos[i] >= 0) {
+                texto.append(", campo ").append(campos[i]);
+            }
+            texto.append(": ").append(mensajes[i] != null ? mensajes[i] : CODIGOS[codigos[i]].getDescripcion());
+        }
+        if (cantidad > registrados) {
+            texto.append(System.lineSeparator()).append("  ... y ").append(cantidad - registrados).append(" más");
+        }
+        return texto.toString();
+    }
+}
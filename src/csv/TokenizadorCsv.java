@@ -0,0 +1,392 @@
+package csv;
+
+import java.util.Arrays;
+
+/**
+ * Tokenizador de líneas CSV tipo cursor
+ * Recorre los campos de una línea sin crear arreglos ni expresiones regulares:
+ * los enteros y booleanos se interpretan directamente desde los caracteres y
+ * solo se crean Strings para los campos de texto. Una instancia se puede
+ * reutilizar para muchas líneas llamando a reiniciar().
+ *
+ * Soporta campos entre comillas según RFC 4180 ("" representa una comilla).
+ * Los errores de formato se lanzan sin traza de pila, porque en un archivo con
+ * muchas filas inválidas construirla domina el tiempo de lectura; getCampoActual()
+ * indica en qué campo ocurrió.
+ * Las líneas sin campos entre comillas siguen el camino rápido basado en indexOf,
+ * y los separadores que encuentra contarCampos() se reutilizan al leer los campos,
+ * así la línea se recorre una sola vez como con split. Las funciones estáticas
+ * escapar() y agregarCampo() aplican las mismas reglas al escribir.
+ */
+public class TokenizadorCsv {
+    private static final char SEPARADOR = ',';
+    private static final char COMILLA = '"';
+
+    private String linea;
+    private int longitud;
+    private int posicion;
+    // Si algún campo puede empezar con comillas; contarCampos() lo descarta al recorrer la línea
+    private boolean conComillas;
+    private int campoActual;
+    // Separadores de una línea sin comillas, anotados por contarCampos() para que leer
+    // los campos no vuelva a buscarlos; cantidadSeparadores es -1 si no se contaron
+    private int[] separadores = new int[16];
+    private int cantidadSeparadores;
+    private int indiceCampo;
+
+    public TokenizadorCsv() {
+        reiniciar("");
+    }
+
+    public TokenizadorCsv(String linea) {
+        reiniciar(linea);
+    }
+
+    /**
+     * Posiciona el cursor al inicio de una nueva línea
+     */
+    public TokenizadorCsv reiniciar(String linea) {
+        this.linea = linea;
+        this.longitud = linea.length();
+        this.posicion = 0;
+        this.conComillas = true;
+        this.campoActual = -1;
+        this.cantidadSeparadores = -1;
+        this.indiceCampo = 0;
+        return this;
+    }
+
+    /**
+     * Cuenta los campos de la línea con la misma semántica que String.split(","):
+     * los campos vacíos al final no se cuentan
+     */
+    public int contarCampos() {
+        // Un campo entre comillas empieza con comillas: basta mirar el inicio de cada campo
+        if (longitud > 0 && linea.charAt(0) == COMILLA) {
+            return contarCamposConComillas();
+        }
+        int cantidad = 0;
+        for (int i = linea.indexOf(SEPARADOR); i >= 0; i = linea.indexOf(SEPARADOR, i + 1)) {
+            if (i + 1 < longitud && linea.charAt(i + 1) == COMILLA) {
+                return contarCamposConComillas();
+            }
+            if (cantidad == separadores.length) {
+                separadores = Arrays.copyOf(separadores, cantidad * 2);
+            }
+            separadores[cantidad++] = i;
+        }
+        cantidadSeparadores = cantidad;
+        conComillas = false;
+
+        // Los separadores al final de la línea solo cierran campos vacíos
+        int fin = longitud;
+        while (cantidad > 0 && separadores[cantidad - 1] == fin - 1) {
+            cantidad--;
+            fin--;
+        }
+        if (fin == 0) {
+            return longitud == 0 ? 1 : 0;
+        }
+        return cantidad + 1;
+    }
+
+    private int contarCamposConComillas() {
+        int campos = 0;
+        int ultimoNoVacio = 0;
+        int inicio = 0;
+        while (true) {
+            int fin = finDeCampo(inicio);
+            campos++;
+            if (fin > inicio) {
+                ultimoNoVacio = campos;
+            }
+            if (fin >= longitud) {
+                break;
+            }
+            inicio = fin + 1;
+        }
+        if (ultimoNoVacio == 0) {
+            return longitud == 0 ? 1 : 0;
+        }
+        return ultimoNoVacio;
+    }
+
+    /**
+     * Índice (desde 0) del último campo leído o que se intentó leer; -1 al empezar la línea
+     */
+    public int getCampoActual() {
+        return campoActual;
+    }
+
+    public boolean hayMasCampos() {
+        return posicion <= longitud;
+    }
+
+    /**
+     * Retorna el siguiente campo como texto, sin recortar espacios
+     */
+    public String siguienteTexto() {
+        campoActual++;
+        int inicio = posicion;
+        int fin = finDeCampo();
+        avanzar(fin);
+        if (esEntrecomillado(inicio)) {
+            String texto = linea.substring(inicio + 1, fin - 1);
+            return texto.indexOf(COMILLA) >= 0 ? texto.replace("\"\"", "\"") : texto;
+        }
+        return linea.substring(inicio, fin);
+    }
+
+    /**
+     * Interpreta el siguiente campo como entero con las mismas reglas que Integer.parseInt
+     */
+    public int siguienteEntero() {
+        campoActual++;
+        int inicio = posicion;
+        int fin = finDeCampo();
+        avanzar(fin);
+        if (esEntrecomillado(inicio)) {
+            inicio++;
+            fin--;
+        }
+
+        if (inicio == fin) {
+            throw errorNumerico(inicio, fin);
+        }
+
+        int i = inicio;
+        boolean negativo = false;
+        int limite = -Integer.MAX_VALUE;
+        char primero = linea.charAt(i);
+        if (primero == '-' || primero == '+') {
+            if (fin - inicio == 1) {
+                throw errorNumerico(inicio, fin);
+            }
+            if (primero == '-') {
+                negativo = true;
+                limite = Integer.MIN_VALUE;
+            }
+            i++;
+        }
+
+        // Se acumula en negativo para poder representar Integer.MIN_VALUE
+        int multiplicadorMinimo = limite / 10;
+        int resultado = 0;
+        for (; i < fin; i++) {
+            int digito = linea.charAt(i) - '0';
+            if (digito < 0 || digito > 9 || resultado < multiplicadorMinimo) {
+                throw errorNumerico(inicio, fin);
+            }
+            resultado *= 10;
+            if (resultado < limite + digito) {
+                throw errorNumerico(inicio, fin);
+            }
+            resultado -= digito;
+        }
+        return negativo ? resultado : -resultado;
+    }
+
+    /**
+     * Interpreta el siguiente campo como booleano con las mismas reglas que Boolean.parseBoolean
+     */
+    public boolean siguienteBooleano() {
+        campoActual++;
+        int inicio = posicion;
+        int fin = finDeCampo();
+        avanzar(fin);
+        if (esEntrecomillado(inicio)) {
+            inicio++;
+            fin--;
+        }
+        return fin - inicio == 4 && coincideIgnorandoMayusculas(inicio, fin, "true");
+    }
+
+    /**
+     * Si el siguiente campo (sin espacios alrededor) es igual al valor indicado,
+     * ignorando mayúsculas, lo consume y retorna true. En caso contrario no avanza.
+     */
+    public boolean consumirSi(String valor) {
+        int fin = finDeCampo();
+        int a = posicion;
+        int b = fin;
+        if (esEntrecomillado(a)) {
+            a++;
+            b--;
+        }
+        while (a < b && Character.isWhitespace(linea.charAt(a))) {
+            a++;
+        }
+        while (b > a && Character.isWhitespace(linea.charAt(b - 1))) {
+            b--;
+        }
+        if (b - a == valor.length() && coincideIgnorandoMayusculas(a, b, valor)) {
+            avanzar(fin);
+            campoActual++;
+            return true;
+        }
+        return false;
+    }
+
+    public void saltarCampo() {
+        campoActual++;
+        avanzar(finDeCampo());
+    }
+
+    private int finDeCampo() {
+        if (posicion > longitud) {
+            throw new ErrorParseo(ErroresLectura.Codigo.CAMPOS_INSUFICIENTES, campoActual);
+        }
+        if (cantidadSeparadores >= 0) {
+            return indiceCampo < cantidadSeparadores ? separadores[indiceCampo] : longitud;
+        }
+        return finDeCampo(posicion);
+    }
+
+    private void avanzar(int finCampo) {
+        posicion = finCampo + 1;
+        indiceCampo++;
+    }
+
+    /**
+     * Retorna la posición del separador que cierra el campo que empieza en inicio
+     * (o la longitud de la línea si es el último campo)
+     */
+    private int finDeCampo(int inicio) {
+        if (esEntrecomillado(inicio)) {
+            return finDeCampoEntrecomillado(inicio);
+        }
+        int i = linea.indexOf(SEPARADOR, inicio);
+        return i < 0 ? longitud : i;
+    }
+
+    private int finDeCampoEntrecomillado(int inicio) {
+        int i = inicio + 1;
+        while (true) {
+            int comilla = linea.indexOf(COMILLA, i);
+            if (comilla < 0) {
+                throw new ErrorParseo(ErroresLectura.Codigo.COMILLAS_INVALIDAS, campoActual, "sin cerrar");
+            }
+            if (comilla + 1 < longitud && linea.charAt(comilla + 1) == COMILLA) {
+                i = comilla + 2;
+                continue;
+            }
+            int fin = comilla + 1;
+            if (fin < longitud && linea.charAt(fin) != SEPARADOR) {
+                throw new ErrorParseo(ErroresLectura.Codigo.COMILLAS_INVALIDAS, campoActual,
+                        "carácter inesperado después de comillas");
+            }
+            return fin;
+        }
+    }
+
+    private boolean esEntrecomillado(int inicio) {
+        return conComillas && inicio < longitud && linea.charAt(inicio) == COMILLA;
+    }
+
+    private boolean coincideIgnorandoMayusculas(int inicio, int fin, String valor) {
+        return linea.regionMatches(true, inicio, valor, 0, fin - inicio);
+    }
+
+    private NumberFormatException errorNumerico(int inicio, int fin) {
+        return new NumeroInvalido(linea, inicio, fin);
+    }
+
+    /**
+     * Indica si la línea termina dentro de un campo entre comillas, es decir, si el
+     * registro continúa en la línea siguiente. Las comillas dentro de un campo que
+     * no empieza con comillas se consideran literales.
+     *
+     * @param entreComillas si la línea empieza dentro de un campo que quedó abierto en
+     *                      la anterior; así un registro de varias líneas se recorre una
+     *                      sola vez
+     */
+    public static boolean tieneComillasAbiertas(String linea, boolean entreComillas) {
+        if (!entreComillas && linea.indexOf(COMILLA) < 0) {
+            return false;
+        }
+        boolean inicioDeCampo = !entreComillas;
+        for (int i = 0; i < linea.length(); i++) {
+            char c = linea.charAt(i);
+            if (entreComillas) {
+                if (c == COMILLA) {
+                    if (i + 1 < linea.length() && linea.charAt(i + 1) == COMILLA) {
+                        i++;
+                    } else {
+                        entreComillas = false;
+                    }
+                }
+            } else if (c == SEPARADOR) {
+                inicioDeCampo = true;
+                continue;
+            } else if (c == COMILLA && inicioDeCampo) {
+                entreComillas = true;
+            }
+            inicioDeCampo = false;
+        }
+        return entreComillas;
+    }
+
+    /**
+     * Retorna el valor listo para escribirse como campo CSV: sin cambios si no contiene
+     * caracteres especiales, o entre comillas con las comillas internas duplicadas
+     */
+    public static String escapar(String valor) {
+        if (!requiereComillas(valor)) {
+            return valor;
+        }
+        return agregarCampo(new StringBuilder(valor.length() + 8), valor).toString();
+    }
+
+    /**
+     * Agrega el valor al StringBuilder aplicando las reglas de escape de escapar()
+     */
+    public static StringBuilder agregarCampo(StringBuilder sb, String valor) {
+        if (!requiereComillas(valor)) {
+            return sb.append(valor);
+        }
+        sb.append(COMILLA);
+        for (int i = 0; i < valor.length(); i++) {
+            char c = valor.charAt(i);
+            if (c == COMILLA) {
+                sb.append(COMILLA);
+            }
+            sb.append(c);
+        }
+        return sb.append(COMILLA);
+    }
+
+    private static boolean requiereComillas(String valor) {
+        for (int i = 0; i < valor.length(); i++) {
+            char c = valor.charAt(i);
+            if (c == SEPARADOR || c == COMILLA || c == '\n' || c == '\r') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * NumberFormatException sin traza de pila; el mensaje se arma al pedirlo
+     */
+    private static final class NumeroInvalido extends NumberFormatException {
+        private final String linea;
+        private final int inicio;
+        private final int fin;
+
+        private NumeroInvalido(String linea, int inicio, int fin) {
+            this.linea = linea;
+            this.inicio = inicio;
+            this.fin = fin;
+        }
+
+        @Override
+        public String getMessage() {
+            return "For input string: \"" + linea.substring(inicio, fin) + "\"";
+        }
+
+        @Override
+        public synchronized Throwable fillInStackTrace() {
+            return this;
+        }
+    }
+}
@@ -1,8 +1,12 @@
 package interfaces;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
 
 import model.ContenidoAudiovisual;
+import model.EstadisticasContenido;
 
 /**
  * Interfaz para el repositorio de contenido audiovisual
@@ -10,12 +14,53 @@ import model.ContenidoAudiovisual;
  */
 public interface IContenidoRepository {
     void guardar(ContenidoAudiovisual contenido);
+    // Guarda el lote de una vez: las consultas ven todos sus contenidos o ninguno
+    void guardarTodos(Collection<? extends ContenidoAudiovisual> contenidos);
     void eliminar(int id);
     ContenidoAudiovisual buscarPorId(int id);
+    // Instantánea de solo lectura: no cambia con las escrituras posteriores
     List<ContenidoAudiovisual> obtenerTodos();
     List<ContenidoAudiovisual> buscarPorTitulo(String titulo);
     List<ContenidoAudiovisual> buscarPorGenero(String genero);
     void cargarDesdeArchivo(String rutaArchivo);
     void guardarEnArchivo(String rutaArchivo);
+    // Con seguimiento del avance; si se cancela, los datos y el archivo anteriores no cambian
+    void cargarDesdeArchivo(String rutaArchivo, IProgresoOperacion progreso);
+    void guardarEnArchivo(String rutaArchivo, IProgresoOperacion progreso);
+    // Lee el archivo en un estado nuevo sin tocar los datos actuales; ejecutar el
+    // resultado los reemplaza por lo leído. Por defecto todo ocurre al ejecutarlo.
+    default Runnable prepararCarga(String rutaArchivo) {
+        return () -> cargarDesdeArchivo(rutaArchivo);
+    }
+    default Runnable prepararCarga(String rutaArchivo, IProgresoOperacion progreso) {
+        return () -> cargarDesdeArchivo(rutaArchivo, progreso);
+    }
     boolean existe(int id);
+    // Si hay un contenido de exactamente esa clase con ese título (sin distinguir mayúsculas)
+    boolean existePorTipoYTitulo(Class<? extends ContenidoAudiovisual> tipo, String titulo);
+
+    // Consultas adicionales, respaldadas por índices en las implementaciones
+    int getCantidadTotal();
+    void limpiar();
+    Map<String, Long> obtenerEstadisticasPorTipo();
+    // Resumen mantenido en cada cambio; consultarlo no recorre el catálogo
+    EstadisticasContenido obtenerEstadisticas();
+    // Contenidos que son instancia de tipo (una subclase de ContenidoAudiovisual)
+    List<ContenidoAudiovisual> buscarPorTipo(Class<? extends ContenidoAudiovisual> tipo);
+    int contarPorTipo(Class<? extends ContenidoAudiovisual> tipo);
+    List<ContenidoAudiovisual> buscarPorGeneroExacto(String genero);
+    List<ContenidoAudiovisual> buscarPorGeneroPrefijo(String prefijo);
+    List<ContenidoAudiovisual> buscarPorDuracion(int duracionMinima, int duracionMaxima);
+    List<ContenidoAudiovisual> ordenarPorTitulo();
+    List<ContenidoAudiovisual> obtenerPaginaPorTitulo(int desplazamiento, int limite);
+    List<ContenidoAudiovisual> ordenarPorDuracion();
+    // Hasta limite contenidos con ID mayor a despuesDeId que cumplen el filtro, en orden de ID
+    List<ContenidoAudiovisual> obtenerPaginaPorId(int despuesDeId, int limite, Predicate<ContenidoAudiovisual> filtro);
+    // Páginas leídas de los índices desde el cursor: hasta limite contenidos con ID mayor
+    // a despuesDeId, en orden de ID, que coinciden con el título o el género (subcadena)
+    List<ContenidoAudiovisual> buscarPorTituloDesde(String titulo, int despuesDeId, int limite);
+    List<ContenidoAudiovisual> buscarPorGeneroDesde(String genero, int despuesDeId, int limite);
+    // Igual, en orden de (duración, ID) y a partir del par (despuesDeDuracion, despuesDeId)
+    List<ContenidoAudiovisual> buscarPorDuracionDesde(int duracionMinima, int duracionMaxima,
+                                                      int despuesDeDuracion, int despuesDeId, int limite);
 }
\ No newline at end of file
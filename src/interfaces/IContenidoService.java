@@ -1,8 +1,11 @@
 package interfaces;
 
+import java.util.Collection;
 import java.util.List;
 
 import model.ContenidoAudiovisual;
+import model.EstadisticasContenido;
+import model.Pagina;
 
 /**
  * Interfaz para servicios de contenido
@@ -10,6 +13,8 @@ import model.ContenidoAudiovisual;
  */
 public interface IContenidoService {
     void agregarContenido(ContenidoAudiovisual contenido);
+    // Alta de un lote completo: si algún contenido es inválido o duplicado no se agrega ninguno
+    void agregarTodos(Collection<? extends ContenidoAudiovisual> contenidos);
     void eliminarContenido(int id);
     void actualizarContenido(ContenidoAudiovisual contenido);
     ContenidoAudiovisual obtenerContenidoPorId(int id);
@@ -20,9 +25,23 @@ public interface IContenidoService {
     void guardarDatos();
     void cargarDatosDesdeArchivo(String rutaArchivo);
     void guardarDatosEnArchivo(String rutaArchivo);
+    // Variantes para ejecutar en segundo plano, con avance y cancelación
+    void cargarDatos(IProgresoOperacion progreso);
+    void cargarDatosDesdeArchivo(String rutaArchivo, IProgresoOperacion progreso);
+    void guardarDatosEnArchivo(String rutaArchivo, IProgresoOperacion progreso);
     String obtenerEstadisticas();
+    EstadisticasContenido obtenerResumenEstadisticas();
     int getCantidadTotal();
     List<ContenidoAudiovisual> obtenerContenidosOrdenadosPorTitulo();
     List<ContenidoAudiovisual> obtenerContenidosOrdenadosPorDuracion();
     List<ContenidoAudiovisual> filtrarPorDuracion(int duracionMinima, int duracionMaxima);
+    <T extends ContenidoAudiovisual> List<T> filtrarPorTipo(Class<T> tipo);
+    int contarPorTipo(Class<? extends ContenidoAudiovisual> tipo);
+
+    // Variantes paginadas: cursor null para la primera página, luego el de la página anterior
+    Pagina<ContenidoAudiovisual> obtenerPaginaDeContenidos(String cursor, int tamanoPagina);
+    Pagina<ContenidoAudiovisual> buscarPorTituloPaginado(String titulo, String cursor, int tamanoPagina);
+    Pagina<ContenidoAudiovisual> filtrarPorGeneroPaginado(String genero, String cursor, int tamanoPagina);
+    Pagina<ContenidoAudiovisual> filtrarPorDuracionPaginado(int duracionMinima, int duracionMaxima,
+                                                            String cursor, int tamanoPagina);
 }
\ No newline at end of file
@@ -1,6 +1,7 @@
 package interfaces;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Interfaz para manejo de archivos
@@ -10,4 +11,10 @@ public interface IFileHandler<T> {
     List<T> leerArchivo(String rutaArchivo);
     void escribirArchivo(String rutaArchivo, List<T> datos);
     boolean validarFormato(String rutaArchivo);
-}
\ No newline at end of file
+
+    /**
+     * Lectura en streaming: entrega cada elemento al consumidor a medida que se lee,
+     * sin construir la lista completa. Retorna la cantidad de elementos entregados.
+     */
+    long leerArchivo(String rutaArchivo, Consumer<T> consumidor);
+}
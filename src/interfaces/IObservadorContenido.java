@@ -0,0 +1,12 @@
+package interfaces;
+
+import model.ContenidoAudiovisual;
+
+/**
+ * Interfaz para observar cambios en un contenido ya creado
+ * Permite que quien guarda el contenido (por ejemplo el repositorio) mantenga
+ * sus índices al día cuando se modifican sus atributos con los setters.
+ */
+public interface IObservadorContenido {
+    void contenidoModificado(ContenidoAudiovisual contenido);
+}
@@ -0,0 +1,24 @@
+package interfaces;
+
+/**
+ * Interfaz para seguir y cancelar una operación larga (cargar o guardar un archivo)
+ * Quien ejecuta la operación informa cada tanto cuántos elementos procesó y consulta
+ * si se pidió cancelarla; en ese caso la abandona con CancellationException sin
+ * modificar los datos existentes.
+ */
+public interface IProgresoOperacion {
+    // Para operaciones sin seguimiento ni cancelación
+    IProgresoOperacion NINGUNO = new IProgresoOperacion() {
+        @Override
+        public void avance(long procesados) {
+        }
+
+        @Override
+        public boolean estaCancelada() {
+            return false;
+        }
+    };
+
+    void avance(long procesados);
+    boolean estaCancelada();
+}
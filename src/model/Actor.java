@@ -1,5 +1,7 @@
 package model;
 
+import csv.TokenizadorCsv;
+
 /**
  * Clase Actor - Responsabilidad única de representar un actor
  * Aplicación de Single Responsibility Principle (SRP)
@@ -74,19 +76,21 @@ public class Actor {
     }
 
     public String toCSV() {
-        return String.format("%s,%d,%s,%s", nombre, edad, nacionalidad, tipoActor);
+        return String.format("%s,%d,%s,%s", TokenizadorCsv.escapar(nombre), edad,
+                TokenizadorCsv.escapar(nacionalidad), TokenizadorCsv.escapar(tipoActor));
     }
 
     public static Actor fromCSV(String csvLine) {
-        String[] parts = csvLine.split(",");
-        if (parts.length < 4) {
+        TokenizadorCsv campos = new TokenizadorCsv(csvLine);
+        int cantidadCampos = campos.contarCampos();
+        if (cantidadCampos < 4) {
             throw new IllegalArgumentException("Formato CSV inválido para Actor");
         }
         
-        String nombre = parts[0];
-        int edad = Integer.parseInt(parts[1]);
-        String nacionalidad = parts[2];
-        String tipoActor = parts[3];
+        String nombre = campos.siguienteTexto();
+        int edad = campos.siguienteEntero();
+        String nacionalidad = campos.siguienteTexto();
+        String tipoActor = campos.siguienteTexto();
         
         return new Actor(nombre, edad, nacionalidad, tipoActor);
     }
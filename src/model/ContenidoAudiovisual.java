@@ -1,24 +1,39 @@
 package model;
 
+import java.util.concurrent.atomic.AtomicInteger;
+
+import interfaces.IObservadorContenido;
+
 /**
  * Clase abstracta base para todo contenido audiovisual
  * Aplica Single Responsibility Principle (SRP) - responsabilidad única de definir estructura base
  * Aplica Open/Closed Principle (OCP) - abierta para extensión, cerrada para modificación
  */
 public abstract class ContenidoAudiovisual {
-    private static int contadorId = 0;
+    private static final AtomicInteger contadorId = new AtomicInteger();
     private final int id;
     private String titulo;
     private int duracionEnMinutos;
     private String genero;
+    private IObservadorContenido observador;
 
     public ContenidoAudiovisual(String titulo, int duracionEnMinutos, String genero) {
-        this.id = ++contadorId;
+        this.id = contadorId.incrementAndGet();
         this.titulo = validarTexto(titulo, "Título");
         this.duracionEnMinutos = validarDuracion(duracionEnMinutos);
         this.genero = validarTexto(genero, "Género");
     }
 
+    // Constructor para restaurar contenido persistido conservando su ID original
+    protected ContenidoAudiovisual(int id, String titulo, int duracionEnMinutos, String genero) {
+        this.id = validarId(id);
+        this.titulo = validarTexto(titulo, "Título");
+        this.duracionEnMinutos = validarDuracion(duracionEnMinutos);
+        this.genero = validarTexto(genero, "Género");
+        // Evita que los IDs generados después colisionen con los restaurados
+        contadorId.accumulateAndGet(id, Math::max);
+    }
+
     // Validaciones para asegurar datos correctos
     private String validarTexto(String texto, String campo) {
         if (texto == null || texto.trim().isEmpty()) {
@@ -27,6 +42,13 @@ public abstract class ContenidoAudiovisual {
         return texto.trim();
     }
 
+    private int validarId(int id) {
+        if (id <= 0) {
+            throw new IllegalArgumentException("El ID debe ser mayor a 0");
+        }
+        return id;
+    }
+
     private int validarDuracion(int duracion) {
         if (duracion <= 0) {
             throw new IllegalArgumentException("La duración debe ser mayor a 0");
@@ -43,14 +65,36 @@ public abstract class ContenidoAudiovisual {
     // Setters con validación
     public void setTitulo(String titulo) {
         this.titulo = validarTexto(titulo, "Título");
+        notificarCambio();
     }
 
     public void setDuracionEnMinutos(int duracionEnMinutos) {
         this.duracionEnMinutos = validarDuracion(duracionEnMinutos);
+        notificarCambio();
     }
 
     public void setGenero(String genero) {
         this.genero = validarTexto(genero, "Género");
+        notificarCambio();
+    }
+
+    /**
+     * Registra quién debe enterarse de los cambios (un solo observador, normalmente
+     * el repositorio que guarda el contenido); null para dejar de notificar
+     */
+    public void setObservador(IObservadorContenido observador) {
+        this.observador = observador;
+    }
+
+    public IObservadorContenido getObservador() {
+        return observador;
+    }
+
+    protected void notificarCambio() {
+        IObservadorContenido actual = observador;
+        if (actual != null) {
+            actual.contenidoModificado(this);
+        }
     }
 
     // Método abstracto para polimorfismo (Template Method Pattern)
@@ -59,10 +103,9 @@ public abstract class ContenidoAudiovisual {
     // Método para obtener información básica como CSV
     public abstract String toCSV();
     
-    // Método para crear objeto desde CSV
+    // Método para crear objeto desde CSV, del tipo que indique la línea y con su ID
     public static ContenidoAudiovisual fromCSV(String csvLine) {
-        // Este método será implementado en las subclases específicas
-        throw new UnsupportedOperationException("Debe ser implementado en las subclases");
+        return ParserContenidoCsv.parsear(csvLine);
     }
 
     @Override
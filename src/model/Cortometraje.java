@@ -3,6 +3,8 @@ package model;
 import java.util.ArrayList;
 import java.util.List;
 
+import csv.TokenizadorCsv;
+
 /**
  * Clase Cortometraje - Responsabilidad única de representar un cortometraje
  * Extiende ContenidoAudiovisual (Liskov Substitution Principle)
@@ -26,6 +28,18 @@ public class Cortometraje extends ContenidoAudiovisual {
         this.premios = new ArrayList<>();
     }
 
+    // Constructor para restaurar un cortometraje persistido con su ID original
+    public Cortometraje(int id, String titulo, int duracionEnMinutos, String genero, String director,
+                       String festival, boolean esEstudiantil, String tecnicaFilmacion, int presupuesto) {
+        super(id, titulo, duracionEnMinutos, genero);
+        this.director = validarTexto(director, "Director");
+        this.festival = validarTexto(festival, "Festival");
+        this.esEstudiantil = esEstudiantil;
+        this.tecnicaFilmacion = validarTecnicaFilmacion(tecnicaFilmacion);
+        this.presupuesto = validarPresupuesto(presupuesto);
+        this.premios = new ArrayList<>();
+    }
+
     private String validarTexto(String texto, String campo) {
         if (texto == null || texto.trim().isEmpty()) {
             throw new IllegalArgumentException(campo + " no puede estar vacío");
@@ -134,26 +148,19 @@ public class Cortometraje extends ContenidoAudiovisual {
     @Override
     public String toCSV() {
         return String.format("CORTOMETRAJE,%d,%s,%d,%s,%s,%s,%b,%s,%d",
-                getId(), getTitulo(), getDuracionEnMinutos(), getGenero(),
-                director, festival, esEstudiantil, tecnicaFilmacion, presupuesto);
+                getId(), TokenizadorCsv.escapar(getTitulo()), getDuracionEnMinutos(), TokenizadorCsv.escapar(getGenero()),
+                TokenizadorCsv.escapar(director), TokenizadorCsv.escapar(festival), esEstudiantil, tecnicaFilmacion, presupuesto);
     }
 
+    /**
+     * Crea el cortometraje desde una línea CSV conservando su ID, con el mismo parser que
+     * la lectura de archivos
+     */
     public static Cortometraje fromCSV(String csvLine) {
-        String[] parts = csvLine.split(",");
-        if (parts.length < 9) {
+        ContenidoAudiovisual contenido = ParserContenidoCsv.parsear(csvLine);
+        if (!(contenido instanceof Cortometraje)) {
             throw new IllegalArgumentException("Formato CSV inválido para Cortometraje");
         }
-        
-        String titulo = parts[2];
-        int duracion = Integer.parseInt(parts[3]);
-        String genero = parts[4];
-        String director = parts[5];
-        String festival = parts[6];
-        boolean esEstudiantil = Boolean.parseBoolean(parts[7]);
-        String tecnicaFilmacion = parts[8];
-        int presupuesto = parts.length > 9 ? Integer.parseInt(parts[9]) : 0;
-        
-        return new Cortometraje(titulo, duracion, genero, director, festival,
-                               esEstudiantil, tecnicaFilmacion, presupuesto);
+        return (Cortometraje) contenido;
     }
 }
\ No newline at end of file
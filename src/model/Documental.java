@@ -3,6 +3,8 @@ package model;
 import java.util.ArrayList;
 import java.util.List;
 
+import csv.TokenizadorCsv;
+
 /**
  * Clase Documental - Responsabilidad única de representar un documental
  * Extiende ContenidoAudiovisual (Liskov Substitution Principle)
@@ -17,6 +19,13 @@ public class Documental extends ContenidoAudiovisual {
         this.investigadores = new ArrayList<>();
     }
 
+    // Constructor para restaurar un documental persistido con su ID original
+    public Documental(int id, String titulo, int duracionEnMinutos, String genero, String tema) {
+        super(id, titulo, duracionEnMinutos, genero);
+        this.tema = validarTema(tema);
+        this.investigadores = new ArrayList<>();
+    }
+
     private String validarTema(String tema) {
         if (tema == null || tema.trim().isEmpty()) {
             throw new IllegalArgumentException("El tema no puede estar vacío");
@@ -76,25 +85,23 @@ public class Documental extends ContenidoAudiovisual {
         StringBuilder sb = new StringBuilder();
         sb.append("DOCUMENTAL,")
           .append(getId()).append(",")
-          .append(getTitulo()).append(",")
+          .append(TokenizadorCsv.escapar(getTitulo())).append(",")
           .append(getDuracionEnMinutos()).append(",")
-          .append(getGenero()).append(",")
-          .append(tema);
+          .append(TokenizadorCsv.escapar(getGenero())).append(",")
+          .append(TokenizadorCsv.escapar(tema));
         
         return sb.toString();
     }
 
+    /**
+     * Crea el documental desde una línea CSV conservando su ID, con el mismo parser que
+     * la lectura de archivos
+     */
     public static Documental fromCSV(String csvLine) {
-        String[] parts = csvLine.split(",");
-        if (parts.length < 6) {
+        ContenidoAudiovisual contenido = ParserContenidoCsv.parsear(csvLine);
+        if (!(contenido instanceof Documental)) {
             throw new IllegalArgumentException("Formato CSV inválido para Documental");
         }
-        
-        String titulo = parts[2];
-        int duracion = Integer.parseInt(parts[3]);
-        String genero = parts[4];
-        String tema = parts[5];
-        
-        return new Documental(titulo, duracion, genero, tema);
+        return (Documental) contenido;
     }
 }
\ No newline at end of file
@@ -0,0 +1,48 @@
+package model;
+
+import java.util.Map;
+
+/**
+ * Clase EstadisticasContenido - Responsabilidad única de representar un resumen del catálogo
+ * Es una foto inmutable: cantidades por tipo y por género, duración total y promedio,
+ * y totales de visualizaciones y likes de los videos de YouTube.
+ */
+public class EstadisticasContenido {
+    public static final EstadisticasContenido VACIAS =
+            new EstadisticasContenido(0, 0, Map.of(), Map.of(), 0, 0);
+
+    private final int cantidadTotal;
+    private final long duracionTotal;
+    private final Map<String, Long> cantidadPorTipo;
+    private final Map<String, Long> cantidadPorGenero;
+    private final long visualizacionesYouTube;
+    private final long likesYouTube;
+
+    public EstadisticasContenido(int cantidadTotal, long duracionTotal, Map<String, Long> cantidadPorTipo,
+                                 Map<String, Long> cantidadPorGenero, long visualizacionesYouTube,
+                                 long likesYouTube) {
+        this.cantidadTotal = cantidadTotal;
+        this.duracionTotal = duracionTotal;
+        this.cantidadPorTipo = Map.copyOf(cantidadPorTipo);
+        this.cantidadPorGenero = Map.copyOf(cantidadPorGenero);
+        this.visualizacionesYouTube = visualizacionesYouTube;
+        this.likesYouTube = likesYouTube;
+    }
+
+    public int getCantidadTotal() { return cantidadTotal; }
+    public long getDuracionTotal() { return duracionTotal; }
+    public Map<String, Long> getCantidadPorTipo() { return cantidadPorTipo; }
+    public Map<String, Long> getCantidadPorGenero() { return cantidadPorGenero; }
+    public long getVisualizacionesYouTube() { return visualizacionesYouTube; }
+    public long getLikesYouTube() { return likesYouTube; }
+
+    public double getDuracionPromedio() {
+        return cantidadTotal == 0 ? 0 : (double) duracionTotal / cantidadTotal;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("EstadisticasContenido[total=%d, duracionPromedio=%.1f, tipos=%s]",
+                cantidadTotal, getDuracionPromedio(), cantidadPorTipo);
+    }
+}
@@ -1,5 +1,7 @@
 package model;
 
+import csv.TokenizadorCsv;
+
 /**
  * Clase Investigador - Responsabilidad única de representar un investigador
  * Aplicación de Single Responsibility Principle (SRP)
@@ -89,20 +91,22 @@ public class Investigador {
 
     public String toCSV() {
         return String.format("%s,%s,%s,%d,%s", 
-                nombre, especialidad, institucion, anosExperiencia, gradoAcademico);
+                TokenizadorCsv.escapar(nombre), TokenizadorCsv.escapar(especialidad), TokenizadorCsv.escapar(institucion),
+                anosExperiencia, TokenizadorCsv.escapar(gradoAcademico));
     }
 
     public static Investigador fromCSV(String csvLine) {
-        String[] parts = csvLine.split(",");
-        if (parts.length < 5) {
+        TokenizadorCsv campos = new TokenizadorCsv(csvLine);
+        int cantidadCampos = campos.contarCampos();
+        if (cantidadCampos < 5) {
             throw new IllegalArgumentException("Formato CSV inválido para Investigador");
         }
         
-        String nombre = parts[0];
-        String especialidad = parts[1];
-        String institucion = parts[2];
-        int anosExperiencia = Integer.parseInt(parts[3]);
-        String gradoAcademico = parts[4];
+        String nombre = campos.siguienteTexto();
+        String especialidad = campos.siguienteTexto();
+        String institucion = campos.siguienteTexto();
+        int anosExperiencia = campos.siguienteEntero();
+        String gradoAcademico = campos.siguienteTexto();
         
         return new Investigador(nombre, especialidad, institucion, anosExperiencia, gradoAcademico);
     }
@@ -0,0 +1,30 @@
+package model;
+
+import java.util.List;
+
+/**
+ * Clase Pagina - Responsabilidad única de representar un tramo de un resultado
+ * Contiene los elementos de la página y el cursor para pedir la siguiente; el cursor
+ * es opaco para quien lo recibe y es null cuando no quedan más elementos.
+ */
+public class Pagina<T> {
+    private final List<T> elementos;
+    private final String cursorSiguiente;
+
+    public Pagina(List<T> elementos, String cursorSiguiente) {
+        this.elementos = List.copyOf(elementos);
+        this.cursorSiguiente = cursorSiguiente;
+    }
+
+    public List<T> getElementos() { return elementos; }
+    public String getCursorSiguiente() { return cursorSiguiente; }
+
+    public boolean hayMas() {
+        return cursorSiguiente != null;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Pagina[elementos=%d, siguiente=%s]", elementos.size(), cursorSiguiente);
+    }
+}
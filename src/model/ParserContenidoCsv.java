@@ -0,0 +1,152 @@
+package model;
+
+import csv.ErrorParseo;
+import csv.ErroresLectura;
+import csv.TokenizadorCsv;
+
+/**
+ * Parser de filas CSV de contenido audiovisual
+ * Es el único camino de lectura de filas: lo usan los fromCSV() del modelo y la
+ * lectura de archivos, secuencial y paralela. El ID de la fila se conserva.
+ */
+public final class ParserContenidoCsv {
+
+    private ParserContenidoCsv() {
+    }
+
+    /**
+     * Crea el contenido de una línea CSV conservando su ID
+     */
+    public static ContenidoAudiovisual parsear(String linea) {
+        return parsear(new TokenizadorCsv(linea));
+    }
+
+    /**
+     * Parsea la línea sobre la que está posicionado el tokenizador
+     * Los errores de formato se lanzan como ErrorParseo, sin traza de pila; los que
+     * rechaza el modelo al crear el contenido, como IllegalArgumentException.
+     */
+    public static ContenidoAudiovisual parsear(TokenizadorCsv campos) {
+        int cantidadCampos = campos.contarCampos();
+        
+        if (cantidadCampos < 2) {
+            throw new ErrorParseo(ErroresLectura.Codigo.LINEA_INVALIDA, -1);
+        }
+        
+        if (campos.consumirSi("PELICULA")) {
+            return parsearPelicula(campos, cantidadCampos);
+        }
+        if (campos.consumirSi("SERIE")) {
+            return parsearSerie(campos, cantidadCampos);
+        }
+        if (campos.consumirSi("DOCUMENTAL")) {
+            return parsearDocumental(campos, cantidadCampos);
+        }
+        if (campos.consumirSi("YOUTUBE")) {
+            return parsearVideoYouTube(campos, cantidadCampos);
+        }
+        if (campos.consumirSi("CORTOMETRAJE")) {
+            return parsearCortometraje(campos, cantidadCampos);
+        }
+        
+        String tipo = campos.siguienteTexto().trim().toUpperCase();
+        throw new ErrorParseo(ErroresLectura.Codigo.TIPO_DESCONOCIDO, 0, tipo);
+    }
+
+    private static Pelicula parsearPelicula(TokenizadorCsv campos, int cantidadCampos) {
+        if (cantidadCampos < 6) {
+            throw new ErrorParseo(ErroresLectura.Codigo.CAMPOS_INSUFICIENTES, cantidadCampos, "Película");
+        }
+        
+        int id = siguienteId(campos);
+        String titulo = campos.siguienteTexto();
+        int duracion = siguienteDuracion(campos);
+        String genero = campos.siguienteTexto();
+        String estudio = campos.siguienteTexto();
+        
+        return new Pelicula(id, titulo, duracion, genero, estudio);
+    }
+
+    private static SerieDeTV parsearSerie(TokenizadorCsv campos, int cantidadCampos) {
+        if (cantidadCampos < 6) {
+            throw new ErrorParseo(ErroresLectura.Codigo.CAMPOS_INSUFICIENTES, cantidadCampos, "Serie de TV");
+        }
+        
+        int id = siguienteId(campos);
+        String titulo = campos.siguienteTexto();
+        int duracion = siguienteDuracion(campos);
+        String genero = campos.siguienteTexto();
+        int temporadas = campos.siguienteEntero();
+        
+        return new SerieDeTV(id, titulo, duracion, genero, temporadas);
+    }
+
+    private static Documental parsearDocumental(TokenizadorCsv campos, int cantidadCampos) {
+        if (cantidadCampos < 6) {
+            throw new ErrorParseo(ErroresLectura.Codigo.CAMPOS_INSUFICIENTES, cantidadCampos, "Documental");
+        }
+        
+        int id = siguienteId(campos);
+        String titulo = campos.siguienteTexto();
+        int duracion = siguienteDuracion(campos);
+        String genero = campos.siguienteTexto();
+        String tema = campos.siguienteTexto();
+        
+        return new Documental(id, titulo, duracion, genero, tema);
+    }
+
+    private static VideoYouTube parsearVideoYouTube(TokenizadorCsv campos, int cantidadCampos) {
+        if (cantidadCampos < 9) {
+            throw new ErrorParseo(ErroresLectura.Codigo.CAMPOS_INSUFICIENTES, cantidadCampos, "Video de YouTube");
+        }
+        
+        int id = siguienteId(campos);
+        String titulo = campos.siguienteTexto();
+        int duracion = siguienteDuracion(campos);
+        String genero = campos.siguienteTexto();
+        String canal = campos.siguienteTexto();
+        int visualizaciones = campos.siguienteEntero();
+        int likes = campos.siguienteEntero();
+        String fechaPublicacion = campos.siguienteTexto();
+        String calidad = cantidadCampos > 9 ? campos.siguienteTexto() : "720p";
+        
+        return new VideoYouTube(id, titulo, duracion, genero, canal, 
+                               visualizaciones, likes, fechaPublicacion, calidad);
+    }
+
+    private static Cortometraje parsearCortometraje(TokenizadorCsv campos, int cantidadCampos) {
+        if (cantidadCampos < 9) {
+            throw new ErrorParseo(ErroresLectura.Codigo.CAMPOS_INSUFICIENTES, cantidadCampos, "Cortometraje");
+        }
+        
+        int id = siguienteId(campos);
+        String titulo = campos.siguienteTexto();
+        int duracion = siguienteDuracion(campos);
+        String genero = campos.siguienteTexto();
+        String director = campos.siguienteTexto();
+        String festival = campos.siguienteTexto();
+        boolean esEstudiantil = campos.siguienteBooleano();
+        String tecnicaFilmacion = campos.siguienteTexto();
+        int presupuesto = cantidadCampos > 9 ? campos.siguienteEntero() : 0;
+        
+        return new Cortometraje(id, titulo, duracion, genero, director, festival, 
+                               esEstudiantil, tecnicaFilmacion, presupuesto);
+    }
+
+    // Se validan antes de crear el contenido para no pasar por la excepción del modelo
+    private static int siguienteId(TokenizadorCsv campos) {
+        int id = campos.siguienteEntero();
+        if (id <= 0) {
+            throw new ErrorParseo(ErroresLectura.Codigo.ID_INVALIDO, campos.getCampoActual());
+        }
+        return id;
+    }
+
+    private static int siguienteDuracion(TokenizadorCsv campos) {
+        int duracion = campos.siguienteEntero();
+        if (duracion <= 0) {
+            throw new ErrorParseo(ErroresLectura.Codigo.DURACION_INVALIDA, campos.getCampoActual());
+        }
+        return duracion;
+    }
+}
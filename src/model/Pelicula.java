@@ -3,6 +3,8 @@ package model;
 import java.util.ArrayList;
 import java.util.List;
 
+import csv.TokenizadorCsv;
+
 /**
  * Clase Pelicula - Responsabilidad única de representar una película
  * Extiende ContenidoAudiovisual (Liskov Substitution Principle)
@@ -17,6 +19,13 @@ public class Pelicula extends ContenidoAudiovisual {
         this.actores = new ArrayList<>();
     }
 
+    // Constructor para restaurar una película persistida con su ID original
+    public Pelicula(int id, String titulo, int duracionEnMinutos, String genero, String estudio) {
+        super(id, titulo, duracionEnMinutos, genero);
+        this.estudio = validarEstudio(estudio);
+        this.actores = new ArrayList<>();
+    }
+
     private String validarEstudio(String estudio) {
         if (estudio == null || estudio.trim().isEmpty()) {
             throw new IllegalArgumentException("El estudio no puede estar vacío");
@@ -75,33 +84,32 @@ public class Pelicula extends ContenidoAudiovisual {
         StringBuilder sb = new StringBuilder();
         sb.append("PELICULA,")
           .append(getId()).append(",")
-          .append(getTitulo()).append(",")
+          .append(TokenizadorCsv.escapar(getTitulo())).append(",")
           .append(getDuracionEnMinutos()).append(",")
-          .append(getGenero()).append(",")
-          .append(estudio);
+          .append(TokenizadorCsv.escapar(getGenero())).append(",")
+          .append(TokenizadorCsv.escapar(estudio));
         
         if (!actores.isEmpty()) {
-            sb.append(",");
+            StringBuilder nombres = new StringBuilder();
             for (int i = 0; i < actores.size(); i++) {
-                if (i > 0) sb.append(";");
-                sb.append(actores.get(i).getNombre());
+                if (i > 0) nombres.append(";");
+                nombres.append(actores.get(i).getNombre());
             }
+            sb.append(",").append(TokenizadorCsv.escapar(nombres.toString()));
         }
         
         return sb.toString();
     }
 
+    /**
+     * Crea la película desde una línea CSV conservando su ID, con el mismo parser que
+     * la lectura de archivos
+     */
     public static Pelicula fromCSV(String csvLine) {
-        String[] parts = csvLine.split(",");
-        if (parts.length < 6) {
+        ContenidoAudiovisual contenido = ParserContenidoCsv.parsear(csvLine);
+        if (!(contenido instanceof Pelicula)) {
             throw new IllegalArgumentException("Formato CSV inválido para Película");
         }
-        
-        String titulo = parts[2];
-        int duracion = Integer.parseInt(parts[3]);
-        String genero = parts[4];
-        String estudio = parts[5];
-        
-        return new Pelicula(titulo, duracion, genero, estudio);
+        return (Pelicula) contenido;
     }
 }
\ No newline at end of file
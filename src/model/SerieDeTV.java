@@ -3,6 +3,8 @@ package model;
 import java.util.ArrayList;
 import java.util.List;
 
+import csv.TokenizadorCsv;
+
 /**
  * Clase SerieDeTV - Responsabilidad única de representar una serie de TV
  * Extiende ContenidoAudiovisual (Liskov Substitution Principle)
@@ -17,6 +19,13 @@ public class SerieDeTV extends ContenidoAudiovisual {
         this.temporadas = new ArrayList<>();
     }
 
+    // Constructor para restaurar una serie persistida con su ID original
+    public SerieDeTV(int id, String titulo, int duracionEnMinutos, String genero, int numeroTemporadas) {
+        super(id, titulo, duracionEnMinutos, genero);
+        this.numeroTemporadas = validarNumeroTemporadas(numeroTemporadas);
+        this.temporadas = new ArrayList<>();
+    }
+
     private int validarNumeroTemporadas(int numero) {
         if (numero <= 0) {
             throw new IllegalArgumentException("El número de temporadas debe ser mayor a 0");
@@ -82,25 +91,23 @@ public class SerieDeTV extends ContenidoAudiovisual {
         StringBuilder sb = new StringBuilder();
         sb.append("SERIE,")
           .append(getId()).append(",")
-          .append(getTitulo()).append(",")
+          .append(TokenizadorCsv.escapar(getTitulo())).append(",")
           .append(getDuracionEnMinutos()).append(",")
-          .append(getGenero()).append(",")
+          .append(TokenizadorCsv.escapar(getGenero())).append(",")
           .append(numeroTemporadas);
         
         return sb.toString();
     }
 
+    /**
+     * Crea la serie desde una línea CSV conservando su ID, con el mismo parser que
+     * la lectura de archivos
+     */
     public static SerieDeTV fromCSV(String csvLine) {
-        String[] parts = csvLine.split(",");
-        if (parts.length < 6) {
+        ContenidoAudiovisual contenido = ParserContenidoCsv.parsear(csvLine);
+        if (!(contenido instanceof SerieDeTV)) {
             throw new IllegalArgumentException("Formato CSV inválido para Serie de TV");
         }
-        
-        String titulo = parts[2];
-        int duracion = Integer.parseInt(parts[3]);
-        String genero = parts[4];
-        int temporadas = Integer.parseInt(parts[5]);
-        
-        return new SerieDeTV(titulo, duracion, genero, temporadas);
+        return (SerieDeTV) contenido;
     }
 }
\ No newline at end of file
@@ -3,6 +3,8 @@ package model;
 import java.util.ArrayList;
 import java.util.List;
 
+import csv.TokenizadorCsv;
+
 /**
  * Clase Temporada - Responsabilidad única de representar una temporada
  * Aplicación de Single Responsibility Principle (SRP)
@@ -95,30 +97,32 @@ public class Temporada {
         StringBuilder sb = new StringBuilder();
         sb.append(numeroTemporada).append(",")
           .append(numeroEpisodios).append(",")
-          .append(fechaEstreno).append(",")
-          .append(fechaFinalizacion);
+          .append(TokenizadorCsv.escapar(fechaEstreno)).append(",")
+          .append(TokenizadorCsv.escapar(fechaFinalizacion));
         
         if (!episodios.isEmpty()) {
-            sb.append(",");
+            StringBuilder nombres = new StringBuilder();
             for (int i = 0; i < episodios.size(); i++) {
-                if (i > 0) sb.append(";");
-                sb.append(episodios.get(i));
+                if (i > 0) nombres.append(";");
+                nombres.append(episodios.get(i));
             }
+            sb.append(",").append(TokenizadorCsv.escapar(nombres.toString()));
         }
         
         return sb.toString();
     }
 
     public static Temporada fromCSV(String csvLine) {
-        String[] parts = csvLine.split(",");
-        if (parts.length < 4) {
+        TokenizadorCsv campos = new TokenizadorCsv(csvLine);
+        int cantidadCampos = campos.contarCampos();
+        if (cantidadCampos < 4) {
             throw new IllegalArgumentException("Formato CSV inválido para Temporada");
         }
         
-        int numero = Integer.parseInt(parts[0]);
-        int episodios = Integer.parseInt(parts[1]);
-        String estreno = parts[2];
-        String finalizacion = parts[3];
+        int numero = campos.siguienteEntero();
+        int episodios = campos.siguienteEntero();
+        String estreno = campos.siguienteTexto();
+        String finalizacion = campos.siguienteTexto();
         
         return new Temporada(numero, episodios, estreno, finalizacion);
     }
@@ -1,5 +1,7 @@
 package model;
 
+import csv.TokenizadorCsv;
+
 /**
  * Clase VideoYouTube - Responsabilidad única de representar un video de YouTube
  * Extiende ContenidoAudiovisual (Liskov Substitution Principle)
@@ -21,6 +23,17 @@ public class VideoYouTube extends ContenidoAudiovisual {
         this.calidad = validarCalidad(calidad);
     }
 
+    // Constructor para restaurar un video persistido con su ID original
+    public VideoYouTube(int id, String titulo, int duracionEnMinutos, String genero, String canal,
+                       int visualizaciones, int likes, String fechaPublicacion, String calidad) {
+        super(id, titulo, duracionEnMinutos, genero);
+        this.canal = validarTexto(canal, "Canal");
+        this.visualizaciones = validarNumero(visualizaciones, "Visualizaciones");
+        this.likes = validarNumero(likes, "Likes");
+        this.fechaPublicacion = validarTexto(fechaPublicacion, "Fecha de publicación");
+        this.calidad = validarCalidad(calidad);
+    }
+
     private String validarTexto(String texto, String campo) {
         if (texto == null || texto.trim().isEmpty()) {
             throw new IllegalArgumentException(campo + " no puede estar vacío");
@@ -61,10 +74,12 @@ public class VideoYouTube extends ContenidoAudiovisual {
 
     public void setVisualizaciones(int visualizaciones) {
         this.visualizaciones = validarNumero(visualizaciones, "Visualizaciones");
+        notificarCambio();
     }
 
     public void setLikes(int likes) {
         this.likes = validarNumero(likes, "Likes");
+        notificarCambio();
     }
 
     public void setFechaPublicacion(String fechaPublicacion) {
@@ -108,26 +123,19 @@ public class VideoYouTube extends ContenidoAudiovisual {
     @Override
     public String toCSV() {
         return String.format("YOUTUBE,%d,%s,%d,%s,%s,%d,%d,%s,%s",
-                getId(), getTitulo(), getDuracionEnMinutos(), getGenero(),
-                canal, visualizaciones, likes, fechaPublicacion, calidad);
+                getId(), TokenizadorCsv.escapar(getTitulo()), getDuracionEnMinutos(), TokenizadorCsv.escapar(getGenero()),
+                TokenizadorCsv.escapar(canal), visualizaciones, likes, TokenizadorCsv.escapar(fechaPublicacion), calidad);
     }
 
+    /**
+     * Crea el video desde una línea CSV conservando su ID, con el mismo parser que
+     * la lectura de archivos
+     */
     public static VideoYouTube fromCSV(String csvLine) {
-        String[] parts = csvLine.split(",");
-        if (parts.length < 9) {
+        ContenidoAudiovisual contenido = ParserContenidoCsv.parsear(csvLine);
+        if (!(contenido instanceof VideoYouTube)) {
             throw new IllegalArgumentException("Formato CSV inválido para Video de YouTube");
         }
-        
-        String titulo = parts[2];
-        int duracion = Integer.parseInt(parts[3]);
-        String genero = parts[4];
-        String canal = parts[5];
-        int visualizaciones = Integer.parseInt(parts[6]);
-        int likes = Integer.parseInt(parts[7]);
-        String fechaPublicacion = parts[8];
-        String calidad = parts.length > 9 ? parts[9] : "720p";
-        
-        return new VideoYouTube(titulo, duracion, genero, canal, 
-                               visualizaciones, likes, fechaPublicacion, calidad);
+        return (VideoYouTube) contenido;
     }
 }
\ No newline at end of file
@@ -0,0 +1,157 @@
+package service;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import model.ContenidoAudiovisual;
+import model.EstadisticasContenido;
+import model.VideoYouTube;
+
+/**
+ * Estadísticas del catálogo mantenidas al guardar y eliminar, sin recorrer los datos
+ * Cada alta suma el aporte del contenido y cada baja resta el aporte registrado para su
+ * ID, aunque el objeto haya cambiado después. La foto se arma una vez por cada cambio y
+ * se reutiliza mientras no haya otro, así consultarla seguido no cuesta nada.
+ *
+ * Seguro para varios hilos siempre que los cambios de un mismo ID estén serializados
+ * (como hacen los repositorios); con escrituras concurrentes la foto puede reflejar
+ * solo parte de las que están en curso.
+ */
+class AgregadorEstadisticas {
+    private final ConcurrentHashMap<Integer, Aporte> aportes;
+    private final LongAdder duracionTotal = new LongAdder();
+    private final LongAdder visualizaciones = new LongAdder();
+    private final LongAdder likes = new LongAdder();
+    private final ConcurrentHashMap<String, LongAdder> porTipo = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, LongAdder> porGenero = new ConcurrentHashMap<>();
+
+    // Se incrementa en cada cambio; la foto guardada vale si se armó en la versión actual
+    private final AtomicLong version = new AtomicLong();
+    private volatile Foto foto = new Foto(0, EstadisticasContenido.VACIAS);
+
+    AgregadorEstadisticas() {
+        this(0);
+    }
+
+    AgregadorEstadisticas(int capacidad) {
+        aportes = new ConcurrentHashMap<>(IndicesContenido.capacidadHash(capacidad));
+    }
+
+    /**
+     * Suma el aporte del contenido; si el ID ya estaba, reemplaza el aporte anterior
+     */
+    void agregar(ContenidoAudiovisual contenido) {
+        Aporte nuevo = new Aporte(contenido);
+        Aporte anterior = aportes.put(contenido.getId(), nuevo);
+        if (nuevo.equals(anterior)) {
+            return;
+        }
+        sumar(nuevo, 1);
+        if (anterior != null) {
+            sumar(anterior, -1);
+        }
+        version.incrementAndGet();
+    }
+
+    void eliminar(int id) {
+        Aporte anterior = aportes.remove(id);
+        if (anterior != null) {
+            sumar(anterior, -1);
+            version.incrementAndGet();
+        }
+    }
+
+    void limpiar() {
+        aportes.clear();
+        duracionTotal.reset();
+        visualizaciones.reset();
+        likes.reset();
+        porTipo.clear();
+        porGenero.clear();
+        version.incrementAndGet();
+    }
+
+    EstadisticasContenido obtener() {
+        Foto actual = foto;
+        long versionActual = version.get();
+        if (actual.version == versionActual) {
+            return actual.estadisticas;
+        }
+        EstadisticasContenido estadisticas = new EstadisticasContenido(aportes.size(), duracionTotal.sum(),
+                sumas(porTipo), sumas(porGenero), visualizaciones.sum(), likes.sum());
+        foto = new Foto(versionActual, estadisticas);
+        return estadisticas;
+    }
+
+    private void sumar(Aporte aporte, int signo) {
+        duracionTotal.add(signo * (long) aporte.duracion);
+        visualizaciones.add(signo * aporte.visualizaciones);
+        likes.add(signo * aporte.likes);
+        porTipo.computeIfAbsent(aporte.tipo, t -> new LongAdder()).add(signo);
+        porGenero.computeIfAbsent(aporte.genero, g -> new LongAdder()).add(signo);
+    }
+
+    private static Map<String, Long> sumas(Map<String, LongAdder> contadores) {
+        Map<String, Long> resultado = new HashMap<>();
+        contadores.forEach((clave, contador) -> {
+            long cantidad = contador.sum();
+            if (cantidad > 0) {
+                resultado.put(clave, cantidad);
+            }
+        });
+        return resultado;
+    }
+
+    /**
+     * Lo que un contenido suma a las estadísticas, tomado al guardarlo
+     */
+    private static class Aporte {
+        private final String tipo;
+        private final String genero;
+        private final int duracion;
+        private final long visualizaciones;
+        private final long likes;
+
+        private Aporte(ContenidoAudiovisual contenido) {
+            this.tipo = contenido.getClass().getSimpleName();
+            this.genero = IndiceGeneros.normalizar(contenido.getGenero());
+            this.duracion = contenido.getDuracionEnMinutos();
+            if (contenido instanceof VideoYouTube) {
+                VideoYouTube video = (VideoYouTube) contenido;
+                this.visualizaciones = video.getVisualizaciones();
+                this.likes = video.getLikes();
+            } else {
+                this.visualizaciones = 0;
+                this.likes = 0;
+            }
+        }
+
+        @Override
+        public boolean equals(Object otro) {
+            if (!(otro instanceof Aporte)) {
+                return false;
+            }
+            Aporte aporte = (Aporte) otro;
+            return tipo.equals(aporte.tipo) && genero.equals(aporte.genero) && duracion == aporte.duracion
+                    && visualizaciones == aporte.visualizaciones && likes == aporte.likes;
+        }
+
+        @Override
+        public int hashCode() {
+            return genero.hashCode() * 31 + duracion;
+        }
+    }
+
+    private static class Foto {
+        private final long version;
+        private final EstadisticasContenido estadisticas;
+
+        private Foto(long version, EstadisticasContenido estadisticas) {
+            this.version = version;
+            this.estadisticas = estadisticas;
+        }
+    }
+}
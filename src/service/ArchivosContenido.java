@@ -0,0 +1,178 @@
+package service;
+
+import java.io.File;
+import java.util.AbstractList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+import interfaces.IFileHandler;
+import interfaces.IProgresoOperacion;
+import model.ContenidoAudiovisual;
+
+/**
+ * Persistencia compartida por los repositorios de contenido
+ * Lee el archivo principal o, si es más reciente, su instantánea binaria (misma ruta
+ * con extensión .bin), y al guardar escribe ambos.
+ *
+ * Cada INTERVALO_PROGRESO elementos informa el avance y consulta si se canceló la
+ * operación; una cancelación se propaga como CancellationException.
+ */
+class ArchivosContenido {
+    private static final int INTERVALO_PROGRESO = 1024;
+
+    private final IFileHandler<ContenidoAudiovisual> fileHandler;
+    private final IFileHandler<ContenidoAudiovisual> snapshotHandler;
+
+    ArchivosContenido(IFileHandler<ContenidoAudiovisual> fileHandler,
+                      IFileHandler<ContenidoAudiovisual> snapshotHandler) {
+        this.fileHandler = fileHandler;
+        this.snapshotHandler = snapshotHandler;
+    }
+
+    /**
+     * Lee los elementos en un destino nuevo creado con crearDestino. Si la instantánea
+     * falla se descarta su destino y se lee el archivo principal en otro.
+     */
+    <T> T cargar(String rutaArchivo, Supplier<T> crearDestino,
+                 BiConsumer<T, ContenidoAudiovisual> agregar, IProgresoOperacion progreso) {
+        String rutaSnapshot = rutaSnapshot(rutaArchivo);
+        if (rutaSnapshot != null && snapshotVigente(rutaArchivo, rutaSnapshot)) {
+            try {
+                return cargarCon(snapshotHandler, rutaSnapshot, crearDestino, agregar, progreso);
+            } catch (CancellationException e) {
+                throw e;
+            } catch (Exception e) {
+                System.err.println("Instantánea no utilizable, se carga " + rutaArchivo + ": " + e.getMessage());
+            }
+        }
+        
+        try {
+            return cargarCon(fileHandler, rutaArchivo, crearDestino, agregar, progreso);
+        } catch (CancellationException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new RuntimeException("Error al cargar datos desde archivo: " + e.getMessage(), e);
+        }
+    }
+
+    private <T> T cargarCon(IFileHandler<ContenidoAudiovisual> handler, String rutaArchivo,
+                            Supplier<T> crearDestino, BiConsumer<T, ContenidoAudiovisual> agregar,
+                            IProgresoOperacion progreso) {
+        T destino = crearDestino.get();
+        long[] leidos = new long[1];
+        long cantidad = handler.leerArchivo(rutaArchivo, contenido -> {
+            agregar.accept(destino, contenido);
+            if (++leidos[0] % INTERVALO_PROGRESO == 0) {
+                informar(progreso, leidos[0]);
+            }
+        });
+        informar(progreso, cantidad);
+        
+        System.out.println("Cargados " + cantidad + " elementos desde " + rutaArchivo);
+        return destino;
+    }
+
+    /**
+     * Guarda el archivo principal informando el avance por elemento escrito; si se
+     * cancela, el archivo anterior queda intacto. La instantánea se escribe después,
+     * sin seguimiento, porque el archivo principal ya está completo.
+     */
+    void guardar(String rutaArchivo, List<ContenidoAudiovisual> listaContenidos, IProgresoOperacion progreso) {
+        try {
+            fileHandler.escribirArchivo(rutaArchivo, new ListaConProgreso(listaContenidos, progreso));
+            informar(progreso, listaContenidos.size());
+            
+            System.out.println("Guardados " + listaContenidos.size() + " elementos en " + rutaArchivo);
+            
+        } catch (CancellationException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new RuntimeException("Error al guardar datos en archivo: " + e.getMessage(), e);
+        }
+        
+        String rutaSnapshot = rutaSnapshot(rutaArchivo);
+        if (rutaSnapshot != null) {
+            try {
+                snapshotHandler.escribirArchivo(rutaSnapshot, listaContenidos);
+            } catch (Exception e) {
+                // El archivo principal ya se guardó; una instantánea a medias no debe usarse
+                new File(rutaSnapshot).delete();
+                System.err.println("No se pudo guardar la instantánea " + rutaSnapshot + ": " + e.getMessage());
+            }
+        }
+    }
+
+    private static void informar(IProgresoOperacion progreso, long procesados) {
+        progreso.avance(procesados);
+        if (progreso.estaCancelada()) {
+            throw new CancellationException("Operación cancelada");
+        }
+    }
+
+    /**
+     * Vista de la lista que informa el avance mientras el manejador la recorre
+     */
+    private static class ListaConProgreso extends AbstractList<ContenidoAudiovisual> {
+        private final List<ContenidoAudiovisual> contenidos;
+        private final IProgresoOperacion progreso;
+
+        private ListaConProgreso(List<ContenidoAudiovisual> contenidos, IProgresoOperacion progreso) {
+            this.contenidos = contenidos;
+            this.progreso = progreso;
+        }
+
+        @Override
+        public ContenidoAudiovisual get(int indice) {
+            return contenidos.get(indice);
+        }
+
+        @Override
+        public int size() {
+            return contenidos.size();
+        }
+
+        @Override
+        public Iterator<ContenidoAudiovisual> iterator() {
+            Iterator<ContenidoAudiovisual> recorrido = contenidos.iterator();
+            return new Iterator<ContenidoAudiovisual>() {
+                private long entregados;
+
+                @Override
+                public boolean hasNext() {
+                    return recorrido.hasNext();
+                }
+
+                @Override
+                public ContenidoAudiovisual next() {
+                    if (++entregados % INTERVALO_PROGRESO == 0) {
+                        informar(progreso, entregados);
+                    }
+                    return recorrido.next();
+                }
+            };
+        }
+    }
+
+    /**
+     * Ruta de la instantánea asociada al archivo (misma ruta con extensión .bin),
+     * o null si no se usan instantáneas
+     */
+    private String rutaSnapshot(String rutaArchivo) {
+        if (snapshotHandler == null || rutaArchivo == null) {
+            return null;
+        }
+        int punto = rutaArchivo.lastIndexOf('.');
+        int separador = Math.max(rutaArchivo.lastIndexOf('/'), rutaArchivo.lastIndexOf('\\'));
+        String base = punto > separador ? rutaArchivo.substring(0, punto) : rutaArchivo;
+        return base + ".bin";
+    }
+
+    private boolean snapshotVigente(String rutaArchivo, String rutaSnapshot) {
+        File snapshot = new File(rutaSnapshot);
+        File archivo = new File(rutaArchivo);
+        return snapshot.isFile() && (!archivo.exists() || snapshot.lastModified() >= archivo.lastModified());
+    }
+}
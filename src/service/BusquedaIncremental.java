@@ -0,0 +1,110 @@
+package service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+import interfaces.IContenidoService;
+import model.ContenidoAudiovisual;
+
+/**
+ * Búsqueda por título o género para ejecutar mientras el usuario escribe
+ * Recuerda el último resultado: si el término nuevo contiene al anterior (por ejemplo
+ * "ava" → "avat"), todo resultado nuevo ya estaba en el anterior, así que se filtra esa
+ * lista en lugar de volver a consultar el catálogo. Cualquier cambio en los datos debe
+ * avisarse con invalidar().
+ *
+ * Pensada para un único hilo de búsqueda; invalidar() puede llamarse desde otro hilo.
+ * El filtrado se abandona con CancellationException si se interrumpe el hilo.
+ */
+public class BusquedaIncremental {
+    public enum Criterio { TITULO, GENERO }
+
+    private static final int INTERVALO_INTERRUPCION = 1024;
+
+    private final IContenidoService servicio;
+    // Se incrementa en cada invalidar(); un resultado solo vale en la generación en que se buscó
+    private final AtomicLong generacion = new AtomicLong();
+    private volatile Resultado anterior;
+
+    public BusquedaIncremental(IContenidoService servicio) {
+        this.servicio = servicio;
+    }
+
+    public List<ContenidoAudiovisual> buscar(Criterio criterio, String termino) {
+        if (termino == null || termino.trim().isEmpty()) {
+            throw new IllegalArgumentException("El término de búsqueda no puede estar vacío");
+        }
+        String normalizado = normalizar(criterio, termino);
+        // La generación se lee antes de buscar: si se invalida durante la búsqueda, el
+        // resultado queda guardado con la generación vieja y no se vuelve a usar
+        long actual = generacion.get();
+        Resultado previo = anterior;
+
+        List<ContenidoAudiovisual> resultados;
+        if (previo != null && previo.generacion == actual && previo.criterio == criterio
+                && normalizado.contains(previo.termino)) {
+            resultados = filtrar(previo.contenidos, coincide(criterio, normalizado));
+        } else if (criterio == Criterio.TITULO) {
+            resultados = servicio.buscarPorTitulo(termino);
+        } else {
+            resultados = servicio.filtrarPorGenero(termino);
+        }
+
+        anterior = new Resultado(actual, criterio, normalizado, resultados);
+        return resultados;
+    }
+
+    public void invalidar() {
+        generacion.incrementAndGet();
+        anterior = null;
+    }
+
+    /**
+     * Mismo criterio que los índices del repositorio: subcadena sin distinguir mayúsculas
+     */
+    private static String normalizar(Criterio criterio, String termino) {
+        return criterio == Criterio.TITULO
+                ? IndiceTrigramas.normalizar(termino.trim())
+                : IndiceGeneros.normalizar(termino);
+    }
+
+    private static Predicate<ContenidoAudiovisual> coincide(Criterio criterio, String normalizado) {
+        if (criterio == Criterio.TITULO) {
+            return contenido -> IndiceTrigramas.normalizar(contenido.getTitulo()).contains(normalizado);
+        }
+        return contenido -> IndiceGeneros.normalizar(contenido.getGenero()).contains(normalizado);
+    }
+
+    private static List<ContenidoAudiovisual> filtrar(List<ContenidoAudiovisual> contenidos,
+                                                      Predicate<ContenidoAudiovisual> filtro) {
+        List<ContenidoAudiovisual> resultados = new ArrayList<>();
+        int revisados = 0;
+        for (ContenidoAudiovisual contenido : contenidos) {
+            if (++revisados % INTERVALO_INTERRUPCION == 0 && Thread.currentThread().isInterrupted()) {
+                throw new CancellationException("Búsqueda reemplazada por una más nueva");
+            }
+            if (filtro.test(contenido)) {
+                resultados.add(contenido);
+            }
+        }
+        return resultados;
+    }
+
+    private static class Resultado {
+        private final long generacion;
+        private final Criterio criterio;
+        private final String termino;
+        private final List<ContenidoAudiovisual> contenidos;
+
+        private Resultado(long generacion, Criterio criterio, String termino,
+                          List<ContenidoAudiovisual> contenidos) {
+            this.generacion = generacion;
+            this.criterio = criterio;
+            this.termino = termino;
+            this.contenidos = contenidos;
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package service;
+
+/**
+ * Conjunto de IDs sobre un int[] con direccionamiento abierto
+ * Se usa al leer un archivo para detectar IDs repetidos sin crear un Integer por fila.
+ * Los IDs válidos son mayores a 0, así que 0 marca una posición libre.
+ */
+class ConjuntoIds {
+    private static final int CAPACIDAD_INICIAL = 16;
+
+    private int[] tabla = new int[CAPACIDAD_INICIAL];
+    private int tamano;
+
+    /**
+     * Agrega el ID y retorna false si ya estaba
+     */
+    boolean agregar(int id) {
+        if (id <= 0) {
+            throw new IllegalArgumentException("El ID debe ser mayor a 0");
+        }
+        // Factor de carga de 1/2 como máximo
+        if ((tamano + 1) * 2 > tabla.length) {
+            crecer();
+        }
+        int mascara = tabla.length - 1;
+        for (int i = posicionInicial(id, mascara); ; i = (i + 1) & mascara) {
+            if (tabla[i] == id) {
+                return false;
+            }
+            if (tabla[i] == 0) {
+                tabla[i] = id;
+                tamano++;
+                return true;
+            }
+        }
+    }
+
+    boolean contiene(int id) {
+        if (id <= 0) {
+            return false;
+        }
+        int mascara = tabla.length - 1;
+        for (int i = posicionInicial(id, mascara); tabla[i] != 0; i = (i + 1) & mascara) {
+            if (tabla[i] == id) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    int tamano() {
+        return tamano;
+    }
+
+    private void crecer() {
+        int[] anterior = tabla;
+        tabla = new int[anterior.length * 2];
+        int mascara = tabla.length - 1;
+        for (int id : anterior) {
+            if (id != 0) {
+                int i = posicionInicial(id, mascara);
+                while (tabla[i] != 0) {
+                    i = (i + 1) & mascara;
+                }
+                tabla[i] = id;
+            }
+        }
+    }
+
+    // Los IDs suelen ser consecutivos: se mezclan los bits para repartirlos en la tabla
+    private static int posicionInicial(int id, int mascara) {
+        int h = id * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & mascara;
+    }
+}
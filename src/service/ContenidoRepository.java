@@ -1,28 +1,48 @@
 package service;
 
 import java.util.ArrayList;
-import java.util.Comparator;
-import java.util.HashMap;
+import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.function.IntPredicate;
+import java.util.function.Predicate;
 
 import interfaces.IContenidoRepository;
 import interfaces.IFileHandler;
+import interfaces.IObservadorContenido;
+import interfaces.IProgresoOperacion;
 import model.ContenidoAudiovisual;
+import model.EstadisticasContenido;
 
 /**
  * Repositorio para gestión de contenido audiovisual
  * Implementa Single Responsibility Principle (SRP) - responsabilidad única de gestionar datos
  * Implementa Dependency Inversion Principle (DIP) - depende de abstracciones
+ *
+ * Los contenidos se guardan en un MapaPersistente: cada cambio publica una versión
+ * nueva y obtenerTodos() entrega la versión actual sin copiarla.
  */
 public class ContenidoRepository implements IContenidoRepository {
-    private final Map<Integer, ContenidoAudiovisual> contenidos;
-    private final IFileHandler<ContenidoAudiovisual> fileHandler;
+    private MapaPersistente contenidos;
+    private IndicesContenido indices;
+    private final ArchivosContenido archivos;
+    // Reindexa los contenidos guardados que se modifican con sus setters
+    private final IObservadorContenido observador = this::reindexar;
 
     public ContenidoRepository(IFileHandler<ContenidoAudiovisual> fileHandler) {
-        this.contenidos = new HashMap<>();
-        this.fileHandler = fileHandler;
+        this(fileHandler, null);
+    }
+
+    /**
+     * @param snapshotHandler manejador de la instantánea binaria que se guarda junto al
+     *                        archivo principal y se prefiere al cargar si es más reciente
+     */
+    public ContenidoRepository(IFileHandler<ContenidoAudiovisual> fileHandler,
+                               IFileHandler<ContenidoAudiovisual> snapshotHandler) {
+        this.contenidos = MapaPersistente.VACIO;
+        this.indices = new IndicesContenido();
+        this.archivos = new ArchivosContenido(fileHandler, snapshotHandler);
     }
 
     @Override
@@ -30,25 +50,87 @@ public class ContenidoRepository implements IContenidoRepository {
         if (contenido == null) {
             throw new IllegalArgumentException("El contenido no puede ser null");
         }
-        contenidos.put(contenido.getId(), contenido);
+        ContenidoAudiovisual anterior = contenidos.obtener(contenido.getId());
+        contenidos = contenidos.con(contenido);
+        if (anterior != null && anterior != contenido) {
+            soltar(anterior);
+        }
+        contenido.setObservador(observador);
+        indices.agregar(contenido);
+    }
+
+    /**
+     * Guarda el lote como una sola versión nueva del mapa; si un ID se repite queda el
+     * último. Con el repositorio vacío los índices se crean ya dimensionados para el lote.
+     */
+    @Override
+    public void guardarTodos(Collection<? extends ContenidoAudiovisual> lote) {
+        validarLote(lote);
+        MapaPersistente anteriores = contenidos;
+        MapaPersistente nuevo = anteriores.conTodos(lote);
+        if (anteriores.tamano() == 0) {
+            indices = new IndicesContenido(nuevo.tamano());
+        }
+        for (ContenidoAudiovisual contenido : lote) {
+            // Entre IDs repetidos en el lote solo se indexa el que quedó guardado
+            if (nuevo.obtener(contenido.getId()) == contenido) {
+                ContenidoAudiovisual anterior = anteriores.obtener(contenido.getId());
+                if (anterior != null && anterior != contenido) {
+                    soltar(anterior);
+                }
+                contenido.setObservador(observador);
+                indices.agregar(contenido);
+            }
+        }
+        contenidos = nuevo;
+    }
+
+    static void validarLote(Collection<? extends ContenidoAudiovisual> lote) {
+        if (lote == null) {
+            throw new IllegalArgumentException("El lote no puede ser null");
+        }
+        for (ContenidoAudiovisual contenido : lote) {
+            if (contenido == null) {
+                throw new IllegalArgumentException("El contenido no puede ser null");
+            }
+        }
     }
 
     @Override
     public void eliminar(int id) {
-        if (!contenidos.containsKey(id)) {
+        ContenidoAudiovisual eliminado = contenidos.obtener(id);
+        if (eliminado == null) {
             throw new IllegalArgumentException("No existe contenido con ID: " + id);
         }
-        contenidos.remove(id);
+        contenidos = contenidos.sin(id);
+        soltar(eliminado);
+        indices.eliminar(id);
+    }
+
+    private void reindexar(ContenidoAudiovisual contenido) {
+        // Solo si sigue siendo el objeto guardado bajo su ID
+        if (contenidos.obtener(contenido.getId()) == contenido) {
+            indices.agregar(contenido);
+        }
+    }
+
+    private void soltar(ContenidoAudiovisual contenido) {
+        if (contenido != null && contenido.getObservador() == observador) {
+            contenido.setObservador(null);
+        }
     }
 
     @Override
     public ContenidoAudiovisual buscarPorId(int id) {
-        return contenidos.get(id);
+        return contenidos.obtener(id);
     }
 
+    /**
+     * Instantánea inmutable de todos los contenidos, ordenada por ID; no copia los datos
+     */
     @Override
     public List<ContenidoAudiovisual> obtenerTodos() {
-        return new ArrayList<>(contenidos.values());
+        return contenidos.valores();
     }
 
     @Override
@@ -57,10 +139,9 @@ public class ContenidoRepository implements IContenidoRepository {
             return new ArrayList<>();
         }
         
-        String tituloBusqueda = titulo.toLowerCase().trim();
-        return contenidos.values().stream()
-                .filter(c -> c.getTitulo().toLowerCase().contains(tituloBusqueda))
-                .collect(Collectors.toList());
+        List<ContenidoAudiovisual> resultados = new ArrayList<>();
+        indices.titulos.buscar(titulo.trim(), id -> resultados.add(contenidos.obtener(id)));
+        return resultados;
     }
 
     @Override
@@ -69,79 +150,247 @@ public class ContenidoRepository implements IContenidoRepository {
             return new ArrayList<>();
         }
         
-        String generoBusqueda = genero.toLowerCase().trim();
-        return contenidos.values().stream()
-                .filter(c -> c.getGenero().toLowerCase().contains(generoBusqueda))
-                .collect(Collectors.toList());
+        List<ContenidoAudiovisual> resultados = new ArrayList<>();
+        indices.generos.buscarPorSubcadena(genero, id -> resultados.add(contenidos.obtener(id)));
+        return resultados;
     }
 
+    /**
+     * Contenidos cuyo género es exactamente el indicado (sin distinguir mayúsculas)
+     */
     @Override
-    public void cargarDesdeArchivo(String rutaArchivo) {
-        try {
-            List<ContenidoAudiovisual> contenidosCargados = fileHandler.leerArchivo(rutaArchivo);
-            contenidos.clear(); // Limpiar datos existentes
-            
-            for (ContenidoAudiovisual contenido : contenidosCargados) {
-                contenidos.put(contenido.getId(), contenido);
-            }
-            
-            System.out.println("Cargados " + contenidosCargados.size() + " elementos desde " + rutaArchivo);
-            
-        } catch (Exception e) {
-            throw new RuntimeException("Error al cargar datos desde archivo: " + e.getMessage(), e);
+    public List<ContenidoAudiovisual> buscarPorGeneroExacto(String genero) {
+        List<ContenidoAudiovisual> resultados = new ArrayList<>();
+        if (genero == null || genero.trim().isEmpty()) {
+            return resultados;
         }
+        indices.generos.buscarExacto(genero, id -> resultados.add(contenidos.obtener(id)));
+        return resultados;
     }
 
+    /**
+     * Contenidos cuyo género empieza con el prefijo indicado (sin distinguir mayúsculas)
+     */
     @Override
-    public void guardarEnArchivo(String rutaArchivo) {
-        try {
-            List<ContenidoAudiovisual> listaContenidos = new ArrayList<>(contenidos.values());
-            fileHandler.escribirArchivo(rutaArchivo, listaContenidos);
-            
-            System.out.println("Guardados " + listaContenidos.size() + " elementos en " + rutaArchivo);
-            
-        } catch (Exception e) {
-            throw new RuntimeException("Error al guardar datos en archivo: " + e.getMessage(), e);
+    public List<ContenidoAudiovisual> buscarPorGeneroPrefijo(String prefijo) {
+        List<ContenidoAudiovisual> resultados = new ArrayList<>();
+        if (prefijo == null || prefijo.trim().isEmpty()) {
+            return resultados;
         }
+        indices.generos.buscarPorPrefijo(prefijo, id -> resultados.add(contenidos.obtener(id)));
+        return resultados;
+    }
+
+    @Override
+    public void cargarDesdeArchivo(String rutaArchivo) {
+        cargarDesdeArchivo(rutaArchivo, IProgresoOperacion.NINGUNO);
+    }
+
+    @Override
+    public void cargarDesdeArchivo(String rutaArchivo, IProgresoOperacion progreso) {
+        prepararCarga(rutaArchivo, progreso).run();
+    }
+
+    @Override
+    public Runnable prepararCarga(String rutaArchivo) {
+        return prepararCarga(rutaArchivo, IProgresoOperacion.NINGUNO);
+    }
+
+    @Override
+    public Runnable prepararCarga(String rutaArchivo, IProgresoOperacion progreso) {
+        // Los elementos se indexan a medida que se leen; el mapa nuevo reemplaza
+        // al actual solo si la lectura termina sin errores
+        Carga carga = archivos.cargar(rutaArchivo, Carga::new, (destino, contenido) -> {
+            destino.contenidos.agregar(contenido);
+            destino.indices.agregar(contenido);
+            contenido.setObservador(observador);
+        }, progreso);
+        MapaPersistente leidos = carga.contenidos.construir();
+        return () -> {
+            contenidos.valores().forEach(this::soltar);
+            contenidos = leidos;
+            indices = carga.indices;
+        };
+    }
+
+    @Override
+    public void guardarEnArchivo(String rutaArchivo) {
+        guardarEnArchivo(rutaArchivo, IProgresoOperacion.NINGUNO);
+    }
+
+    @Override
+    public void guardarEnArchivo(String rutaArchivo, IProgresoOperacion progreso) {
+        archivos.guardar(rutaArchivo, contenidos.valores(), progreso);
+    }
+
+    private static class Carga {
+        private final MapaPersistente.Constructor contenidos = new MapaPersistente.Constructor();
+        private final IndicesContenido indices = new IndicesContenido();
     }
 
     // Métodos adicionales útiles
+    @Override
     public int getCantidadTotal() {
-        return contenidos.size();
+        return contenidos.tamano();
     }
 
+    @Override
     public boolean existe(int id) {
-        return contenidos.containsKey(id);
+        return contenidos.contiene(id);
+    }
+
+    @Override
+    public boolean existePorTipoYTitulo(Class<? extends ContenidoAudiovisual> tipo, String titulo) {
+        return tipo != null && titulo != null && indices.unicidad.existe(tipo, titulo);
     }
 
+    @Override
     public void limpiar() {
-        contenidos.clear();
+        contenidos.valores().forEach(this::soltar);
+        contenidos = MapaPersistente.VACIO;
+        indices.limpiar();
     }
 
+    /**
+     * Cantidad de contenidos por tipo, leída de las particiones del índice de tipos
+     */
+    @Override
     public Map<String, Long> obtenerEstadisticasPorTipo() {
-        return contenidos.values().stream()
-                .collect(Collectors.groupingBy(
-                    c -> c.getClass().getSimpleName(),
-                    Collectors.counting()
-                ));
+        return indices.tipos.cantidadesPorTipo();
+    }
+
+    @Override
+    public EstadisticasContenido obtenerEstadisticas() {
+        return indices.estadisticas.obtener();
+    }
+
+    @Override
+    public List<ContenidoAudiovisual> buscarPorTipo(Class<? extends ContenidoAudiovisual> tipo) {
+        List<ContenidoAudiovisual> resultados = new ArrayList<>();
+        if (tipo == null) {
+            return resultados;
+        }
+        indices.tipos.buscar(tipo, id -> resultados.add(contenidos.obtener(id)));
+        return resultados;
+    }
+
+    @Override
+    public int contarPorTipo(Class<? extends ContenidoAudiovisual> tipo) {
+        return tipo == null ? 0 : indices.tipos.contar(tipo);
     }
 
+    /**
+     * Contenidos con duración en [duracionMinima, duracionMaxima], ordenados por duración
+     */
+    @Override
     public List<ContenidoAudiovisual> buscarPorDuracion(int duracionMinima, int duracionMaxima) {
-        return contenidos.values().stream()
-                .filter(c -> c.getDuracionEnMinutos() >= duracionMinima && 
-                            c.getDuracionEnMinutos() <= duracionMaxima)
-                .collect(Collectors.toList());
+        List<ContenidoAudiovisual> resultados = new ArrayList<>();
+        indices.duraciones.buscarRango(duracionMinima, duracionMaxima,
+                id -> resultados.add(contenidos.obtener(id)));
+        return resultados;
     }
 
+    @Override
     public List<ContenidoAudiovisual> ordenarPorTitulo() {
-        return contenidos.values().stream()
-                .sorted(Comparator.comparing(ContenidoAudiovisual::getTitulo))
-                .collect(Collectors.toList());
+        return obtenerPaginaPorTitulo(0, contenidos.tamano());
     }
 
+    /**
+     * Una página de contenidos ordenados por título: las posiciones
+     * [desplazamiento, desplazamiento + limite) del orden completo
+     */
+    @Override
+    public List<ContenidoAudiovisual> obtenerPaginaPorTitulo(int desplazamiento, int limite) {
+        if (desplazamiento < 0 || limite < 0) {
+            throw new IllegalArgumentException("El desplazamiento y el límite no pueden ser negativos");
+        }
+        IndiceOrdenTitulo orden = indices.ordenTitulos;
+        if (!orden.estaConstruido()) {
+            orden.construir(contenidos.valores());
+        }
+        List<ContenidoAudiovisual> resultados = new ArrayList<>(Math.min(limite, contenidos.tamano()));
+        orden.recorrer(desplazamiento, limite, id -> resultados.add(contenidos.obtener(id)));
+        return resultados;
+    }
+
+    @Override
     public List<ContenidoAudiovisual> ordenarPorDuracion() {
-        return contenidos.values().stream()
-                .sorted(Comparator.comparing(ContenidoAudiovisual::getDuracionEnMinutos))
-                .collect(Collectors.toList());
+        List<ContenidoAudiovisual> resultados = new ArrayList<>(contenidos.tamano());
+        indices.duraciones.recorrerOrdenado(id -> resultados.add(contenidos.obtener(id)));
+        return resultados;
+    }
+
+    /**
+     * Recorre la versión actual desde despuesDeId y se detiene al juntar limite
+     * contenidos que cumplen el filtro; no toca el resto del catálogo
+     */
+    @Override
+    public List<ContenidoAudiovisual> obtenerPaginaPorId(int despuesDeId, int limite,
+                                                          Predicate<ContenidoAudiovisual> filtro) {
+        if (limite < 0) {
+            throw new IllegalArgumentException("El límite no puede ser negativo");
+        }
+        List<ContenidoAudiovisual> resultados = new ArrayList<>(Math.min(limite, 64));
+        Iterator<ContenidoAudiovisual> recorrido = contenidos.recorrerDesde(despuesDeId + 1);
+        while (resultados.size() < limite && recorrido.hasNext()) {
+            ContenidoAudiovisual contenido = recorrido.next();
+            if (filtro.test(contenido)) {
+                resultados.add(contenido);
+            }
+        }
+        return resultados;
+    }
+
+    /**
+     * Recorre las listas del índice de títulos desde el cursor y se detiene al juntar
+     * limite contenidos
+     */
+    @Override
+    public List<ContenidoAudiovisual> buscarPorTituloDesde(String titulo, int despuesDeId, int limite) {
+        List<ContenidoAudiovisual> resultados = nuevaPagina(limite);
+        if (titulo == null || titulo.trim().isEmpty() || limite == 0) {
+            return resultados;
+        }
+        indices.titulos.buscarDesde(titulo.trim(), despuesDeId, recolectorHasta(resultados, limite));
+        return resultados;
+    }
+
+    @Override
+    public List<ContenidoAudiovisual> buscarPorGeneroDesde(String genero, int despuesDeId, int limite) {
+        List<ContenidoAudiovisual> resultados = nuevaPagina(limite);
+        if (genero == null || genero.trim().isEmpty() || limite == 0) {
+            return resultados;
+        }
+        indices.generos.buscarPorSubcadenaDesde(genero, despuesDeId, recolectorHasta(resultados, limite));
+        return resultados;
+    }
+
+    @Override
+    public List<ContenidoAudiovisual> buscarPorDuracionDesde(int duracionMinima, int duracionMaxima,
+                                                             int despuesDeDuracion, int despuesDeId, int limite) {
+        List<ContenidoAudiovisual> resultados = nuevaPagina(limite);
+        if (limite == 0) {
+            return resultados;
+        }
+        indices.duraciones.buscarRangoDesde(duracionMinima, duracionMaxima, despuesDeDuracion, despuesDeId,
+                recolectorHasta(resultados, limite));
+        return resultados;
+    }
+
+    private static List<ContenidoAudiovisual> nuevaPagina(int limite) {
+        if (limite < 0) {
+            throw new IllegalArgumentException("El límite no puede ser negativo");
+        }
+        return new ArrayList<>(Math.min(limite, 64));
+    }
+
+    /**
+     * Agrega los contenidos de los IDs recibidos y pide detener el recorrido al llegar a limite
+     */
+    private IntPredicate recolectorHasta(List<ContenidoAudiovisual> resultados, int limite) {
+        return id -> {
+            resultados.add(contenidos.obtener(id));
+            return resultados.size() < limite;
+        };
     }
 }
\ No newline at end of file
@@ -0,0 +1,801 @@
+package service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.IntConsumer;
+import java.util.function.IntPredicate;
+import java.util.function.Predicate;
+
+import interfaces.IContenidoRepository;
+import interfaces.IFileHandler;
+import interfaces.IObservadorContenido;
+import interfaces.IProgresoOperacion;
+import model.ContenidoAudiovisual;
+import model.EstadisticasContenido;
+
+/**
+ * Repositorio de contenido audiovisual seguro para varios hilos
+ * Implementa Single Responsibility Principle (SRP) - responsabilidad única de gestionar datos
+ * Implementa Dependency Inversion Principle (DIP) - depende de abstracciones
+ *
+ * Los datos son un MapaPersistente inmutable que los escritores reemplazan con
+ * compareAndSet (MVCC): cada lectura trabaja sobre una versión fija sin copiar ni
+ * bloquear. Los índices de título, género, duración y tipo usan estructuras concurrentes
+ * (ConcurrentHashMap, ConcurrentSkipListMap/Set), por lo que las consultas tampoco toman
+ * bloqueos; cada tipo lleva además un contador, así contar por tipo no recorre nada.
+ * Las escrituras sobre un mismo ID se serializan con bloqueos por franjas
+ * (lock striping), de modo que escrituras sobre IDs distintos avanzan en paralelo.
+ * El índice de orden por título es un árbol protegido por un ReadWriteLock.
+ *
+ * Las listas de IDs vacías de los índices no se eliminan: quitarlas sin bloquear
+ * podría perder un alta concurrente, y su cantidad está acotada por los valores
+ * distintos de cada clave.
+ */
+public class ContenidoRepositoryConcurrente implements IContenidoRepository {
+    private static final int FRANJAS = 64;
+
+    private final ArchivosContenido archivos;
+    private final Object[] franjas = new Object[FRANJAS];
+    // Lectura: mutaciones sobre el estado actual. Escritura: reemplazo del estado completo
+    private final ReentrantReadWriteLock bloqueoEstado = new ReentrantReadWriteLock();
+    private final IObservadorContenido observador = this::reindexar;
+    private volatile Estado estado = new Estado();
+
+    public ContenidoRepositoryConcurrente(IFileHandler<ContenidoAudiovisual> fileHandler) {
+        this(fileHandler, null);
+    }
+
+    /**
+     * @param snapshotHandler manejador de la instantánea binaria que se guarda junto al
+     *                        archivo principal y se prefiere al cargar si es más reciente
+     */
+    public ContenidoRepositoryConcurrente(IFileHandler<ContenidoAudiovisual> fileHandler,
+                                          IFileHandler<ContenidoAudiovisual> snapshotHandler) {
+        this.archivos = new ArchivosContenido(fileHandler, snapshotHandler);
+        for (int i = 0; i < FRANJAS; i++) {
+            franjas[i] = new Object();
+        }
+    }
+
+    @Override
+    public void guardar(ContenidoAudiovisual contenido) {
+        if (contenido == null) {
+            throw new IllegalArgumentException("El contenido no puede ser null");
+        }
+        bloqueoEstado.readLock().lock();
+        try {
+            Estado actual = estado;
+            synchronized (franja(contenido.getId())) {
+                ContenidoAudiovisual anterior = actual.version.get().obtener(contenido.getId());
+                actual.version.updateAndGet(version -> version.con(contenido));
+                if (anterior != null && anterior != contenido) {
+                    soltar(anterior);
+                }
+                contenido.setObservador(observador);
+                actual.indexar(contenido);
+            }
+        } finally {
+            bloqueoEstado.readLock().unlock();
+        }
+    }
+
+    /**
+     * Guarda el lote y publica sus datos en una sola versión nueva del mapa; si un ID se
+     * repite queda el último. Toma el bloqueo de escritura del estado para no mezclarse
+     * con otras escrituras; las consultas siguen sin bloquear y no devuelven contenidos
+     * del lote hasta que se publica, aunque los contadores pueden adelantarse. Con el
+     * repositorio vacío se arma un estado dimensionado para el lote, como al cargar.
+     */
+    @Override
+    public void guardarTodos(Collection<? extends ContenidoAudiovisual> lote) {
+        ContenidoRepository.validarLote(lote);
+        bloqueoEstado.writeLock().lock();
+        try {
+            MapaPersistente anteriores = estado.version.get();
+            MapaPersistente nuevo = anteriores.conTodos(lote);
+            Estado destino = anteriores.tamano() == 0 ? new Estado(nuevo.tamano()) : estado;
+            for (ContenidoAudiovisual contenido : lote) {
+                // Entre IDs repetidos en el lote solo se indexa el que quedó guardado
+                if (nuevo.obtener(contenido.getId()) == contenido) {
+                    ContenidoAudiovisual anterior = anteriores.obtener(contenido.getId());
+                    if (anterior != null && anterior != contenido) {
+                        soltar(anterior);
+                    }
+                    contenido.setObservador(observador);
+                    destino.indexar(contenido);
+                }
+            }
+            destino.version.set(nuevo);
+            estado = destino;
+        } finally {
+            bloqueoEstado.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void eliminar(int id) {
+        bloqueoEstado.readLock().lock();
+        try {
+            Estado actual = estado;
+            synchronized (franja(id)) {
+                ContenidoAudiovisual eliminado = actual.version.get().obtener(id);
+                if (eliminado == null) {
+                    throw new IllegalArgumentException("No existe contenido con ID: " + id);
+                }
+                actual.version.updateAndGet(version -> version.sin(id));
+                soltar(eliminado);
+                actual.desindexar(id);
+            }
+        } finally {
+            bloqueoEstado.readLock().unlock();
+        }
+    }
+
+    private void reindexar(ContenidoAudiovisual contenido) {
+        bloqueoEstado.readLock().lock();
+        try {
+            Estado actual = estado;
+            synchronized (franja(contenido.getId())) {
+                // Solo si sigue siendo el objeto guardado bajo su ID
+                if (actual.version.get().obtener(contenido.getId()) == contenido) {
+                    actual.indexar(contenido);
+                }
+            }
+        } finally {
+            bloqueoEstado.readLock().unlock();
+        }
+    }
+
+    private void soltar(ContenidoAudiovisual contenido) {
+        if (contenido.getObservador() == observador) {
+            contenido.setObservador(null);
+        }
+    }
+
+    private Object franja(int id) {
+        return franjas[(id ^ (id >>> 16)) & (FRANJAS - 1)];
+    }
+
+    @Override
+    public ContenidoAudiovisual buscarPorId(int id) {
+        return estado.version.get().obtener(id);
+    }
+
+    /**
+     * Instantánea inmutable de todos los contenidos, ordenada por ID; no copia los datos
+     * ni bloquea, y no cambia aunque otros hilos sigan escribiendo
+     */
+    @Override
+    public List<ContenidoAudiovisual> obtenerTodos() {
+        return estado.version.get().valores();
+    }
+
+    @Override
+    public List<ContenidoAudiovisual> buscarPorTitulo(String titulo) {
+        List<ContenidoAudiovisual> resultados = new ArrayList<>();
+        if (titulo == null || titulo.trim().isEmpty()) {
+            return resultados;
+        }
+        Estado actual = estado;
+        IntConsumer recolector = recolector(actual.version.get(), resultados);
+        actual.buscarTitulo(IndiceTrigramas.normalizar(titulo.trim()), Integer.MIN_VALUE, id -> {
+            recolector.accept(id);
+            return true;
+        });
+        return resultados;
+    }
+
+    @Override
+    public List<ContenidoAudiovisual> buscarPorGenero(String genero) {
+        List<ContenidoAudiovisual> resultados = new ArrayList<>();
+        if (genero == null || genero.trim().isEmpty()) {
+            return resultados;
+        }
+        Estado actual = estado;
+        String normalizado = IndiceGeneros.normalizar(genero);
+        IntConsumer recolector = recolector(actual.version.get(), resultados);
+        for (Map.Entry<String, ConcurrentSkipListSet<Integer>> entrada : actual.generos.entrySet()) {
+            if (entrada.getKey().contains(normalizado)) {
+                entrada.getValue().forEach(recolector::accept);
+            }
+        }
+        return resultados;
+    }
+
+    @Override
+    public List<ContenidoAudiovisual> buscarPorGeneroExacto(String genero) {
+        List<ContenidoAudiovisual> resultados = new ArrayList<>();
+        if (genero == null || genero.trim().isEmpty()) {
+            return resultados;
+        }
+        Estado actual = estado;
+        Set<Integer> ids = actual.generos.get(IndiceGeneros.normalizar(genero));
+        if (ids != null) {
+            ids.forEach(recolector(actual.version.get(), resultados)::accept);
+        }
+        return resultados;
+    }
+
+    @Override
+    public List<ContenidoAudiovisual> buscarPorGeneroPrefijo(String prefijo) {
+        List<ContenidoAudiovisual> resultados = new ArrayList<>();
+        if (prefijo == null || prefijo.trim().isEmpty()) {
+            return resultados;
+        }
+        Estado actual = estado;
+        String normalizado = IndiceGeneros.normalizar(prefijo);
+        IntConsumer recolector = recolector(actual.version.get(), resultados);
+        for (Map.Entry<String, ConcurrentSkipListSet<Integer>> entrada
+                : actual.generos.tailMap(normalizado, true).entrySet()) {
+            if (!entrada.getKey().startsWith(normalizado)) {
+                break;
+            }
+            entrada.getValue().forEach(recolector::accept);
+        }
+        return resultados;
+    }
+
+    /**
+     * Contenidos con duración en [duracionMinima, duracionMaxima], ordenados por duración
+     */
+    @Override
+    public List<ContenidoAudiovisual> buscarPorDuracion(int duracionMinima, int duracionMaxima) {
+        List<ContenidoAudiovisual> resultados = new ArrayList<>();
+        if (duracionMinima > duracionMaxima) {
+            return resultados;
+        }
+        Estado actual = estado;
+        IntConsumer recolector = recolector(actual.version.get(), resultados);
+        for (Set<Integer> ids : actual.duraciones.subMap(duracionMinima, true, duracionMaxima, true).values()) {
+            ids.forEach(recolector::accept);
+        }
+        return resultados;
+    }
+
+    @Override
+    public List<ContenidoAudiovisual> ordenarPorDuracion() {
+        return buscarPorDuracion(Integer.MIN_VALUE, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public List<ContenidoAudiovisual> ordenarPorTitulo() {
+        return obtenerPaginaPorTitulo(0, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Una página de contenidos ordenados por título: las posiciones
+     * [desplazamiento, desplazamiento + limite) del orden completo
+     */
+    @Override
+    public List<ContenidoAudiovisual> obtenerPaginaPorTitulo(int desplazamiento, int limite) {
+        if (desplazamiento < 0 || limite < 0) {
+            throw new IllegalArgumentException("El desplazamiento y el límite no pueden ser negativos");
+        }
+        Estado actual = estado;
+        actual.construirOrdenSiHaceFalta();
+
+        MapaPersistente version = actual.version.get();
+        List<ContenidoAudiovisual> resultados = new ArrayList<>(Math.min(limite, version.tamano()));
+        actual.bloqueoOrden.readLock().lock();
+        try {
+            actual.ordenTitulos.recorrer(desplazamiento, limite, recolector(version, resultados));
+        } finally {
+            actual.bloqueoOrden.readLock().unlock();
+        }
+        return resultados;
+    }
+
+    /**
+     * Recorre las listas del índice de títulos desde el cursor y se detiene al juntar
+     * limite contenidos
+     */
+    @Override
+    public List<ContenidoAudiovisual> buscarPorTituloDesde(String titulo, int despuesDeId, int limite) {
+        List<ContenidoAudiovisual> resultados = nuevaPagina(limite);
+        if (titulo == null || titulo.trim().isEmpty() || limite == 0) {
+            return resultados;
+        }
+        Estado actual = estado;
+        actual.buscarTitulo(IndiceTrigramas.normalizar(titulo.trim()), despuesDeId,
+                recolectorHasta(actual.version.get(), resultados, limite));
+        return resultados;
+    }
+
+    /**
+     * Mezcla en orden de ID, desde el cursor, los conjuntos de los géneros que coinciden
+     */
+    @Override
+    public List<ContenidoAudiovisual> buscarPorGeneroDesde(String genero, int despuesDeId, int limite) {
+        List<ContenidoAudiovisual> resultados = nuevaPagina(limite);
+        if (genero == null || genero.trim().isEmpty() || limite == 0) {
+            return resultados;
+        }
+        Estado actual = estado;
+        String normalizado = IndiceGeneros.normalizar(genero);
+        List<Iterator<Integer>> recorridos = new ArrayList<>();
+        for (Map.Entry<String, ConcurrentSkipListSet<Integer>> entrada : actual.generos.entrySet()) {
+            if (entrada.getKey().contains(normalizado)) {
+                recorridos.add(entrada.getValue().tailSet(despuesDeId, false).iterator());
+            }
+        }
+        IntPredicate recolector = recolectorHasta(actual.version.get(), resultados, limite);
+        int[] siguientes = new int[recorridos.size()];
+        for (int i = 0; i < siguientes.length; i++) {
+            siguientes[i] = recorridos.get(i).hasNext() ? recorridos.get(i).next() : -1;
+        }
+        int ultimo = despuesDeId;
+        while (true) {
+            int menor = -1;
+            for (int i = 0; i < siguientes.length; i++) {
+                if (siguientes[i] >= 0 && (menor < 0 || siguientes[i] < siguientes[menor])) {
+                    menor = i;
+                }
+            }
+            if (menor < 0) {
+                return resultados;
+            }
+            int id = siguientes[menor];
+            siguientes[menor] = recorridos.get(menor).hasNext() ? recorridos.get(menor).next() : -1;
+            // Un ID que cambia de género puede estar un instante en dos conjuntos
+            if (id != ultimo && !recolector.test(id)) {
+                return resultados;
+            }
+            ultimo = id;
+        }
+    }
+
+    /**
+     * Recorre las cubetas de duración desde la del cursor, que empieza después de despuesDeId
+     */
+    @Override
+    public List<ContenidoAudiovisual> buscarPorDuracionDesde(int duracionMinima, int duracionMaxima,
+                                                             int despuesDeDuracion, int despuesDeId, int limite) {
+        List<ContenidoAudiovisual> resultados = nuevaPagina(limite);
+        int desde = Math.max(duracionMinima, despuesDeDuracion);
+        if (desde > duracionMaxima || limite == 0) {
+            return resultados;
+        }
+        Estado actual = estado;
+        IntPredicate recolector = recolectorHasta(actual.version.get(), resultados, limite);
+        for (Map.Entry<Integer, ConcurrentSkipListSet<Integer>> entrada
+                : actual.duraciones.subMap(desde, true, duracionMaxima, true).entrySet()) {
+            Set<Integer> ids = entrada.getKey() == despuesDeDuracion
+                    ? entrada.getValue().tailSet(despuesDeId, false)
+                    : entrada.getValue();
+            for (Integer id : ids) {
+                if (!recolector.test(id)) {
+                    return resultados;
+                }
+            }
+        }
+        return resultados;
+    }
+
+    private static List<ContenidoAudiovisual> nuevaPagina(int limite) {
+        if (limite < 0) {
+            throw new IllegalArgumentException("El límite no puede ser negativo");
+        }
+        return new ArrayList<>(Math.min(limite, 64));
+    }
+
+    /**
+     * Como recolector, pero pide detener el recorrido al juntar limite contenidos
+     */
+    private static IntPredicate recolectorHasta(MapaPersistente version, List<ContenidoAudiovisual> resultados,
+                                                int limite) {
+        return id -> {
+            ContenidoAudiovisual contenido = version.obtener(id);
+            if (contenido != null) {
+                resultados.add(contenido);
+            }
+            return resultados.size() < limite;
+        };
+    }
+
+    /**
+     * Agrega a la lista los contenidos de los IDs recibidos tal como están en la
+     * versión indicada; un ID que no está en esa versión se omite
+     */
+    private static IntConsumer recolector(MapaPersistente version, List<ContenidoAudiovisual> resultados) {
+        return id -> {
+            ContenidoAudiovisual contenido = version.obtener(id);
+            if (contenido != null) {
+                resultados.add(contenido);
+            }
+        };
+    }
+
+    @Override
+    public void cargarDesdeArchivo(String rutaArchivo) {
+        cargarDesdeArchivo(rutaArchivo, IProgresoOperacion.NINGUNO);
+    }
+
+    @Override
+    public void cargarDesdeArchivo(String rutaArchivo, IProgresoOperacion progreso) {
+        prepararCarga(rutaArchivo, progreso).run();
+    }
+
+    @Override
+    public Runnable prepararCarga(String rutaArchivo) {
+        return prepararCarga(rutaArchivo, IProgresoOperacion.NINGUNO);
+    }
+
+    @Override
+    public Runnable prepararCarga(String rutaArchivo, IProgresoOperacion progreso) {
+        // El estado nuevo se arma sin bloquear y reemplaza al actual al ejecutar el resultado
+        Carga carga = archivos.cargar(rutaArchivo, Carga::new, (destino, contenido) -> {
+            destino.contenidos.agregar(contenido);
+            destino.estado.indexar(contenido);
+            contenido.setObservador(observador);
+        }, progreso);
+        carga.estado.version.set(carga.contenidos.construir());
+        return () -> reemplazarEstado(carga.estado);
+    }
+
+    @Override
+    public void guardarEnArchivo(String rutaArchivo) {
+        guardarEnArchivo(rutaArchivo, IProgresoOperacion.NINGUNO);
+    }
+
+    @Override
+    public void guardarEnArchivo(String rutaArchivo, IProgresoOperacion progreso) {
+        archivos.guardar(rutaArchivo, obtenerTodos(), progreso);
+    }
+
+    @Override
+    public int getCantidadTotal() {
+        return estado.version.get().tamano();
+    }
+
+    @Override
+    public boolean existe(int id) {
+        return estado.version.get().contiene(id);
+    }
+
+    @Override
+    public boolean existePorTipoYTitulo(Class<? extends ContenidoAudiovisual> tipo, String titulo) {
+        return tipo != null && titulo != null
+                && estado.unicidad.containsKey(new IndiceUnicidad.Clave(tipo, titulo));
+    }
+
+    @Override
+    public void limpiar() {
+        reemplazarEstado(new Estado());
+    }
+
+    private void reemplazarEstado(Estado nuevo) {
+        Estado anterior;
+        bloqueoEstado.writeLock().lock();
+        try {
+            anterior = estado;
+            estado = nuevo;
+        } finally {
+            bloqueoEstado.writeLock().unlock();
+        }
+        anterior.version.get().valores().forEach(this::soltar);
+    }
+
+    /**
+     * Cantidad de contenidos por tipo, leída de los contadores de cada partición
+     */
+    @Override
+    public Map<String, Long> obtenerEstadisticasPorTipo() {
+        Map<String, Long> cantidades = new HashMap<>();
+        for (Map.Entry<Class<?>, IdsContados> entrada : estado.tipos.entrySet()) {
+            int cantidad = entrada.getValue().cantidad.get();
+            if (cantidad > 0) {
+                cantidades.merge(entrada.getKey().getSimpleName(), (long) cantidad, Long::sum);
+            }
+        }
+        return cantidades;
+    }
+
+    @Override
+    public EstadisticasContenido obtenerEstadisticas() {
+        return estado.estadisticas.obtener();
+    }
+
+    @Override
+    public List<ContenidoAudiovisual> buscarPorTipo(Class<? extends ContenidoAudiovisual> tipo) {
+        List<ContenidoAudiovisual> resultados = new ArrayList<>();
+        if (tipo == null) {
+            return resultados;
+        }
+        Estado actual = estado;
+        IntConsumer recolector = recolector(actual.version.get(), resultados);
+        for (Map.Entry<Class<?>, IdsContados> entrada : actual.tipos.entrySet()) {
+            if (tipo.isAssignableFrom(entrada.getKey())) {
+                entrada.getValue().ids.forEach(recolector::accept);
+            }
+        }
+        return resultados;
+    }
+
+    @Override
+    public int contarPorTipo(Class<? extends ContenidoAudiovisual> tipo) {
+        if (tipo == null) {
+            return 0;
+        }
+        int cantidad = 0;
+        for (Map.Entry<Class<?>, IdsContados> entrada : estado.tipos.entrySet()) {
+            if (tipo.isAssignableFrom(entrada.getKey())) {
+                cantidad += entrada.getValue().cantidad.get();
+            }
+        }
+        return cantidad;
+    }
+
+    /**
+     * Recorre la versión actual desde despuesDeId y se detiene al juntar limite
+     * contenidos que cumplen el filtro; no toca el resto del catálogo
+     */
+    @Override
+    public List<ContenidoAudiovisual> obtenerPaginaPorId(int despuesDeId, int limite,
+                                                          Predicate<ContenidoAudiovisual> filtro) {
+        if (limite < 0) {
+            throw new IllegalArgumentException("El límite no puede ser negativo");
+        }
+        List<ContenidoAudiovisual> resultados = new ArrayList<>(Math.min(limite, 64));
+        Iterator<ContenidoAudiovisual> recorrido = estado.version.get().recorrerDesde(despuesDeId + 1);
+        while (resultados.size() < limite && recorrido.hasNext()) {
+            ContenidoAudiovisual contenido = recorrido.next();
+            if (filtro.test(contenido)) {
+                resultados.add(contenido);
+            }
+        }
+        return resultados;
+    }
+
+    private static class Carga {
+        private final MapaPersistente.Constructor contenidos = new MapaPersistente.Constructor();
+        private final Estado estado = new Estado();
+    }
+
+    /**
+     * Claves con las que un contenido quedó indexado; permiten desindexarlo aunque
+     * el objeto haya cambiado después
+     */
+    private static class Claves {
+        private final String titulo;
+        private final String tituloNormalizado;
+        private final String genero;
+        private final int duracion;
+        private final Class<?> tipo;
+        private final IndiceUnicidad.Clave unicidad;
+
+        private Claves(ContenidoAudiovisual contenido) {
+            this.tipo = contenido.getClass();
+            this.unicidad = IndiceUnicidad.Clave.de(contenido);
+            this.titulo = contenido.getTitulo();
+            this.tituloNormalizado = IndiceTrigramas.normalizar(titulo);
+            this.genero = IndiceGeneros.normalizar(contenido.getGenero());
+            this.duracion = contenido.getDuracionEnMinutos();
+        }
+    }
+
+    /**
+     * IDs ordenados de una subclase de contenido o de un grama de título; el contador
+     * evita el size() lineal del conjunto
+     */
+    private static class IdsContados {
+        private final ConcurrentSkipListSet<Integer> ids = new ConcurrentSkipListSet<>();
+        private final AtomicInteger cantidad = new AtomicInteger();
+
+        private void agregar(int id) {
+            if (ids.add(id)) {
+                cantidad.incrementAndGet();
+            }
+        }
+
+        private void quitar(int id) {
+            if (ids.remove(id)) {
+                cantidad.decrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * Datos e índices de una versión del repositorio; se reemplaza entero al cargar
+     */
+    private static class Estado {
+        // Versión publicada de los datos; los escritores la reemplazan con compareAndSet
+        private final AtomicReference<MapaPersistente> version = new AtomicReference<>(MapaPersistente.VACIO);
+        private final ConcurrentHashMap<Integer, Claves> claves;
+        // Unigramas, bigramas y trigramas del título (ver IndiceTrigramas)
+        private final ConcurrentHashMap<Long, IdsContados> gramas = new ConcurrentHashMap<>();
+        private final ConcurrentSkipListMap<String, ConcurrentSkipListSet<Integer>> generos =
+                new ConcurrentSkipListMap<>();
+        private final ConcurrentSkipListMap<Integer, ConcurrentSkipListSet<Integer>> duraciones =
+                new ConcurrentSkipListMap<>();
+        private final ConcurrentHashMap<Class<?>, IdsContados> tipos = new ConcurrentHashMap<>();
+        private final AgregadorEstadisticas estadisticas;
+        // Cantidad de contenidos por (tipo, título); compute es atómico por clave, así que
+        // aquí sí se pueden quitar las entradas que llegan a cero
+        private final ConcurrentHashMap<IndiceUnicidad.Clave, Integer> unicidad;
+        private final IndiceOrdenTitulo ordenTitulos;
+        private final ReentrantReadWriteLock bloqueoOrden = new ReentrantReadWriteLock();
+
+        private Estado() {
+            this(0);
+        }
+
+        private Estado(int capacidad) {
+            int capacidadHash = IndicesContenido.capacidadHash(capacidad);
+            claves = new ConcurrentHashMap<>(capacidadHash);
+            unicidad = new ConcurrentHashMap<>(capacidadHash);
+            estadisticas = new AgregadorEstadisticas(capacidad);
+            ordenTitulos = new IndiceOrdenTitulo(capacidad);
+        }
+
+        /**
+         * Indexa el contenido; el llamador tiene el bloqueo de la franja del ID.
+         * Primero se agregan las claves nuevas y después se quitan las viejas, así
+         * una consulta concurrente nunca deja de ver el contenido.
+         */
+        private void indexar(ContenidoAudiovisual contenido) {
+            int id = contenido.getId();
+            Claves nuevas = new Claves(contenido);
+            Claves viejas = claves.get(id);
+
+            long[] gramasNuevos = IndiceTrigramas.gramasDistintos(nuevas.tituloNormalizado);
+            if (viejas == null || !viejas.tituloNormalizado.equals(nuevas.tituloNormalizado)) {
+                for (long grama : gramasNuevos) {
+                    gramas.computeIfAbsent(grama, t -> new IdsContados()).agregar(id);
+                }
+            }
+            listaDe(generos, nuevas.genero).add(id);
+            listaDe(duraciones, nuevas.duracion).add(id);
+            if (viejas == null || viejas.tipo != nuevas.tipo) {
+                tipos.computeIfAbsent(nuevas.tipo, t -> new IdsContados()).agregar(id);
+            }
+            boolean cambiaUnicidad = viejas == null || !viejas.unicidad.equals(nuevas.unicidad);
+            if (cambiaUnicidad) {
+                unicidad.merge(nuevas.unicidad, 1, Integer::sum);
+            }
+            claves.put(id, nuevas);
+            estadisticas.agregar(contenido);
+
+            if (viejas != null) {
+                if (!viejas.tituloNormalizado.equals(nuevas.tituloNormalizado)) {
+                    for (long grama : IndiceTrigramas.gramasDistintos(viejas.tituloNormalizado)) {
+                        if (Arrays.binarySearch(gramasNuevos, grama) < 0) {
+                            gramas.get(grama).quitar(id);
+                        }
+                    }
+                }
+                if (!viejas.genero.equals(nuevas.genero)) {
+                    generos.get(viejas.genero).remove(id);
+                }
+                if (viejas.duracion != nuevas.duracion) {
+                    duraciones.get(viejas.duracion).remove(id);
+                }
+                if (viejas.tipo != nuevas.tipo) {
+                    tipos.get(viejas.tipo).quitar(id);
+                }
+                if (cambiaUnicidad) {
+                    quitarUnicidad(viejas.unicidad);
+                }
+            }
+
+            if (viejas == null || !viejas.titulo.equals(nuevas.titulo)) {
+                bloqueoOrden.writeLock().lock();
+                try {
+                    ordenTitulos.agregar(id, nuevas.titulo);
+                } finally {
+                    bloqueoOrden.writeLock().unlock();
+                }
+            }
+        }
+
+        private void desindexar(int id) {
+            Claves viejas = claves.remove(id);
+            if (viejas == null) {
+                return;
+            }
+            for (long grama : IndiceTrigramas.gramasDistintos(viejas.tituloNormalizado)) {
+                gramas.get(grama).quitar(id);
+            }
+            generos.get(viejas.genero).remove(id);
+            duraciones.get(viejas.duracion).remove(id);
+            tipos.get(viejas.tipo).quitar(id);
+            quitarUnicidad(viejas.unicidad);
+            estadisticas.eliminar(id);
+
+            bloqueoOrden.writeLock().lock();
+            try {
+                ordenTitulos.eliminar(id);
+            } finally {
+                bloqueoOrden.writeLock().unlock();
+            }
+        }
+
+        private void quitarUnicidad(IndiceUnicidad.Clave clave) {
+            unicidad.computeIfPresent(clave, (c, cantidad) -> cantidad == 1 ? null : cantidad - 1);
+        }
+
+        /**
+         * Recorre en orden de ID los IDs mayores a despuesDeId cuyo título normalizado
+         * contiene la consulta; se detiene cuando el consumidor retorna false
+         */
+        private void buscarTitulo(String consulta, int despuesDeId, IntPredicate consumidor) {
+            if (consulta.isEmpty()) {
+                return;
+            }
+            if (consulta.length() < 3) {
+                // La lista del unigrama o bigrama es exactamente el resultado
+                IdsContados lista = gramas.get(IndiceTrigramas.gramaCorto(consulta));
+                if (lista != null) {
+                    for (Integer id : lista.ids.tailSet(despuesDeId, false)) {
+                        if (!consumidor.test(id)) {
+                            return;
+                        }
+                    }
+                }
+                return;
+            }
+
+            long[] trigramasConsulta = IndiceTrigramas.trigramasDistintos(consulta);
+            List<IdsContados> listas = new ArrayList<>(trigramasConsulta.length);
+            for (long trigrama : trigramasConsulta) {
+                IdsContados lista = gramas.get(trigrama);
+                if (lista == null) {
+                    return;
+                }
+                listas.add(lista);
+            }
+            listas.sort(Comparator.comparingInt(lista -> lista.cantidad.get()));
+
+            candidatos:
+            for (Integer id : listas.get(0).ids.tailSet(despuesDeId, false)) {
+                for (int j = 1; j < listas.size(); j++) {
+                    if (!listas.get(j).ids.contains(id)) {
+                        continue candidatos;
+                    }
+                }
+                // Tener todos los trigramas no garantiza que aparezcan contiguos
+                Claves actuales = claves.get(id);
+                if (actuales != null && actuales.tituloNormalizado.contains(consulta) && !consumidor.test(id)) {
+                    return;
+                }
+            }
+        }
+
+        private void construirOrdenSiHaceFalta() {
+            bloqueoOrden.readLock().lock();
+            try {
+                if (ordenTitulos.estaConstruido()) {
+                    return;
+                }
+            } finally {
+                bloqueoOrden.readLock().unlock();
+            }
+            bloqueoOrden.writeLock().lock();
+            try {
+                // Las altas posteriores a este recorrido entran al árbol con agregar()
+                if (!ordenTitulos.estaConstruido()) {
+                    ordenTitulos.construir(version.get().valores());
+                }
+            } finally {
+                bloqueoOrden.writeLock().unlock();
+            }
+        }
+
+        private static <K> ConcurrentSkipListSet<Integer> listaDe(
+                ConcurrentSkipListMap<K, ConcurrentSkipListSet<Integer>> indice, K clave) {
+            return indice.computeIfAbsent(clave, k -> new ConcurrentSkipListSet<>());
+        }
+    }
+}
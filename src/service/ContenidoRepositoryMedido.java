@@ -0,0 +1,237 @@
+package service;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+import interfaces.IContenidoRepository;
+import interfaces.IProgresoOperacion;
+import model.ContenidoAudiovisual;
+import model.EstadisticasContenido;
+
+/**
+ * Decorador que mide cada operación de un IContenidoRepository en un RegistroMetricas
+ * Las métricas se llaman "repositorio.método"; las variantes sobrecargadas de un mismo
+ * método comparten la métrica.
+ */
+public class ContenidoRepositoryMedido implements IContenidoRepository {
+    private final IContenidoRepository repositorio;
+    private final RegistroMetricas.Operacion guardar;
+    private final RegistroMetricas.Operacion guardarTodos;
+    private final RegistroMetricas.Operacion eliminar;
+    private final RegistroMetricas.Operacion buscarPorId;
+    private final RegistroMetricas.Operacion obtenerTodos;
+    private final RegistroMetricas.Operacion buscarPorTitulo;
+    private final RegistroMetricas.Operacion buscarPorGenero;
+    private final RegistroMetricas.Operacion cargarDesdeArchivo;
+    private final RegistroMetricas.Operacion guardarEnArchivo;
+    private final RegistroMetricas.Operacion existe;
+    private final RegistroMetricas.Operacion existePorTipoYTitulo;
+    private final RegistroMetricas.Operacion cantidadTotal;
+    private final RegistroMetricas.Operacion limpiar;
+    private final RegistroMetricas.Operacion estadisticasPorTipo;
+    private final RegistroMetricas.Operacion estadisticas;
+    private final RegistroMetricas.Operacion buscarPorTipo;
+    private final RegistroMetricas.Operacion contarPorTipo;
+    private final RegistroMetricas.Operacion buscarPorGeneroExacto;
+    private final RegistroMetricas.Operacion buscarPorGeneroPrefijo;
+    private final RegistroMetricas.Operacion buscarPorDuracion;
+    private final RegistroMetricas.Operacion ordenarPorTitulo;
+    private final RegistroMetricas.Operacion paginaPorTitulo;
+    private final RegistroMetricas.Operacion ordenarPorDuracion;
+    private final RegistroMetricas.Operacion paginaPorId;
+    private final RegistroMetricas.Operacion buscarPorTituloDesde;
+    private final RegistroMetricas.Operacion buscarPorGeneroDesde;
+    private final RegistroMetricas.Operacion buscarPorDuracionDesde;
+
+    public ContenidoRepositoryMedido(IContenidoRepository repositorio, RegistroMetricas registro) {
+        this.repositorio = repositorio;
+        this.guardar = registro.operacion("repositorio.guardar");
+        this.guardarTodos = registro.operacion("repositorio.guardarTodos");
+        this.eliminar = registro.operacion("repositorio.eliminar");
+        this.buscarPorId = registro.operacion("repositorio.buscarPorId");
+        this.obtenerTodos = registro.operacion("repositorio.obtenerTodos");
+        this.buscarPorTitulo = registro.operacion("repositorio.buscarPorTitulo");
+        this.buscarPorGenero = registro.operacion("repositorio.buscarPorGenero");
+        this.cargarDesdeArchivo = registro.operacion("repositorio.cargarDesdeArchivo");
+        this.guardarEnArchivo = registro.operacion("repositorio.guardarEnArchivo");
+        this.existe = registro.operacion("repositorio.existe");
+        this.existePorTipoYTitulo = registro.operacion("repositorio.existePorTipoYTitulo");
+        this.cantidadTotal = registro.operacion("repositorio.getCantidadTotal");
+        this.limpiar = registro.operacion("repositorio.limpiar");
+        this.estadisticasPorTipo = registro.operacion("repositorio.obtenerEstadisticasPorTipo");
+        this.estadisticas = registro.operacion("repositorio.obtenerEstadisticas");
+        this.buscarPorTipo = registro.operacion("repositorio.buscarPorTipo");
+        this.contarPorTipo = registro.operacion("repositorio.contarPorTipo");
+        this.buscarPorGeneroExacto = registro.operacion("repositorio.buscarPorGeneroExacto");
+        this.buscarPorGeneroPrefijo = registro.operacion("repositorio.buscarPorGeneroPrefijo");
+        this.buscarPorDuracion = registro.operacion("repositorio.buscarPorDuracion");
+        this.ordenarPorTitulo = registro.operacion("repositorio.ordenarPorTitulo");
+        this.paginaPorTitulo = registro.operacion("repositorio.obtenerPaginaPorTitulo");
+        this.ordenarPorDuracion = registro.operacion("repositorio.ordenarPorDuracion");
+        this.paginaPorId = registro.operacion("repositorio.obtenerPaginaPorId");
+        this.buscarPorTituloDesde = registro.operacion("repositorio.buscarPorTituloDesde");
+        this.buscarPorGeneroDesde = registro.operacion("repositorio.buscarPorGeneroDesde");
+        this.buscarPorDuracionDesde = registro.operacion("repositorio.buscarPorDuracionDesde");
+    }
+
+    @Override
+    public void guardar(ContenidoAudiovisual contenido) {
+        guardar.ejecutar(() -> repositorio.guardar(contenido));
+    }
+
+    @Override
+    public void guardarTodos(Collection<? extends ContenidoAudiovisual> contenidos) {
+        guardarTodos.ejecutar(() -> repositorio.guardarTodos(contenidos));
+    }
+
+    @Override
+    public void eliminar(int id) {
+        eliminar.ejecutar(() -> repositorio.eliminar(id));
+    }
+
+    @Override
+    public ContenidoAudiovisual buscarPorId(int id) {
+        return buscarPorId.medir(() -> repositorio.buscarPorId(id));
+    }
+
+    @Override
+    public List<ContenidoAudiovisual> obtenerTodos() {
+        return obtenerTodos.medir(repositorio::obtenerTodos);
+    }
+
+    @Override
+    public List<ContenidoAudiovisual> buscarPorTitulo(String titulo) {
+        return buscarPorTitulo.medir(() -> repositorio.buscarPorTitulo(titulo));
+    }
+
+    @Override
+    public List<ContenidoAudiovisual> buscarPorGenero(String genero) {
+        return buscarPorGenero.medir(() -> repositorio.buscarPorGenero(genero));
+    }
+
+    @Override
+    public void cargarDesdeArchivo(String rutaArchivo) {
+        cargarDesdeArchivo.ejecutar(() -> repositorio.cargarDesdeArchivo(rutaArchivo));
+    }
+
+    @Override
+    public void guardarEnArchivo(String rutaArchivo) {
+        guardarEnArchivo.ejecutar(() -> repositorio.guardarEnArchivo(rutaArchivo));
+    }
+
+    @Override
+    public void cargarDesdeArchivo(String rutaArchivo, IProgresoOperacion progreso) {
+        cargarDesdeArchivo.ejecutar(() -> repositorio.cargarDesdeArchivo(rutaArchivo, progreso));
+    }
+
+    @Override
+    public void guardarEnArchivo(String rutaArchivo, IProgresoOperacion progreso) {
+        guardarEnArchivo.ejecutar(() -> repositorio.guardarEnArchivo(rutaArchivo, progreso));
+    }
+
+    // Se mide la lectura, que es lo que cuesta; el reemplazo posterior no
+    @Override
+    public Runnable prepararCarga(String rutaArchivo) {
+        return cargarDesdeArchivo.medir(() -> repositorio.prepararCarga(rutaArchivo));
+    }
+
+    @Override
+    public Runnable prepararCarga(String rutaArchivo, IProgresoOperacion progreso) {
+        return cargarDesdeArchivo.medir(() -> repositorio.prepararCarga(rutaArchivo, progreso));
+    }
+
+    @Override
+    public boolean existe(int id) {
+        return existe.medir(() -> repositorio.existe(id));
+    }
+
+    @Override
+    public boolean existePorTipoYTitulo(Class<? extends ContenidoAudiovisual> tipo, String titulo) {
+        return existePorTipoYTitulo.medir(() -> repositorio.existePorTipoYTitulo(tipo, titulo));
+    }
+
+    @Override
+    public int getCantidadTotal() {
+        return cantidadTotal.medir(repositorio::getCantidadTotal);
+    }
+
+    @Override
+    public void limpiar() {
+        limpiar.ejecutar(repositorio::limpiar);
+    }
+
+    @Override
+    public Map<String, Long> obtenerEstadisticasPorTipo() {
+        return estadisticasPorTipo.medir(repositorio::obtenerEstadisticasPorTipo);
+    }
+
+    @Override
+    public EstadisticasContenido obtenerEstadisticas() {
+        return estadisticas.medir(repositorio::obtenerEstadisticas);
+    }
+
+    @Override
+    public List<ContenidoAudiovisual> buscarPorTipo(Class<? extends ContenidoAudiovisual> tipo) {
+        return buscarPorTipo.medir(() -> repositorio.buscarPorTipo(tipo));
+    }
+
+    @Override
+    public int contarPorTipo(Class<? extends ContenidoAudiovisual> tipo) {
+        return contarPorTipo.medir(() -> repositorio.contarPorTipo(tipo));
+    }
+
+    @Override
+    public List<ContenidoAudiovisual> buscarPorGeneroExacto(String genero) {
+        return buscarPorGeneroExacto.medir(() -> repositorio.buscarPorGeneroExacto(genero));
+    }
+
+    @Override
+    public List<ContenidoAudiovisual> buscarPorGeneroPrefijo(String prefijo) {
+        return buscarPorGeneroPrefijo.medir(() -> repositorio.buscarPorGeneroPrefijo(prefijo));
+    }
+
+    @Override
+    public List<ContenidoAudiovisual> buscarPorDuracion(int duracionMinima, int duracionMaxima) {
+        return buscarPorDuracion.medir(() -> repositorio.buscarPorDuracion(duracionMinima, duracionMaxima));
+    }
+
+    @Override
+    public List<ContenidoAudiovisual> ordenarPorTitulo() {
+        return ordenarPorTitulo.medir(repositorio::ordenarPorTitulo);
+    }
+
+    @Override
+    public List<ContenidoAudiovisual> obtenerPaginaPorTitulo(int desplazamiento, int limite) {
+        return paginaPorTitulo.medir(() -> repositorio.obtenerPaginaPorTitulo(desplazamiento, limite));
+    }
+
+    @Override
+    public List<ContenidoAudiovisual> ordenarPorDuracion() {
+        return ordenarPorDuracion.medir(repositorio::ordenarPorDuracion);
+    }
+
+    @Override
+    public List<ContenidoAudiovisual> obtenerPaginaPorId(int despuesDeId, int limite,
+                                                          Predicate<ContenidoAudiovisual> filtro) {
+        return paginaPorId.medir(() -> repositorio.obtenerPaginaPorId(despuesDeId, limite, filtro));
+    }
+
+    @Override
+    public List<ContenidoAudiovisual> buscarPorTituloDesde(String titulo, int despuesDeId, int limite) {
+        return buscarPorTituloDesde.medir(() -> repositorio.buscarPorTituloDesde(titulo, despuesDeId, limite));
+    }
+
+    @Override
+    public List<ContenidoAudiovisual> buscarPorGeneroDesde(String genero, int despuesDeId, int limite) {
+        return buscarPorGeneroDesde.medir(() -> repositorio.buscarPorGeneroDesde(genero, despuesDeId, limite));
+    }
+
+    @Override
+    public List<ContenidoAudiovisual> buscarPorDuracionDesde(int duracionMinima, int duracionMaxima,
+                                                             int despuesDeDuracion, int despuesDeId, int limite) {
+        return buscarPorDuracionDesde.medir(() -> repositorio.buscarPorDuracionDesde(duracionMinima,
+                duracionMaxima, despuesDeDuracion, despuesDeId, limite));
+    }
+}
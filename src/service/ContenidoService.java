@@ -1,10 +1,22 @@
 package service;
 
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 import interfaces.IContenidoRepository;
 import interfaces.IContenidoService;
+import interfaces.IProgresoOperacion;
 import model.ContenidoAudiovisual;
+import model.EstadisticasContenido;
+import model.Pagina;
 
 /**
  * Servicio de negocio para contenido audiovisual
@@ -12,30 +24,142 @@ import model.ContenidoAudiovisual;
  * Implementa Dependency Inversion Principle (DIP) - depende de abstracciones
  */
 public class ContenidoService implements IContenidoService {
+    private static final long UMBRAL_COMPACTACION = 1000;
+    private static final long INTERVALO_COMPACTACION_SEGUNDOS = 10;
+    // Desde este tamaño de lote la validación se reparte entre los hilos del pool común
+    private static final int UMBRAL_VALIDACION_PARALELA = 10_000;
+    // Separa duración e ID en el cursor de las páginas por duración
+    private static final String SEPARADOR_CURSOR = ":";
+
     private final IContenidoRepository repository;
     private final String rutaArchivoPorDefecto;
+    private final DiarioCambios diario;
+    private final Object bloqueo = new Object();
+    private boolean diarioActivo;
+    // Cambia cada vez que se vacía el diario; se lee y modifica con bloqueo
+    private long generacionDiario;
+    private ScheduledExecutorService compactador;
 
     public ContenidoService(IContenidoRepository repository, String rutaArchivoPorDefecto) {
+        this(repository, rutaArchivoPorDefecto, null);
+    }
+
+    /**
+     * @param diario diario donde se registran las altas, actualizaciones y bajas sobre el
+     *               archivo por defecto; se reproduce en cargarDatos() y, después de
+     *               iniciar(), se compacta en segundo plano guardando el catálogo
+     *               completo. Puede ser null.
+     */
+    public ContenidoService(IContenidoRepository repository, String rutaArchivoPorDefecto,
+                            DiarioCambios diario) {
         this.repository = repository;
         this.rutaArchivoPorDefecto = rutaArchivoPorDefecto;
+        this.diario = diario;
+    }
+
+    /**
+     * Programa la compactación periódica del diario; no hace nada sin diario o si ya
+     * se inició. Se llama una vez construido el servicio, nunca desde el constructor.
+     */
+    public synchronized void iniciar() {
+        if (diario == null || compactador != null) {
+            return;
+        }
+        compactador = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread hilo = new Thread(r, "compactacion-diario");
+            hilo.setDaemon(true);
+            return hilo;
+        });
+        compactador.scheduleWithFixedDelay(this::compactarSiCorresponde,
+                INTERVALO_COMPACTACION_SEGUNDOS, INTERVALO_COMPACTACION_SEGUNDOS, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Detiene la compactación en segundo plano y cierra el diario
+     */
+    public synchronized void cerrar() {
+        if (compactador != null) {
+            compactador.shutdownNow();
+            compactador = null;
+        }
+        if (diario != null) {
+            synchronized (bloqueo) {
+                diarioActivo = false;
+                try {
+                    diario.close();
+                } catch (IOException e) {
+                    System.err.println("Advertencia: No se pudo cerrar el diario: " + e.getMessage());
+                }
+            }
+        }
     }
 
     @Override
     public void agregarContenido(ContenidoAudiovisual contenido) {
         validarContenido(contenido);
         
-        // Verificar que no exista un contenido con el mismo título y tipo
-        List<ContenidoAudiovisual> existentes = repository.buscarPorTitulo(contenido.getTitulo());
-        boolean yaExiste = existentes.stream()
-                .anyMatch(c -> c.getClass().equals(contenido.getClass()) && 
-                              c.getTitulo().equalsIgnoreCase(contenido.getTitulo()));
-        
-        if (yaExiste) {
-            throw new IllegalArgumentException("Ya existe un " + contenido.getClass().getSimpleName() + 
-                                             " con el título: " + contenido.getTitulo());
+        long secuencia = 0;
+        synchronized (bloqueo) {
+            // Verificar que no exista un contenido con el mismo título y tipo; dentro del
+            // bloqueo para que dos altas simultáneas no pasen ambas la verificación
+            if (repository.existePorTipoYTitulo(contenido.getClass(), contenido.getTitulo())) {
+                throw new IllegalArgumentException("Ya existe un " + contenido.getClass().getSimpleName() + 
+                                                 " con el título: " + contenido.getTitulo());
+            }
+            if (diarioActivo) {
+                secuencia = diario.registrarAlta(contenido);
+            }
+            repository.guardar(contenido);
         }
-        
-        repository.guardar(contenido);
+        esperarDiario(secuencia);
+    }
+
+    /**
+     * Agrega un lote con las mismas reglas que agregarContenido, pero en O(N): los
+     * duplicados dentro del lote se detectan con un HashSet de (tipo, título) y contra el
+     * catálogo con el índice de unicidad, y el repositorio guarda todo de una vez.
+     * Si un contenido no es válido o está repetido no se agrega ninguno. En el diario el
+     * lote es un solo registro, así que al recuperarse se reproduce entero o nada.
+     */
+    @Override
+    public void agregarTodos(Collection<? extends ContenidoAudiovisual> contenidos) {
+        if (contenidos == null) {
+            throw new IllegalArgumentException("El lote no puede ser null");
+        }
+        List<ContenidoAudiovisual> lote = new ArrayList<>(contenidos);
+        if (lote.size() >= UMBRAL_VALIDACION_PARALELA) {
+            lote.parallelStream().forEach(this::validarContenido);
+        } else {
+            lote.forEach(this::validarContenido);
+        }
+        Set<IndiceUnicidad.Clave> claves = new HashSet<>(IndicesContenido.capacidadHash(lote.size()));
+        for (ContenidoAudiovisual contenido : lote) {
+            if (!claves.add(IndiceUnicidad.Clave.de(contenido))) {
+                throw duplicado(contenido);
+            }
+        }
+        if (lote.isEmpty()) {
+            return;
+        }
+
+        long secuencia = 0;
+        synchronized (bloqueo) {
+            for (ContenidoAudiovisual contenido : lote) {
+                if (repository.existePorTipoYTitulo(contenido.getClass(), contenido.getTitulo())) {
+                    throw duplicado(contenido);
+                }
+            }
+            if (diarioActivo) {
+                secuencia = diario.registrarLote(lote);
+            }
+            repository.guardarTodos(lote);
+        }
+        esperarDiario(secuencia);
+    }
+
+    private static IllegalArgumentException duplicado(ContenidoAudiovisual contenido) {
+        return new IllegalArgumentException("Ya existe un " + contenido.getClass().getSimpleName() +
+                                            " con el título: " + contenido.getTitulo());
     }
 
     @Override
@@ -44,7 +168,14 @@ public class ContenidoService implements IContenidoService {
         if (contenido == null) {
             throw new IllegalArgumentException("No existe contenido con ID: " + id);
         }
-        repository.eliminar(id);
+        long secuencia = 0;
+        synchronized (bloqueo) {
+            if (diarioActivo) {
+                secuencia = diario.registrarBaja(id);
+            }
+            repository.eliminar(id);
+        }
+        esperarDiario(secuencia);
     }
 
     @Override
@@ -55,7 +186,14 @@ public class ContenidoService implements IContenidoService {
             throw new IllegalArgumentException("No existe contenido con ID: " + contenido.getId());
         }
         
-        repository.guardar(contenido);
+        long secuencia = 0;
+        synchronized (bloqueo) {
+            if (diarioActivo) {
+                secuencia = diario.registrarActualizacion(contenido);
+            }
+            repository.guardar(contenido);
+        }
+        esperarDiario(secuencia);
     }
 
     @Override
@@ -86,62 +224,357 @@ public class ContenidoService implements IContenidoService {
 
     @Override
     public void cargarDatos() {
+        cargarDatosPorDefecto(() -> repository.prepararCarga(rutaArchivoPorDefecto));
+    }
+
+    @Override
+    public void cargarDatos(IProgresoOperacion progreso) {
+        cargarDatosPorDefecto(() -> repository.prepararCarga(rutaArchivoPorDefecto, progreso));
+    }
+
+    private void cargarDatosPorDefecto(Supplier<Runnable> lectura) {
         try {
-            repository.cargarDesdeArchivo(rutaArchivoPorDefecto);
+            cargar(rutaArchivoPorDefecto, lectura);
         } catch (Exception e) {
             System.err.println("Advertencia: No se pudieron cargar los datos: " + e.getMessage());
-            // No lanzar excepción para permitir que la aplicación continúe
+            // No lanzar excepción para permitir que la aplicación continúe.
+            // Sin la base cargada el diario no se usa: compactarlo pisaría el archivo.
+            synchronized (bloqueo) {
+                diarioActivo = false;
+            }
+        }
+    }
+
+    /**
+     * Lee el archivo sin el bloqueo, así las altas, bajas y guardados no esperan a la
+     * lectura, y lo toma solo para reemplazar los datos y reproducir o desactivar el
+     * diario. Si el archivo por defecto se guardó mientras se leía, el diario se vació
+     * y ya no corresponde a lo leído: se vuelve a leer.
+     */
+    private void cargar(String rutaArchivo, Supplier<Runnable> lectura) {
+        boolean porDefecto = esArchivoPorDefecto(rutaArchivo);
+        while (true) {
+            long generacion;
+            synchronized (bloqueo) {
+                generacion = generacionDiario;
+            }
+            Runnable reemplazar = lectura.get();
+            synchronized (bloqueo) {
+                if (porDefecto && generacion != generacionDiario) {
+                    continue;
+                }
+                reemplazar.run();
+                // El diario solo corresponde al archivo por defecto
+                diarioActivo = false;
+                if (porDefecto) {
+                    activarDiario();
+                }
+                return;
+            }
         }
     }
 
     @Override
     public void guardarDatos() {
+        synchronized (bloqueo) {
+            try {
+                repository.guardarEnArchivo(rutaArchivoPorDefecto);
+            } catch (Exception e) {
+                throw new RuntimeException("Error al guardar los datos: " + e.getMessage(), e);
+            }
+            reiniciarDiario();
+        }
+    }
+
+    /**
+     * Guarda el catálogo completo en el archivo por defecto y vacía el diario
+     */
+    public void compactarDiario() {
+        synchronized (bloqueo) {
+            if (diarioActivo && diario.getCantidadRegistros() > 0) {
+                guardarDatos();
+            }
+        }
+    }
+
+    /**
+     * El archivo por defecto se acaba de escribir con el catálogo en memoria: los
+     * registros anteriores del diario ya no corresponden a esa base, aunque el diario no
+     * estuviera activo (otro archivo cargado o una carga fallida), y desde ahora los
+     * cambios se registran sobre ella
+     */
+    private void reiniciarDiario() {
+        if (diario != null) {
+            diario.vaciar();
+            generacionDiario++;
+            diarioActivo = true;
+        }
+    }
+
+    /**
+     * Reproduce el diario sobre el archivo por defecto recién cargado y empieza a registrar cambios
+     */
+    private void activarDiario() {
+        if (diario == null) {
+            return;
+        }
         try {
-            repository.guardarEnArchivo(rutaArchivoPorDefecto);
+            long aplicados = diario.reproducir(repository);
+            if (aplicados > 0) {
+                System.out.println("Aplicados " + aplicados + " cambios desde " + diario.getRuta());
+            }
+            diarioActivo = true;
         } catch (Exception e) {
-            throw new RuntimeException("Error al guardar los datos: " + e.getMessage(), e);
+            System.err.println("Advertencia: No se pudo reproducir el diario: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Espera a que el cambio esté en disco; se hace fuera del bloqueo para que
+     * varios hilos compartan la misma sincronización del diario
+     */
+    private void esperarDiario(long secuencia) {
+        if (secuencia > 0) {
+            diario.sincronizar(secuencia);
+        }
+    }
+
+    private void compactarSiCorresponde() {
+        try {
+            if (diario.getCantidadRegistros() >= UMBRAL_COMPACTACION) {
+                compactarDiario();
+            }
+        } catch (Exception e) {
+            // El diario sigue siendo válido; se reintenta en la próxima ejecución
+            System.err.println("Advertencia: No se pudo compactar el diario: " + e.getMessage());
         }
     }
 
     // Métodos adicionales para funcionalidades específicas
     public int getCantidadTotal() {
-        return repository.obtenerTodos().size();
+        return repository.getCantidadTotal();
     }
 
     public List<ContenidoAudiovisual> obtenerContenidosOrdenadosPorTitulo() {
-        return ((ContenidoRepository) repository).ordenarPorTitulo();
+        return repository.ordenarPorTitulo();
+    }
+
+    public List<ContenidoAudiovisual> obtenerContenidosOrdenadosPorTitulo(int desplazamiento, int limite) {
+        return repository.obtenerPaginaPorTitulo(desplazamiento, limite);
     }
 
     public List<ContenidoAudiovisual> obtenerContenidosOrdenadosPorDuracion() {
-        return ((ContenidoRepository) repository).ordenarPorDuracion();
+        return repository.ordenarPorDuracion();
     }
 
     public List<ContenidoAudiovisual> filtrarPorDuracion(int duracionMinima, int duracionMaxima) {
         if (duracionMinima < 0 || duracionMaxima < 0 || duracionMinima > duracionMaxima) {
             throw new IllegalArgumentException("Rangos de duración inválidos");
         }
-        return ((ContenidoRepository) repository).buscarPorDuracion(duracionMinima, duracionMaxima);
+        return repository.buscarPorDuracion(duracionMinima, duracionMaxima);
+    }
+
+    /**
+     * Contenidos del tipo indicado (incluye sus subclases), leídos de la partición del
+     * repositorio para ese tipo sin recorrer el resto del catálogo
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T extends ContenidoAudiovisual> List<T> filtrarPorTipo(Class<T> tipo) {
+        if (tipo == null) {
+            throw new IllegalArgumentException("El tipo no puede ser null");
+        }
+        // La partición solo contiene instancias de tipo
+        return (List<T>) repository.buscarPorTipo(tipo);
+    }
+
+    @Override
+    public int contarPorTipo(Class<? extends ContenidoAudiovisual> tipo) {
+        if (tipo == null) {
+            throw new IllegalArgumentException("El tipo no puede ser null");
+        }
+        return repository.contarPorTipo(tipo);
+    }
+
+    /**
+     * Páginas en orden de ID. El cursor es el último ID entregado, así una página se
+     * calcula recorriendo el catálogo desde ahí solo hasta llenarla, y las altas o bajas
+     * entre una página y otra no hacen repetir ni saltear contenidos.
+     */
+    @Override
+    public Pagina<ContenidoAudiovisual> obtenerPaginaDeContenidos(String cursor, int tamanoPagina) {
+        validarTamanoPagina(tamanoPagina);
+        // Un elemento de más indica si existe una página siguiente
+        return paginaPorId(repository.obtenerPaginaPorId(leerCursor(cursor), tamanoPagina + 1,
+                contenido -> true), tamanoPagina);
+    }
+
+    /**
+     * Las búsquedas por título y género recorren las listas de IDs de su índice desde
+     * el cursor, en orden de ID, y se detienen al llenar la página
+     */
+    @Override
+    public Pagina<ContenidoAudiovisual> buscarPorTituloPaginado(String titulo, String cursor, int tamanoPagina) {
+        if (titulo == null || titulo.trim().isEmpty()) {
+            throw new IllegalArgumentException("El título no puede estar vacío");
+        }
+        validarTamanoPagina(tamanoPagina);
+        return paginaPorId(repository.buscarPorTituloDesde(titulo.trim(), leerCursor(cursor),
+                tamanoPagina + 1), tamanoPagina);
+    }
+
+    @Override
+    public Pagina<ContenidoAudiovisual> filtrarPorGeneroPaginado(String genero, String cursor, int tamanoPagina) {
+        if (genero == null || genero.trim().isEmpty()) {
+            throw new IllegalArgumentException("El género no puede estar vacío");
+        }
+        validarTamanoPagina(tamanoPagina);
+        return paginaPorId(repository.buscarPorGeneroDesde(genero, leerCursor(cursor), tamanoPagina + 1),
+                tamanoPagina);
+    }
+
+    /**
+     * Páginas en el mismo orden que filtrarPorDuracion: por duración y luego por ID. El
+     * cursor es el par "duración:ID" del último contenido entregado.
+     */
+    @Override
+    public Pagina<ContenidoAudiovisual> filtrarPorDuracionPaginado(int duracionMinima, int duracionMaxima,
+                                                                   String cursor, int tamanoPagina) {
+        if (duracionMinima < 0 || duracionMaxima < 0 || duracionMinima > duracionMaxima) {
+            throw new IllegalArgumentException("Rangos de duración inválidos");
+        }
+        validarTamanoPagina(tamanoPagina);
+        int[] desde = leerCursorDuracion(cursor);
+        List<ContenidoAudiovisual> elementos = repository.buscarPorDuracionDesde(duracionMinima, duracionMaxima,
+                desde[0], desde[1], tamanoPagina + 1);
+        if (elementos.size() <= tamanoPagina) {
+            return new Pagina<>(elementos, null);
+        }
+        elementos = elementos.subList(0, tamanoPagina);
+        ContenidoAudiovisual ultimo = elementos.get(tamanoPagina - 1);
+        return new Pagina<>(elementos, ultimo.getDuracionEnMinutos() + SEPARADOR_CURSOR + ultimo.getId());
+    }
+
+    private static void validarTamanoPagina(int tamanoPagina) {
+        if (tamanoPagina <= 0) {
+            throw new IllegalArgumentException("El tamaño de página debe ser mayor a 0");
+        }
+    }
+
+    /**
+     * Arma la página a partir de tamanoPagina + 1 elementos en orden de ID; el de más
+     * indica si existe una página siguiente
+     */
+    private static Pagina<ContenidoAudiovisual> paginaPorId(List<ContenidoAudiovisual> elementos,
+                                                            int tamanoPagina) {
+        if (elementos.size() <= tamanoPagina) {
+            return new Pagina<>(elementos, null);
+        }
+        elementos = elementos.subList(0, tamanoPagina);
+        return new Pagina<>(elementos, Integer.toString(elementos.get(tamanoPagina - 1).getId()));
+    }
+
+    private static int leerCursor(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return 0;
+        }
+        int id = leerEntero(cursor);
+        if (id < 0) {
+            throw new IllegalArgumentException("Cursor inválido: " + cursor);
+        }
+        return id;
+    }
+
+    /**
+     * Retorna {duración, ID} del cursor; sin cursor, {0, 0} está antes de todo contenido
+     */
+    private static int[] leerCursorDuracion(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return new int[]{0, 0};
+        }
+        int separador = cursor.indexOf(SEPARADOR_CURSOR);
+        int duracion = separador < 0 ? -1 : leerEntero(cursor.substring(0, separador));
+        int id = separador < 0 ? -1 : leerEntero(cursor.substring(separador + 1));
+        if (duracion < 0 || id < 0) {
+            throw new IllegalArgumentException("Cursor inválido: " + cursor);
+        }
+        return new int[]{duracion, id};
+    }
+
+    /**
+     * Entero del cursor; -1 si no es un número
+     */
+    private static int leerEntero(String texto) {
+        try {
+            return Integer.parseInt(texto);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
     }
 
     public String obtenerEstadisticas() {
+        EstadisticasContenido resumen = obtenerResumenEstadisticas();
         StringBuilder stats = new StringBuilder();
         stats.append("=== ESTADÍSTICAS DEL SISTEMA ===\n");
-        stats.append("Total de contenidos: ").append(getCantidadTotal()).append("\n");
+        stats.append("Total de contenidos: ").append(resumen.getCantidadTotal()).append("\n");
         
-        var estadisticasPorTipo = ((ContenidoRepository) repository).obtenerEstadisticasPorTipo();
-        for (var entrada : estadisticasPorTipo.entrySet()) {
+        for (var entrada : resumen.getCantidadPorTipo().entrySet()) {
             stats.append(entrada.getKey()).append(": ").append(entrada.getValue()).append("\n");
         }
+        if (resumen.getCantidadTotal() > 0) {
+            stats.append(String.format("Duración promedio: %.1f min%n", resumen.getDuracionPromedio()));
+        }
+        if (resumen.getCantidadPorTipo().containsKey("VideoYouTube")) {
+            stats.append("Visualizaciones YouTube: ").append(resumen.getVisualizacionesYouTube()).append("\n");
+            stats.append("Likes YouTube: ").append(resumen.getLikesYouTube()).append("\n");
+        }
         
         return stats.toString();
     }
 
+    /**
+     * Resumen que el repositorio actualiza en cada alta, baja o modificación; se puede
+     * pedir después de cada cambio sin recorrer el catálogo
+     */
+    @Override
+    public EstadisticasContenido obtenerResumenEstadisticas() {
+        return repository.obtenerEstadisticas();
+    }
+
     public void cargarDatosDesdeArchivo(String rutaArchivo) {
-        repository.cargarDesdeArchivo(rutaArchivo);
+        cargar(rutaArchivo, () -> repository.prepararCarga(rutaArchivo));
+    }
+
+    /**
+     * Carga con seguimiento del avance. Si se cancela (CancellationException) o falla,
+     * el repositorio y el diario siguen como estaban: los datos leídos solo reemplazan
+     * a los actuales al terminar la lectura.
+     */
+    @Override
+    public void cargarDatosDesdeArchivo(String rutaArchivo, IProgresoOperacion progreso) {
+        cargar(rutaArchivo, () -> repository.prepararCarga(rutaArchivo, progreso));
     }
 
     public void guardarDatosEnArchivo(String rutaArchivo) {
-        repository.guardarEnArchivo(rutaArchivo);
+        guardarDatosEn(rutaArchivo, () -> repository.guardarEnArchivo(rutaArchivo));
+    }
+
+    @Override
+    public void guardarDatosEnArchivo(String rutaArchivo, IProgresoOperacion progreso) {
+        guardarDatosEn(rutaArchivo, () -> repository.guardarEnArchivo(rutaArchivo, progreso));
+    }
+
+    private void guardarDatosEn(String rutaArchivo, Runnable guardado) {
+        synchronized (bloqueo) {
+            guardado.run();
+            if (esArchivoPorDefecto(rutaArchivo)) {
+                reiniciarDiario();
+            }
+        }
+    }
+
+    private boolean esArchivoPorDefecto(String rutaArchivo) {
+        return rutaArchivo != null && rutaArchivo.equals(rutaArchivoPorDefecto);
     }
 
     private void validarContenido(ContenidoAudiovisual contenido) {
@@ -0,0 +1,208 @@
+package service;
+
+import java.util.Collection;
+import java.util.List;
+
+import interfaces.IContenidoService;
+import interfaces.IProgresoOperacion;
+import model.ContenidoAudiovisual;
+import model.EstadisticasContenido;
+import model.Pagina;
+
+/**
+ * Decorador que mide cada método de un IContenidoService en un RegistroMetricas
+ * Las métricas se llaman "servicio.método"; las variantes sobrecargadas de un mismo
+ * método comparten la métrica.
+ */
+public class ContenidoServiceMedido implements IContenidoService {
+    private final IContenidoService servicio;
+    private final RegistroMetricas.Operacion agregar;
+    private final RegistroMetricas.Operacion agregarTodos;
+    private final RegistroMetricas.Operacion eliminar;
+    private final RegistroMetricas.Operacion actualizar;
+    private final RegistroMetricas.Operacion obtenerPorId;
+    private final RegistroMetricas.Operacion obtenerTodos;
+    private final RegistroMetricas.Operacion filtrarPorGenero;
+    private final RegistroMetricas.Operacion buscarPorTitulo;
+    private final RegistroMetricas.Operacion cargarDatos;
+    private final RegistroMetricas.Operacion guardarDatos;
+    private final RegistroMetricas.Operacion cargarDesdeArchivo;
+    private final RegistroMetricas.Operacion guardarEnArchivo;
+    private final RegistroMetricas.Operacion estadisticas;
+    private final RegistroMetricas.Operacion resumenEstadisticas;
+    private final RegistroMetricas.Operacion cantidadTotal;
+    private final RegistroMetricas.Operacion ordenadosPorTitulo;
+    private final RegistroMetricas.Operacion ordenadosPorDuracion;
+    private final RegistroMetricas.Operacion filtrarPorDuracion;
+    private final RegistroMetricas.Operacion filtrarPorTipo;
+    private final RegistroMetricas.Operacion contarPorTipo;
+    private final RegistroMetricas.Operacion paginaDeContenidos;
+    private final RegistroMetricas.Operacion buscarPorTituloPaginado;
+    private final RegistroMetricas.Operacion filtrarPorGeneroPaginado;
+    private final RegistroMetricas.Operacion filtrarPorDuracionPaginado;
+
+    public ContenidoServiceMedido(IContenidoService servicio, RegistroMetricas registro) {
+        this.servicio = servicio;
+        this.agregar = registro.operacion("servicio.agregarContenido");
+        this.agregarTodos = registro.operacion("servicio.agregarTodos");
+        this.eliminar = registro.operacion("servicio.eliminarContenido");
+        this.actualizar = registro.operacion("servicio.actualizarContenido");
+        this.obtenerPorId = registro.operacion("servicio.obtenerContenidoPorId");
+        this.obtenerTodos = registro.operacion("servicio.obtenerTodosLosContenidos");
+        this.filtrarPorGenero = registro.operacion("servicio.filtrarPorGenero");
+        this.buscarPorTitulo = registro.operacion("servicio.buscarPorTitulo");
+        this.cargarDatos = registro.operacion("servicio.cargarDatos");
+        this.guardarDatos = registro.operacion("servicio.guardarDatos");
+        this.cargarDesdeArchivo = registro.operacion("servicio.cargarDatosDesdeArchivo");
+        this.guardarEnArchivo = registro.operacion("servicio.guardarDatosEnArchivo");
+        this.estadisticas = registro.operacion("servicio.obtenerEstadisticas");
+        this.resumenEstadisticas = registro.operacion("servicio.obtenerResumenEstadisticas");
+        this.cantidadTotal = registro.operacion("servicio.getCantidadTotal");
+        this.ordenadosPorTitulo = registro.operacion("servicio.obtenerContenidosOrdenadosPorTitulo");
+        this.ordenadosPorDuracion = registro.operacion("servicio.obtenerContenidosOrdenadosPorDuracion");
+        this.filtrarPorDuracion = registro.operacion("servicio.filtrarPorDuracion");
+        this.filtrarPorTipo = registro.operacion("servicio.filtrarPorTipo");
+        this.contarPorTipo = registro.operacion("servicio.contarPorTipo");
+        this.paginaDeContenidos = registro.operacion("servicio.obtenerPaginaDeContenidos");
+        this.buscarPorTituloPaginado = registro.operacion("servicio.buscarPorTituloPaginado");
+        this.filtrarPorGeneroPaginado = registro.operacion("servicio.filtrarPorGeneroPaginado");
+        this.filtrarPorDuracionPaginado = registro.operacion("servicio.filtrarPorDuracionPaginado");
+    }
+
+    @Override
+    public void agregarContenido(ContenidoAudiovisual contenido) {
+        agregar.ejecutar(() -> servicio.agregarContenido(contenido));
+    }
+
+    @Override
+    public void agregarTodos(Collection<? extends ContenidoAudiovisual> contenidos) {
+        agregarTodos.ejecutar(() -> servicio.agregarTodos(contenidos));
+    }
+
+    @Override
+    public void eliminarContenido(int id) {
+        eliminar.ejecutar(() -> servicio.eliminarContenido(id));
+    }
+
+    @Override
+    public void actualizarContenido(ContenidoAudiovisual contenido) {
+        actualizar.ejecutar(() -> servicio.actualizarContenido(contenido));
+    }
+
+    @Override
+    public ContenidoAudiovisual obtenerContenidoPorId(int id) {
+        return obtenerPorId.medir(() -> servicio.obtenerContenidoPorId(id));
+    }
+
+    @Override
+    public List<ContenidoAudiovisual> obtenerTodosLosContenidos() {
+        return obtenerTodos.medir(servicio::obtenerTodosLosContenidos);
+    }
+
+    @Override
+    public List<ContenidoAudiovisual> filtrarPorGenero(String genero) {
+        return filtrarPorGenero.medir(() -> servicio.filtrarPorGenero(genero));
+    }
+
+    @Override
+    public List<ContenidoAudiovisual> buscarPorTitulo(String titulo) {
+        return buscarPorTitulo.medir(() -> servicio.buscarPorTitulo(titulo));
+    }
+
+    @Override
+    public void cargarDatos() {
+        cargarDatos.ejecutar(servicio::cargarDatos);
+    }
+
+    @Override
+    public void cargarDatos(IProgresoOperacion progreso) {
+        cargarDatos.ejecutar(() -> servicio.cargarDatos(progreso));
+    }
+
+    @Override
+    public void guardarDatos() {
+        guardarDatos.ejecutar(servicio::guardarDatos);
+    }
+
+    @Override
+    public void cargarDatosDesdeArchivo(String rutaArchivo) {
+        cargarDesdeArchivo.ejecutar(() -> servicio.cargarDatosDesdeArchivo(rutaArchivo));
+    }
+
+    @Override
+    public void cargarDatosDesdeArchivo(String rutaArchivo, IProgresoOperacion progreso) {
+        cargarDesdeArchivo.ejecutar(() -> servicio.cargarDatosDesdeArchivo(rutaArchivo, progreso));
+    }
+
+    @Override
+    public void guardarDatosEnArchivo(String rutaArchivo) {
+        guardarEnArchivo.ejecutar(() -> servicio.guardarDatosEnArchivo(rutaArchivo));
+    }
+
+    @Override
+    public void guardarDatosEnArchivo(String rutaArchivo, IProgresoOperacion progreso) {
+        guardarEnArchivo.ejecutar(() -> servicio.guardarDatosEnArchivo(rutaArchivo, progreso));
+    }
+
+    @Override
+    public String obtenerEstadisticas() {
+        return estadisticas.medir(servicio::obtenerEstadisticas);
+    }
+
+    @Override
+    public EstadisticasContenido obtenerResumenEstadisticas() {
+        return resumenEstadisticas.medir(servicio::obtenerResumenEstadisticas);
+    }
+
+    @Override
+    public int getCantidadTotal() {
+        return cantidadTotal.medir(servicio::getCantidadTotal);
+    }
+
+    @Override
+    public List<ContenidoAudiovisual> obtenerContenidosOrdenadosPorTitulo() {
+        return ordenadosPorTitulo.medir(servicio::obtenerContenidosOrdenadosPorTitulo);
+    }
+
+    @Override
+    public List<ContenidoAudiovisual> obtenerContenidosOrdenadosPorDuracion() {
+        return ordenadosPorDuracion.medir(servicio::obtenerContenidosOrdenadosPorDuracion);
+    }
+
+    @Override
+    public List<ContenidoAudiovisual> filtrarPorDuracion(int duracionMinima, int duracionMaxima) {
+        return filtrarPorDuracion.medir(() -> servicio.filtrarPorDuracion(duracionMinima, duracionMaxima));
+    }
+
+    @Override
+    public <T extends ContenidoAudiovisual> List<T> filtrarPorTipo(Class<T> tipo) {
+        return filtrarPorTipo.medir(() -> servicio.filtrarPorTipo(tipo));
+    }
+
+    @Override
+    public int contarPorTipo(Class<? extends ContenidoAudiovisual> tipo) {
+        return contarPorTipo.medir(() -> servicio.contarPorTipo(tipo));
+    }
+
+    @Override
+    public Pagina<ContenidoAudiovisual> obtenerPaginaDeContenidos(String cursor, int tamanoPagina) {
+        return paginaDeContenidos.medir(() -> servicio.obtenerPaginaDeContenidos(cursor, tamanoPagina));
+    }
+
+    @Override
+    public Pagina<ContenidoAudiovisual> buscarPorTituloPaginado(String titulo, String cursor, int tamanoPagina) {
+        return buscarPorTituloPaginado.medir(() -> servicio.buscarPorTituloPaginado(titulo, cursor, tamanoPagina));
+    }
+
+    @Override
+    public Pagina<ContenidoAudiovisual> filtrarPorGeneroPaginado(String genero, String cursor, int tamanoPagina) {
+        return filtrarPorGeneroPaginado.medir(() -> servicio.filtrarPorGeneroPaginado(genero, cursor, tamanoPagina));
+    }
+
+    @Override
+    public Pagina<ContenidoAudiovisual> filtrarPorDuracionPaginado(int duracionMinima, int duracionMaxima,
+                                                                   String cursor, int tamanoPagina) {
+        return filtrarPorDuracionPaginado.medir(() ->
+                servicio.filtrarPorDuracionPaginado(duracionMinima, duracionMaxima, cursor, tamanoPagina));
+    }
+}
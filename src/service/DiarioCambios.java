@@ -0,0 +1,347 @@
+package service;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.zip.CRC32;
+
+import interfaces.IContenidoRepository;
+import model.ContenidoAudiovisual;
+
+/**
+ * Diario de cambios (write-ahead log) del catálogo
+ * Implementa Single Responsibility Principle (SRP) - responsabilidad única de registrar mutaciones
+ *
+ * Cada alta, actualización o baja agrega un registro al final del archivo en lugar de
+ * reescribir el catálogo completo. Formato de cada registro: longitud en varint, CRC32 de
+ * 4 bytes y el contenido (operación + elemento codificado como en SnapshotBinarioService).
+ * Al reproducir, un registro final incompleto o con CRC inválido (escritura cortada) se
+ * descarta y el archivo se trunca en el último registro válido.
+ *
+ * Durabilidad por grupos (group commit): registrar retorna la secuencia del registro y
+ * sincronizar(secuencia) espera a que esté en disco. Un solo hilo hace FileChannel.force
+ * por vez, después de esperar el intervalo configurado, y ese force cubre todos los
+ * registros escritos hasta ese momento; los demás hilos solo esperan.
+ */
+public class DiarioCambios implements Closeable {
+
+    private static final int ALTA = 1;
+    private static final int ACTUALIZACION = 2;
+    private static final int BAJA = 3;
+    // Alta de un lote: cantidad en varint y los contenidos, en un solo registro
+    private static final int LOTE = 4;
+
+    private final Path ruta;
+    private final long intervaloGrupoMillis;
+    private final ByteArrayOutputStream registro = new ByteArrayOutputStream(256);
+    private final SnapshotBinarioService.EscritorBinario escritor =
+            new SnapshotBinarioService.EscritorBinario(registro);
+    private final ByteBuffer encabezado = ByteBuffer.allocate(9);
+    private FileChannel canal;
+    private long cantidadRegistros;
+    private long escritos;
+
+    // Estado del group commit, protegido por el monitor grupo
+    private final Object grupo = new Object();
+    private long sincronizados;
+    private boolean sincronizando;
+    private long cantidadSincronizaciones;
+
+    public DiarioCambios(String rutaDiario) {
+        this(rutaDiario, 0);
+    }
+
+    /**
+     * @param intervaloGrupoMillis tiempo que espera el hilo que sincroniza para que otros
+     *                             registros se sumen al mismo force (0 = sin espera)
+     */
+    public DiarioCambios(String rutaDiario, long intervaloGrupoMillis) {
+        if (intervaloGrupoMillis < 0) {
+            throw new IllegalArgumentException("El intervalo de grupo no puede ser negativo");
+        }
+        this.ruta = Paths.get(rutaDiario);
+        this.intervaloGrupoMillis = intervaloGrupoMillis;
+    }
+
+    /**
+     * Agrega el registro y retorna su secuencia para pasarla a sincronizar()
+     */
+    public synchronized long registrarAlta(ContenidoAudiovisual contenido) {
+        return registrar(ALTA, 1, salida -> salida.escribirContenido(contenido));
+    }
+
+    public synchronized long registrarActualizacion(ContenidoAudiovisual contenido) {
+        return registrar(ACTUALIZACION, 1, salida -> salida.escribirContenido(contenido));
+    }
+
+    public synchronized long registrarBaja(int id) {
+        return registrar(BAJA, 1, salida -> salida.escribirVarInt(id));
+    }
+
+    /**
+     * Registra el alta de todo el lote en un solo registro: el CRC lo acepta o lo
+     * descarta entero y al reproducirlo se guarda con guardarTodos()
+     */
+    public synchronized long registrarLote(Collection<? extends ContenidoAudiovisual> contenidos) {
+        return registrar(LOTE, contenidos.size(), salida -> {
+            salida.escribirVarInt(contenidos.size());
+            for (ContenidoAudiovisual contenido : contenidos) {
+                salida.escribirContenido(contenido);
+            }
+        });
+    }
+
+    /**
+     * Espera a que el registro con la secuencia indicada (y todos los anteriores) esté en disco
+     */
+    public void sincronizar(long secuencia) {
+        synchronized (grupo) {
+            while (sincronizados < secuencia && sincronizando) {
+                try {
+                    grupo.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new RuntimeException("Interrumpido esperando la escritura del diario", e);
+                }
+            }
+            if (sincronizados >= secuencia) {
+                return;
+            }
+            sincronizando = true;
+        }
+
+        // Este hilo hace el force para todo el grupo
+        long objetivo = 0;
+        try {
+            if (intervaloGrupoMillis > 0) {
+                try {
+                    Thread.sleep(intervaloGrupoMillis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            // El force se hace fuera del monitor para que otros hilos sigan agregando registros
+            FileChannel salida;
+            synchronized (this) {
+                objetivo = escritos;
+                salida = canal;
+            }
+            if (salida != null) {
+                salida.force(false);
+            }
+        } catch (IOException e) {
+            objetivo = 0;
+            throw new RuntimeException("Error al sincronizar el diario: " + ruta, e);
+        } finally {
+            synchronized (grupo) {
+                sincronizados = Math.max(sincronizados, objetivo);
+                cantidadSincronizaciones++;
+                sincronizando = false;
+                grupo.notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Aplica los registros del diario sobre el repositorio y retorna cuántos cambios se
+     * aplicaron (un lote cuenta cada contenido)
+     */
+    public synchronized long reproducir(IContenidoRepository repository) {
+        if (!Files.isRegularFile(ruta)) {
+            cantidadRegistros = 0;
+            return 0;
+        }
+
+        try {
+            byte[] datos = Files.readAllBytes(ruta);
+            int posicion = 0;
+            long aplicados = 0;
+            CRC32 crc = new CRC32();
+
+            while (posicion < datos.length) {
+                // Encabezado: longitud en varint + CRC32
+                int longitud = 0;
+                int desplazamiento = 0;
+                int i = posicion;
+                boolean completo = false;
+                while (i < datos.length && desplazamiento < 35) {
+                    int b = datos[i++] & 0xFF;
+                    longitud |= (b & 0x7F) << desplazamiento;
+                    desplazamiento += 7;
+                    if ((b & 0x80) == 0) {
+                        completo = true;
+                        break;
+                    }
+                }
+                if (!completo || longitud <= 0 || i + 4 + longitud > datos.length) {
+                    break;
+                }
+                int crcEsperado = ByteBuffer.wrap(datos, i, 4).getInt();
+                i += 4;
+                crc.reset();
+                crc.update(datos, i, longitud);
+                if ((int) crc.getValue() != crcEsperado) {
+                    break;
+                }
+
+                aplicados += aplicar(repository, datos, i, longitud);
+                posicion = i + longitud;
+            }
+
+            if (posicion < datos.length) {
+                System.err.println("Diario " + ruta + ": se descartan " + (datos.length - posicion)
+                        + " bytes de un registro incompleto");
+                try (FileChannel truncar = FileChannel.open(ruta, StandardOpenOption.WRITE)) {
+                    truncar.truncate(posicion);
+                }
+            }
+
+            cantidadRegistros = aplicados;
+            return aplicados;
+
+        } catch (IOException e) {
+            throw new RuntimeException("Error al reproducir el diario: " + ruta, e);
+        }
+    }
+
+    /**
+     * Descarta todos los registros; se usa después de guardar el catálogo completo
+     */
+    public synchronized void vaciar() {
+        try {
+            abrir().truncate(0);
+            cantidadRegistros = 0;
+        } catch (IOException e) {
+            throw new RuntimeException("Error al vaciar el diario: " + ruta, e);
+        }
+    }
+
+    /**
+     * Cambios registrados desde el último vaciado; un lote cuenta cada contenido
+     */
+    public synchronized long getCantidadRegistros() {
+        return cantidadRegistros;
+    }
+
+    long getCantidadSincronizaciones() {
+        synchronized (grupo) {
+            return cantidadSincronizaciones;
+        }
+    }
+
+    public String getRuta() {
+        return ruta.toString();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (canal != null) {
+            canal.close();
+            canal = null;
+        }
+    }
+
+    /**
+     * Contenido de un registro después del byte de operación
+     */
+    @FunctionalInterface
+    private interface Carga {
+        void escribir(SnapshotBinarioService.EscritorBinario salida) throws IOException;
+    }
+
+    /**
+     * @param cambios cambios que representa el registro, para la cantidad que decide la compactación
+     */
+    private long registrar(int operacion, int cambios, Carga datos) {
+        try {
+            registro.reset();
+            escritor.escribirByte(operacion);
+            datos.escribir(escritor);
+            escritor.vaciar();
+            byte[] carga = registro.toByteArray();
+
+            CRC32 crc = new CRC32();
+            crc.update(carga, 0, carga.length);
+            encabezado.clear();
+            int longitud = carga.length;
+            while ((longitud & ~0x7F) != 0) {
+                encabezado.put((byte) ((longitud & 0x7F) | 0x80));
+                longitud >>>= 7;
+            }
+            encabezado.put((byte) longitud);
+            encabezado.putInt((int) crc.getValue());
+            encabezado.flip();
+
+            FileChannel salida = abrir();
+            ByteBuffer[] buffers = {encabezado, ByteBuffer.wrap(carga)};
+            while (buffers[1].hasRemaining()) {
+                salida.write(buffers);
+            }
+            cantidadRegistros += cambios;
+            return ++escritos;
+
+        } catch (IOException e) {
+            throw new RuntimeException("Error al escribir en el diario: " + ruta, e);
+        }
+    }
+
+    /**
+     * Aplica un registro y retorna la cantidad de cambios que contenía
+     */
+    private int aplicar(IContenidoRepository repository, byte[] datos, int inicio, int longitud)
+            throws IOException {
+        SnapshotBinarioService.LectorBinario lector = new SnapshotBinarioService.LectorBinario(
+                new ByteArrayInputStream(datos, inicio, longitud), longitud);
+        try {
+            int operacion = lector.leerByte();
+            switch (operacion) {
+                case ALTA:
+                case ACTUALIZACION:
+                    repository.guardar(lector.leerContenido(lector.leerByte()));
+                    return 1;
+                case BAJA:
+                    // Reproducir una baja ya aplicada no es un error
+                    int id = lector.leerVarInt();
+                    if (repository.existe(id)) {
+                        repository.eliminar(id);
+                    }
+                    return 1;
+                case LOTE:
+                    int cantidad = lector.leerVarInt();
+                    List<ContenidoAudiovisual> lote = new ArrayList<>(cantidad);
+                    for (int i = 0; i < cantidad; i++) {
+                        lote.add(lector.leerContenido(lector.leerByte()));
+                    }
+                    repository.guardarTodos(lote);
+                    return cantidad;
+                default:
+                    throw new IOException("Operación desconocida en el diario: " + operacion);
+            }
+        } catch (EOFException e) {
+            throw new IOException("Registro del diario mal formado", e);
+        }
+    }
+
+    private FileChannel abrir() throws IOException {
+        if (canal == null) {
+            Path directorio = ruta.toAbsolutePath().getParent();
+            if (directorio != null) {
+                Files.createDirectories(directorio);
+            }
+            canal = FileChannel.open(ruta, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.APPEND);
+        }
+        return canal;
+    }
+}
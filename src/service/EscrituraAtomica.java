@@ -0,0 +1,79 @@
+package service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Escritura de archivos a prueba de caídas
+ * El contenido se escribe en un archivo temporal junto al destino, se sincroniza
+ * con FileChannel.force y luego reemplaza al destino con un movimiento atómico.
+ * Si el proceso se interrumpe a mitad de la escritura, el destino conserva su
+ * versión anterior completa.
+ */
+final class EscrituraAtomica {
+    private static final String SUFIJO_TEMPORAL = ".tmp";
+
+    /**
+     * Escribe el cuerpo del archivo sobre el flujo recibido
+     */
+    @FunctionalInterface
+    interface Cuerpo {
+        void escribir(OutputStream salida) throws IOException;
+    }
+
+    private EscrituraAtomica() {
+    }
+
+    static void escribir(String rutaArchivo, Cuerpo cuerpo) throws IOException {
+        Path destino = Paths.get(rutaArchivo).toAbsolutePath();
+        Path temporal = destino.resolveSibling(destino.getFileName() + SUFIJO_TEMPORAL);
+
+        try {
+            try (FileChannel canal = FileChannel.open(temporal, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                OutputStream salida = Channels.newOutputStream(canal);
+                cuerpo.escribir(salida);
+                salida.flush();
+                canal.force(true);
+            }
+            mover(temporal, destino);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temporal);
+            throw e;
+        }
+
+        sincronizarDirectorio(destino.getParent());
+    }
+
+    private static void mover(Path temporal, Path destino) throws IOException {
+        try {
+            Files.move(temporal, destino, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            // Sistemas de archivos sin renombrado atómico: se reemplaza en un solo paso
+            Files.move(temporal, destino, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Persiste la entrada de directorio del renombrado. No todas las plataformas
+     * permiten abrir un directorio (Windows), en ese caso se omite.
+     */
+    static void sincronizarDirectorio(Path directorio) {
+        if (directorio == null) {
+            return;
+        }
+        try (FileChannel canal = FileChannel.open(directorio, StandardOpenOption.READ)) {
+            canal.force(true);
+        } catch (IOException e) {
+            // Sin soporte para sincronizar directorios
+        }
+    }
+}
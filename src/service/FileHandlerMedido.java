@@ -0,0 +1,77 @@
+package service;
+
+import java.io.File;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+import interfaces.IFileHandler;
+
+/**
+ * Decorador que mide lecturas y escrituras de un IFileHandler en un RegistroMetricas
+ * Además de la latencia de cada operación cuenta filas y bytes ("archivo.leer.filas",
+ * "archivo.escribir.bytes", ...), que el registro informa también como filas/s y bytes/s.
+ * El prefijo permite medir por separado otro manejador, como el de la instantánea.
+ */
+public class FileHandlerMedido<T> implements IFileHandler<T> {
+    private final IFileHandler<T> archivos;
+    private final RegistroMetricas registro;
+    private final RegistroMetricas.Operacion leer;
+    private final RegistroMetricas.Operacion escribir;
+    private final RegistroMetricas.Operacion validar;
+    private final LongAdder filasLeidas;
+    private final LongAdder bytesLeidos;
+    private final LongAdder filasEscritas;
+    private final LongAdder bytesEscritos;
+
+    public FileHandlerMedido(IFileHandler<T> archivos, RegistroMetricas registro) {
+        this(archivos, registro, "archivo");
+    }
+
+    public FileHandlerMedido(IFileHandler<T> archivos, RegistroMetricas registro, String prefijo) {
+        this.archivos = archivos;
+        this.registro = registro;
+        this.leer = registro.operacion(prefijo + ".leer");
+        this.escribir = registro.operacion(prefijo + ".escribir");
+        this.validar = registro.operacion(prefijo + ".validarFormato");
+        this.filasLeidas = registro.contador(prefijo + ".leer.filas");
+        this.bytesLeidos = registro.contador(prefijo + ".leer.bytes");
+        this.filasEscritas = registro.contador(prefijo + ".escribir.filas");
+        this.bytesEscritos = registro.contador(prefijo + ".escribir.bytes");
+    }
+
+    @Override
+    public List<T> leerArchivo(String rutaArchivo) {
+        List<T> datos = leer.medir(() -> archivos.leerArchivo(rutaArchivo));
+        contarLectura(rutaArchivo, datos.size());
+        return datos;
+    }
+
+    @Override
+    public long leerArchivo(String rutaArchivo, Consumer<T> consumidor) {
+        long cantidad = leer.medir(() -> archivos.leerArchivo(rutaArchivo, consumidor));
+        contarLectura(rutaArchivo, cantidad);
+        return cantidad;
+    }
+
+    @Override
+    public void escribirArchivo(String rutaArchivo, List<T> datos) {
+        escribir.ejecutar(() -> archivos.escribirArchivo(rutaArchivo, datos));
+        if (registro.estaHabilitado()) {
+            filasEscritas.add(datos.size());
+            bytesEscritos.add(new File(rutaArchivo).length());
+        }
+    }
+
+    @Override
+    public boolean validarFormato(String rutaArchivo) {
+        return validar.medir(() -> archivos.validarFormato(rutaArchivo));
+    }
+
+    private void contarLectura(String rutaArchivo, long filas) {
+        if (registro.estaHabilitado()) {
+            filasLeidas.add(filas);
+            bytesLeidos.add(new File(rutaArchivo).length());
+        }
+    }
+}
@@ -4,17 +4,25 @@ import java.io.BufferedReader;
 import java.io.BufferedWriter;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
-import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.OutputStreamWriter;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
 
+import csv.ErroresLectura;
+import csv.TokenizadorCsv;
 import interfaces.IFileHandler;
 import model.ContenidoAudiovisual;
 import model.Cortometraje;
 import model.Documental;
+import model.ParserContenidoCsv;
 import model.Pelicula;
 import model.SerieDeTV;
 import model.VideoYouTube;
@@ -25,24 +33,80 @@ import model.VideoYouTube;
  */
 public class FileHandlerService implements IFileHandler<ContenidoAudiovisual> {
     
-    private static final String SEPARADOR = ",";
     private static final String CHARSET = "UTF-8";
+    // Errores con detalle que se informan al leer sin un ErroresLectura propio
+    private static final int ERRORES_INFORMADOS = 20;
+
+    private final boolean lecturaParalela;
+
+    public FileHandlerService() {
+        this(false);
+    }
+
+    /**
+     * @param lecturaParalela si es true, los archivos se leen mapeados en memoria
+     *                        y se parsean por bloques en el ForkJoinPool común
+     */
+    public FileHandlerService(boolean lecturaParalela) {
+        this.lecturaParalela = lecturaParalela;
+    }
 
     @Override
     public List<ContenidoAudiovisual> leerArchivo(String rutaArchivo) {
         List<ContenidoAudiovisual> contenidos = new ArrayList<>();
-        
+        leerArchivo(rutaArchivo, contenidos::add);
+        return contenidos;
+    }
+
+    /**
+     * Las líneas inválidas se saltean y se informan al final en un solo resumen
+     * Si un ID se repite se conserva la primera fila y las demás cuentan como error.
+     */
+    @Override
+    public long leerArchivo(String rutaArchivo, Consumer<ContenidoAudiovisual> consumidor) {
+        ErroresLectura errores = new ErroresLectura(ERRORES_INFORMADOS);
+        long entregados = leerArchivo(rutaArchivo, consumidor, errores);
+        if (!errores.estaVacio()) {
+            System.err.println("Errores al leer " + rutaArchivo + ": " + errores.resumen());
+        }
+        return entregados;
+    }
+
+    /**
+     * Lee el archivo y deja en errores el resumen de las líneas inválidas, sin escribir
+     * en la consola
+     */
+    public List<ContenidoAudiovisual> leerArchivo(String rutaArchivo, ErroresLectura errores) {
+        List<ContenidoAudiovisual> contenidos = new ArrayList<>();
+        leerArchivo(rutaArchivo, contenidos::add, errores);
+        return contenidos;
+    }
+
+    public long leerArchivo(String rutaArchivo, Consumer<ContenidoAudiovisual> consumidor,
+                            ErroresLectura errores) {
         if (!validarFormato(rutaArchivo)) {
             throw new IllegalArgumentException("El archivo debe tener extensión .csv");
         }
 
+        if (lecturaParalela) {
+            return leerArchivoParalelo(rutaArchivo, consumidor, errores);
+        }
+
+        long entregados = 0;
+
         try (BufferedReader reader = new BufferedReader(
                 new InputStreamReader(new FileInputStream(rutaArchivo), CHARSET))) {
             
+            TokenizadorCsv campos = new TokenizadorCsv();
+            RegistroCsv registro = new RegistroCsv();
+            // Líneas que se vuelven a leer después de descartar un registro con una comilla suelta
+            Deque<String> devueltas = new ArrayDeque<>();
+            // Se conserva la primera fila de cada ID; las siguientes se reportan como error
+            ConjuntoIds ids = new ConjuntoIds();
             String linea;
             int numeroLinea = 0;
             
-            while ((linea = reader.readLine()) != null) {
+            while ((linea = siguienteLinea(reader, devueltas)) != null) {
                 numeroLinea++;
                 
                 // Saltar líneas vacías y comentarios
@@ -50,13 +114,37 @@ public class FileHandlerService implements IFileHandler<ContenidoAudiovisual> {
                     continue;
                 }
                 
+                // Un campo entre comillas puede contener saltos de línea
+                int lineaInicial = numeroLinea;
+                registro.iniciar(linea);
+                while (registro.puedeContinuar() && (linea = siguienteLinea(reader, devueltas)) != null) {
+                    numeroLinea++;
+                    registro.continuar(linea);
+                }
+                
+                ContenidoAudiovisual contenido;
                 try {
-                    ContenidoAudiovisual contenido = parsearLinea(linea);
-                    if (contenido != null) {
-                        contenidos.add(contenido);
+                    contenido = parsearLinea(campos.reiniciar(registro.texto()));
+                } catch (RuntimeException e) {
+                    errores.registrar(lineaInicial, e, campos.getCampoActual());
+                    if (registro.getLineas() > 1 && RegistroCsv.esComillaSuelta(e)) {
+                        List<String> continuacion = registro.getContinuacion();
+                        for (int i = continuacion.size() - 1; i >= 0; i--) {
+                            devueltas.addFirst(continuacion.get(i));
+                        }
+                        numeroLinea = lineaInicial;
                     }
-                } catch (Exception e) {
-                    System.err.println("Error en línea " + numeroLinea + ": " + e.getMessage());
+                    continue;
+                }
+                
+                if (contenido != null) {
+                    if (!ids.agregar(contenido.getId())) {
+                        errores.registrar(lineaInicial, ErroresLectura.Codigo.ID_DUPLICADO, 1,
+                                "ID repetido en el archivo: " + contenido.getId());
+                        continue;
+                    }
+                    consumidor.accept(contenido);
+                    entregados++;
                 }
             }
             
@@ -66,7 +154,23 @@ public class FileHandlerService implements IFileHandler<ContenidoAudiovisual> {
             throw new RuntimeException("Error al leer el archivo: " + rutaArchivo, e);
         }
         
-        return contenidos;
+        return entregados;
+    }
+
+    private static String siguienteLinea(BufferedReader reader, Deque<String> devueltas) throws IOException {
+        return devueltas.isEmpty() ? reader.readLine() : devueltas.removeFirst();
+    }
+
+    private long leerArchivoParalelo(String rutaArchivo, Consumer<ContenidoAudiovisual> consumidor,
+                                     ErroresLectura errores) {
+        LectorCsvParalelo lector = new LectorCsvParalelo(ForkJoinPool.commonPool(), this::parsearLinea);
+        try {
+            return lector.leer(Paths.get(rutaArchivo), consumidor, errores);
+        } catch (NoSuchFileException e) {
+            throw new RuntimeException("Archivo no encontrado: " + rutaArchivo, e);
+        } catch (IOException e) {
+            throw new RuntimeException("Error al leer el archivo: " + rutaArchivo, e);
+        }
     }
 
     @Override
@@ -75,21 +179,24 @@ public class FileHandlerService implements IFileHandler<ContenidoAudiovisual> {
             throw new IllegalArgumentException("El archivo debe tener extensión .csv");
         }
 
-        try (BufferedWriter writer = new BufferedWriter(
-                new OutputStreamWriter(new FileOutputStream(rutaArchivo), CHARSET))) {
-            
-            // Escribir encabezado
-            writer.write("# Archivo de Contenido Audiovisual");
-            writer.newLine();
-            writer.write("# Formato: TIPO,ID,TITULO,DURACION,GENERO,CAMPO_ESPECIFICO");
-            writer.newLine();
-            writer.newLine();
-            
-            // Escribir datos
-            for (ContenidoAudiovisual contenido : datos) {
-                writer.write(contenido.toCSV());
+        try {
+            EscrituraAtomica.escribir(rutaArchivo, salida -> {
+                BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(salida, CHARSET));
+                
+                // Escribir encabezado
+                writer.write("# Archivo de Contenido Audiovisual");
                 writer.newLine();
-            }
+                writer.write("# Formato: TIPO,ID,TITULO,DURACION,GENERO,CAMPO_ESPECIFICO");
+                writer.newLine();
+                writer.newLine();
+                
+                // Escribir datos
+                for (ContenidoAudiovisual contenido : datos) {
+                    writer.write(contenido.toCSV());
+                    writer.newLine();
+                }
+                writer.flush();
+            });
             
         } catch (IOException e) {
             throw new RuntimeException("Error al escribir el archivo: " + rutaArchivo, e);
@@ -104,104 +211,12 @@ public class FileHandlerService implements IFileHandler<ContenidoAudiovisual> {
     /**
      * Parsea una línea CSV y crea el objeto correspondiente
      */
-    private ContenidoAudiovisual parsearLinea(String linea) {
-        String[] partes = linea.split(SEPARADOR);
-        
-        if (partes.length < 2) {
-            throw new IllegalArgumentException("Formato de línea inválido");
-        }
-        
-        String tipo = partes[0].trim().toUpperCase();
-        
-        switch (tipo) {
-            case "PELICULA":
-                return parsearPelicula(partes);
-            case "SERIE":
-                return parsearSerie(partes);
-            case "DOCUMENTAL":
-                return parsearDocumental(partes);
-            case "YOUTUBE":
-                return parsearVideoYouTube(partes);
-            case "CORTOMETRAJE":
-                return parsearCortometraje(partes);
-            default:
-                throw new IllegalArgumentException("Tipo de contenido desconocido: " + tipo);
-        }
-    }
-
-    private Pelicula parsearPelicula(String[] partes) {
-        if (partes.length < 6) {
-            throw new IllegalArgumentException("Formato inválido para Película");
-        }
-        
-        String titulo = partes[2];
-        int duracion = Integer.parseInt(partes[3]);
-        String genero = partes[4];
-        String estudio = partes[5];
-        
-        return new Pelicula(titulo, duracion, genero, estudio);
-    }
-
-    private SerieDeTV parsearSerie(String[] partes) {
-        if (partes.length < 6) {
-            throw new IllegalArgumentException("Formato inválido para Serie de TV");
-        }
-        
-        String titulo = partes[2];
-        int duracion = Integer.parseInt(partes[3]);
-        String genero = partes[4];
-        int temporadas = Integer.parseInt(partes[5]);
-        
-        return new SerieDeTV(titulo, duracion, genero, temporadas);
+    ContenidoAudiovisual parsearLinea(String linea) {
+        return parsearLinea(new TokenizadorCsv(linea));
     }
 
-    private Documental parsearDocumental(String[] partes) {
-        if (partes.length < 6) {
-            throw new IllegalArgumentException("Formato inválido para Documental");
-        }
-        
-        String titulo = partes[2];
-        int duracion = Integer.parseInt(partes[3]);
-        String genero = partes[4];
-        String tema = partes[5];
-        
-        return new Documental(titulo, duracion, genero, tema);
-    }
-
-    private VideoYouTube parsearVideoYouTube(String[] partes) {
-        if (partes.length < 9) {
-            throw new IllegalArgumentException("Formato inválido para Video de YouTube");
-        }
-        
-        String titulo = partes[2];
-        int duracion = Integer.parseInt(partes[3]);
-        String genero = partes[4];
-        String canal = partes[5];
-        int visualizaciones = Integer.parseInt(partes[6]);
-        int likes = Integer.parseInt(partes[7]);
-        String fechaPublicacion = partes[8];
-        String calidad = partes.length > 9 ? partes[9] : "720p";
-        
-        return new VideoYouTube(titulo, duracion, genero, canal, 
-                               visualizaciones, likes, fechaPublicacion, calidad);
-    }
-
-    private Cortometraje parsearCortometraje(String[] partes) {
-        if (partes.length < 9) {
-            throw new IllegalArgumentException("Formato inválido para Cortometraje");
-        }
-        
-        String titulo = partes[2];
-        int duracion = Integer.parseInt(partes[3]);
-        String genero = partes[4];
-        String director = partes[5];
-        String festival = partes[6];
-        boolean esEstudiantil = Boolean.parseBoolean(partes[7]);
-        String tecnicaFilmacion = partes[8];
-        int presupuesto = partes.length > 9 ? Integer.parseInt(partes[9]) : 0;
-        
-        return new Cortometraje(titulo, duracion, genero, director, festival, 
-                               esEstudiantil, tecnicaFilmacion, presupuesto);
+    ContenidoAudiovisual parsearLinea(TokenizadorCsv campos) {
+        return ParserContenidoCsv.parsear(campos);
     }
 
     /**
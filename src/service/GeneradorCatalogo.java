@@ -0,0 +1,514 @@
+package service;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.CancellationException;
+import java.util.function.Consumer;
+
+import csv.TokenizadorCsv;
+import interfaces.IProgresoOperacion;
+import model.ContenidoAudiovisual;
+import model.Cortometraje;
+import model.Documental;
+import model.Pelicula;
+import model.SerieDeTV;
+import model.VideoYouTube;
+
+/**
+ * Generador determinista de catálogos sintéticos para pruebas de carga
+ * Con la misma semilla y configuración produce siempre las mismas filas, de los cinco
+ * tipos de contenido. Las palabras de los títulos y los géneros se eligen con una
+ * distribución de Zipf (exponente 0 = uniforme), como en un catálogo real donde
+ * unas pocas palabras y géneros concentran la mayoría de los contenidos.
+ *
+ * escribirArchivo() no crea objetos del modelo: arma cada fila con textos ya
+ * codificados en UTF-8 directamente en un buffer que se vuelca a un FileChannel, así
+ * se pueden generar decenas de millones de filas sin que el generador sea el cuello
+ * de botella. El archivo resultante es idéntico al que escribiría FileHandlerService
+ * con los contenidos de generar().
+ */
+public class GeneradorCatalogo {
+    private static final int INTERVALO_PROGRESO = 1024;
+    private static final int TAMANO_BUFFER = 1 << 20;
+    // Cota holgada del largo de una fila; antes de cada fila debe quedar este espacio
+    private static final int MAXIMO_FILA = 1024;
+    // Bastante por debajo de las palabras distintas que se pueden armar con las sílabas
+    private static final int MAXIMO_VOCABULARIO = 1_000_000;
+
+    private static final String[] PALABRAS_BASE = {
+        "amor", "noche", "guerra", "ciudad", "mar", "sombra", "fuego", "viaje", "secreto", "reino",
+        "camino", "luz", "tiempo", "historia", "misterio", "sueño", "tierra", "cielo", "verdad", "memoria",
+        "destino", "silencio", "invierno", "verano", "río", "montaña", "familia", "promesa", "regreso", "frontera",
+        "leyenda", "estrella", "último", "primer", "perdido", "oscuro", "eterno", "salvaje", "rojo", "azul"
+    };
+    private static final String[] SILABAS = {
+        "ba", "ca", "da", "fa", "ga", "la", "ma", "na", "pa", "ra", "sa", "ta", "va", "be", "ce", "de",
+        "le", "me", "ne", "pe", "re", "se", "te", "bi", "ci", "di", "li", "mi", "ni", "pi", "ri", "si",
+        "ti", "bo", "co", "do", "lo", "mo", "no", "po", "ro", "so", "to", "bu", "cu", "du", "lu", "mu"
+    };
+    private static final String[] GENEROS = {
+        "Drama", "Comedia", "Acción", "Ciencia Ficción", "Terror", "Suspenso", "Romance", "Animación",
+        "Fantasía", "Aventura", "Historia", "Ciencia", "Naturaleza", "Educativo", "Música", "Deportes"
+    };
+    private static final String[] TEMAS = {"Astronomía", "Biología", "Historia", "Política", "Arte", "Tecnología", "Océanos"};
+    private static final String[] FESTIVALES = {"Cannes", "Berlín", "Sundance", "Venecia", "San Sebastián", "Toronto"};
+    private static final String[] TECNICAS = {"Digital", "Analógico", "Mixto"};
+    private static final String[] CALIDADES = {"480p", "720p", "1080p", "1440p", "4K"};
+
+    private final long semilla;
+    private int vocabulario = 2000;
+    private double exponenteTitulos = 1.0;
+    private double exponenteGeneros = 1.0;
+    private int[] proporcionTipos = {1, 1, 1, 1, 1};
+    private boolean titulosUnicos;
+    private int idInicial = 1;
+
+    public GeneradorCatalogo(long semilla) {
+        this.semilla = semilla;
+    }
+
+    /**
+     * Cantidad de palabras distintas para los títulos y exponente de Zipf con que se eligen
+     */
+    public GeneradorCatalogo setTitulos(int vocabulario, double exponenteZipf) {
+        if (vocabulario < 1 || vocabulario > MAXIMO_VOCABULARIO || exponenteZipf < 0) {
+            throw new IllegalArgumentException("Vocabulario o exponente de títulos inválido");
+        }
+        this.vocabulario = vocabulario;
+        this.exponenteTitulos = exponenteZipf;
+        return this;
+    }
+
+    public GeneradorCatalogo setExponenteGeneros(double exponenteZipf) {
+        if (exponenteZipf < 0) {
+            throw new IllegalArgumentException("El exponente de géneros no puede ser negativo");
+        }
+        this.exponenteGeneros = exponenteZipf;
+        return this;
+    }
+
+    /**
+     * Peso relativo de cada tipo; un peso 0 excluye el tipo
+     */
+    public GeneradorCatalogo setProporcionTipos(int peliculas, int series, int documentales,
+                                               int videos, int cortometrajes) {
+        int[] proporcion = {peliculas, series, documentales, videos, cortometrajes};
+        if (Arrays.stream(proporcion).anyMatch(peso -> peso < 0) || Arrays.stream(proporcion).sum() == 0) {
+            throw new IllegalArgumentException("Proporción de tipos inválida");
+        }
+        this.proporcionTipos = proporcion;
+        return this;
+    }
+
+    /**
+     * Agrega el ID al final de cada título, para cargas que no admiten títulos repetidos
+     */
+    public GeneradorCatalogo setTitulosUnicos(boolean titulosUnicos) {
+        this.titulosUnicos = titulosUnicos;
+        return this;
+    }
+
+    public GeneradorCatalogo setIdInicial(int idInicial) {
+        if (idInicial < 1) {
+            throw new IllegalArgumentException("El ID debe ser mayor a 0");
+        }
+        this.idInicial = idInicial;
+        return this;
+    }
+
+    public List<ContenidoAudiovisual> generar(int cantidad) {
+        List<ContenidoAudiovisual> contenidos = new ArrayList<>(cantidad);
+        generar(cantidad, contenidos::add);
+        return contenidos;
+    }
+
+    /**
+     * Entrega los contenidos a medida que se generan, sin guardarlos
+     */
+    public void generar(long cantidad, Consumer<ContenidoAudiovisual> consumidor) {
+        Recorrido recorrido = new Recorrido(cantidad);
+        while (recorrido.siguiente()) {
+            consumidor.accept(recorrido.fila.crearContenido());
+        }
+    }
+
+    public long escribirArchivo(String rutaArchivo, long cantidad) {
+        return escribirArchivo(rutaArchivo, cantidad, IProgresoOperacion.NINGUNO);
+    }
+
+    /**
+     * Escribe un CSV con el formato de FileHandlerService. Si se cancela, lanza
+     * CancellationException y el archivo queda incompleto.
+     *
+     * @return cantidad de bytes escritos
+     */
+    public long escribirArchivo(String rutaArchivo, long cantidad, IProgresoOperacion progreso) {
+        Recorrido recorrido = new Recorrido(cantidad);
+        ByteBuffer buffer = ByteBuffer.allocateDirect(TAMANO_BUFFER);
+        long escritos = 0;
+        try (FileChannel canal = FileChannel.open(Paths.get(rutaArchivo), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            buffer.put(("# Archivo de Contenido Audiovisual\n"
+                    + "# Formato: TIPO,ID,TITULO,DURACION,GENERO,CAMPO_ESPECIFICO\n\n").getBytes(StandardCharsets.UTF_8));
+            long filas = 0;
+            while (recorrido.siguiente()) {
+                if (buffer.remaining() < MAXIMO_FILA) {
+                    escritos += volcar(buffer, canal);
+                }
+                recorrido.fila.escribir(buffer);
+                if (++filas % INTERVALO_PROGRESO == 0) {
+                    progreso.avance(filas);
+                    if (progreso.estaCancelada()) {
+                        throw new CancellationException("Generación cancelada en la fila " + filas);
+                    }
+                }
+            }
+            escritos += volcar(buffer, canal);
+            progreso.avance(filas);
+        } catch (IOException e) {
+            throw new RuntimeException("Error al escribir el archivo: " + rutaArchivo, e);
+        }
+        return escritos;
+    }
+
+    private static long volcar(ByteBuffer buffer, FileChannel canal) throws IOException {
+        buffer.flip();
+        long cantidad = buffer.remaining();
+        while (buffer.hasRemaining()) {
+            canal.write(buffer);
+        }
+        buffer.clear();
+        return cantidad;
+    }
+
+    /**
+     * Vocabulario de títulos: primero palabras comunes (las de mayor frecuencia con
+     * Zipf) y luego palabras inventadas con sílabas, todas distintas
+     */
+    private String[] crearVocabulario() {
+        Set<String> palabras = new LinkedHashSet<>();
+        for (int i = 0; i < PALABRAS_BASE.length && palabras.size() < vocabulario; i++) {
+            palabras.add(PALABRAS_BASE[i]);
+        }
+        SplittableRandom azar = new SplittableRandom(semilla ^ 0x5DEECE66DL);
+        while (palabras.size() < vocabulario) {
+            StringBuilder palabra = new StringBuilder();
+            int silabas = 2 + azar.nextInt(3);
+            for (int i = 0; i < silabas; i++) {
+                palabra.append(SILABAS[azar.nextInt(SILABAS.length)]);
+            }
+            palabras.add(palabra.toString());
+        }
+        return palabras.toArray(new String[0]);
+    }
+
+    private static byte[] utf8(String texto) {
+        // Los textos del generador no tienen comas, comillas ni saltos de línea
+        return TokenizadorCsv.escapar(texto).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static byte[][] utf8(String[] textos) {
+        byte[][] codificados = new byte[textos.length][];
+        for (int i = 0; i < textos.length; i++) {
+            codificados[i] = utf8(textos[i]);
+        }
+        return codificados;
+    }
+
+    private static String capitalizar(String palabra) {
+        return Character.toUpperCase(palabra.charAt(0)) + palabra.substring(1);
+    }
+
+    /**
+     * Muestreo de una distribución de Zipf sobre los rangos 0..n-1 por búsqueda binaria
+     * en la distribución acumulada
+     */
+    private static final class DistribucionZipf {
+        private final double[] acumulada;
+
+        private DistribucionZipf(int n, double exponente) {
+            acumulada = new double[n];
+            double total = 0;
+            for (int rango = 0; rango < n; rango++) {
+                total += 1.0 / Math.pow(rango + 1, exponente);
+                acumulada[rango] = total;
+            }
+            for (int rango = 0; rango < n; rango++) {
+                acumulada[rango] /= total;
+            }
+        }
+
+        private int muestra(SplittableRandom azar) {
+            int posicion = Arrays.binarySearch(acumulada, azar.nextDouble());
+            int rango = posicion >= 0 ? posicion : -posicion - 1;
+            return Math.min(rango, acumulada.length - 1);
+        }
+    }
+
+    /**
+     * Una pasada de generación: sortea las filas en orden con su propio estado, así
+     * varias pasadas con la misma configuración producen lo mismo
+     */
+    private final class Recorrido {
+        private final long cantidad;
+        private final SplittableRandom azar = new SplittableRandom(semilla);
+        private final DistribucionZipf titulos = new DistribucionZipf(vocabulario, exponenteTitulos);
+        private final DistribucionZipf generos = new DistribucionZipf(GENEROS.length, exponenteGeneros);
+        private final int[] tiposAcumulados = new int[proporcionTipos.length];
+        private final Fila fila;
+        private long generadas;
+
+        private Recorrido(long cantidad) {
+            if (cantidad < 0 || idInicial + cantidad - 1 > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Cantidad de filas inválida: " + cantidad);
+            }
+            this.cantidad = cantidad;
+            int total = 0;
+            for (int i = 0; i < proporcionTipos.length; i++) {
+                total += proporcionTipos[i];
+                tiposAcumulados[i] = total;
+            }
+            this.fila = new Fila(crearVocabulario());
+        }
+
+        private boolean siguiente() {
+            if (generadas == cantidad) {
+                return false;
+            }
+            Fila f = fila;
+            f.id = (int) (idInicial + generadas++);
+
+            int sorteo = azar.nextInt(tiposAcumulados[tiposAcumulados.length - 1]);
+            int tipo = 0;
+            while (sorteo >= tiposAcumulados[tipo]) {
+                tipo++;
+            }
+            f.tipo = tipo;
+
+            f.cantidadPalabras = 1 + azar.nextInt(3);
+            for (int i = 0; i < f.cantidadPalabras; i++) {
+                f.palabras[i] = titulos.muestra(azar);
+            }
+            f.genero = generos.muestra(azar);
+
+            switch (tipo) {
+                case Fila.PELICULA:
+                    f.duracion = 75 + azar.nextInt(120);
+                    f.numero = azar.nextInt(200);
+                    break;
+                case Fila.SERIE:
+                    f.duracion = 20 + azar.nextInt(45);
+                    f.numero = 1 + azar.nextInt(15);
+                    break;
+                case Fila.DOCUMENTAL:
+                    f.duracion = 40 + azar.nextInt(80);
+                    f.numero = azar.nextInt(TEMAS.length);
+                    break;
+                case Fila.VIDEO:
+                    f.duracion = 1 + azar.nextInt(60);
+                    f.numero = azar.nextInt(5000);
+                    // Visualizaciones con cola larga: pocos videos muy vistos
+                    f.visualizaciones = (int) Math.min(Integer.MAX_VALUE, Math.exp(azar.nextDouble() * 20));
+                    f.likes = (int) (f.visualizaciones * azar.nextDouble() * 0.1);
+                    f.fecha = (15 + azar.nextInt(10)) * 10000 + (1 + azar.nextInt(12)) * 100 + 1 + azar.nextInt(28);
+                    f.detalle = azar.nextInt(CALIDADES.length);
+                    break;
+                default:
+                    f.duracion = 3 + azar.nextInt(38);
+                    f.numero = azar.nextInt(500);
+                    f.detalle = azar.nextInt(FESTIVALES.length);
+                    f.estudiantil = azar.nextBoolean();
+                    f.tecnica = azar.nextInt(TECNICAS.length);
+                    f.presupuesto = azar.nextInt(200_000);
+                    break;
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Valores sorteados de una fila; se reutiliza en cada fila para no crear objetos
+     */
+    private final class Fila {
+        private static final int PELICULA = 0;
+        private static final int SERIE = 1;
+        private static final int DOCUMENTAL = 2;
+        private static final int VIDEO = 3;
+
+        private final String[] vocabulario;
+        private final byte[][] palabrasUtf8;
+        private final byte[][] palabrasCapitalizadasUtf8;
+        private final byte[][] generosUtf8 = utf8(GENEROS);
+        private final byte[][] temasUtf8 = utf8(TEMAS);
+        private final byte[][] festivalesUtf8 = utf8(FESTIVALES);
+        private final byte[][] tecnicasUtf8 = utf8(TECNICAS);
+        private final byte[][] calidadesUtf8 = utf8(CALIDADES);
+        private final byte[] digitos = new byte[11];
+
+        private final int[] palabras = new int[3];
+        private int cantidadPalabras;
+        private int id;
+        private int tipo;
+        private int genero;
+        private int duracion;
+        // Número del estudio, canal o director, temporadas o índice del tema, según el tipo
+        private int numero;
+        private int visualizaciones;
+        private int likes;
+        // Fecha de publicación como AAMMDD desde 2000
+        private int fecha;
+        // Calidad del video o festival del cortometraje
+        private int detalle;
+        private boolean estudiantil;
+        private int tecnica;
+        private int presupuesto;
+
+        private Fila(String[] vocabulario) {
+            this.vocabulario = vocabulario;
+            this.palabrasUtf8 = utf8(vocabulario);
+            String[] capitalizadas = new String[vocabulario.length];
+            for (int i = 0; i < vocabulario.length; i++) {
+                capitalizadas[i] = capitalizar(vocabulario[i]);
+            }
+            this.palabrasCapitalizadasUtf8 = utf8(capitalizadas);
+        }
+
+        private String titulo() {
+            StringBuilder titulo = new StringBuilder(capitalizar(vocabulario[palabras[0]]));
+            for (int i = 1; i < cantidadPalabras; i++) {
+                titulo.append(' ').append(vocabulario[palabras[i]]);
+            }
+            if (titulosUnicos) {
+                titulo.append(' ').append(id);
+            }
+            return titulo.toString();
+        }
+
+        private String fechaTexto() {
+            return String.format("20%02d-%02d-%02d", fecha / 10000, fecha / 100 % 100, fecha % 100);
+        }
+
+        private ContenidoAudiovisual crearContenido() {
+            String titulo = titulo();
+            String generoTexto = GENEROS[genero];
+            switch (tipo) {
+                case PELICULA:
+                    return new Pelicula(id, titulo, duracion, generoTexto, "Estudio " + numero);
+                case SERIE:
+                    return new SerieDeTV(id, titulo, duracion, generoTexto, numero);
+                case DOCUMENTAL:
+                    return new Documental(id, titulo, duracion, generoTexto, TEMAS[numero]);
+                case VIDEO:
+                    return new VideoYouTube(id, titulo, duracion, generoTexto, "Canal " + numero,
+                            visualizaciones, likes, fechaTexto(), CALIDADES[detalle]);
+                default:
+                    return new Cortometraje(id, titulo, duracion, generoTexto, "Director " + numero,
+                            FESTIVALES[detalle], estudiantil, TECNICAS[tecnica], presupuesto);
+            }
+        }
+
+        /**
+         * Misma salida que toCSV() del contenido que crearía crearContenido()
+         */
+        private void escribir(ByteBuffer buffer) {
+            switch (tipo) {
+                case PELICULA:
+                    texto(buffer, "PELICULA,");
+                    break;
+                case SERIE:
+                    texto(buffer, "SERIE,");
+                    break;
+                case DOCUMENTAL:
+                    texto(buffer, "DOCUMENTAL,");
+                    break;
+                case VIDEO:
+                    texto(buffer, "YOUTUBE,");
+                    break;
+                default:
+                    texto(buffer, "CORTOMETRAJE,");
+                    break;
+            }
+            entero(buffer, id);
+            buffer.put((byte) ',');
+            buffer.put(palabrasCapitalizadasUtf8[palabras[0]]);
+            for (int i = 1; i < cantidadPalabras; i++) {
+                buffer.put((byte) ' ').put(palabrasUtf8[palabras[i]]);
+            }
+            if (titulosUnicos) {
+                buffer.put((byte) ' ');
+                entero(buffer, id);
+            }
+            buffer.put((byte) ',');
+            entero(buffer, duracion);
+            buffer.put((byte) ',').put(generosUtf8[genero]).put((byte) ',');
+
+            switch (tipo) {
+                case PELICULA:
+                    texto(buffer, "Estudio ");
+                    entero(buffer, numero);
+                    break;
+                case SERIE:
+                    entero(buffer, numero);
+                    break;
+                case DOCUMENTAL:
+                    buffer.put(temasUtf8[numero]);
+                    break;
+                case VIDEO:
+                    texto(buffer, "Canal ");
+                    entero(buffer, numero);
+                    buffer.put((byte) ',');
+                    entero(buffer, visualizaciones);
+                    buffer.put((byte) ',');
+                    entero(buffer, likes);
+                    buffer.put((byte) ',');
+                    texto(buffer, "20");
+                    dosDigitos(buffer, fecha / 10000);
+                    buffer.put((byte) '-');
+                    dosDigitos(buffer, fecha / 100 % 100);
+                    buffer.put((byte) '-');
+                    dosDigitos(buffer, fecha % 100);
+                    buffer.put((byte) ',').put(calidadesUtf8[detalle]);
+                    break;
+                default:
+                    texto(buffer, "Director ");
+                    entero(buffer, numero);
+                    buffer.put((byte) ',').put(festivalesUtf8[detalle]).put((byte) ',');
+                    texto(buffer, estudiantil ? "true," : "false,");
+                    buffer.put(tecnicasUtf8[tecnica]).put((byte) ',');
+                    entero(buffer, presupuesto);
+                    break;
+            }
+            buffer.put((byte) '\n');
+        }
+
+        // Solo para textos ASCII
+        private void texto(ByteBuffer buffer, String texto) {
+            for (int i = 0; i < texto.length(); i++) {
+                buffer.put((byte) texto.charAt(i));
+            }
+        }
+
+        private void entero(ByteBuffer buffer, int valor) {
+            int posicion = digitos.length;
+            do {
+                digitos[--posicion] = (byte) ('0' + valor % 10);
+                valor /= 10;
+            } while (valor > 0);
+            buffer.put(digitos, posicion, digitos.length - posicion);
+        }
+
+        private void dosDigitos(ByteBuffer buffer, int valor) {
+            buffer.put((byte) ('0' + valor / 10)).put((byte) ('0' + valor % 10));
+        }
+    }
+}
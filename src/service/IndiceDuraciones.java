@@ -0,0 +1,147 @@
+package service;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.IntConsumer;
+import java.util.function.IntPredicate;
+
+/**
+ * Índice ordenado por duración en minutos
+ * Las duraciones son enteros chicos: cada minuto tiene su cubeta en un arreglo y un
+ * BitSet marca las cubetas ocupadas, así un rango [min, max] se recorre saltando
+ * directamente entre cubetas no vacías, en orden y sin volver a ordenar. Las
+ * duraciones fuera del arreglo (muy largas) van a un TreeMap.
+ */
+class IndiceDuraciones {
+    private static final int LIMITE_DENSO = 1 << 16;
+    private static final int CAPACIDAD_INICIAL = 256;
+
+    private ListaIds[] cubetas = new ListaIds[CAPACIDAD_INICIAL];
+    private final BitSet ocupadas = new BitSet();
+    private final TreeMap<Integer, ListaIds> grandes = new TreeMap<>();
+    // Duración indexada por ID, para desindexar aunque el objeto haya cambiado
+    private final Map<Integer, Integer> duraciones;
+
+    IndiceDuraciones() {
+        this(0);
+    }
+
+    IndiceDuraciones(int capacidad) {
+        duraciones = new HashMap<>(IndicesContenido.capacidadHash(capacidad));
+    }
+
+    void agregar(int id, int duracion) {
+        Integer anterior = duraciones.put(id, duracion);
+        if (anterior != null) {
+            if (anterior == duracion) {
+                return;
+            }
+            quitar(anterior, id);
+        }
+        cubeta(duracion).agregar(id);
+    }
+
+    void eliminar(int id) {
+        Integer anterior = duraciones.remove(id);
+        if (anterior != null) {
+            quitar(anterior, id);
+        }
+    }
+
+    void limpiar() {
+        cubetas = new ListaIds[CAPACIDAD_INICIAL];
+        ocupadas.clear();
+        grandes.clear();
+        duraciones.clear();
+    }
+
+    /**
+     * Entrega los IDs con duración en [minimo, maximo] ordenados por duración (y por ID)
+     */
+    void buscarRango(int minimo, int maximo, IntConsumer consumidor) {
+        buscarRangoDesde(minimo, maximo, minimo, Integer.MIN_VALUE, id -> {
+            consumidor.accept(id);
+            return true;
+        });
+    }
+
+    /**
+     * Recorre en orden de (duración, ID) los IDs con duración en [minimo, maximo] que
+     * van después del cursor (despuesDeDuracion, despuesDeId); la cubeta del cursor
+     * empieza con búsqueda binaria y el recorrido se detiene cuando el consumidor
+     * retorna false
+     */
+    void buscarRangoDesde(int minimo, int maximo, int despuesDeDuracion, int despuesDeId,
+                          IntPredicate consumidor) {
+        int desde = Math.max(Math.max(minimo, despuesDeDuracion), 0);
+        if (desde > maximo) {
+            return;
+        }
+        // Solo la cubeta del cursor se recorre a partir de despuesDeId
+        int idCursor = desde == despuesDeDuracion ? despuesDeId : Integer.MIN_VALUE;
+
+        if (desde < LIMITE_DENSO) {
+            int hasta = Math.min(maximo, LIMITE_DENSO - 1);
+            for (int d = ocupadas.nextSetBit(desde); d >= 0 && d <= hasta; d = ocupadas.nextSetBit(d + 1)) {
+                if (!recorrer(cubetas[d], d == desde ? idCursor : Integer.MIN_VALUE, consumidor)) {
+                    return;
+                }
+            }
+        }
+        if (maximo >= LIMITE_DENSO && !grandes.isEmpty()) {
+            for (Map.Entry<Integer, ListaIds> entrada
+                    : grandes.subMap(Math.max(desde, LIMITE_DENSO), true, maximo, true).entrySet()) {
+                int cursor = entrada.getKey() == desde ? idCursor : Integer.MIN_VALUE;
+                if (!recorrer(entrada.getValue(), cursor, consumidor)) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private static boolean recorrer(ListaIds ids, int despuesDeId, IntPredicate consumidor) {
+        for (int i = ids.posicionDespuesDe(despuesDeId); i < ids.tamano(); i++) {
+            if (!consumidor.test(ids.obtener(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    void recorrerOrdenado(IntConsumer consumidor) {
+        buscarRango(0, Integer.MAX_VALUE, consumidor);
+    }
+
+    private ListaIds cubeta(int duracion) {
+        if (duracion < 0 || duracion >= LIMITE_DENSO) {
+            return grandes.computeIfAbsent(duracion, d -> new ListaIds());
+        }
+        if (duracion >= cubetas.length) {
+            cubetas = Arrays.copyOf(cubetas, Math.min(LIMITE_DENSO,
+                    Math.max(duracion + 1, cubetas.length * 2)));
+        }
+        if (cubetas[duracion] == null) {
+            cubetas[duracion] = new ListaIds();
+            ocupadas.set(duracion);
+        }
+        return cubetas[duracion];
+    }
+
+    private void quitar(int duracion, int id) {
+        if (duracion < 0 || duracion >= LIMITE_DENSO) {
+            ListaIds ids = grandes.get(duracion);
+            if (ids != null && ids.quitar(id) && ids.tamano() == 0) {
+                grandes.remove(duracion);
+            }
+            return;
+        }
+        ListaIds ids = cubetas[duracion];
+        if (ids != null && ids.quitar(id) && ids.tamano() == 0) {
+            cubetas[duracion] = null;
+            ocupadas.clear(duracion);
+        }
+    }
+}
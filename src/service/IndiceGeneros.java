@@ -0,0 +1,122 @@
+package service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.IntConsumer;
+import java.util.function.IntPredicate;
+
+/**
+ * Índice secundario género → IDs
+ * Los géneros tienen poca cardinalidad: se guardan normalizados (toLowerCase y trim)
+ * en un TreeMap ordenado. La búsqueda exacta y por prefijo cuestan O(log G + resultado);
+ * la búsqueda por subcadena solo recorre el diccionario de géneros distintos.
+ */
+class IndiceGeneros {
+    private final TreeMap<String, ListaIds> porGenero = new TreeMap<>();
+    // Género normalizado por ID, para desindexar aunque el objeto haya cambiado
+    private final Map<Integer, String> generos;
+
+    IndiceGeneros() {
+        this(0);
+    }
+
+    IndiceGeneros(int capacidad) {
+        generos = new HashMap<>(IndicesContenido.capacidadHash(capacidad));
+    }
+
+    void agregar(int id, String genero) {
+        String normalizado = normalizar(genero);
+        String anterior = generos.put(id, normalizado);
+        if (anterior != null) {
+            if (anterior.equals(normalizado)) {
+                return;
+            }
+            quitar(anterior, id);
+        }
+        porGenero.computeIfAbsent(normalizado, g -> new ListaIds()).agregar(id);
+    }
+
+    void eliminar(int id) {
+        String anterior = generos.remove(id);
+        if (anterior != null) {
+            quitar(anterior, id);
+        }
+    }
+
+    void limpiar() {
+        porGenero.clear();
+        generos.clear();
+    }
+
+    void buscarExacto(String genero, IntConsumer consumidor) {
+        ListaIds ids = porGenero.get(normalizar(genero));
+        if (ids != null) {
+            ids.forEach(consumidor);
+        }
+    }
+
+    void buscarPorPrefijo(String prefijo, IntConsumer consumidor) {
+        String normalizado = normalizar(prefijo);
+        for (Map.Entry<String, ListaIds> entrada : porGenero.tailMap(normalizado, true).entrySet()) {
+            if (!entrada.getKey().startsWith(normalizado)) {
+                break;
+            }
+            entrada.getValue().forEach(consumidor);
+        }
+    }
+
+    void buscarPorSubcadena(String texto, IntConsumer consumidor) {
+        String normalizado = normalizar(texto);
+        for (Map.Entry<String, ListaIds> entrada : porGenero.entrySet()) {
+            if (entrada.getKey().contains(normalizado)) {
+                entrada.getValue().forEach(consumidor);
+            }
+        }
+    }
+
+    /**
+     * Recorre en orden de ID los IDs mayores a despuesDeId cuyo género contiene el texto,
+     * mezclando desde el cursor las listas de los géneros que coinciden (son pocas y no
+     * comparten IDs); se detiene cuando el consumidor retorna false
+     */
+    void buscarPorSubcadenaDesde(String texto, int despuesDeId, IntPredicate consumidor) {
+        String normalizado = normalizar(texto);
+        List<ListaIds> listas = new ArrayList<>();
+        for (Map.Entry<String, ListaIds> entrada : porGenero.entrySet()) {
+            if (entrada.getKey().contains(normalizado)) {
+                listas.add(entrada.getValue());
+            }
+        }
+        int[] posiciones = new int[listas.size()];
+        for (int i = 0; i < posiciones.length; i++) {
+            posiciones[i] = listas.get(i).posicionDespuesDe(despuesDeId);
+        }
+        while (true) {
+            int menor = -1;
+            for (int i = 0; i < posiciones.length; i++) {
+                ListaIds lista = listas.get(i);
+                if (posiciones[i] < lista.tamano() && (menor < 0
+                        || lista.obtener(posiciones[i]) < listas.get(menor).obtener(posiciones[menor]))) {
+                    menor = i;
+                }
+            }
+            if (menor < 0 || !consumidor.test(listas.get(menor).obtener(posiciones[menor]++))) {
+                return;
+            }
+        }
+    }
+
+    private void quitar(String genero, int id) {
+        ListaIds ids = porGenero.get(genero);
+        if (ids != null && ids.quitar(id) && ids.tamano() == 0) {
+            porGenero.remove(genero);
+        }
+    }
+
+    static String normalizar(String genero) {
+        return genero == null ? "" : genero.toLowerCase().trim();
+    }
+}
@@ -0,0 +1,355 @@
+package service;
+
+import java.text.Normalizer;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.IntConsumer;
+
+import model.ContenidoAudiovisual;
+
+/**
+ * Índice de contenidos ordenados por título
+ * Árbol de búsqueda aleatorizado (treap) ordenado por una clave de colación del título
+ * y luego por ID. La clave equivale al nivel primario de la colación del español:
+ * sin acentos ni mayúsculas y con la ñ después de la n; los empates se resuelven por
+ * el título original. Se calcula con una tabla en lugar de Collator, cuyas
+ * CollationKey cuestan varios microsegundos por título.
+ *
+ * Cada nodo guarda el tamaño de su subárbol, lo que permite saltar directamente a
+ * la posición k: una página [desplazamiento, desplazamiento + limite) cuesta
+ * O(log N + limite). El árbol se construye la primera vez que se consulta
+ * (ordenando y armando el treap en O(N)); hasta entonces agregar y eliminar no
+ * hacen nada, así la carga de archivos no paga el costo del orden.
+ */
+class IndiceOrdenTitulo {
+    // Reemplazo de cada carácter Latin-1 en la clave; la ñ se expande a "n\uFFFF"
+    // para quedar después de cualquier "n" seguida de otra letra y antes de la "o"
+    private static final String[] CLAVES_LATIN1 = new String[256];
+
+    static {
+        for (char c = 0; c < 256; c++) {
+            CLAVES_LATIN1[c] = clavePorNormalizacion(c);
+        }
+        CLAVES_LATIN1['ñ'] = "n\uFFFF";
+        CLAVES_LATIN1['Ñ'] = "n\uFFFF";
+        CLAVES_LATIN1['ß'] = "ss";
+        CLAVES_LATIN1['æ'] = "ae";
+        CLAVES_LATIN1['Æ'] = "ae";
+        CLAVES_LATIN1['ø'] = "o";
+        CLAVES_LATIN1['Ø'] = "o";
+        CLAVES_LATIN1['ð'] = "d";
+        CLAVES_LATIN1['Ð'] = "d";
+        CLAVES_LATIN1['þ'] = "th";
+        CLAVES_LATIN1['Þ'] = "th";
+    }
+
+    private final Map<Integer, Nodo> nodos;
+    private Nodo raiz;
+    private boolean construido;
+    private long semilla = 0x9E3779B97F4A7C15L;
+
+    IndiceOrdenTitulo() {
+        this(0);
+    }
+
+    IndiceOrdenTitulo(int capacidad) {
+        nodos = new HashMap<>(IndicesContenido.capacidadHash(capacidad));
+    }
+
+    boolean estaConstruido() {
+        return construido;
+    }
+
+    /**
+     * Arma el índice a partir de todos los contenidos actuales
+     */
+    void construir(Collection<ContenidoAudiovisual> contenidos) {
+        Nodo[] ordenados = new Nodo[contenidos.size()];
+        nodos.clear();
+        int i = 0;
+        for (ContenidoAudiovisual contenido : contenidos) {
+            Nodo nodo = new Nodo(contenido.getTitulo(), claveOrden(contenido.getTitulo()),
+                    contenido.getId(), siguientePrioridad());
+            ordenados[i++] = nodo;
+            nodos.put(nodo.id, nodo);
+        }
+        Arrays.sort(ordenados, IndiceOrdenTitulo::comparar);
+        raiz = armarDesdeOrdenados(ordenados);
+        construido = true;
+    }
+
+    void agregar(int id, String titulo) {
+        if (!construido) {
+            return;
+        }
+        Nodo existente = nodos.get(id);
+        if (existente != null) {
+            if (existente.titulo.equals(titulo)) {
+                return;
+            }
+            raiz = quitar(raiz, existente);
+        }
+        Nodo nodo = new Nodo(titulo, claveOrden(titulo), id, siguientePrioridad());
+        nodos.put(id, nodo);
+        raiz = insertar(raiz, nodo);
+    }
+
+    void eliminar(int id) {
+        if (!construido) {
+            return;
+        }
+        Nodo existente = nodos.remove(id);
+        if (existente != null) {
+            raiz = quitar(raiz, existente);
+        }
+    }
+
+    void limpiar() {
+        nodos.clear();
+        raiz = null;
+        construido = false;
+    }
+
+    int tamano() {
+        return tamano(raiz);
+    }
+
+    /**
+     * Entrega en orden de título los IDs de las posiciones [desplazamiento, desplazamiento + limite)
+     */
+    void recorrer(int desplazamiento, int limite, IntConsumer consumidor) {
+        if (desplazamiento < 0 || limite <= 0) {
+            return;
+        }
+
+        // Bajar hasta la posición inicial apilando los ancestros por los que se sigue a la izquierda
+        Deque<Nodo> pila = new ArrayDeque<>();
+        Nodo actual = raiz;
+        int restante = desplazamiento;
+        while (actual != null) {
+            int izquierda = tamano(actual.izquierdo);
+            if (restante < izquierda) {
+                pila.push(actual);
+                actual = actual.izquierdo;
+            } else if (restante == izquierda) {
+                pila.push(actual);
+                break;
+            } else {
+                restante -= izquierda + 1;
+                actual = actual.derecho;
+            }
+        }
+
+        // Recorrido en orden desde esa posición
+        int entregados = 0;
+        while (!pila.isEmpty() && entregados < limite) {
+            Nodo nodo = pila.pop();
+            consumidor.accept(nodo.id);
+            entregados++;
+            for (Nodo n = nodo.derecho; n != null; n = n.izquierdo) {
+                pila.push(n);
+            }
+        }
+    }
+
+    private static int comparar(Nodo a, Nodo b) {
+        int resultado = a.clave.compareTo(b.clave);
+        if (resultado == 0) {
+            resultado = a.titulo.compareTo(b.titulo);
+        }
+        return resultado != 0 ? resultado : Integer.compare(a.id, b.id);
+    }
+
+    /**
+     * Clave primaria de orden del título; retorna la misma instancia si ya está normalizado
+     */
+    static String claveOrden(String titulo) {
+        StringBuilder clave = null;
+        for (int i = 0; i < titulo.length(); i++) {
+            char c = titulo.charAt(i);
+            String reemplazo = c < 256 ? CLAVES_LATIN1[c] : clavePorNormalizacion(c);
+            if (clave == null) {
+                if (reemplazo.length() == 1 && reemplazo.charAt(0) == c) {
+                    continue;
+                }
+                clave = new StringBuilder(titulo.length() + 4).append(titulo, 0, i);
+            }
+            clave.append(reemplazo);
+        }
+        return clave == null ? titulo : clave.toString();
+    }
+
+    /**
+     * Descompone el carácter (NFD), descarta las marcas diacríticas y lo pasa a minúsculas
+     */
+    private static String clavePorNormalizacion(char c) {
+        if (Character.isSurrogate(c)) {
+            return String.valueOf(c);
+        }
+        String descompuesto = Normalizer.normalize(String.valueOf(c), Normalizer.Form.NFD);
+        StringBuilder base = new StringBuilder(descompuesto.length());
+        for (int i = 0; i < descompuesto.length(); i++) {
+            char d = descompuesto.charAt(i);
+            if (Character.getType(d) != Character.NON_SPACING_MARK) {
+                base.append(Character.toLowerCase(d));
+            }
+        }
+        return base.length() == 0 ? String.valueOf(c) : base.toString();
+    }
+
+    private Nodo insertar(Nodo arbol, Nodo nodo) {
+        if (arbol == null) {
+            return nodo;
+        }
+        if (comparar(nodo, arbol) < 0) {
+            arbol.izquierdo = insertar(arbol.izquierdo, nodo);
+            if (arbol.izquierdo.prioridad > arbol.prioridad) {
+                arbol = rotarDerecha(arbol);
+            }
+        } else {
+            arbol.derecho = insertar(arbol.derecho, nodo);
+            if (arbol.derecho.prioridad > arbol.prioridad) {
+                arbol = rotarIzquierda(arbol);
+            }
+        }
+        arbol.actualizarTamano();
+        return arbol;
+    }
+
+    private Nodo quitar(Nodo arbol, Nodo nodo) {
+        if (arbol == null) {
+            return null;
+        }
+        if (arbol == nodo) {
+            return unir(arbol.izquierdo, arbol.derecho);
+        }
+        if (comparar(nodo, arbol) < 0) {
+            arbol.izquierdo = quitar(arbol.izquierdo, nodo);
+        } else {
+            arbol.derecho = quitar(arbol.derecho, nodo);
+        }
+        arbol.actualizarTamano();
+        return arbol;
+    }
+
+    /**
+     * Une dos subárboles donde todas las claves de a son menores que las de b
+     */
+    private Nodo unir(Nodo a, Nodo b) {
+        if (a == null) {
+            return b;
+        }
+        if (b == null) {
+            return a;
+        }
+        if (a.prioridad > b.prioridad) {
+            a.derecho = unir(a.derecho, b);
+            a.actualizarTamano();
+            return a;
+        }
+        b.izquierdo = unir(a, b.izquierdo);
+        b.actualizarTamano();
+        return b;
+    }
+
+    private static Nodo rotarDerecha(Nodo nodo) {
+        Nodo izquierdo = nodo.izquierdo;
+        nodo.izquierdo = izquierdo.derecho;
+        izquierdo.derecho = nodo;
+        nodo.actualizarTamano();
+        izquierdo.actualizarTamano();
+        return izquierdo;
+    }
+
+    private static Nodo rotarIzquierda(Nodo nodo) {
+        Nodo derecho = nodo.derecho;
+        nodo.derecho = derecho.izquierdo;
+        derecho.izquierdo = nodo;
+        nodo.actualizarTamano();
+        derecho.actualizarTamano();
+        return derecho;
+    }
+
+    /**
+     * Arma el treap en O(N) a partir de nodos ordenados (árbol cartesiano por prioridad)
+     */
+    private static Nodo armarDesdeOrdenados(Nodo[] ordenados) {
+        Deque<Nodo> derecha = new ArrayDeque<>();
+        for (Nodo nodo : ordenados) {
+            Nodo ultimo = null;
+            while (!derecha.isEmpty() && derecha.peek().prioridad < nodo.prioridad) {
+                ultimo = derecha.pop();
+            }
+            nodo.izquierdo = ultimo;
+            if (!derecha.isEmpty()) {
+                derecha.peek().derecho = nodo;
+            }
+            derecha.push(nodo);
+        }
+        Nodo raizArmada = derecha.peekLast();
+        calcularTamanos(raizArmada);
+        return raizArmada;
+    }
+
+    /**
+     * Calcula los tamaños de los subárboles en postorden, sin recursión
+     */
+    private static void calcularTamanos(Nodo raizArmada) {
+        if (raizArmada == null) {
+            return;
+        }
+        Deque<Nodo> pendientes = new ArrayDeque<>();
+        Deque<Nodo> postorden = new ArrayDeque<>();
+        pendientes.push(raizArmada);
+        while (!pendientes.isEmpty()) {
+            Nodo nodo = pendientes.pop();
+            postorden.push(nodo);
+            if (nodo.izquierdo != null) {
+                pendientes.push(nodo.izquierdo);
+            }
+            if (nodo.derecho != null) {
+                pendientes.push(nodo.derecho);
+            }
+        }
+        while (!postorden.isEmpty()) {
+            postorden.pop().actualizarTamano();
+        }
+    }
+
+    private static int tamano(Nodo nodo) {
+        return nodo == null ? 0 : nodo.tamano;
+    }
+
+    private int siguientePrioridad() {
+        // xorshift64: barato y suficiente para balancear el treap
+        semilla ^= semilla << 13;
+        semilla ^= semilla >>> 7;
+        semilla ^= semilla << 17;
+        return (int) (semilla >>> 32);
+    }
+
+    private static class Nodo {
+        private final String titulo;
+        private final String clave;
+        private final int id;
+        private final int prioridad;
+        private int tamano = 1;
+        private Nodo izquierdo;
+        private Nodo derecho;
+
+        private Nodo(String titulo, String clave, int id, int prioridad) {
+            this.titulo = titulo;
+            this.clave = clave;
+            this.id = id;
+            this.prioridad = prioridad;
+        }
+
+        private void actualizarTamano() {
+            tamano = 1 + tamano(izquierdo) + tamano(derecho);
+        }
+    }
+}
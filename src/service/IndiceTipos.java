@@ -0,0 +1,87 @@
+package service;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.IntConsumer;
+
+import model.ContenidoAudiovisual;
+
+/**
+ * Índice secundario tipo → IDs: una partición por subclase de ContenidoAudiovisual
+ * Filtrar por tipo recorre solo las particiones compatibles, O(tipos + resultado), y
+ * la cantidad de contenidos de cada tipo es el tamaño de su partición, O(1).
+ */
+class IndiceTipos {
+    private final Map<Class<?>, ListaIds> porTipo = new LinkedHashMap<>();
+    // Tipo por ID, para desindexar sin el objeto
+    private final Map<Integer, Class<?>> tipos;
+
+    IndiceTipos() {
+        this(0);
+    }
+
+    IndiceTipos(int capacidad) {
+        tipos = new HashMap<>(IndicesContenido.capacidadHash(capacidad));
+    }
+
+    void agregar(ContenidoAudiovisual contenido) {
+        int id = contenido.getId();
+        Class<?> tipo = contenido.getClass();
+        Class<?> anterior = tipos.put(id, tipo);
+        if (anterior != null) {
+            if (anterior == tipo) {
+                return;
+            }
+            porTipo.get(anterior).quitar(id);
+        }
+        porTipo.computeIfAbsent(tipo, t -> new ListaIds()).agregar(id);
+    }
+
+    void eliminar(int id) {
+        Class<?> anterior = tipos.remove(id);
+        if (anterior != null) {
+            porTipo.get(anterior).quitar(id);
+        }
+    }
+
+    void limpiar() {
+        porTipo.clear();
+        tipos.clear();
+    }
+
+    /**
+     * IDs de los contenidos que son instancia de tipo (incluye sus subclases),
+     * ordenados por ID dentro de cada subclase
+     */
+    void buscar(Class<? extends ContenidoAudiovisual> tipo, IntConsumer consumidor) {
+        for (Map.Entry<Class<?>, ListaIds> entrada : porTipo.entrySet()) {
+            if (tipo.isAssignableFrom(entrada.getKey())) {
+                entrada.getValue().forEach(consumidor);
+            }
+        }
+    }
+
+    int contar(Class<? extends ContenidoAudiovisual> tipo) {
+        int cantidad = 0;
+        for (Map.Entry<Class<?>, ListaIds> entrada : porTipo.entrySet()) {
+            if (tipo.isAssignableFrom(entrada.getKey())) {
+                cantidad += entrada.getValue().tamano();
+            }
+        }
+        return cantidad;
+    }
+
+    /**
+     * Cantidad por nombre simple de la clase; omite los tipos sin contenidos
+     */
+    Map<String, Long> cantidadesPorTipo() {
+        Map<String, Long> cantidades = new HashMap<>();
+        for (Map.Entry<Class<?>, ListaIds> entrada : porTipo.entrySet()) {
+            if (entrada.getValue().tamano() > 0) {
+                cantidades.merge(entrada.getKey().getSimpleName(), (long) entrada.getValue().tamano(), Long::sum);
+            }
+        }
+        return cantidades;
+    }
+}
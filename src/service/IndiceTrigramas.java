@@ -0,0 +1,204 @@
+package service;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.IntConsumer;
+import java.util.function.IntPredicate;
+
+/**
+ * Índice invertido de trigramas para búsquedas de subcadenas en títulos
+ * Cada título se normaliza con toLowerCase() y se descompone en trigramas de
+ * caracteres; cada trigrama (tres chars empaquetados en un long) apunta a los IDs
+ * que lo contienen (lista ordenada). Una consulta de 3 o más caracteres recorre la
+ * lista del trigrama menos frecuente, descarta los IDs ausentes en las demás listas
+ * con búsqueda binaria y solo verifica el título de los candidatos restantes.
+ *
+ * También se indexan los unigramas y bigramas del título, que son las primeras
+ * pulsaciones de la búsqueda incremental: una consulta de 1 o 2 caracteres es
+ * exactamente su propia lista y no recorre los títulos.
+ */
+class IndiceTrigramas {
+    private static final long BIT_UNIGRAMA = 1L << 48;
+    private static final long BIT_BIGRAMA = 2L << 48;
+
+    private final Map<Long, ListaIds> postings = new HashMap<>();
+    // Título normalizado por ID: permite verificar candidatos y desindexar aunque el
+    // objeto original haya cambiado su título en el lugar
+    private final Map<Integer, String> titulos;
+
+    IndiceTrigramas() {
+        this(0);
+    }
+
+    IndiceTrigramas(int capacidad) {
+        titulos = new HashMap<>(IndicesContenido.capacidadHash(capacidad));
+    }
+
+    void agregar(int id, String titulo) {
+        String normalizado = normalizar(titulo);
+        String anterior = titulos.put(id, normalizado);
+        if (anterior != null) {
+            if (anterior.equals(normalizado)) {
+                return;
+            }
+            for (long grama : gramasDistintos(anterior)) {
+                quitarPosting(grama, id);
+            }
+        }
+        for (long grama : gramasDistintos(normalizado)) {
+            postings.computeIfAbsent(grama, t -> new ListaIds()).agregar(id);
+        }
+    }
+
+    void eliminar(int id) {
+        String anterior = titulos.remove(id);
+        if (anterior == null) {
+            return;
+        }
+        for (long grama : gramasDistintos(anterior)) {
+            quitarPosting(grama, id);
+        }
+    }
+
+    void limpiar() {
+        postings.clear();
+        titulos.clear();
+    }
+
+    /**
+     * Entrega al consumidor los IDs cuyo título (sin distinguir mayúsculas) contiene el texto
+     */
+    void buscar(String texto, IntConsumer consumidor) {
+        if (normalizar(texto).isEmpty()) {
+            for (Integer id : titulos.keySet()) {
+                consumidor.accept(id);
+            }
+            return;
+        }
+        buscarDesde(texto, Integer.MIN_VALUE, id -> {
+            consumidor.accept(id);
+            return true;
+        });
+    }
+
+    /**
+     * Recorre en orden de ID los IDs mayores a despuesDeId cuyo título contiene el texto
+     * (no vacío). Cada lista empieza en el cursor con búsqueda binaria y el recorrido se
+     * detiene cuando el consumidor retorna false, así una página no toca el resto.
+     */
+    void buscarDesde(String texto, int despuesDeId, IntPredicate consumidor) {
+        String consulta = normalizar(texto);
+        if (consulta.isEmpty()) {
+            return;
+        }
+        if (consulta.length() < 3) {
+            ListaIds lista = postings.get(gramaCorto(consulta));
+            if (lista != null) {
+                for (int i = lista.posicionDespuesDe(despuesDeId); i < lista.tamano(); i++) {
+                    if (!consumidor.test(lista.obtener(i))) {
+                        return;
+                    }
+                }
+            }
+            return;
+        }
+
+        long[] trigramas = trigramasDistintos(consulta);
+        ListaIds[] listas = new ListaIds[trigramas.length];
+        for (int i = 0; i < trigramas.length; i++) {
+            listas[i] = postings.get(trigramas[i]);
+            if (listas[i] == null) {
+                return;
+            }
+        }
+        Arrays.sort(listas, (a, b) -> Integer.compare(a.tamano(), b.tamano()));
+
+        ListaIds menor = listas[0];
+        candidatos:
+        for (int i = menor.posicionDespuesDe(despuesDeId); i < menor.tamano(); i++) {
+            int id = menor.obtener(i);
+            for (int j = 1; j < listas.length; j++) {
+                if (!listas[j].contiene(id)) {
+                    continue candidatos;
+                }
+            }
+            // Tener todos los trigramas no garantiza que aparezcan contiguos
+            if (titulos.get(id).contains(consulta) && !consumidor.test(id)) {
+                return;
+            }
+        }
+    }
+
+    private void quitarPosting(long grama, int id) {
+        ListaIds lista = postings.get(grama);
+        if (lista != null && lista.quitar(id) && lista.tamano() == 0) {
+            postings.remove(grama);
+        }
+    }
+
+    static String normalizar(String texto) {
+        return texto == null ? "" : texto.toLowerCase();
+    }
+
+    static long[] trigramasDistintos(String texto) {
+        int cantidad = texto.length() - 2;
+        if (cantidad <= 0) {
+            return new long[0];
+        }
+        long[] trigramas = new long[cantidad];
+        for (int i = 0; i < cantidad; i++) {
+            trigramas[i] = ((long) texto.charAt(i) << 32)
+                    | ((long) texto.charAt(i + 1) << 16)
+                    | texto.charAt(i + 2);
+        }
+        return distintosOrdenados(trigramas);
+    }
+
+    /**
+     * Claves de un texto de 1 o 2 caracteres; los bits 48 en adelante llevan la
+     * longitud para que no coincidan con ningún trigrama
+     */
+    static long gramaCorto(String texto) {
+        if (texto.length() == 1) {
+            return BIT_UNIGRAMA | texto.charAt(0);
+        }
+        return BIT_BIGRAMA | ((long) texto.charAt(0) << 16) | texto.charAt(1);
+    }
+
+    /**
+     * Unigramas, bigramas y trigramas distintos del texto, ordenados: las claves que se indexan
+     */
+    static long[] gramasDistintos(String texto) {
+        int longitud = texto.length();
+        if (longitud == 0) {
+            return new long[0];
+        }
+        long[] gramas = new long[3 * longitud];
+        int cantidad = 0;
+        for (int i = 0; i < longitud; i++) {
+            char c = texto.charAt(i);
+            gramas[cantidad++] = BIT_UNIGRAMA | c;
+            if (i + 1 < longitud) {
+                gramas[cantidad++] = BIT_BIGRAMA | ((long) c << 16) | texto.charAt(i + 1);
+            }
+            if (i + 2 < longitud) {
+                gramas[cantidad++] = ((long) c << 32)
+                        | ((long) texto.charAt(i + 1) << 16)
+                        | texto.charAt(i + 2);
+            }
+        }
+        return distintosOrdenados(Arrays.copyOf(gramas, cantidad));
+    }
+
+    private static long[] distintosOrdenados(long[] claves) {
+        Arrays.sort(claves);
+        int distintos = 1;
+        for (int i = 1; i < claves.length; i++) {
+            if (claves[i] != claves[distintos - 1]) {
+                claves[distintos++] = claves[i];
+            }
+        }
+        return distintos == claves.length ? claves : Arrays.copyOf(claves, distintos);
+    }
+}
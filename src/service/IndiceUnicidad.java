@@ -0,0 +1,89 @@
+package service;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import model.ContenidoAudiovisual;
+
+/**
+ * Índice (tipo, título normalizado) → cantidad de contenidos
+ * Permite saber en O(1) si ya existe un contenido de la misma clase con el mismo título
+ * (sin distinguir mayúsculas). Cuenta repeticiones porque un archivo cargado o una
+ * edición pueden dejar títulos repetidos, y quitar uno no debe ocultar al otro.
+ */
+class IndiceUnicidad {
+    private final Map<Clave, Integer> cantidades = new HashMap<>();
+    // Clave por ID, para desindexar aunque el título haya cambiado
+    private final Map<Integer, Clave> claves;
+
+    IndiceUnicidad() {
+        this(0);
+    }
+
+    IndiceUnicidad(int capacidad) {
+        claves = new HashMap<>(IndicesContenido.capacidadHash(capacidad));
+    }
+
+    void agregar(ContenidoAudiovisual contenido) {
+        Clave nueva = Clave.de(contenido);
+        Clave anterior = claves.put(contenido.getId(), nueva);
+        if (anterior != null) {
+            if (anterior.equals(nueva)) {
+                return;
+            }
+            quitar(anterior);
+        }
+        cantidades.merge(nueva, 1, Integer::sum);
+    }
+
+    void eliminar(int id) {
+        Clave anterior = claves.remove(id);
+        if (anterior != null) {
+            quitar(anterior);
+        }
+    }
+
+    void limpiar() {
+        cantidades.clear();
+        claves.clear();
+    }
+
+    boolean existe(Class<?> tipo, String titulo) {
+        return cantidades.containsKey(new Clave(tipo, titulo));
+    }
+
+    private void quitar(Clave clave) {
+        cantidades.computeIfPresent(clave, (c, cantidad) -> cantidad == 1 ? null : cantidad - 1);
+    }
+
+    /**
+     * Clase exacta del contenido y título normalizado
+     */
+    static final class Clave {
+        private final Class<?> tipo;
+        private final String titulo;
+
+        Clave(Class<?> tipo, String titulo) {
+            this.tipo = tipo;
+            this.titulo = IndiceTrigramas.normalizar(titulo == null ? null : titulo.trim());
+        }
+
+        static Clave de(ContenidoAudiovisual contenido) {
+            return new Clave(contenido.getClass(), contenido.getTitulo());
+        }
+
+        @Override
+        public boolean equals(Object otro) {
+            if (!(otro instanceof Clave)) {
+                return false;
+            }
+            Clave clave = (Clave) otro;
+            return tipo == clave.tipo && titulo.equals(clave.titulo);
+        }
+
+        @Override
+        public int hashCode() {
+            return tipo.hashCode() * 31 + titulo.hashCode();
+        }
+    }
+}
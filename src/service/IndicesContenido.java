@@ -0,0 +1,76 @@
+package service;
+
+import model.ContenidoAudiovisual;
+
+/**
+ * Índices secundarios del repositorio de contenido
+ * Agrupa los índices para mantenerlos sincronizados con el mapa principal y
+ * poder reemplazarlos juntos al cargar un archivo.
+ */
+class IndicesContenido {
+    final IndiceTrigramas titulos;
+    final IndiceGeneros generos;
+    final IndiceDuraciones duraciones;
+    final IndiceOrdenTitulo ordenTitulos;
+    final IndiceTipos tipos;
+    final IndiceUnicidad unicidad;
+    final AgregadorEstadisticas estadisticas;
+
+    IndicesContenido() {
+        this(0);
+    }
+
+    /**
+     * @param capacidad cantidad de contenidos esperada; los mapas por ID se crean con
+     *                  ese tamaño para no redimensionarlos mientras se indexa un lote
+     */
+    IndicesContenido(int capacidad) {
+        titulos = new IndiceTrigramas(capacidad);
+        generos = new IndiceGeneros(capacidad);
+        duraciones = new IndiceDuraciones(capacidad);
+        ordenTitulos = new IndiceOrdenTitulo(capacidad);
+        tipos = new IndiceTipos(capacidad);
+        unicidad = new IndiceUnicidad(capacidad);
+        estadisticas = new AgregadorEstadisticas(capacidad);
+    }
+
+    /**
+     * Capacidad inicial de un HashMap para guardar cantidad claves sin redimensionarse
+     */
+    static int capacidadHash(int cantidad) {
+        return cantidad <= 12 ? 16 : (int) Math.min((long) (cantidad / 0.75f) + 1, 1 << 30);
+    }
+
+    /**
+     * Indexa el contenido; si el ID ya estaba indexado reemplaza sus claves anteriores
+     */
+    void agregar(ContenidoAudiovisual contenido) {
+        titulos.agregar(contenido.getId(), contenido.getTitulo());
+        generos.agregar(contenido.getId(), contenido.getGenero());
+        duraciones.agregar(contenido.getId(), contenido.getDuracionEnMinutos());
+        ordenTitulos.agregar(contenido.getId(), contenido.getTitulo());
+        tipos.agregar(contenido);
+        unicidad.agregar(contenido);
+        estadisticas.agregar(contenido);
+    }
+
+    void eliminar(int id) {
+        titulos.eliminar(id);
+        generos.eliminar(id);
+        duraciones.eliminar(id);
+        ordenTitulos.eliminar(id);
+        tipos.eliminar(id);
+        unicidad.eliminar(id);
+        estadisticas.eliminar(id);
+    }
+
+    void limpiar() {
+        titulos.limpiar();
+        generos.limpiar();
+        duraciones.limpiar();
+        ordenTitulos.limpiar();
+        tipos.limpiar();
+        unicidad.limpiar();
+        estadisticas.limpiar();
+    }
+}
@@ -0,0 +1,278 @@
+package service;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import csv.ErroresLectura;
+import csv.TokenizadorCsv;
+import model.ContenidoAudiovisual;
+
+/**
+ * Lector paralelo de archivos CSV
+ * Mapea el archivo en memoria, lo divide en bloques alineados a fin de línea
+ * y parsea los bloques en un ForkJoinPool. Los resultados se entregan al
+ * consumidor en el orden del archivo y desde el hilo que invoca la lectura.
+ * Los registros con saltos de línea entre comillas se reconstruyen dentro de
+ * un bloque; si el último registro de un bloque sigue en el siguiente, el bloque
+ * lo termina de leer y el siguiente se vuelve a parsear desde donde terminó ese
+ * registro (algo raro, porque el corte tiene que caer justo dentro de un campo).
+ * Cada bloque junta sus errores en un ErroresLectura propio, que luego se agrega
+ * al del llamador con los números de línea del archivo. Los IDs repetidos se
+ * detectan al entregar, en orden: se conserva la primera fila de cada ID y las
+ * demás se reportan después de los errores de formato de su bloque.
+ */
+class LectorCsvParalelo {
+    private static final int TAMANO_BLOQUE = 8 * 1024 * 1024;
+    private static final int TAMANO_LINEA_INICIAL = 256;
+
+    private final ForkJoinPool pool;
+    private final Function<TokenizadorCsv, ContenidoAudiovisual> parser;
+    private final int tamanoBloque;
+
+    LectorCsvParalelo(ForkJoinPool pool, Function<TokenizadorCsv, ContenidoAudiovisual> parser) {
+        this(pool, parser, TAMANO_BLOQUE);
+    }
+
+    LectorCsvParalelo(ForkJoinPool pool, Function<TokenizadorCsv, ContenidoAudiovisual> parser, int tamanoBloque) {
+        this.pool = pool;
+        this.parser = parser;
+        this.tamanoBloque = tamanoBloque;
+    }
+
+    long leer(Path ruta, Consumer<ContenidoAudiovisual> consumidor) throws IOException {
+        return leer(ruta, consumidor, new ErroresLectura(0));
+    }
+
+    /**
+     * Lee el archivo completo y retorna la cantidad de elementos entregados
+     */
+    long leer(Path ruta, Consumer<ContenidoAudiovisual> consumidor, ErroresLectura errores) throws IOException {
+        long entregados = 0;
+
+        try (FileChannel canal = FileChannel.open(ruta, StandardOpenOption.READ)) {
+            List<long[]> bloques = dividirEnBloques(canal);
+
+            // Se mantiene una ventana acotada de bloques en vuelo para limitar la memoria
+            int ventana = Math.max(2, pool.getParallelism() * 2);
+            Deque<ForkJoinTask<ResultadoBloque>> pendientes = new ArrayDeque<>();
+            int siguiente = 0;
+            int lineasPrevias = 0;
+
+            // Posición donde empieza el próximo registro según los bloques ya entregados
+            long posicion = 0;
+            ConjuntoIds ids = new ConjuntoIds();
+
+            while (siguiente < bloques.size() || !pendientes.isEmpty()) {
+                while (siguiente < bloques.size() && pendientes.size() < ventana) {
+                    long[] bloque = bloques.get(siguiente++);
+                    pendientes.addLast(pool.submit(() ->
+                            parsearBloque(canal, bloque[0], bloque[1], errores.getCapacidad())));
+                }
+
+                ResultadoBloque resultado = pendientes.removeFirst().join();
+                if (resultado.inicio != posicion) {
+                    // El bloque anterior terminó un registro que cruzaba el corte
+                    if (posicion >= resultado.fin) {
+                        continue;
+                    }
+                    resultado = parsearBloque(canal, posicion, resultado.fin, errores.getCapacidad());
+                }
+                posicion = resultado.finLeido;
+                errores.agregar(resultado.errores, lineasPrevias);
+                for (int i = 0; i < resultado.contenidos.size(); i++) {
+                    ContenidoAudiovisual contenido = resultado.contenidos.get(i);
+                    if (!ids.agregar(contenido.getId())) {
+                        errores.registrar(lineasPrevias + resultado.lineasContenidos[i],
+                                ErroresLectura.Codigo.ID_DUPLICADO, 1,
+                                "ID repetido en el archivo: " + contenido.getId());
+                        continue;
+                    }
+                    consumidor.accept(contenido);
+                    entregados++;
+                }
+                lineasPrevias += resultado.lineas;
+            }
+        }
+
+        return entregados;
+    }
+
+    /**
+     * Divide el archivo en rangos [inicio, fin) que terminan justo después de un salto de línea
+     */
+    private List<long[]> dividirEnBloques(FileChannel canal) throws IOException {
+        List<long[]> bloques = new ArrayList<>();
+        long tamano = canal.size();
+        long inicio = 0;
+        ByteBuffer buffer = ByteBuffer.allocate(4096);
+
+        while (inicio < tamano) {
+            long fin = Math.min(inicio + tamanoBloque, tamano);
+
+            // Avanzar hasta el siguiente '\n' para no cortar una línea en dos bloques
+            while (fin < tamano) {
+                buffer.clear();
+                int leidos = canal.read(buffer, fin);
+                if (leidos <= 0) {
+                    fin = tamano;
+                    break;
+                }
+                int posicionSalto = -1;
+                for (int i = 0; i < leidos; i++) {
+                    if (buffer.get(i) == '\n') {
+                        posicionSalto = i;
+                        break;
+                    }
+                }
+                if (posicionSalto >= 0) {
+                    fin += posicionSalto + 1;
+                    break;
+                }
+                fin += leidos;
+            }
+
+            bloques.add(new long[]{inicio, fin});
+            inicio = fin;
+        }
+
+        return bloques;
+    }
+
+    /**
+     * Parsea los registros que empiezan en [inicio, fin); el último puede continuar
+     * después de fin, dentro del límite de RegistroCsv
+     */
+    private ResultadoBloque parsearBloque(FileChannel canal, long inicio, long fin, int capacidadErrores)
+            throws IOException {
+        long finMapeo = Math.min(canal.size(), fin + RegistroCsv.MAX_CARACTERES * 4L);
+        MappedByteBuffer datos = canal.map(FileChannel.MapMode.READ_ONLY, inicio, finMapeo - inicio);
+        ResultadoBloque resultado = new ResultadoBloque(inicio, fin, capacidadErrores);
+        TokenizadorCsv campos = new TokenizadorCsv();
+        RegistroCsv registro = new RegistroCsv();
+        LineasBloque lineas = new LineasBloque(datos, (int) (fin - inicio));
+        String texto;
+
+        while ((texto = lineas.siguienteRegistro()) != null) {
+            resultado.lineas++;
+
+            // Saltar líneas vacías y comentarios
+            if (texto.trim().isEmpty() || texto.startsWith("#")) {
+                continue;
+            }
+
+            // Un campo entre comillas puede contener saltos de línea
+            int lineaInicial = resultado.lineas;
+            int despuesDePrimera = lineas.posicion;
+            registro.iniciar(texto);
+            while (registro.puedeContinuar() && (texto = lineas.siguiente()) != null) {
+                resultado.lineas++;
+                registro.continuar(texto);
+            }
+
+            try {
+                ContenidoAudiovisual contenido = parser.apply(campos.reiniciar(registro.texto()));
+                if (contenido != null) {
+                    resultado.agregar(contenido, lineaInicial);
+                }
+            } catch (RuntimeException e) {
+                resultado.errores.registrar(lineaInicial, e, campos.getCampoActual());
+                if (registro.getLineas() > 1 && RegistroCsv.esComillaSuelta(e)) {
+                    // Comilla suelta: las líneas que se había tragado se leen como registros
+                    lineas.posicion = despuesDePrimera;
+                    resultado.lineas = lineaInicial;
+                }
+            }
+        }
+
+        resultado.finLeido = inicio + lineas.posicion;
+        return resultado;
+    }
+
+    /**
+     * Recorre las líneas de un bloque mapeado decodificándolas como UTF-8
+     * Los registros nuevos empiezan antes de limiteBloque; las líneas de continuación
+     * pueden seguir hasta el final del mapeo.
+     */
+    private static class LineasBloque {
+        private final MappedByteBuffer datos;
+        private final int limiteBloque;
+        private final int limite;
+        private int posicion;
+        private byte[] linea = new byte[TAMANO_LINEA_INICIAL];
+
+        private LineasBloque(MappedByteBuffer datos, int limiteBloque) {
+            this.datos = datos;
+            this.limiteBloque = limiteBloque;
+            this.limite = datos.limit();
+        }
+
+        private String siguienteRegistro() {
+            return posicion >= limiteBloque ? null : siguiente();
+        }
+
+        private String siguiente() {
+            if (posicion >= limite) {
+                return null;
+            }
+            int finLinea = posicion;
+            while (finLinea < limite && datos.get(finLinea) != '\n') {
+                finLinea++;
+            }
+            int longitud = finLinea - posicion;
+            if (longitud > linea.length) {
+                linea = new byte[Math.max(longitud, linea.length * 2)];
+            }
+            datos.get(posicion, linea, 0, longitud);
+            posicion = Math.min(finLinea + 1, limite);
+
+            if (longitud > 0 && linea[longitud - 1] == '\r') {
+                longitud--;
+            }
+            return new String(linea, 0, longitud, StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * Resultado de parsear un bloque: elementos válidos con su línea, errores con
+     * número de línea relativo al bloque, cantidad de líneas consumidas y hasta dónde se leyó
+     */
+    private static class ResultadoBloque {
+        private final long inicio;
+        private final long fin;
+        private final List<ContenidoAudiovisual> contenidos = new ArrayList<>();
+        private final ErroresLectura errores;
+        private int[] lineasContenidos = new int[16];
+        private int lineas;
+        // Posición después del último registro leído; pasa de fin si ese registro continuaba
+        private long finLeido;
+
+        private ResultadoBloque(long inicio, long fin, int capacidadErrores) {
+            this.inicio = inicio;
+            this.fin = fin;
+            this.errores = new ErroresLectura(capacidadErrores);
+        }
+
+        private void agregar(ContenidoAudiovisual contenido, int linea) {
+            int indice = contenidos.size();
+            if (indice == lineasContenidos.length) {
+                lineasContenidos = Arrays.copyOf(lineasContenidos, indice * 2);
+            }
+            lineasContenidos[indice] = linea;
+            contenidos.add(contenido);
+        }
+    }
+}
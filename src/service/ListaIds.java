@@ -0,0 +1,70 @@
+package service;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Lista ordenada y sin repetidos de IDs sobre un int[] que crece según se necesita
+ * Se usa como lista de postings en los índices secundarios del repositorio. Los IDs
+ * nuevos suelen ser mayores que los existentes, por lo que agregar es casi siempre O(1).
+ */
+class ListaIds {
+    private static final int CAPACIDAD_INICIAL = 4;
+
+    private int[] ids = new int[CAPACIDAD_INICIAL];
+    private int tamano;
+
+    void agregar(int id) {
+        if (tamano == ids.length) {
+            ids = Arrays.copyOf(ids, tamano * 2);
+        }
+        if (tamano == 0 || ids[tamano - 1] < id) {
+            ids[tamano++] = id;
+            return;
+        }
+        int posicion = Arrays.binarySearch(ids, 0, tamano, id);
+        if (posicion >= 0) {
+            return;
+        }
+        posicion = -posicion - 1;
+        System.arraycopy(ids, posicion, ids, posicion + 1, tamano - posicion);
+        ids[posicion] = id;
+        tamano++;
+    }
+
+    boolean quitar(int id) {
+        int posicion = Arrays.binarySearch(ids, 0, tamano, id);
+        if (posicion < 0) {
+            return false;
+        }
+        System.arraycopy(ids, posicion + 1, ids, posicion, tamano - posicion - 1);
+        tamano--;
+        return true;
+    }
+
+    boolean contiene(int id) {
+        return Arrays.binarySearch(ids, 0, tamano, id) >= 0;
+    }
+
+    /**
+     * Posición del primer ID mayor al indicado; tamano() si no hay ninguno
+     */
+    int posicionDespuesDe(int id) {
+        int posicion = Arrays.binarySearch(ids, 0, tamano, id);
+        return posicion >= 0 ? posicion + 1 : -posicion - 1;
+    }
+
+    int obtener(int indice) {
+        return ids[indice];
+    }
+
+    int tamano() {
+        return tamano;
+    }
+
+    void forEach(IntConsumer consumidor) {
+        for (int i = 0; i < tamano; i++) {
+            consumidor.accept(ids[i]);
+        }
+    }
+}
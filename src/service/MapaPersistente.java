@@ -0,0 +1,401 @@
+package service;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import model.ContenidoAudiovisual;
+
+/**
+ * Mapa inmutable ID → contenido que sirve como versión (instantánea) del repositorio
+ * Es un trie de base 32 sobre los bits del ID con nodos compactados por bitmap: cada
+ * alta o baja copia solo el camino de la raíz a la hoja (O(log32 N)) y devuelve un mapa
+ * nuevo que comparte el resto de los nodos con el anterior. Quien tenga una versión
+ * puede recorrerla sin copiar ni bloquear mientras otros publican versiones nuevas.
+ *
+ * Cada nodo guarda la cantidad de contenidos de su subárbol, así tamano() es O(1) y
+ * valores() es una lista de solo lectura ordenada por ID con acceso por posición.
+ */
+final class MapaPersistente {
+    static final MapaPersistente VACIO = new MapaPersistente(null, 0);
+
+    private static final int BITS = 5;
+    private static final int MASCARA = (1 << BITS) - 1;
+    // Desplazamiento máximo de la raíz: 7 niveles cubren los 31 bits de un ID positivo
+    private static final int DESPLAZAMIENTO_MAXIMO = 30;
+
+    private final Nodo raiz;
+    // Desplazamiento de bits del nivel de la raíz; la altura crece con el ID más grande
+    private final int desplazamiento;
+    private List<ContenidoAudiovisual> valores;
+
+    private MapaPersistente(Nodo raiz, int desplazamiento) {
+        this.raiz = raiz;
+        this.desplazamiento = desplazamiento;
+    }
+
+    int tamano() {
+        return raiz == null ? 0 : raiz.tamano;
+    }
+
+    boolean contiene(int id) {
+        return obtener(id) != null;
+    }
+
+    ContenidoAudiovisual obtener(int id) {
+        if (id < 0 || raiz == null || (desplazamiento < DESPLAZAMIENTO_MAXIMO
+                && (id >>> (desplazamiento + BITS)) != 0)) {
+            return null;
+        }
+        Nodo nodo = raiz;
+        for (int d = desplazamiento; ; d -= BITS) {
+            int bit = 1 << ((id >>> d) & MASCARA);
+            if ((nodo.mapa & bit) == 0) {
+                return null;
+            }
+            Object hijo = nodo.hijos[Integer.bitCount(nodo.mapa & (bit - 1))];
+            if (d == 0) {
+                return (ContenidoAudiovisual) hijo;
+            }
+            nodo = (Nodo) hijo;
+        }
+    }
+
+    /**
+     * Versión con el contenido agregado o reemplazado bajo su ID
+     */
+    MapaPersistente con(ContenidoAudiovisual contenido) {
+        int id = contenido.getId();
+        if (id < 0) {
+            throw new IllegalArgumentException("El ID no puede ser negativo: " + id);
+        }
+        Nodo nuevaRaiz = raiz;
+        int nuevoDesplazamiento = desplazamiento;
+        while (nuevoDesplazamiento < DESPLAZAMIENTO_MAXIMO && (id >>> (nuevoDesplazamiento + BITS)) != 0) {
+            // Agregar un nivel arriba: la raíz anterior pasa a ser el hijo 0
+            if (nuevaRaiz != null) {
+                nuevaRaiz = new Nodo(1, new Object[] {nuevaRaiz}, nuevaRaiz.tamano);
+            }
+            nuevoDesplazamiento += BITS;
+        }
+        int agregados = obtener(id) == null ? 1 : 0;
+        return new MapaPersistente(poner(nuevaRaiz, nuevoDesplazamiento, id, contenido, agregados),
+                nuevoDesplazamiento);
+    }
+
+    /**
+     * Versión con todos los contenidos del lote; si un ID se repite queda el último
+     * Un lote grande frente al mapa se arma de una vez con un Constructor en
+     * O(N + M) en lugar de copiar un camino por cada alta.
+     */
+    MapaPersistente conTodos(Collection<? extends ContenidoAudiovisual> lote) {
+        if (lote.size() * 4 < tamano()) {
+            MapaPersistente resultado = this;
+            for (ContenidoAudiovisual contenido : lote) {
+                resultado = resultado.con(contenido);
+            }
+            return resultado;
+        }
+        Constructor constructor = new Constructor(tamano() + lote.size());
+        for (ContenidoAudiovisual contenido : valores()) {
+            constructor.agregar(contenido);
+        }
+        for (ContenidoAudiovisual contenido : lote) {
+            constructor.agregar(contenido);
+        }
+        return constructor.construir();
+    }
+
+    /**
+     * Versión sin el ID indicado; retorna la misma instancia si no estaba
+     */
+    MapaPersistente sin(int id) {
+        if (obtener(id) == null) {
+            return this;
+        }
+        return new MapaPersistente(quitar(raiz, desplazamiento, id), desplazamiento);
+    }
+
+    /**
+     * Contenidos de esta versión ordenados por ID, como lista de solo lectura que no copia
+     */
+    List<ContenidoAudiovisual> valores() {
+        List<ContenidoAudiovisual> vista = valores;
+        if (vista == null) {
+            vista = new Valores();
+            valores = vista;
+        }
+        return vista;
+    }
+
+    /**
+     * Recorre en orden los contenidos con ID mayor o igual a idMinimo; ubicar el
+     * inicio cuesta O(log32 N)
+     */
+    Iterator<ContenidoAudiovisual> recorrerDesde(int idMinimo) {
+        return new Recorrido(raiz, desplazamiento, idMinimo);
+    }
+
+    /**
+     * Arma un mapa de una sola vez a partir de muchos contenidos, sin las copias de
+     * camino de con(): se ordenan por ID y el trie se construye de abajo hacia arriba
+     * en O(N). Si un ID se repite queda el último agregado.
+     */
+    static final class Constructor {
+        private ContenidoAudiovisual[] elementos;
+        private int cantidad;
+
+        Constructor() {
+            this(16);
+        }
+
+        Constructor(int capacidad) {
+            elementos = new ContenidoAudiovisual[Math.max(capacidad, 16)];
+        }
+
+        void agregar(ContenidoAudiovisual contenido) {
+            if (contenido.getId() < 0) {
+                throw new IllegalArgumentException("El ID no puede ser negativo: " + contenido.getId());
+            }
+            if (cantidad == elementos.length) {
+                elementos = Arrays.copyOf(elementos, cantidad * 2);
+            }
+            elementos[cantidad++] = contenido;
+        }
+
+        MapaPersistente construir() {
+            // Orden estable: entre IDs repetidos el último agregado queda al final
+            Arrays.sort(elementos, 0, cantidad, Comparator.comparingInt(ContenidoAudiovisual::getId));
+            Object[] hijos = new Object[cantidad];
+            int[] claves = new int[cantidad];
+            int n = 0;
+            for (int i = 0; i < cantidad; i++) {
+                int id = elementos[i].getId();
+                if (n > 0 && claves[n - 1] == id) {
+                    n--;
+                }
+                hijos[n] = elementos[i];
+                claves[n++] = id;
+            }
+            if (n == 0) {
+                return VACIO;
+            }
+
+            int desplazamientoRaiz = 0;
+            while (desplazamientoRaiz < DESPLAZAMIENTO_MAXIMO && (claves[n - 1] >>> (desplazamientoRaiz + BITS)) != 0) {
+                desplazamientoRaiz += BITS;
+            }
+            // Cada nivel agrupa los hijos consecutivos que comparten la clave del padre
+            for (int d = 0; ; d += BITS) {
+                int padres = 0;
+                for (int i = 0; i < n; ) {
+                    int clavePadre = claves[i] >>> BITS;
+                    int fin = i;
+                    int mapa = 0;
+                    int tamano = 0;
+                    while (fin < n && (claves[fin] >>> BITS) == clavePadre) {
+                        mapa |= 1 << (claves[fin] & MASCARA);
+                        tamano += tamano(hijos[fin]);
+                        fin++;
+                    }
+                    Nodo nodo = new Nodo(mapa, Arrays.copyOfRange(hijos, i, fin), tamano);
+                    hijos[padres] = nodo;
+                    claves[padres++] = clavePadre;
+                    i = fin;
+                }
+                n = padres;
+                if (d == desplazamientoRaiz) {
+                    return new MapaPersistente((Nodo) hijos[0], desplazamientoRaiz);
+                }
+            }
+        }
+    }
+
+    private static Nodo poner(Nodo nodo, int desplazamiento, int id, ContenidoAudiovisual valor, int agregados) {
+        int bit = 1 << ((id >>> desplazamiento) & MASCARA);
+        if (nodo == null) {
+            Object hijo = desplazamiento == 0 ? valor : poner(null, desplazamiento - BITS, id, valor, agregados);
+            return new Nodo(bit, new Object[] {hijo}, 1);
+        }
+
+        int posicion = Integer.bitCount(nodo.mapa & (bit - 1));
+        boolean presente = (nodo.mapa & bit) != 0;
+        Object hijo;
+        if (desplazamiento == 0) {
+            hijo = valor;
+        } else {
+            hijo = poner(presente ? (Nodo) nodo.hijos[posicion] : null, desplazamiento - BITS, id, valor, agregados);
+        }
+
+        Object[] hijos;
+        if (presente) {
+            hijos = nodo.hijos.clone();
+            hijos[posicion] = hijo;
+        } else {
+            hijos = new Object[nodo.hijos.length + 1];
+            System.arraycopy(nodo.hijos, 0, hijos, 0, posicion);
+            hijos[posicion] = hijo;
+            System.arraycopy(nodo.hijos, posicion, hijos, posicion + 1, nodo.hijos.length - posicion);
+        }
+        return new Nodo(nodo.mapa | bit, hijos, nodo.tamano + agregados);
+    }
+
+    /**
+     * Quita un ID que se sabe presente; retorna null si el nodo queda vacío
+     */
+    private static Nodo quitar(Nodo nodo, int desplazamiento, int id) {
+        int bit = 1 << ((id >>> desplazamiento) & MASCARA);
+        int posicion = Integer.bitCount(nodo.mapa & (bit - 1));
+        if (nodo.tamano == 1) {
+            return null;
+        }
+
+        Nodo hijo = desplazamiento == 0 ? null : quitar((Nodo) nodo.hijos[posicion], desplazamiento - BITS, id);
+        if (hijo != null) {
+            Object[] hijos = nodo.hijos.clone();
+            hijos[posicion] = hijo;
+            return new Nodo(nodo.mapa, hijos, nodo.tamano - 1);
+        }
+        Object[] hijos = new Object[nodo.hijos.length - 1];
+        System.arraycopy(nodo.hijos, 0, hijos, 0, posicion);
+        System.arraycopy(nodo.hijos, posicion + 1, hijos, posicion, hijos.length - posicion);
+        return new Nodo(nodo.mapa & ~bit, hijos, nodo.tamano - 1);
+    }
+
+    private static int tamano(Object hijo) {
+        return hijo instanceof Nodo ? ((Nodo) hijo).tamano : 1;
+    }
+
+    private static final class Nodo {
+        private final int mapa;
+        private final Object[] hijos;
+        private final int tamano;
+
+        private Nodo(int mapa, Object[] hijos, int tamano) {
+            this.mapa = mapa;
+            this.hijos = hijos;
+            this.tamano = tamano;
+        }
+    }
+
+    /**
+     * Vista de solo lectura de los contenidos en orden de ID
+     */
+    private final class Valores extends AbstractList<ContenidoAudiovisual> {
+        @Override
+        public int size() {
+            return tamano();
+        }
+
+        /**
+         * Baja por los tamaños de los subárboles hasta la posición pedida: O(32 · log32 N)
+         */
+        @Override
+        public ContenidoAudiovisual get(int indice) {
+            if (indice < 0 || indice >= tamano()) {
+                throw new IndexOutOfBoundsException("Índice: " + indice + ", tamaño: " + tamano());
+            }
+            Object actual = raiz;
+            int restante = indice;
+            while (actual instanceof Nodo) {
+                Object[] hijos = ((Nodo) actual).hijos;
+                int i = 0;
+                while (restante >= tamano(hijos[i])) {
+                    restante -= tamano(hijos[i]);
+                    i++;
+                }
+                actual = hijos[i];
+            }
+            return (ContenidoAudiovisual) actual;
+        }
+
+        @Override
+        public Iterator<ContenidoAudiovisual> iterator() {
+            return new Recorrido(raiz, desplazamiento, 0);
+        }
+    }
+
+    /**
+     * Recorrido en profundidad con una pila de (nodo, posición) por nivel
+     */
+    private static final class Recorrido implements Iterator<ContenidoAudiovisual> {
+        private final Nodo[] nodos;
+        private final int[] posiciones;
+        private int nivel;
+        private ContenidoAudiovisual siguiente;
+
+        private Recorrido(Nodo raiz, int desplazamiento, int idMinimo) {
+            int niveles = desplazamiento / BITS + 1;
+            nodos = new Nodo[niveles];
+            posiciones = new int[niveles];
+            nodos[0] = raiz;
+            nivel = raiz == null ? -1 : 0;
+            if (idMinimo < 0 || (desplazamiento < DESPLAZAMIENTO_MAXIMO
+                    && (idMinimo >>> (desplazamiento + BITS)) != 0)) {
+                nivel = -1;
+            } else if (raiz != null && idMinimo > 0) {
+                posicionar(desplazamiento, idMinimo);
+            }
+            avanzar();
+        }
+
+        /**
+         * Baja por el camino de idMinimo dejando en cada nivel la posición del primer
+         * hijo que puede contener IDs mayores o iguales
+         */
+        private void posicionar(int desplazamiento, int idMinimo) {
+            for (int d = desplazamiento, k = 0; ; d -= BITS, k++) {
+                Nodo nodo = nodos[k];
+                int bit = 1 << ((idMinimo >>> d) & MASCARA);
+                int posicion = Integer.bitCount(nodo.mapa & (bit - 1));
+                if (d == 0 || (nodo.mapa & bit) == 0) {
+                    posiciones[k] = posicion;
+                    nivel = k;
+                    return;
+                }
+                posiciones[k] = posicion + 1;
+                nodos[k + 1] = (Nodo) nodo.hijos[posicion];
+                posiciones[k + 1] = 0;
+            }
+        }
+
+        private void avanzar() {
+            siguiente = null;
+            while (nivel >= 0) {
+                Nodo nodo = nodos[nivel];
+                if (posiciones[nivel] == nodo.hijos.length) {
+                    nivel--;
+                    continue;
+                }
+                Object hijo = nodo.hijos[posiciones[nivel]++];
+                if (hijo instanceof Nodo) {
+                    nivel++;
+                    nodos[nivel] = (Nodo) hijo;
+                    posiciones[nivel] = 0;
+                } else {
+                    siguiente = (ContenidoAudiovisual) hijo;
+                    return;
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return siguiente != null;
+        }
+
+        @Override
+        public ContenidoAudiovisual next() {
+            if (siguiente == null) {
+                throw new NoSuchElementException();
+            }
+            ContenidoAudiovisual actual = siguiente;
+            avanzar();
+            return actual;
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import csv.ErrorParseo;
+import csv.ErroresLectura;
+import csv.TokenizadorCsv;
+
+/**
+ * Registro CSV que puede ocupar varias líneas físicas cuando un campo entre comillas
+ * contiene saltos de línea
+ * Lleva el estado de las comillas de una línea a la siguiente con la máquina de
+ * TokenizadorCsv.tieneComillasAbiertas(), así cada línea se recorre una sola vez, y
+ * arma el texto en un StringBuilder solo si el registro continúa. Un registro no puede continuar más de MAX_LINEAS líneas ni MAX_CARACTERES
+ * caracteres: una comilla suelta no debe tragarse el resto del archivo. Quien lee
+ * reporta ese registro como error y vuelve a leer desde la línea siguiente a la
+ * primera (ver getContinuacion()).
+ */
+final class RegistroCsv {
+    static final int MAX_LINEAS = 100;
+    static final int MAX_CARACTERES = 64 * 1024;
+
+    private final StringBuilder texto = new StringBuilder(256);
+    private final List<String> continuacion = new ArrayList<>();
+    private String primera;
+    private int longitud;
+    private boolean entreComillas;
+
+    void iniciar(String linea) {
+        primera = linea;
+        longitud = linea.length();
+        continuacion.clear();
+        entreComillas = TokenizadorCsv.tieneComillasAbiertas(linea, false);
+    }
+
+    /**
+     * Agrega la línea siguiente; solo corresponde si puedeContinuar()
+     */
+    void continuar(String linea) {
+        if (continuacion.isEmpty()) {
+            texto.setLength(0);
+            texto.append(primera);
+        }
+        texto.append('\n').append(linea);
+        longitud += linea.length() + 1;
+        continuacion.add(linea);
+        entreComillas = TokenizadorCsv.tieneComillasAbiertas(linea, entreComillas);
+    }
+
+    /**
+     * Si quedó un campo entre comillas abierto y todavía no se alcanzó el límite
+     */
+    boolean puedeContinuar() {
+        return entreComillas && continuacion.size() + 1 < MAX_LINEAS && longitud < MAX_CARACTERES;
+    }
+
+    int getLineas() {
+        return continuacion.size() + 1;
+    }
+
+    /**
+     * Líneas que siguen a la primera, para volver a leerlas si el registro se descarta
+     */
+    List<String> getContinuacion() {
+        return continuacion;
+    }
+
+    String texto() {
+        return continuacion.isEmpty() ? primera : texto.toString();
+    }
+
+    /**
+     * Si el error indica comillas mal formadas: en un registro de varias líneas es
+     * señal de una comilla suelta que juntó líneas que no le correspondían
+     */
+    static boolean esComillaSuelta(RuntimeException error) {
+        return error instanceof ErrorParseo
+                && ((ErrorParseo) error).getCodigo() == ErroresLectura.Codigo.COMILLAS_INVALIDAS;
+    }
+}
@@ -0,0 +1,178 @@
+package service;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Registro de métricas en memoria: contadores (LongAdder) e histogramas de latencia
+ * Los decoradores ContenidoServiceMedido, ContenidoRepositoryMedido y FileHandlerMedido
+ * obtienen sus contadores e histogramas una sola vez al crearse y en cada operación solo
+ * consultan estaHabilitado(); deshabilitado, medir cuesta una lectura volatile.
+ *
+ * Un contador llamado "operacion.unidad" junto a un histograma "operacion" se informa
+ * también como tasa por segundo sobre el tiempo total de esa operación (por ejemplo
+ * archivo.leer.filas → filas/s de lectura).
+ */
+public class RegistroMetricas {
+    private final Map<String, LongAdder> contadores = new ConcurrentHashMap<>();
+    private final Map<String, HistogramaLatencias> latencias = new ConcurrentHashMap<>();
+    private volatile boolean habilitado = true;
+    private ScheduledExecutorService volcado;
+
+    public boolean estaHabilitado() {
+        return habilitado;
+    }
+
+    public void setHabilitado(boolean habilitado) {
+        this.habilitado = habilitado;
+    }
+
+    public LongAdder contador(String nombre) {
+        return contadores.computeIfAbsent(nombre, n -> new LongAdder());
+    }
+
+    public HistogramaLatencias latencia(String nombre) {
+        return latencias.computeIfAbsent(nombre, n -> new HistogramaLatencias());
+    }
+
+    /**
+     * Histograma de la operación más un contador "errores.nombre" de las que terminaron
+     * con excepción
+     */
+    public Operacion operacion(String nombre) {
+        return new Operacion(latencia(nombre), contador("errores." + nombre));
+    }
+
+    /**
+     * Valor de un contador; 0 si todavía no existe
+     */
+    public long valor(String nombre) {
+        LongAdder contador = contadores.get(nombre);
+        return contador == null ? 0 : contador.sum();
+    }
+
+    /**
+     * Contador por segundo de la operación a la que pertenece; 0 sin tiempo registrado
+     */
+    public double tasaPorSegundo(String nombreContador) {
+        int punto = nombreContador.lastIndexOf('.');
+        HistogramaLatencias operacion = punto < 0 ? null : latencias.get(nombreContador.substring(0, punto));
+        if (operacion == null || operacion.getSumaNanos() == 0) {
+            return 0;
+        }
+        return valor(nombreContador) / (operacion.getSumaNanos() / 1e9);
+    }
+
+    public void reiniciar() {
+        contadores.values().forEach(LongAdder::reset);
+        latencias.values().forEach(HistogramaLatencias::reiniciar);
+    }
+
+    /**
+     * Texto con todas las métricas, ordenadas por nombre; latencias en microsegundos
+     */
+    public String formatear() {
+        StringBuilder texto = new StringBuilder();
+        for (Map.Entry<String, HistogramaLatencias> entrada : new TreeMap<>(latencias).entrySet()) {
+            HistogramaLatencias histograma = entrada.getValue();
+            if (histograma.getCantidad() == 0) {
+                continue;
+            }
+            texto.append(String.format("%s: n=%d prom=%.1fus p50=%.1fus p99=%.1fus p999=%.1fus max=%.1fus%n",
+                    entrada.getKey(), histograma.getCantidad(), histograma.getPromedioNanos() / 1e3,
+                    histograma.percentil(50) / 1e3, histograma.percentil(99) / 1e3,
+                    histograma.percentil(99.9) / 1e3, histograma.getMaximoNanos() / 1e3));
+        }
+        for (Map.Entry<String, LongAdder> entrada : new TreeMap<>(contadores).entrySet()) {
+            long valor = entrada.getValue().sum();
+            if (valor == 0) {
+                continue;
+            }
+            texto.append(entrada.getKey()).append(": ").append(valor);
+            double tasa = tasaPorSegundo(entrada.getKey());
+            if (tasa > 0) {
+                texto.append(String.format(" (%.0f/s)", tasa));
+            }
+            texto.append(System.lineSeparator());
+        }
+        return texto.toString();
+    }
+
+    public void volcarEnArchivo(String rutaArchivo) throws IOException {
+        byte[] contenido = formatear().getBytes(StandardCharsets.UTF_8);
+        EscrituraAtomica.escribir(rutaArchivo, salida -> salida.write(contenido));
+    }
+
+    /**
+     * Reescribe el archivo cada intervaloSegundos desde un hilo daemon, hasta detenerVolcado()
+     */
+    public synchronized void iniciarVolcadoPeriodico(String rutaArchivo, long intervaloSegundos) {
+        if (intervaloSegundos <= 0) {
+            throw new IllegalArgumentException("El intervalo debe ser mayor a 0");
+        }
+        detenerVolcado();
+        volcado = Executors.newSingleThreadScheduledExecutor(tarea -> {
+            Thread hilo = new Thread(tarea, "volcado-metricas");
+            hilo.setDaemon(true);
+            return hilo;
+        });
+        volcado.scheduleWithFixedDelay(() -> {
+            try {
+                volcarEnArchivo(rutaArchivo);
+            } catch (IOException e) {
+                System.err.println("No se pudieron volcar las métricas en " + rutaArchivo + ": " + e.getMessage());
+            }
+        }, intervaloSegundos, intervaloSegundos, TimeUnit.SECONDS);
+    }
+
+    public synchronized void detenerVolcado() {
+        if (volcado != null) {
+            volcado.shutdownNow();
+            volcado = null;
+        }
+    }
+
+    /**
+     * Operación medida: registra su duración y cuenta sus excepciones mientras el
+     * registro está habilitado
+     */
+    public final class Operacion {
+        private final HistogramaLatencias latencia;
+        private final LongAdder errores;
+
+        private Operacion(HistogramaLatencias latencia, LongAdder errores) {
+            this.latencia = latencia;
+            this.errores = errores;
+        }
+
+        public <T> T medir(Supplier<T> accion) {
+            if (!habilitado) {
+                return accion.get();
+            }
+            long inicio = System.nanoTime();
+            try {
+                return accion.get();
+            } catch (RuntimeException e) {
+                errores.increment();
+                throw e;
+            } finally {
+                latencia.registrar(System.nanoTime() - inicio);
+            }
+        }
+
+        public void ejecutar(Runnable accion) {
+            medir(() -> {
+                accion.run();
+                return null;
+            });
+        }
+    }
+}
@@ -0,0 +1,351 @@
+package service;
+
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import interfaces.IFileHandler;
+import model.ContenidoAudiovisual;
+import model.Cortometraje;
+import model.Documental;
+import model.Pelicula;
+import model.SerieDeTV;
+import model.VideoYouTube;
+
+/**
+ * Servicio para instantáneas binarias del catálogo
+ * Implementa Single Responsibility Principle (SRP) - responsabilidad única de serializar en binario
+ *
+ * Formato: cabecera "CAVS" + versión, luego un registro por elemento con una etiqueta
+ * de tipo, enteros en varint y textos con prefijo de longitud en UTF-8. El archivo
+ * termina con la etiqueta FIN y la cantidad de registros, lo que permite detectar
+ * instantáneas truncadas.
+ */
+public class SnapshotBinarioService implements IFileHandler<ContenidoAudiovisual> {
+
+    private static final byte[] CABECERA = {'C', 'A', 'V', 'S'};
+    private static final int VERSION = 1;
+    private static final int TAMANO_BUFFER = 64 * 1024;
+    // Ningún campo de texto legítimo se acerca a este tamaño; más indica un archivo dañado
+    static final int MAX_TEXTO = 1024 * 1024;
+
+    private static final int FIN = 0;
+    private static final int PELICULA = 1;
+    private static final int SERIE = 2;
+    private static final int DOCUMENTAL = 3;
+    private static final int YOUTUBE = 4;
+    private static final int CORTOMETRAJE = 5;
+
+    @Override
+    public List<ContenidoAudiovisual> leerArchivo(String rutaArchivo) {
+        List<ContenidoAudiovisual> contenidos = new ArrayList<>();
+        leerArchivo(rutaArchivo, contenidos::add);
+        return contenidos;
+    }
+
+    @Override
+    public long leerArchivo(String rutaArchivo, Consumer<ContenidoAudiovisual> consumidor) {
+        if (!validarFormato(rutaArchivo)) {
+            throw new IllegalArgumentException("El archivo debe tener extensión .bin");
+        }
+
+        try (InputStream entrada = new FileInputStream(rutaArchivo)) {
+            LectorBinario lector = new LectorBinario(entrada, new File(rutaArchivo).length());
+            lector.leerCabecera();
+
+            long leidos = 0;
+            int tipo;
+            while ((tipo = lector.leerByte()) != FIN) {
+                consumidor.accept(lector.leerContenido(tipo));
+                leidos++;
+            }
+
+            long esperados = lector.leerVarLong();
+            if (esperados != leidos) {
+                throw new IOException("Instantánea inconsistente: se esperaban " + esperados
+                        + " registros y se leyeron " + leidos);
+            }
+            return leidos;
+
+        } catch (FileNotFoundException e) {
+            throw new RuntimeException("Archivo no encontrado: " + rutaArchivo, e);
+        } catch (EOFException e) {
+            throw new RuntimeException("Instantánea truncada: " + rutaArchivo, e);
+        } catch (IOException e) {
+            throw new RuntimeException("Error al leer la instantánea: " + rutaArchivo, e);
+        }
+    }
+
+    @Override
+    public void escribirArchivo(String rutaArchivo, List<ContenidoAudiovisual> datos) {
+        if (!validarFormato(rutaArchivo)) {
+            throw new IllegalArgumentException("El archivo debe tener extensión .bin");
+        }
+
+        try {
+            EscrituraAtomica.escribir(rutaArchivo, salida -> {
+                EscritorBinario escritor = new EscritorBinario(salida);
+                escritor.escribirCabecera();
+
+                for (ContenidoAudiovisual contenido : datos) {
+                    escritor.escribirContenido(contenido);
+                }
+
+                escritor.escribirByte(FIN);
+                escritor.escribirVarLong(datos.size());
+                escritor.vaciar();
+            });
+
+        } catch (IOException e) {
+            throw new RuntimeException("Error al escribir la instantánea: " + rutaArchivo, e);
+        }
+    }
+
+    @Override
+    public boolean validarFormato(String rutaArchivo) {
+        return rutaArchivo != null && rutaArchivo.toLowerCase().endsWith(".bin");
+    }
+
+    /**
+     * Codifica contenidos en el formato binario
+     * Usa un buffer propio (sin sincronización por byte); vaciar() lo escribe en la salida
+     */
+    static class EscritorBinario {
+        private final OutputStream salida;
+        private final byte[] buffer = new byte[TAMANO_BUFFER];
+        private int posicion;
+
+        EscritorBinario(OutputStream salida) {
+            this.salida = salida;
+        }
+
+        void escribirCabecera() throws IOException {
+            escribirBytes(CABECERA, CABECERA.length);
+            escribirByte(VERSION);
+        }
+
+        void vaciar() throws IOException {
+            salida.write(buffer, 0, posicion);
+            posicion = 0;
+        }
+
+        void escribirContenido(ContenidoAudiovisual contenido) throws IOException {
+            if (contenido instanceof Pelicula) {
+                Pelicula p = (Pelicula) contenido;
+                escribirComunes(PELICULA, p);
+                escribirTexto(p.getEstudio());
+            } else if (contenido instanceof SerieDeTV) {
+                SerieDeTV s = (SerieDeTV) contenido;
+                escribirComunes(SERIE, s);
+                escribirVarInt(s.getNumeroTemporadas());
+            } else if (contenido instanceof Documental) {
+                Documental d = (Documental) contenido;
+                escribirComunes(DOCUMENTAL, d);
+                escribirTexto(d.getTema());
+            } else if (contenido instanceof VideoYouTube) {
+                VideoYouTube v = (VideoYouTube) contenido;
+                escribirComunes(YOUTUBE, v);
+                escribirTexto(v.getCanal());
+                escribirVarInt(v.getVisualizaciones());
+                escribirVarInt(v.getLikes());
+                escribirTexto(v.getFechaPublicacion());
+                escribirTexto(v.getCalidad());
+            } else if (contenido instanceof Cortometraje) {
+                Cortometraje c = (Cortometraje) contenido;
+                escribirComunes(CORTOMETRAJE, c);
+                escribirTexto(c.getDirector());
+                escribirTexto(c.getFestival());
+                escribirByte(c.isEsEstudiantil() ? 1 : 0);
+                escribirTexto(c.getTecnicaFilmacion());
+                escribirVarInt(c.getPresupuesto());
+            } else {
+                throw new IllegalArgumentException("Tipo de contenido no soportado: "
+                        + contenido.getClass().getSimpleName());
+            }
+        }
+
+        private void escribirComunes(int tipo, ContenidoAudiovisual contenido) throws IOException {
+            escribirByte(tipo);
+            escribirVarInt(contenido.getId());
+            escribirTexto(contenido.getTitulo());
+            escribirVarInt(contenido.getDuracionEnMinutos());
+            escribirTexto(contenido.getGenero());
+        }
+
+        void escribirByte(int valor) throws IOException {
+            if (posicion == buffer.length) {
+                vaciar();
+            }
+            buffer[posicion++] = (byte) valor;
+        }
+
+        private void escribirBytes(byte[] bytes, int longitud) throws IOException {
+            if (longitud > buffer.length - posicion) {
+                vaciar();
+                if (longitud > buffer.length) {
+                    salida.write(bytes, 0, longitud);
+                    return;
+                }
+            }
+            System.arraycopy(bytes, 0, buffer, posicion, longitud);
+            posicion += longitud;
+        }
+
+        void escribirVarInt(int valor) throws IOException {
+            escribirVarLong(valor & 0xFFFFFFFFL);
+        }
+
+        void escribirVarLong(long valor) throws IOException {
+            while ((valor & ~0x7FL) != 0) {
+                escribirByte((int) ((valor & 0x7F) | 0x80));
+                valor >>>= 7;
+            }
+            escribirByte((int) valor);
+        }
+
+        void escribirTexto(String texto) throws IOException {
+            byte[] bytes = texto.getBytes(StandardCharsets.UTF_8);
+            escribirVarInt(bytes.length);
+            escribirBytes(bytes, bytes.length);
+        }
+    }
+
+    /**
+     * Decodifica contenidos del formato binario
+     * Usa un buffer propio (sin sincronización por byte) sobre la entrada. Conoce el
+     * tamaño de la entrada para rechazar con IOException una longitud de texto dañada
+     * antes de reservar memoria para ella.
+     */
+    static class LectorBinario {
+        private final InputStream entrada;
+        private final byte[] buffer = new byte[TAMANO_BUFFER];
+        private int posicion;
+        private int limite;
+        // Bytes de la entrada que todavía no pasaron al buffer
+        private long sinLeer;
+
+        LectorBinario(InputStream entrada, long tamano) {
+            this.entrada = entrada;
+            this.sinLeer = tamano;
+        }
+
+        void leerCabecera() throws IOException {
+            for (byte esperado : CABECERA) {
+                if (leerByte() != esperado) {
+                    throw new IOException("El archivo no es una instantánea de contenido");
+                }
+            }
+            int version = leerByte();
+            if (version != VERSION) {
+                throw new IOException("Versión de instantánea no soportada: " + version);
+            }
+        }
+
+        ContenidoAudiovisual leerContenido(int tipo) throws IOException {
+            int id = leerVarInt();
+            String titulo = leerTexto();
+            int duracion = leerVarInt();
+            String genero = leerTexto();
+
+            switch (tipo) {
+                case PELICULA:
+                    return new Pelicula(id, titulo, duracion, genero, leerTexto());
+                case SERIE:
+                    return new SerieDeTV(id, titulo, duracion, genero, leerVarInt());
+                case DOCUMENTAL:
+                    return new Documental(id, titulo, duracion, genero, leerTexto());
+                case YOUTUBE:
+                    String canal = leerTexto();
+                    int visualizaciones = leerVarInt();
+                    int likes = leerVarInt();
+                    String fechaPublicacion = leerTexto();
+                    String calidad = leerTexto();
+                    return new VideoYouTube(id, titulo, duracion, genero, canal,
+                                           visualizaciones, likes, fechaPublicacion, calidad);
+                case CORTOMETRAJE:
+                    String director = leerTexto();
+                    String festival = leerTexto();
+                    boolean esEstudiantil = leerByte() != 0;
+                    String tecnicaFilmacion = leerTexto();
+                    int presupuesto = leerVarInt();
+                    return new Cortometraje(id, titulo, duracion, genero, director, festival,
+                                           esEstudiantil, tecnicaFilmacion, presupuesto);
+                default:
+                    throw new IOException("Etiqueta de tipo desconocida: " + tipo);
+            }
+        }
+
+        int leerByte() throws IOException {
+            if (posicion == limite && !rellenar()) {
+                throw new EOFException();
+            }
+            return buffer[posicion++] & 0xFF;
+        }
+
+        private boolean rellenar() throws IOException {
+            int leidos = entrada.read(buffer, 0, buffer.length);
+            if (leidos <= 0) {
+                return false;
+            }
+            posicion = 0;
+            limite = leidos;
+            sinLeer -= leidos;
+            return true;
+        }
+
+        int leerVarInt() throws IOException {
+            long valor = leerVarLong();
+            if (valor > 0xFFFFFFFFL) {
+                throw new IOException("Entero fuera de rango en la instantánea");
+            }
+            return (int) valor;
+        }
+
+        long leerVarLong() throws IOException {
+            long valor = 0;
+            for (int desplazamiento = 0; desplazamiento < 64; desplazamiento += 7) {
+                int b = leerByte();
+                valor |= (long) (b & 0x7F) << desplazamiento;
+                if ((b & 0x80) == 0) {
+                    return valor;
+                }
+            }
+            throw new IOException("Varint mal formado en la instantánea");
+        }
+
+        String leerTexto() throws IOException {
+            int longitud = leerVarInt();
+            if (longitud < 0 || longitud > MAX_TEXTO || longitud > sinLeer + (limite - posicion)) {
+                throw new IOException("Longitud de texto inválida en la instantánea: "
+                        + (longitud & 0xFFFFFFFFL));
+            }
+            if (limite - posicion >= longitud) {
+                String texto = new String(buffer, posicion, longitud, StandardCharsets.UTF_8);
+                posicion += longitud;
+                return texto;
+            }
+
+            // El texto cruza el límite del buffer
+            byte[] bytes = new byte[longitud];
+            int copiados = 0;
+            while (copiados < longitud) {
+                if (posicion == limite && !rellenar()) {
+                    throw new EOFException();
+                }
+                int n = Math.min(longitud - copiados, limite - posicion);
+                System.arraycopy(buffer, posicion, bytes, copiados, n);
+                posicion += n;
+                copiados += n;
+            }
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    }
+}
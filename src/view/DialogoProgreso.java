@@ -0,0 +1,160 @@
+package view;
+
+import java.awt.BorderLayout;
+import java.awt.FlowLayout;
+import java.awt.Frame;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import javax.swing.BorderFactory;
+import javax.swing.JButton;
+import javax.swing.JDialog;
+import javax.swing.JLabel;
+import javax.swing.JPanel;
+import javax.swing.JProgressBar;
+import javax.swing.SwingUtilities;
+import javax.swing.SwingWorker;
+import javax.swing.WindowConstants;
+
+import interfaces.IProgresoOperacion;
+
+/**
+ * Diálogo modal que ejecuta una operación de archivo en segundo plano
+ * Implementa el patrón MVC - Vista
+ *
+ * La operación corre en un SwingWorker, así el hilo de eventos de Swing sigue
+ * pintando la ventana. El diálogo muestra la cantidad de elementos procesados y,
+ * si la operación lo permite, un botón para cancelarla.
+ */
+public class DialogoProgreso extends JDialog implements IProgresoOperacion {
+    private final long total;
+    private final JLabel lblAvance = new JLabel("Procesados 0 elementos");
+    private final JProgressBar barra = new JProgressBar();
+    private final JButton btnCancelar = new JButton("Cancelar");
+
+    private volatile boolean cancelada;
+    private final AtomicLong procesados = new AtomicLong();
+    // Evita encolar una actualización de la vista por cada avance informado
+    private final AtomicBoolean actualizacionPendiente = new AtomicBoolean();
+
+    private DialogoProgreso(Frame padre, String titulo, long total, boolean cancelable) {
+        super(padre, titulo, true);
+        this.total = total;
+
+        barra.setIndeterminate(total <= 0);
+        if (total > 0) {
+            barra.setMaximum(100);
+        }
+        btnCancelar.setVisible(cancelable);
+        btnCancelar.addActionListener(e -> {
+            cancelada = true;
+            btnCancelar.setEnabled(false);
+            lblAvance.setText("Cancelando...");
+        });
+
+        JPanel panel = new JPanel(new BorderLayout(5, 5));
+        panel.setBorder(BorderFactory.createEmptyBorder(10, 10, 10, 10));
+        panel.add(lblAvance, BorderLayout.NORTH);
+        panel.add(barra, BorderLayout.CENTER);
+        JPanel panelBotones = new JPanel(new FlowLayout(FlowLayout.RIGHT));
+        panelBotones.add(btnCancelar);
+        panel.add(panelBotones, BorderLayout.SOUTH);
+        add(panel);
+
+        // Cerrar la ventana equivale a cancelar; el diálogo se cierra al terminar la tarea
+        setDefaultCloseOperation(WindowConstants.DO_NOTHING_ON_CLOSE);
+        addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosing(WindowEvent e) {
+                if (cancelable && btnCancelar.isEnabled()) {
+                    btnCancelar.doClick();
+                }
+            }
+        });
+        pack();
+        setSize(Math.max(getWidth(), 350), getHeight());
+        setLocationRelativeTo(padre);
+    }
+
+    /**
+     * Ejecuta la tarea en segundo plano mostrando el diálogo; debe llamarse desde el hilo
+     * de eventos. Al terminar se invoca alTerminar (en el hilo de eventos) con null si la
+     * tarea terminó bien, o con la excepción que la interrumpió (CancellationException
+     * si se canceló).
+     *
+     * @param total cantidad de elementos esperada, o 0 si no se conoce de antemano
+     */
+    public static void ejecutar(Frame padre, String titulo, long total, boolean cancelable,
+                                Consumer<IProgresoOperacion> tarea, Consumer<Throwable> alTerminar) {
+        DialogoProgreso dialogo = new DialogoProgreso(padre, titulo, total, cancelable);
+
+        new SwingWorker<Void, Void>() {
+            @Override
+            protected Void doInBackground() {
+                tarea.accept(dialogo);
+                return null;
+            }
+
+            @Override
+            protected void done() {
+                dialogo.dispose();
+                Throwable error = null;
+                try {
+                    get();
+                } catch (ExecutionException e) {
+                    error = causaCancelacion(e.getCause());
+                } catch (InterruptedException | CancellationException e) {
+                    error = e;
+                }
+                alTerminar.accept(error);
+            }
+        }.execute();
+
+        // done() se procesa en el hilo de eventos, después de que el diálogo modal se muestra
+        dialogo.setVisible(true);
+    }
+
+    /**
+     * La cancelación puede llegar envuelta por las capas intermedias
+     */
+    private static Throwable causaCancelacion(Throwable error) {
+        for (Throwable causa = error; causa != null; causa = causa.getCause()) {
+            if (causa instanceof CancellationException) {
+                return causa;
+            }
+        }
+        return error;
+    }
+
+    @Override
+    public void avance(long cantidad) {
+        procesados.set(cantidad);
+        if (actualizacionPendiente.compareAndSet(false, true)) {
+            SwingUtilities.invokeLater(this::mostrarAvance);
+        }
+    }
+
+    @Override
+    public boolean estaCancelada() {
+        return cancelada;
+    }
+
+    private void mostrarAvance() {
+        actualizacionPendiente.set(false);
+        if (cancelada) {
+            return;
+        }
+        long cantidad = procesados.get();
+        if (total > 0) {
+            lblAvance.setText("Procesados " + cantidad + " de " + total + " elementos");
+            barra.setValue((int) Math.min(100, cantidad * 100 / total));
+        } else {
+            lblAvance.setText("Procesados " + cantidad + " elementos");
+        }
+    }
+}
@@ -4,7 +4,12 @@ import java.awt.BorderLayout;
 import java.awt.Dimension;
 import java.awt.FlowLayout;
 import java.awt.Font;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import javax.swing.BorderFactory;
 import javax.swing.JButton;
@@ -22,10 +27,18 @@ import javax.swing.JTextArea;
 import javax.swing.JTextField;
 import javax.swing.ListSelectionModel;
 import javax.swing.SwingConstants;
-import javax.swing.table.DefaultTableModel;
+import javax.swing.SwingUtilities;
+import javax.swing.Timer;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
 
 import controller.ContenidoController;
 import model.ContenidoAudiovisual;
+import model.Cortometraje;
+import model.Documental;
+import model.Pelicula;
+import model.SerieDeTV;
+import model.VideoYouTube;
 
 /**
  * Vista principal de la aplicación usando Swing
@@ -36,7 +49,7 @@ public class MainView extends JFrame {
     
     // Componentes de la interfaz
     private JTable tablaContenidos;
-    private DefaultTableModel modeloTabla;
+    private ModeloTablaContenidos modeloTabla;
     private JTextField txtBuscar;
     private JComboBox<String> comboFiltro;
     private JComboBox<String> comboTipo;
@@ -52,6 +65,18 @@ public class MainView extends JFrame {
     private JButton btnGuardar;
     private JButton btnActualizar;
 
+    // Búsqueda mientras se escribe
+    private static final int ESPERA_BUSQUEDA_MS = 250;
+    private Timer temporizadorBusqueda;
+    private final ExecutorService ejecutorBusqueda = Executors.newSingleThreadExecutor(tarea -> {
+        Thread hilo = new Thread(tarea, "busqueda");
+        hilo.setDaemon(true);
+        return hilo;
+    });
+    private Future<?> busquedaEnCurso;
+    // Solo se muestra el resultado de la última búsqueda pedida; se usa en el hilo de eventos
+    private long generacionBusqueda;
+
     public MainView() {
         initializeComponents();
         setupLayout();
@@ -70,13 +95,7 @@ public class MainView extends JFrame {
 
     private void initializeComponents() {
         // Inicializar tabla
-        String[] columnas = {"ID", "Tipo", "Título", "Duración (min)", "Género"};
-        modeloTabla = new DefaultTableModel(columnas, 0) {
-            @Override
-            public boolean isCellEditable(int row, int column) {
-                return false; // Hacer tabla no editable
-            }
-        };
+        modeloTabla = new ModeloTablaContenidos(); // No editable: isCellEditable es false por defecto
         tablaContenidos = new JTable(modeloTabla);
         tablaContenidos.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
         
@@ -105,6 +124,10 @@ public class MainView extends JFrame {
         // Configurar botones
         btnEditar.setEnabled(false);
         btnEliminar.setEnabled(false);
+        
+        // Espera a que el usuario deje de escribir antes de buscar
+        temporizadorBusqueda = new Timer(ESPERA_BUSQUEDA_MS, e -> buscarContenido());
+        temporizadorBusqueda.setRepeats(false);
     }
 
     private void setupLayout() {
@@ -193,6 +216,25 @@ public class MainView extends JFrame {
         
         // Enter en campo de búsqueda
         txtBuscar.addActionListener(e -> buscarContenido());
+        
+        // Búsqueda mientras se escribe; cada tecla reinicia la espera
+        txtBuscar.getDocument().addDocumentListener(new DocumentListener() {
+            @Override
+            public void insertUpdate(DocumentEvent e) {
+                temporizadorBusqueda.restart();
+            }
+
+            @Override
+            public void removeUpdate(DocumentEvent e) {
+                temporizadorBusqueda.restart();
+            }
+
+            @Override
+            public void changedUpdate(DocumentEvent e) {
+                temporizadorBusqueda.restart();
+            }
+        });
+        comboFiltro.addActionListener(e -> temporizadorBusqueda.restart());
     }
 
     private void mostrarDetallesContenido(int fila) {
@@ -288,9 +330,15 @@ public class MainView extends JFrame {
         }
     }
 
+    /**
+     * Ejecuta la búsqueda en segundo plano. Una búsqueda nueva interrumpe la anterior y
+     * descarta su resultado, así la tabla nunca muestra un término que ya no está escrito.
+     */
     private void buscarContenido() {
         if (controller == null) return;
         
+        long generacion = descartarBusquedaEnCurso();
+        
         String termino = txtBuscar.getText().trim();
         if (termino.isEmpty()) {
             actualizarTabla();
@@ -298,42 +346,68 @@ public class MainView extends JFrame {
         }
         
         String filtroSeleccionado = (String) comboFiltro.getSelectedItem();
-        List<ContenidoAudiovisual> resultados;
-        
-        try {
-            switch (filtroSeleccionado) {
-                case "Título":
-                    resultados = controller.buscarPorTitulo(termino);
-                    break;
-                case "Género":
-                    resultados = controller.filtrarPorGenero(termino);
-                    break;
-                default:
-                    resultados = controller.obtenerTodosLosContenidos();
-                    break;
+        busquedaEnCurso = ejecutorBusqueda.submit(() -> {
+            List<ContenidoAudiovisual> resultados;
+            try {
+                switch (filtroSeleccionado) {
+                    case "Título":
+                        resultados = controller.buscarPorTituloIncremental(termino);
+                        break;
+                    case "Género":
+                        resultados = controller.filtrarPorGeneroIncremental(termino);
+                        break;
+                    default:
+                        resultados = controller.obtenerTodosLosContenidos();
+                        break;
+                }
+            } catch (CancellationException e) {
+                return;
+            } catch (Exception e) {
+                SwingUtilities.invokeLater(() -> {
+                    if (generacion == generacionBusqueda) {
+                        JOptionPane.showMessageDialog(this, "Error en la búsqueda: " + e.getMessage(), 
+                                                    "Error", JOptionPane.ERROR_MESSAGE);
+                    }
+                });
+                return;
             }
             
-            actualizarTablaConResultados(resultados);
-            
-        } catch (Exception e) {
-            JOptionPane.showMessageDialog(this, "Error en la búsqueda: " + e.getMessage(), 
-                                        "Error", JOptionPane.ERROR_MESSAGE);
-        }
+            SwingUtilities.invokeLater(() -> {
+                if (generacion == generacionBusqueda) {
+                    actualizarTablaConResultados(resultados);
+                }
+            });
+        });
     }
 
     private void filtrarPorTipo() {
         if (controller == null) return;
         
+        descartarBusquedaEnCurso();
         String tipoSeleccionado = (String) comboTipo.getSelectedItem();
-        List<ContenidoAudiovisual> contenidos = controller.obtenerTodosLosContenidos();
+        Class<? extends ContenidoAudiovisual> tipo = claseDeTipo(tipoSeleccionado);
         
-        if (!"Todos".equals(tipoSeleccionado)) {
-            contenidos = contenidos.stream()
-                    .filter(c -> c.getClass().getSimpleName().equals(tipoSeleccionado))
-                    .collect(java.util.stream.Collectors.toList());
+        List<? extends ContenidoAudiovisual> contenidos = tipo == null
+                ? controller.obtenerTodosLosContenidos()
+                : controller.filtrarPorTipo(tipo);
+        actualizarTablaConResultados(Collections.unmodifiableList(contenidos));
+    }
+
+    private static Class<? extends ContenidoAudiovisual> claseDeTipo(String tipo) {
+        switch (tipo) {
+            case "Película":
+                return Pelicula.class;
+            case "SerieDeTV":
+                return SerieDeTV.class;
+            case "Documental":
+                return Documental.class;
+            case "VideoYouTube":
+                return VideoYouTube.class;
+            case "Cortometraje":
+                return Cortometraje.class;
+            default:
+                return null;
         }
-        
-        actualizarTablaConResultados(contenidos);
     }
 
     private void cargarArchivo() {
@@ -341,17 +415,24 @@ public class MainView extends JFrame {
         fileChooser.setFileFilter(new javax.swing.filechooser.FileNameExtensionFilter("Archivos CSV", "csv"));
         
         if (fileChooser.showOpenDialog(this) == JFileChooser.APPROVE_OPTION) {
-            try {
-                String rutaArchivo = fileChooser.getSelectedFile().getAbsolutePath();
-                controller.cargarDatosDesdeArchivo(rutaArchivo);
-                actualizarTabla();
-                actualizarEstadisticas();
-                JOptionPane.showMessageDialog(this, "Archivo cargado exitosamente", 
-                                            "Éxito", JOptionPane.INFORMATION_MESSAGE);
-            } catch (Exception e) {
-                JOptionPane.showMessageDialog(this, "Error al cargar archivo: " + e.getMessage(), 
-                                            "Error", JOptionPane.ERROR_MESSAGE);
-            }
+            String rutaArchivo = fileChooser.getSelectedFile().getAbsolutePath();
+            // La lectura corre en segundo plano; los datos se reemplazan recién al terminar
+            DialogoProgreso.ejecutar(this, "Cargando archivo", 0, true,
+                    progreso -> controller.cargarDatosDesdeArchivo(rutaArchivo, progreso),
+                    error -> {
+                        if (error == null) {
+                            actualizarTabla();
+                            actualizarEstadisticas();
+                            JOptionPane.showMessageDialog(this, "Archivo cargado exitosamente", 
+                                                        "Éxito", JOptionPane.INFORMATION_MESSAGE);
+                        } else if (error instanceof CancellationException) {
+                            JOptionPane.showMessageDialog(this, "Carga cancelada, se conservan los datos actuales", 
+                                                        "Cancelado", JOptionPane.INFORMATION_MESSAGE);
+                        } else {
+                            JOptionPane.showMessageDialog(this, "Error al cargar archivo: " + error.getMessage(), 
+                                                        "Error", JOptionPane.ERROR_MESSAGE);
+                        }
+                    });
         }
     }
 
@@ -360,41 +441,66 @@ public class MainView extends JFrame {
         fileChooser.setFileFilter(new javax.swing.filechooser.FileNameExtensionFilter("Archivos CSV", "csv"));
         
         if (fileChooser.showSaveDialog(this) == JFileChooser.APPROVE_OPTION) {
-            try {
-                String rutaArchivo = fileChooser.getSelectedFile().getAbsolutePath();
-                if (!rutaArchivo.endsWith(".csv")) {
-                    rutaArchivo += ".csv";
-                }
-                controller.guardarDatosEnArchivo(rutaArchivo);
-                JOptionPane.showMessageDialog(this, "Archivo guardado exitosamente", 
-                                            "Éxito", JOptionPane.INFORMATION_MESSAGE);
-            } catch (Exception e) {
-                JOptionPane.showMessageDialog(this, "Error al guardar archivo: " + e.getMessage(), 
-                                            "Error", JOptionPane.ERROR_MESSAGE);
-            }
+            String rutaElegida = fileChooser.getSelectedFile().getAbsolutePath();
+            String rutaArchivo = rutaElegida.endsWith(".csv") ? rutaElegida : rutaElegida + ".csv";
+            DialogoProgreso.ejecutar(this, "Guardando archivo", controller.getCantidadTotal(), true,
+                    progreso -> controller.guardarDatosEnArchivo(rutaArchivo, progreso),
+                    error -> {
+                        if (error == null) {
+                            JOptionPane.showMessageDialog(this, "Archivo guardado exitosamente", 
+                                                        "Éxito", JOptionPane.INFORMATION_MESSAGE);
+                        } else if (error instanceof CancellationException) {
+                            JOptionPane.showMessageDialog(this, "Guardado cancelado, el archivo no se modificó", 
+                                                        "Cancelado", JOptionPane.INFORMATION_MESSAGE);
+                        } else {
+                            JOptionPane.showMessageDialog(this, "Error al guardar archivo: " + error.getMessage(), 
+                                                        "Error", JOptionPane.ERROR_MESSAGE);
+                        }
+                    });
         }
     }
 
+    /**
+     * Carga el archivo por defecto en segundo plano con la ventana ya visible. No se
+     * puede cancelar: sin la base cargada no se registrarían los cambios en el diario.
+     */
+    public void cargarDatosIniciales() {
+        if (controller == null) return;
+        
+        DialogoProgreso.ejecutar(this, "Cargando datos", 0, false,
+                progreso -> controller.cargarDatos(progreso),
+                error -> {
+                    if (error != null) {
+                        System.err.println("Error al inicializar: " + error.getMessage());
+                    }
+                    actualizarTabla();
+                    actualizarEstadisticas();
+                });
+    }
+
     public void actualizarTabla() {
         if (controller == null) return;
         
+        descartarBusquedaEnCurso();
         List<ContenidoAudiovisual> contenidos = controller.obtenerTodosLosContenidos();
         actualizarTablaConResultados(contenidos);
     }
 
-    private void actualizarTablaConResultados(List<ContenidoAudiovisual> contenidos) {
-        modeloTabla.setRowCount(0); // Limpiar tabla
-        
-        for (ContenidoAudiovisual contenido : contenidos) {
-            Object[] fila = {
-                contenido.getId(),
-                contenido.getClass().getSimpleName(),
-                contenido.getTitulo(),
-                contenido.getDuracionEnMinutos(),
-                contenido.getGenero()
-            };
-            modeloTabla.addRow(fila);
+    /**
+     * Evita que una búsqueda pendiente reemplace lo que se va a mostrar
+     */
+    private long descartarBusquedaEnCurso() {
+        temporizadorBusqueda.stop();
+        if (busquedaEnCurso != null) {
+            busquedaEnCurso.cancel(true);
+            busquedaEnCurso = null;
         }
+        return ++generacionBusqueda;
+    }
+
+    private void actualizarTablaConResultados(List<ContenidoAudiovisual> contenidos) {
+        // Un solo evento; la tabla solo lee las filas visibles
+        modeloTabla.setContenidos(contenidos);
     }
 
     private void actualizarEstadisticas() {
@@ -0,0 +1,79 @@
+package view;
+
+import java.util.List;
+
+import javax.swing.table.AbstractTableModel;
+
+import model.ContenidoAudiovisual;
+
+/**
+ * Modelo de tabla que lee los contenidos directamente de una lista de resultados
+ * Implementa el patrón MVC - Vista
+ *
+ * No copia filas: la tabla pide solo las celdas visibles y cada una se obtiene del
+ * contenido en esa posición. Reemplazar los resultados dispara un único evento, por lo
+ * que refrescar un catálogo grande no depende de su tamaño. La lista recibida no debe
+ * cambiar mientras se muestra (por ejemplo, una instantánea del repositorio).
+ */
+public class ModeloTablaContenidos extends AbstractTableModel {
+    private static final String[] COLUMNAS = {"ID", "Tipo", "Título", "Duración (min)", "Género"};
+
+    private List<ContenidoAudiovisual> contenidos = List.of();
+    // JTable pide las columnas de una fila seguidas; se recuerda la última fila leída
+    private int filaCache = -1;
+    private ContenidoAudiovisual contenidoCache;
+
+    public void setContenidos(List<ContenidoAudiovisual> contenidos) {
+        this.contenidos = contenidos == null ? List.of() : contenidos;
+        filaCache = -1;
+        contenidoCache = null;
+        fireTableDataChanged();
+    }
+
+    public ContenidoAudiovisual getContenido(int fila) {
+        if (fila != filaCache) {
+            contenidoCache = contenidos.get(fila);
+            filaCache = fila;
+        }
+        return contenidoCache;
+    }
+
+    @Override
+    public int getRowCount() {
+        return contenidos.size();
+    }
+
+    @Override
+    public int getColumnCount() {
+        return COLUMNAS.length;
+    }
+
+    @Override
+    public String getColumnName(int columna) {
+        return COLUMNAS[columna];
+    }
+
+    @Override
+    public Class<?> getColumnClass(int columna) {
+        return columna == 0 || columna == 3 ? Integer.class : String.class;
+    }
+
+    @Override
+    public Object getValueAt(int fila, int columna) {
+        ContenidoAudiovisual contenido = getContenido(fila);
+        switch (columna) {
+            case 0:
+                return contenido.getId();
+            case 1:
+                return contenido.getClass().getSimpleName();
+            case 2:
+                return contenido.getTitulo();
+            case 3:
+                return contenido.getDuracionEnMinutos();
+            case 4:
+                return contenido.getGenero();
+            default:
+                throw new IndexOutOfBoundsException("Columna inválida: " + columna);
+        }
+    }
+}
@@ -5,7 +5,7 @@ import org.junit.platform.suite.api.Suite;
  * Suite de pruebas que ejecuta todas las pruebas unitarias del proyecto
  */
 @Suite
-@SelectPackages({"model", "service", "controller"})
+@SelectPackages({"model", "service", "controller", "view"})
 public class TestSuite {
     // Esta clase funciona como un punto de entrada para ejecutar todas las pruebas
     // La anotación @SelectPackages incluye automáticamente todas las clases de prueba
@@ -46,6 +46,21 @@ public class ContenidoControllerTest {
         verify(mockService).cargarDatos();
     }
 
+    @Test
+    @DisplayName("Test búsqueda incremental se invalida al modificar datos")
+    void testBusquedaIncrementalInvalidada() {
+        Pelicula nueva = new Pelicula("Avatar 2", 192, "Ciencia Ficción", "20th Century Studios");
+        when(mockService.buscarPorTitulo("ava")).thenReturn(List.of(contenidosTest.get(0)));
+        when(mockService.buscarPorTitulo("avat")).thenReturn(List.of(contenidosTest.get(0), nueva));
+
+        controller.buscarPorTituloIncremental("ava");
+        controller.agregarContenido(nueva);
+        List<ContenidoAudiovisual> resultado = controller.buscarPorTituloIncremental("avat");
+
+        assertEquals(2, resultado.size());
+        verify(mockService).buscarPorTitulo("avat");
+    }
+
     @Test
     @DisplayName("Test agregar contenido")
     void testAgregarContenido() {
@@ -96,6 +111,18 @@ public class ContenidoControllerTest {
         verify(mockService).obtenerContenidoPorId(id);
     }
 
+    @Test
+    @DisplayName("Test obtener una página de contenidos")
+    void testObtenerPaginaDeContenidos() {
+        Pagina<ContenidoAudiovisual> pagina = new Pagina<>(contenidosTest, "7");
+        when(mockService.obtenerPaginaDeContenidos(null, 3)).thenReturn(pagina);
+
+        Pagina<ContenidoAudiovisual> resultado = controller.obtenerPaginaDeContenidos(null, 3);
+
+        assertSame(pagina, resultado);
+        verify(mockService).obtenerPaginaDeContenidos(null, 3);
+    }
+
     @Test
     @DisplayName("Test obtener todos los contenidos")
     void testObtenerTodosLosContenidos() {
@@ -0,0 +1,153 @@
+package csv;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas unitarias para TokenizadorCsv
+ */
+public class TokenizadorCsvTest {
+
+    @Test
+    @DisplayName("Test conteo de campos compatible con split")
+    void testContarCampos() {
+        String[] lineas = {"", "a", "a,b", "a,,b", "a,b,,", ",,,", "YOUTUBE,4,T,25,E,C,1,2,2024-01-15,"};
+        for (String linea : lineas) {
+            assertEquals(linea.split(",").length, new TokenizadorCsv(linea).contarCampos(), linea);
+        }
+    }
+
+    @Test
+    @DisplayName("Test los campos leídos después de contarlos coinciden con split")
+    void testCamposDespuesDeContar() {
+        String[] lineas = {"a", "a,b", "a,,b", "a,b,,", ",,,", "SERIE,1,,x,,", "YOUTUBE,4,T,25,E,C,1,2,2024-01-15,"};
+        TokenizadorCsv campos = new TokenizadorCsv();
+        for (String linea : lineas) {
+            campos.reiniciar(linea).contarCampos();
+            assertFalse(campos.consumirSi("PELICULA"), linea);
+            for (String esperado : linea.split(",", -1)) {
+                assertEquals(esperado, campos.siguienteTexto(), linea);
+            }
+            assertThrows(IllegalArgumentException.class, campos::siguienteTexto, linea);
+        }
+    }
+
+    @Test
+    @DisplayName("Test lectura de campos tipados")
+    void testCamposTipados() {
+        TokenizadorCsv campos = new TokenizadorCsv("CORTOMETRAJE,12,El Último Día,-15,Drama,TRUE,false");
+
+        assertTrue(campos.consumirSi("cortometraje"));
+        assertEquals(12, campos.siguienteEntero());
+        assertEquals("El Último Día", campos.siguienteTexto());
+        assertEquals(-15, campos.siguienteEntero());
+        campos.saltarCampo();
+        assertTrue(campos.siguienteBooleano());
+        assertFalse(campos.siguienteBooleano());
+        assertFalse(campos.hayMasCampos());
+    }
+
+    @Test
+    @DisplayName("Test consumirSi no avanza si no coincide")
+    void testConsumirSiSinCoincidencia() {
+        TokenizadorCsv campos = new TokenizadorCsv(" SERIE ,1");
+
+        assertFalse(campos.consumirSi("PELICULA"));
+        assertTrue(campos.consumirSi("SERIE"));
+        assertEquals(1, campos.siguienteEntero());
+    }
+
+    @Test
+    @DisplayName("Test enteros inválidos")
+    void testEnterosInvalidos() {
+        String[] invalidos = {"", "-", "+", "12a", " 1", "2147483648", "-2147483649"};
+        for (String valor : invalidos) {
+            assertThrows(NumberFormatException.class, () -> new TokenizadorCsv(valor).siguienteEntero(), valor);
+        }
+        assertEquals(Integer.MIN_VALUE, new TokenizadorCsv("-2147483648").siguienteEntero());
+        assertEquals(Integer.MAX_VALUE, new TokenizadorCsv("+2147483647").siguienteEntero());
+    }
+
+    @Test
+    @DisplayName("Test reutilización del tokenizador")
+    void testReutilizacion() {
+        TokenizadorCsv campos = new TokenizadorCsv();
+
+        assertEquals("a", campos.reiniciar("a,1").siguienteTexto());
+        assertEquals("b", campos.reiniciar("b,2").siguienteTexto());
+        assertEquals(2, campos.siguienteEntero());
+        assertThrows(IllegalArgumentException.class, campos::siguienteTexto);
+    }
+
+    @Test
+    @DisplayName("Test campos entre comillas")
+    void testCamposEntreComillas() {
+        TokenizadorCsv campos = new TokenizadorCsv("PELICULA,\"7\",\"Hola, \"\"mundo\"\"\",\"\",\"true\",x");
+
+        assertEquals(6, campos.contarCampos());
+        assertTrue(campos.consumirSi("PELICULA"));
+        assertEquals(7, campos.siguienteEntero());
+        assertEquals("Hola, \"mundo\"", campos.siguienteTexto());
+        assertEquals("", campos.siguienteTexto());
+        assertTrue(campos.siguienteBooleano());
+        assertEquals("x", campos.siguienteTexto());
+    }
+
+    @Test
+    @DisplayName("Test comillas mal formadas")
+    void testComillasMalFormadas() {
+        assertThrows(IllegalArgumentException.class, () -> new TokenizadorCsv("\"abierta,1").siguienteTexto());
+        assertThrows(IllegalArgumentException.class, () -> new TokenizadorCsv("\"a\"b,1").siguienteTexto());
+        // Una comilla en medio de un campo sin comillas es literal
+        assertEquals("5\" Ruler", new TokenizadorCsv("5\" Ruler,1").siguienteTexto());
+    }
+
+    @Test
+    @DisplayName("Test escape y lectura son simétricos")
+    void testEscaparYLeer() {
+        String[] valores = {"Avatar", "Hola, mundo", "Dijo \"sí\"", "Dos\nlíneas", "\"", ""};
+        for (String valor : valores) {
+            String linea = TokenizadorCsv.escapar(valor) + ",1";
+            TokenizadorCsv campos = new TokenizadorCsv(linea);
+            assertEquals(valor, campos.siguienteTexto(), linea);
+            assertEquals(1, campos.siguienteEntero());
+        }
+        assertSame("Avatar", TokenizadorCsv.escapar("Avatar"));
+    }
+
+    @Test
+    @DisplayName("Test detección de registros que continúan en la línea siguiente")
+    void testComillasAbiertas() {
+        assertFalse(TokenizadorCsv.tieneComillasAbiertas("a,b,c", false));
+        assertFalse(TokenizadorCsv.tieneComillasAbiertas("a,\"b,\"\"c\"\"\",d", false));
+        assertFalse(TokenizadorCsv.tieneComillasAbiertas("5\" Ruler,1", false));
+        assertTrue(TokenizadorCsv.tieneComillasAbiertas("a,\"b", false));
+        assertTrue(TokenizadorCsv.tieneComillasAbiertas("a,\"b\"\"", false));
+
+        // Líneas que continúan un campo abierto en la anterior
+        assertTrue(TokenizadorCsv.tieneComillasAbiertas("sigue, sin cerrar", true));
+        assertTrue(TokenizadorCsv.tieneComillasAbiertas("dice \"\"hola\"\"", true));
+        assertFalse(TokenizadorCsv.tieneComillasAbiertas("fin\",90,Drama", true));
+        assertTrue(TokenizadorCsv.tieneComillasAbiertas("fin\",\"otro", true));
+        assertFalse(TokenizadorCsv.tieneComillasAbiertas("fin\",5\" Ruler", true));
+    }
+
+    @Test
+    @DisplayName("Test índice del campo actual")
+    void testCampoActual() {
+        TokenizadorCsv campos = new TokenizadorCsv("SERIE,1,Lost,x");
+
+        assertEquals(-1, campos.getCampoActual());
+        assertFalse(campos.consumirSi("PELICULA"));
+        assertEquals(-1, campos.getCampoActual());
+        assertTrue(campos.consumirSi("SERIE"));
+        assertEquals(1, campos.siguienteEntero());
+        campos.saltarCampo();
+        assertEquals(2, campos.getCampoActual());
+        assertThrows(NumberFormatException.class, campos::siguienteEntero);
+        assertEquals(3, campos.getCampoActual());
+        assertThrows(IllegalArgumentException.class, campos::siguienteTexto);
+        assertEquals(-1, campos.reiniciar("a").getCampoActual());
+    }
+}
@@ -246,4 +246,19 @@ public class ContenidoAudiovisualTest {
         assertTrue(csv.contains("Ciencia Ficción"));
         assertTrue(csv.contains("20th Century Studios"));
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Test fromCSV conserva el ID")
+    void testFromCSVConservaId() {
+        assertEquals(pelicula, Pelicula.fromCSV(pelicula.toCSV()));
+        assertEquals(serie, SerieDeTV.fromCSV(serie.toCSV()));
+        assertEquals(documental, Documental.fromCSV(documental.toCSV()));
+        assertEquals(video, VideoYouTube.fromCSV(video.toCSV()));
+        assertEquals(cortometraje, Cortometraje.fromCSV(cortometraje.toCSV()));
+        assertEquals(4321, ContenidoAudiovisual.fromCSV("PELICULA,4321,Avatar,162,Drama,Estudio").getId());
+        assertEquals("Avatar", Pelicula.fromCSV(pelicula.toCSV()).getTitulo());
+
+        assertThrows(IllegalArgumentException.class, () -> Pelicula.fromCSV(serie.toCSV()));
+        assertThrows(IllegalArgumentException.class, () -> Pelicula.fromCSV("PELICULA,0,Avatar,162,Drama,Estudio"));
+    }
+}
@@ -0,0 +1,79 @@
+package service;
+
+import model.*;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Map;
+
+/**
+ * Pruebas unitarias para AgregadorEstadisticas
+ */
+public class AgregadorEstadisticasTest {
+
+    private AgregadorEstadisticas agregador;
+    private Pelicula pelicula;
+    private VideoYouTube video;
+
+    @BeforeEach
+    void setUp() {
+        agregador = new AgregadorEstadisticas();
+        pelicula = new Pelicula("Avatar", 160, "Ciencia Ficción", "20th Century Studios");
+        video = new VideoYouTube("Tutorial Java", 20, "Educación", "Canal", 1000, 50, "2024-01-01", "1080p");
+        agregador.agregar(pelicula);
+        agregador.agregar(video);
+    }
+
+    @Test
+    @DisplayName("Test sumas por tipo, género, duración y YouTube")
+    void testSumas() {
+        EstadisticasContenido estadisticas = agregador.obtener();
+
+        assertEquals(2, estadisticas.getCantidadTotal());
+        assertEquals(180, estadisticas.getDuracionTotal());
+        assertEquals(90.0, estadisticas.getDuracionPromedio());
+        assertEquals(Map.of("Pelicula", 1L, "VideoYouTube", 1L), estadisticas.getCantidadPorTipo());
+        assertEquals(Map.of("ciencia ficción", 1L, "educación", 1L), estadisticas.getCantidadPorGenero());
+        assertEquals(1000, estadisticas.getVisualizacionesYouTube());
+        assertEquals(50, estadisticas.getLikesYouTube());
+    }
+
+    @Test
+    @DisplayName("Test reemplazar y eliminar restan el aporte registrado")
+    void testReemplazarYEliminar() {
+        // El objeto cambia después de agregarse; se resta lo que se había sumado
+        video.setVisualizaciones(5000);
+        agregador.agregar(video);
+        pelicula.setDuracionEnMinutos(100);
+        agregador.eliminar(pelicula.getId());
+
+        EstadisticasContenido estadisticas = agregador.obtener();
+        assertEquals(1, estadisticas.getCantidadTotal());
+        assertEquals(20, estadisticas.getDuracionTotal());
+        assertEquals(Map.of("VideoYouTube", 1L), estadisticas.getCantidadPorTipo());
+        assertEquals(Map.of("educación", 1L), estadisticas.getCantidadPorGenero());
+        assertEquals(5000, estadisticas.getVisualizacionesYouTube());
+
+        agregador.eliminar(pelicula.getId());
+        assertEquals(1, agregador.obtener().getCantidadTotal());
+    }
+
+    @Test
+    @DisplayName("Test la foto se reutiliza hasta el próximo cambio")
+    void testFotoReutilizada() {
+        EstadisticasContenido primera = agregador.obtener();
+        assertSame(primera, agregador.obtener());
+
+        agregador.agregar(video);
+        assertSame(primera, agregador.obtener());
+
+        agregador.limpiar();
+        EstadisticasContenido vacias = agregador.obtener();
+        assertNotSame(primera, vacias);
+        assertEquals(0, vacias.getCantidadTotal());
+        assertEquals(0.0, vacias.getDuracionPromedio());
+        assertTrue(vacias.getCantidadPorTipo().isEmpty());
+    }
+}
@@ -0,0 +1,114 @@
+package service;
+
+import interfaces.IContenidoService;
+import model.*;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.util.List;
+
+/**
+ * Pruebas unitarias para BusquedaIncremental
+ */
+public class BusquedaIncrementalTest {
+
+    @Mock
+    private IContenidoService mockService;
+
+    private BusquedaIncremental busqueda;
+    private Pelicula avatar;
+    private Pelicula avengers;
+    private Documental cosmos;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        busqueda = new BusquedaIncremental(mockService);
+
+        avatar = new Pelicula("Avatar", 162, "Ciencia Ficción", "20th Century Studios");
+        avengers = new Pelicula("Avengers", 143, "Acción", "Marvel Studios");
+        cosmos = new Documental("Cosmos", 45, "Ciencia", "Astronomía");
+    }
+
+    @Test
+    @DisplayName("Test refinar filtra el resultado anterior sin consultar el catálogo")
+    void testRefinarTitulo() {
+        when(mockService.buscarPorTitulo("av")).thenReturn(List.of(avatar, avengers));
+
+        assertEquals(List.of(avatar, avengers), busqueda.buscar(BusquedaIncremental.Criterio.TITULO, "av"));
+        assertEquals(List.of(avatar), busqueda.buscar(BusquedaIncremental.Criterio.TITULO, "AVA"));
+        assertEquals(List.of(avatar), busqueda.buscar(BusquedaIncremental.Criterio.TITULO, "avatar "));
+        assertTrue(busqueda.buscar(BusquedaIncremental.Criterio.TITULO, "avatarx").isEmpty());
+
+        verify(mockService, times(1)).buscarPorTitulo(anyString());
+    }
+
+    @Test
+    @DisplayName("Test un término que no extiende al anterior vuelve a consultar")
+    void testTerminoNoExtiende() {
+        when(mockService.buscarPorTitulo("avat")).thenReturn(List.of(avatar));
+        when(mockService.buscarPorTitulo("av")).thenReturn(List.of(avatar, avengers));
+
+        busqueda.buscar(BusquedaIncremental.Criterio.TITULO, "avat");
+        // Borrar caracteres amplía el resultado: no se puede obtener del anterior
+        assertEquals(List.of(avatar, avengers), busqueda.buscar(BusquedaIncremental.Criterio.TITULO, "av"));
+
+        verify(mockService).buscarPorTitulo("avat");
+        verify(mockService).buscarPorTitulo("av");
+    }
+
+    @Test
+    @DisplayName("Test cambiar de criterio vuelve a consultar")
+    void testCambioDeCriterio() {
+        when(mockService.buscarPorTitulo("c")).thenReturn(List.of(cosmos));
+        when(mockService.filtrarPorGenero("ci")).thenReturn(List.of(avatar, cosmos));
+
+        busqueda.buscar(BusquedaIncremental.Criterio.TITULO, "c");
+        assertEquals(List.of(avatar, cosmos), busqueda.buscar(BusquedaIncremental.Criterio.GENERO, "ci"));
+        assertEquals(List.of(avatar), busqueda.buscar(BusquedaIncremental.Criterio.GENERO, "Ficción"));
+
+        verify(mockService).filtrarPorGenero("ci");
+        verify(mockService, never()).filtrarPorGenero("Ficción");
+    }
+
+    @Test
+    @DisplayName("Test invalidar durante la primera búsqueda no guarda su resultado")
+    void testInvalidarDuranteBusqueda() {
+        // Sin resultado previo: el catálogo cambia mientras se consulta
+        when(mockService.buscarPorTitulo("av")).thenAnswer(invocacion -> {
+            busqueda.invalidar();
+            return List.of(avatar);
+        });
+        when(mockService.buscarPorTitulo("ave")).thenReturn(List.of(avengers));
+
+        assertEquals(List.of(avatar), busqueda.buscar(BusquedaIncremental.Criterio.TITULO, "av"));
+        assertEquals(List.of(avengers), busqueda.buscar(BusquedaIncremental.Criterio.TITULO, "ave"));
+        verify(mockService).buscarPorTitulo("ave");
+    }
+
+    @Test
+    @DisplayName("Test invalidar descarta el resultado anterior")
+    void testInvalidar() {
+        when(mockService.buscarPorTitulo("av")).thenReturn(List.of(avatar));
+        when(mockService.buscarPorTitulo("ave")).thenReturn(List.of(avengers));
+
+        busqueda.buscar(BusquedaIncremental.Criterio.TITULO, "av");
+        busqueda.invalidar();
+
+        assertEquals(List.of(avengers), busqueda.buscar(BusquedaIncremental.Criterio.TITULO, "ave"));
+        verify(mockService).buscarPorTitulo("ave");
+    }
+
+    @Test
+    @DisplayName("Test término vacío")
+    void testTerminoVacio() {
+        assertThrows(IllegalArgumentException.class,
+                () -> busqueda.buscar(BusquedaIncremental.Criterio.TITULO, "  "));
+        verifyNoInteractions(mockService);
+    }
+}
@@ -0,0 +1,227 @@
+package service;
+
+import model.*;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pruebas de concurrencia para ContenidoRepositoryConcurrente
+ */
+public class ContenidoRepositoryConcurrenteTest {
+
+    private static final int HILOS = 8;
+    private static final int POR_HILO = 500;
+
+    private interface Tarea {
+        void ejecutar(int hilo) throws Exception;
+    }
+
+    /**
+     * Ejecuta la tarea en varios hilos que arrancan a la vez y propaga cualquier falla
+     */
+    private static void enParalelo(Tarea tarea) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(HILOS);
+        CountDownLatch largada = new CountDownLatch(1);
+        List<Future<?>> futuros = new ArrayList<>();
+        try {
+            for (int h = 0; h < HILOS; h++) {
+                int hilo = h;
+                futuros.add(executor.submit(() -> {
+                    largada.await();
+                    tarea.ejecutar(hilo);
+                    return null;
+                }));
+            }
+            largada.countDown();
+            for (Future<?> futuro : futuros) {
+                futuro.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Test altas concurrentes dejan datos e índices consistentes")
+    void testGuardarConcurrente() throws Exception {
+        ContenidoRepositoryConcurrente repository = new ContenidoRepositoryConcurrente(new FileHandlerService());
+
+        enParalelo(hilo -> {
+            for (int i = 0; i < POR_HILO; i++) {
+                repository.guardar(new Pelicula("Hilo" + hilo + " Pelicula " + i, 1 + i % 200,
+                        "Genero" + (i % 5), "Estudio"));
+                // Consultas intercaladas con las escrituras
+                repository.buscarPorTitulo("Pelicula");
+                repository.obtenerPaginaPorTitulo(0, 10);
+            }
+        });
+
+        int total = HILOS * POR_HILO;
+        assertEquals(total, repository.getCantidadTotal());
+        assertEquals(total, repository.buscarPorTitulo("pelicula").size());
+        assertEquals(POR_HILO, repository.buscarPorTitulo("hilo3 ").size());
+        assertEquals(total / 5, repository.buscarPorGeneroExacto("genero2").size());
+        assertEquals(total, repository.ordenarPorDuracion().size());
+        assertEquals(total, repository.ordenarPorTitulo().size());
+        assertEquals(total, new HashSet<>(repository.ordenarPorTitulo()).size());
+        assertEquals(total, repository.contarPorTipo(Pelicula.class));
+        assertEquals(Map.of("Pelicula", (long) total), repository.obtenerEstadisticasPorTipo());
+        assertEquals(total, repository.obtenerEstadisticas().getCantidadTotal());
+        assertEquals(total / 5, repository.obtenerEstadisticas().getCantidadPorGenero().get("genero2"));
+    }
+
+    @Test
+    @DisplayName("Test actualizaciones concurrentes de los mismos IDs")
+    void testActualizarConcurrente() throws Exception {
+        ContenidoRepositoryConcurrente repository = new ContenidoRepositoryConcurrente(new FileHandlerService());
+        List<Pelicula> peliculas = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            Pelicula pelicula = new Pelicula("Original " + i, 10, "Drama", "Estudio");
+            peliculas.add(pelicula);
+            repository.guardar(pelicula);
+        }
+        repository.ordenarPorTitulo();
+
+        enParalelo(hilo -> {
+            for (int vuelta = 0; vuelta < 50; vuelta++) {
+                for (Pelicula original : peliculas) {
+                    int duracion = 20 + hilo * 10 + vuelta % 10;
+                    repository.guardar(new Pelicula(original.getId(), "Version " + hilo, duracion,
+                            "Genero" + hilo, "Estudio"));
+                }
+            }
+        });
+
+        assertEquals(100, repository.getCantidadTotal());
+        List<ContenidoAudiovisual> porDuracion = repository.ordenarPorDuracion();
+        assertEquals(100, porDuracion.size());
+        assertEquals(100, new HashSet<>(porDuracion).size());
+        for (ContenidoAudiovisual contenido : porDuracion) {
+            assertEquals(contenido, repository.buscarPorId(contenido.getId()));
+            assertTrue(contenido.getDuracionEnMinutos() >= 20);
+        }
+        assertEquals(0, repository.buscarPorDuracion(0, 19).size());
+        assertEquals(0, repository.buscarPorTitulo("original").size());
+        assertEquals(100, repository.buscarPorTitulo("version").size());
+        // Las consultas cortas salen de las listas de unigramas y bigramas
+        assertEquals(0, repository.buscarPorTitulo("or").size());
+        assertEquals(0, repository.buscarPorTitulo("g").size());
+        assertEquals(100, repository.buscarPorTitulo("On").size());
+        assertEquals(100, repository.buscarPorTitulo("v").size());
+        assertEquals(100, repository.buscarPorGeneroPrefijo("genero").size());
+        assertEquals(100, repository.ordenarPorTitulo().size());
+        assertFalse(repository.existePorTipoYTitulo(Pelicula.class, "Original 0"));
+        assertTrue(repository.existePorTipoYTitulo(Pelicula.class, repository.buscarPorId(peliculas.get(0).getId()).getTitulo()));
+    }
+
+    @Test
+    @DisplayName("Test altas simultáneas del mismo título guardan un solo contenido")
+    void testAltasDuplicadasConcurrentes() throws Exception {
+        ContenidoRepositoryConcurrente repository = new ContenidoRepositoryConcurrente(new FileHandlerService());
+        ContenidoService service = new ContenidoService(repository, "test.csv");
+        Set<String> rechazados = ConcurrentHashMap.newKeySet();
+
+        // Todos los hilos intentan dar de alta los mismos 100 títulos
+        enParalelo(hilo -> {
+            for (int i = 0; i < 100; i++) {
+                try {
+                    service.agregarContenido(new Pelicula("Titulo " + i, 90, "Drama", "Estudio"));
+                } catch (IllegalArgumentException e) {
+                    rechazados.add(hilo + "-" + i);
+                }
+            }
+        });
+
+        assertEquals(100, repository.getCantidadTotal());
+        assertEquals((HILOS - 1) * 100, rechazados.size());
+        assertTrue(repository.existePorTipoYTitulo(Pelicula.class, "TITULO 7"));
+        assertFalse(repository.existePorTipoYTitulo(Documental.class, "Titulo 7"));
+    }
+
+    @Test
+    @DisplayName("Test lotes guardados mientras otros hilos dan altas")
+    void testGuardarTodosConcurrente() throws Exception {
+        ContenidoRepositoryConcurrente repository = new ContenidoRepositoryConcurrente(new FileHandlerService());
+
+        // La mitad de los hilos guarda lotes y la otra mitad altas sueltas
+        enParalelo(hilo -> {
+            List<ContenidoAudiovisual> lote = new ArrayList<>();
+            for (int i = 0; i < POR_HILO; i++) {
+                Pelicula pelicula = new Pelicula("Hilo " + hilo + " - " + i, 90, "Drama", "Estudio");
+                if (hilo % 2 == 0) {
+                    lote.add(pelicula);
+                } else {
+                    repository.guardar(pelicula);
+                }
+                if (lote.size() == 100) {
+                    repository.guardarTodos(lote);
+                    lote = new ArrayList<>();
+                }
+            }
+        });
+
+        assertEquals(HILOS * POR_HILO, repository.getCantidadTotal());
+        assertEquals(HILOS * POR_HILO, repository.contarPorTipo(Pelicula.class));
+        assertEquals(HILOS * POR_HILO, repository.ordenarPorTitulo().size());
+        assertEquals(HILOS * POR_HILO, repository.obtenerEstadisticas().getCantidadTotal());
+        assertEquals(1, repository.buscarPorTitulo("hilo 4 - 321").size());
+    }
+
+    @Test
+    @DisplayName("Test IDs únicos al crear contenidos desde varios hilos")
+    void testIdsUnicos() throws Exception {
+        Set<Integer> ids = ConcurrentHashMap.newKeySet();
+
+        enParalelo(hilo -> {
+            for (int i = 0; i < POR_HILO; i++) {
+                ids.add(new Pelicula("P", 90, "Drama", "Estudio").getId());
+            }
+        });
+
+        assertEquals(HILOS * POR_HILO, ids.size());
+    }
+
+    @Test
+    @DisplayName("Test bajas concurrentes")
+    void testEliminarConcurrente() throws Exception {
+        ContenidoRepositoryConcurrente repository = new ContenidoRepositoryConcurrente(new FileHandlerService());
+        List<Integer> ids = new ArrayList<>();
+        for (int i = 0; i < HILOS * POR_HILO; i++) {
+            Documental documental = new Documental("Documental " + i, 1 + i % 90, "Ciencia", "Tema");
+            ids.add(documental.getId());
+            repository.guardar(documental);
+        }
+
+        enParalelo(hilo -> {
+            for (int i = hilo; i < ids.size(); i += HILOS) {
+                if (i % 2 == 0) {
+                    repository.eliminar(ids.get(i));
+                }
+            }
+        });
+
+        int restantes = HILOS * POR_HILO / 2;
+        assertEquals(restantes, repository.getCantidadTotal());
+        assertEquals(restantes, repository.buscarPorTitulo("documental").size());
+        assertEquals(restantes, repository.buscarPorGeneroExacto("ciencia").size());
+        assertEquals(restantes, repository.ordenarPorTitulo().size());
+        assertEquals(restantes, repository.contarPorTipo(Documental.class));
+        assertEquals(restantes, repository.buscarPorTipo(Documental.class).size());
+        assertEquals(restantes, repository.obtenerEstadisticas().getCantidadTotal());
+        assertEquals(Map.of("ciencia", (long) restantes), repository.obtenerEstadisticas().getCantidadPorGenero());
+        assertThrows(IllegalArgumentException.class, () -> repository.eliminar(ids.get(0)));
+    }
+}
@@ -0,0 +1,231 @@
+package service;
+
+import interfaces.IProgresoOperacion;
+import model.*;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+
+/**
+ * Pruebas unitarias para ContenidoRepository y sus índices secundarios
+ */
+public class ContenidoRepositoryTest {
+
+    @TempDir
+    Path directorioTemporal;
+
+    private ContenidoRepository repository;
+    private Pelicula pelicula;
+    private SerieDeTV serie;
+    private Documental documental;
+
+    @BeforeEach
+    void setUp() {
+        repository = new ContenidoRepository(new FileHandlerService());
+        pelicula = new Pelicula("Avatar", 162, "Ciencia Ficción", "20th Century Studios");
+        serie = new SerieDeTV("Game of Thrones", 60, "Fantasía", 8);
+        documental = new Documental("Cosmos", 45, "Ciencia", "Astronomía");
+        repository.guardar(pelicula);
+        repository.guardar(serie);
+        repository.guardar(documental);
+    }
+
+    @Test
+    @DisplayName("Test búsquedas por título, género y duración")
+    void testBusquedasIndexadas() {
+        assertEquals(List.of(pelicula), repository.buscarPorTitulo("ava"));
+        assertEquals(Set.of(pelicula, documental), Set.copyOf(repository.buscarPorGenero("ciencia")));
+        assertEquals(List.of(documental), repository.buscarPorGeneroExacto("CIENCIA"));
+        assertEquals(List.of(documental, serie), repository.buscarPorDuracion(40, 100));
+        assertEquals(List.of(documental, serie, pelicula), repository.ordenarPorDuracion());
+    }
+
+    @Test
+    @DisplayName("Test particiones por tipo")
+    void testParticionesPorTipo() {
+        Pelicula otra = new Pelicula("Titanic", 195, "Drama", "Paramount");
+        repository.guardar(otra);
+
+        assertEquals(List.of(pelicula, otra), repository.buscarPorTipo(Pelicula.class));
+        assertEquals(2, repository.contarPorTipo(Pelicula.class));
+        assertEquals(4, repository.contarPorTipo(ContenidoAudiovisual.class));
+        assertTrue(repository.buscarPorTipo(Cortometraje.class).isEmpty());
+
+        // Reemplazar un ID por un contenido de otro tipo lo cambia de partición
+        Documental reemplazo = new Documental(otra.getId(), "Titanic: el documental", 90, "Historia", "Naufragios");
+        repository.guardar(reemplazo);
+        repository.eliminar(serie.getId());
+
+        assertEquals(List.of(pelicula), repository.buscarPorTipo(Pelicula.class));
+        assertEquals(List.of(documental, reemplazo), repository.buscarPorTipo(Documental.class));
+        assertEquals(Map.of("Pelicula", 1L, "Documental", 2L), repository.obtenerEstadisticasPorTipo());
+    }
+
+    @Test
+    @DisplayName("Test estadísticas siguen altas, bajas y modificaciones")
+    void testEstadisticasIncrementales() {
+        VideoYouTube video = new VideoYouTube("Tutorial", 10, "Educación", "Canal", 300, 20, "2024-01-01", "720p");
+        repository.guardar(video);
+        video.setLikes(25);
+        serie.setGenero("Drama");
+        repository.eliminar(documental.getId());
+
+        EstadisticasContenido estadisticas = repository.obtenerEstadisticas();
+        assertEquals(3, estadisticas.getCantidadTotal());
+        assertEquals(162 + 60 + 10, estadisticas.getDuracionTotal());
+        assertEquals(Map.of("ciencia ficción", 1L, "drama", 1L, "educación", 1L), estadisticas.getCantidadPorGenero());
+        assertEquals(Map.of("Pelicula", 1L, "SerieDeTV", 1L, "VideoYouTube", 1L), estadisticas.getCantidadPorTipo());
+        assertEquals(25, estadisticas.getLikesYouTube());
+
+        repository.limpiar();
+        assertEquals(0, repository.obtenerEstadisticas().getCantidadTotal());
+    }
+
+    @Test
+    @DisplayName("Test guardar un lote lo indexa completo")
+    void testGuardarTodos() {
+        Pelicula titanic = new Pelicula("Titanic", 195, "Drama", "Paramount");
+        Documental planeta = new Documental("Planeta", 50, "Ciencia", "Naturaleza");
+        Pelicula reemplazo = new Pelicula(pelicula.getId(), "Avatar 2", 190, "Ciencia Ficción", "20th Century Studios");
+        repository.guardarTodos(List.of(titanic, planeta, reemplazo));
+
+        assertEquals(5, repository.getCantidadTotal());
+        assertSame(reemplazo, repository.buscarPorId(pelicula.getId()));
+        assertNull(pelicula.getObservador());
+        assertEquals(List.of(reemplazo), repository.buscarPorTitulo("avatar"));
+        assertEquals(List.of(documental, planeta), repository.buscarPorGeneroExacto("ciencia"));
+        assertEquals(2, repository.contarPorTipo(Pelicula.class));
+        assertEquals(5, repository.obtenerEstadisticas().getCantidadTotal());
+
+        // Los contenidos del lote se reindexan al modificarlos
+        planeta.setDuracionEnMinutos(10);
+        assertEquals(List.of(planeta), repository.buscarPorDuracion(0, 20));
+
+        // Con un null no se guarda nada
+        Pelicula otra = new Pelicula("Otra", 90, "Drama", "Estudio");
+        assertThrows(IllegalArgumentException.class, () -> repository.guardarTodos(Arrays.asList(otra, null)));
+        assertFalse(repository.existe(otra.getId()));
+    }
+
+    @Test
+    @DisplayName("Test guardar un lote en el repositorio vacío")
+    void testGuardarTodosVacio() {
+        repository.limpiar();
+        List<ContenidoAudiovisual> lote = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            lote.add(new Pelicula("Pelicula " + i, 60 + i % 100, "Drama", "Estudio"));
+        }
+        repository.guardarTodos(lote);
+
+        assertEquals(lote, repository.obtenerTodos());
+        assertEquals(2000, repository.contarPorTipo(Pelicula.class));
+        assertEquals(List.of(lote.get(1234)), repository.buscarPorTitulo("pelicula 1234"));
+        assertEquals("Pelicula 0", repository.ordenarPorTitulo().get(0).getTitulo());
+        assertTrue(repository.existePorTipoYTitulo(Pelicula.class, "PELICULA 1999"));
+    }
+
+    @Test
+    @DisplayName("Test índice de unicidad por tipo y título")
+    void testExistePorTipoYTitulo() {
+        assertTrue(repository.existePorTipoYTitulo(Pelicula.class, "AVATAR"));
+        assertFalse(repository.existePorTipoYTitulo(SerieDeTV.class, "Avatar"));
+        assertFalse(repository.existePorTipoYTitulo(Pelicula.class, "Avat"));
+
+        // Un título repetido sigue existiendo hasta quitar todas sus copias
+        Pelicula copia = new Pelicula("avatar", 100, "Drama", "Otro");
+        repository.guardar(copia);
+        repository.eliminar(pelicula.getId());
+        assertTrue(repository.existePorTipoYTitulo(Pelicula.class, "Avatar"));
+
+        copia.setTitulo("Titanic");
+        assertFalse(repository.existePorTipoYTitulo(Pelicula.class, "Avatar"));
+        assertTrue(repository.existePorTipoYTitulo(Pelicula.class, "titanic"));
+    }
+
+    @Test
+    @DisplayName("Test modificar un contenido guardado actualiza los índices")
+    void testModificacionEnElLugar() {
+        pelicula.setDuracionEnMinutos(30);
+        pelicula.setTitulo("Titanic");
+        pelicula.setGenero("Drama");
+
+        assertEquals(List.of(pelicula), repository.buscarPorDuracion(0, 40));
+        assertTrue(repository.buscarPorTitulo("avatar").isEmpty());
+        assertEquals(List.of(pelicula), repository.buscarPorTitulo("titanic"));
+        assertEquals(List.of(pelicula), repository.buscarPorGeneroExacto("drama"));
+    }
+
+    @Test
+    @DisplayName("Test un contenido eliminado deja de notificar al repositorio")
+    void testEliminadoNoReindexa() {
+        repository.eliminar(pelicula.getId());
+        assertNull(pelicula.getObservador());
+
+        pelicula.setDuracionEnMinutos(50);
+        assertEquals(List.of(documental, serie), repository.ordenarPorDuracion());
+    }
+
+    @Test
+    @DisplayName("Test cargar y guardar informan el avance; cancelar conserva datos y archivo")
+    void testProgresoYCancelacion() throws Exception {
+        String ruta = directorioTemporal.resolve("catalogo.csv").toString();
+        for (int i = 0; i < 3000; i++) {
+            repository.guardar(new Pelicula("Pelicula " + i, 90, "Drama", "Estudio"));
+        }
+        ProgresoPrueba progreso = new ProgresoPrueba(Long.MAX_VALUE);
+        repository.guardarEnArchivo(ruta, progreso);
+        assertEquals(3003, progreso.ultimo);
+        byte[] guardado = Files.readAllBytes(Paths.get(ruta));
+
+        ContenidoRepository otro = new ContenidoRepository(new FileHandlerService());
+        otro.guardar(pelicula);
+        ProgresoPrueba cancelado = new ProgresoPrueba(2000);
+        assertThrows(CancellationException.class, () -> otro.cargarDesdeArchivo(ruta, cancelado));
+        assertEquals(List.of(pelicula), otro.obtenerTodos());
+
+        progreso = new ProgresoPrueba(Long.MAX_VALUE);
+        otro.cargarDesdeArchivo(ruta, progreso);
+        assertEquals(3003, otro.getCantidadTotal());
+        assertEquals(3003, progreso.ultimo);
+
+        // Un guardado cancelado no toca el archivo existente ni deja el temporal
+        otro.eliminar(pelicula.getId());
+        assertThrows(CancellationException.class, () -> otro.guardarEnArchivo(ruta, new ProgresoPrueba(1000)));
+        assertArrayEquals(guardado, Files.readAllBytes(Paths.get(ruta)));
+        assertFalse(Files.exists(Paths.get(ruta + ".tmp")));
+    }
+
+    /**
+     * Registra el último avance y se cancela al superar el límite indicado
+     */
+    private static class ProgresoPrueba implements IProgresoOperacion {
+        private final long limite;
+        private long ultimo;
+
+        private ProgresoPrueba(long limite) {
+            this.limite = limite;
+        }
+
+        @Override
+        public void avance(long procesados) {
+            ultimo = procesados;
+        }
+
+        @Override
+        public boolean estaCancelada() {
+            return ultimo >= limite;
+        }
+    }
+}
@@ -11,6 +11,7 @@ import org.mockito.MockitoAnnotations;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
+import java.util.Arrays;
 import java.util.List;
 import java.util.ArrayList;
 
@@ -28,6 +29,9 @@ public class ContenidoServiceTest {
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        // La carga se prepara con los métodos por defecto, que delegan en cargarDesdeArchivo
+        when(mockRepository.prepararCarga(anyString())).thenCallRealMethod();
+        when(mockRepository.prepararCarga(anyString(), any())).thenCallRealMethod();
         contenidoService = new ContenidoService(mockRepository, "test.csv");
         
         // Crear contenidos de prueba
@@ -43,13 +47,14 @@ public class ContenidoServiceTest {
         Pelicula pelicula = new Pelicula("Nueva Película", 120, "Acción", "Estudio");
         
         // Configurar mock para que no encuentre contenido duplicado
-        when(mockRepository.buscarPorTitulo("Nueva Película")).thenReturn(new ArrayList<>());
+        when(mockRepository.existePorTipoYTitulo(Pelicula.class, "Nueva Película")).thenReturn(false);
 
         assertDoesNotThrow(() -> {
             contenidoService.agregarContenido(pelicula);
         });
 
-        verify(mockRepository).buscarPorTitulo("Nueva Película");
+        verify(mockRepository).existePorTipoYTitulo(Pelicula.class, "Nueva Película");
+        verify(mockRepository, never()).buscarPorTitulo(any());
         verify(mockRepository).guardar(pelicula);
     }
 
@@ -60,13 +65,13 @@ public class ContenidoServiceTest {
         Pelicula pelicula2 = new Pelicula("Avatar", 120, "Acción", "Otro Estudio");
         
         // Configurar mock para que encuentre contenido duplicado
-        when(mockRepository.buscarPorTitulo("Avatar")).thenReturn(List.of(pelicula1));
+        when(mockRepository.existePorTipoYTitulo(Pelicula.class, "Avatar")).thenReturn(true);
 
         assertThrows(IllegalArgumentException.class, () -> {
             contenidoService.agregarContenido(pelicula2);
         });
 
-        verify(mockRepository).buscarPorTitulo("Avatar");
+        verify(mockRepository).existePorTipoYTitulo(Pelicula.class, "Avatar");
         verify(mockRepository, never()).guardar(pelicula2);
     }
 
@@ -90,6 +95,44 @@ public class ContenidoServiceTest {
         });
     }
 
+    @Test
+    @DisplayName("Test agregar un lote")
+    void testAgregarTodos() {
+        contenidoService.agregarTodos(contenidosTest);
+
+        verify(mockRepository).existePorTipoYTitulo(Pelicula.class, "Avatar");
+        verify(mockRepository).guardarTodos(contenidosTest);
+        verify(mockRepository, never()).guardar(any());
+    }
+
+    @Test
+    @DisplayName("Test un lote inválido o con duplicados no agrega nada")
+    void testAgregarTodosRechazado() {
+        // Duplicado dentro del lote, sin distinguir mayúsculas
+        List<ContenidoAudiovisual> repetido = new ArrayList<>(contenidosTest);
+        repetido.add(new Pelicula("AVATAR", 120, "Acción", "Otro Estudio"));
+        IllegalArgumentException error = assertThrows(IllegalArgumentException.class,
+                () -> contenidoService.agregarTodos(repetido));
+        assertTrue(error.getMessage().contains("AVATAR"));
+
+        // Duplicado contra el catálogo
+        when(mockRepository.existePorTipoYTitulo(Documental.class, "Cosmos")).thenReturn(true);
+        assertThrows(IllegalArgumentException.class, () -> contenidoService.agregarTodos(contenidosTest));
+
+        // Contenido inválido o null
+        List<ContenidoAudiovisual> invalido = new ArrayList<>(contenidosTest);
+        Pelicula sinDuracion = mock(Pelicula.class);
+        when(sinDuracion.getTitulo()).thenReturn("Sin duración");
+        when(sinDuracion.getGenero()).thenReturn("Drama");
+        invalido.add(sinDuracion);
+        assertThrows(IllegalArgumentException.class, () -> contenidoService.agregarTodos(invalido));
+        assertThrows(IllegalArgumentException.class,
+                () -> contenidoService.agregarTodos(Arrays.asList(contenidosTest.get(0), null)));
+        assertThrows(IllegalArgumentException.class, () -> contenidoService.agregarTodos(null));
+
+        verify(mockRepository, never()).guardarTodos(any());
+    }
+
     @Test
     @DisplayName("Test eliminar contenido existente")
     void testEliminarContenidoExistente() {
@@ -280,12 +323,13 @@ public class ContenidoServiceTest {
     @Test
     @DisplayName("Test obtener cantidad total")
     void testObtenerCantidadTotal() {
-        when(mockRepository.obtenerTodos()).thenReturn(contenidosTest);
+        when(mockRepository.getCantidadTotal()).thenReturn(contenidosTest.size());
 
         int cantidad = contenidoService.getCantidadTotal();
 
         assertEquals(contenidosTest.size(), cantidad);
-        verify(mockRepository).obtenerTodos();
+        verify(mockRepository).getCantidadTotal();
+        verify(mockRepository, never()).obtenerTodos();
     }
 
     @Test
@@ -307,6 +351,21 @@ public class ContenidoServiceTest {
         verify(realRepository).buscarPorDuracion(duracionMinima, duracionMaxima);
     }
 
+    @Test
+    @DisplayName("Test filtrar por tipo usa la partición del repositorio")
+    void testFiltrarPorTipo() {
+        when(mockRepository.buscarPorTipo(SerieDeTV.class)).thenReturn(List.of(contenidosTest.get(1)));
+        when(mockRepository.contarPorTipo(SerieDeTV.class)).thenReturn(1);
+
+        List<SerieDeTV> series = contenidoService.filtrarPorTipo(SerieDeTV.class);
+
+        assertEquals(1, series.size());
+        assertEquals(8, series.get(0).getNumeroTemporadas());
+        assertEquals(1, contenidoService.contarPorTipo(SerieDeTV.class));
+        assertThrows(IllegalArgumentException.class, () -> contenidoService.filtrarPorTipo(null));
+        verify(mockRepository, never()).obtenerTodos();
+    }
+
     @Test
     @DisplayName("Test filtrar por duración inválida")
     void testFiltrarPorDuracionInvalida() {
@@ -335,17 +394,151 @@ public class ContenidoServiceTest {
         ContenidoRepository realRepository = mock(ContenidoRepository.class);
         ContenidoService serviceConRepositorio = new ContenidoService(realRepository, "test.csv");
 
-        when(realRepository.obtenerTodos()).thenReturn(contenidosTest);
-        when(realRepository.obtenerEstadisticasPorTipo()).thenReturn(
-            java.util.Map.of("Pelicula", 1L, "SerieDeTV", 1L, "Documental", 1L)
-        );
+        when(realRepository.obtenerEstadisticas()).thenReturn(new EstadisticasContenido(
+            contenidosTest.size(), 267,
+            java.util.Map.of("Pelicula", 1L, "SerieDeTV", 1L, "Documental", 1L),
+            java.util.Map.of("ciencia ficción", 1L, "fantasía", 1L, "ciencia", 1L), 0, 0
+        ));
 
         String estadisticas = serviceConRepositorio.obtenerEstadisticas();
 
         assertNotNull(estadisticas);
         assertTrue(estadisticas.contains("ESTADÍSTICAS"));
         assertTrue(estadisticas.contains("Total de contenidos"));
-        verify(realRepository).obtenerTodos();
-        verify(realRepository).obtenerEstadisticasPorTipo();
+        assertTrue(estadisticas.contains("Total de contenidos: 3"));
+        assertTrue(estadisticas.contains("SerieDeTV: 1"));
+        assertTrue(estadisticas.contains("Duración promedio: 89"));
+        assertFalse(estadisticas.contains("YouTube"));
+        // El resumen ya está calculado: no se recorre el catálogo
+        verify(realRepository).obtenerEstadisticas();
+        verify(realRepository, never()).obtenerTodos();
+    }
+
+    @Test
+    @DisplayName("Test recorrer todos los contenidos por páginas")
+    void testPaginasDeContenidos() {
+        ContenidoService serviceReal = new ContenidoService(new ContenidoRepository(new FileHandlerService()), "test.csv");
+        List<Integer> esperados = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            Pelicula pelicula = new Pelicula("Pelicula " + i, 60 + i, i % 2 == 0 ? "Drama" : "Comedia", "Estudio");
+            serviceReal.agregarContenido(pelicula);
+            esperados.add(pelicula.getId());
+        }
+
+        List<Integer> recorridos = new ArrayList<>();
+        List<Integer> tamanos = new ArrayList<>();
+        String cursor = null;
+        do {
+            Pagina<ContenidoAudiovisual> pagina = serviceReal.obtenerPaginaDeContenidos(cursor, 10);
+            pagina.getElementos().forEach(c -> recorridos.add(c.getId()));
+            tamanos.add(pagina.getElementos().size());
+            cursor = pagina.getCursorSiguiente();
+        } while (cursor != null);
+
+        assertEquals(esperados, recorridos);
+        assertEquals(List.of(10, 10, 5), tamanos);
+    }
+
+    @Test
+    @DisplayName("Test búsquedas paginadas con altas entre páginas")
+    void testBusquedasPaginadas() {
+        ContenidoService serviceReal = new ContenidoService(new ContenidoRepository(new FileHandlerService()), "test.csv");
+        for (int i = 0; i < 12; i++) {
+            serviceReal.agregarContenido(new Pelicula("Pelicula " + i, 60 + i, i % 2 == 0 ? "Drama" : "Comedia", "Estudio"));
+        }
+        serviceReal.agregarContenido(new Documental("Cosmos", 45, "Ciencia", "Astronomía"));
+
+        Pagina<ContenidoAudiovisual> primera = serviceReal.buscarPorTituloPaginado("PELICULA", null, 5);
+        assertEquals(5, primera.getElementos().size());
+        assertTrue(primera.hayMas());
+
+        // Un alta posterior al cursor aparece en las páginas siguientes, sin repetir las ya vistas
+        serviceReal.agregarContenido(new Pelicula("Pelicula nueva", 90, "Drama", "Estudio"));
+        Pagina<ContenidoAudiovisual> segunda = serviceReal.buscarPorTituloPaginado("pelicula", primera.getCursorSiguiente(), 5);
+        Pagina<ContenidoAudiovisual> tercera = serviceReal.buscarPorTituloPaginado("pelicula", segunda.getCursorSiguiente(), 5);
+        assertEquals(3, tercera.getElementos().size());
+        assertFalse(tercera.hayMas());
+        assertNull(tercera.getCursorSiguiente());
+
+        assertEquals(7, serviceReal.filtrarPorGeneroPaginado("dram", null, 10).getElementos().size());
+        assertEquals(List.of("Cosmos"), serviceReal.filtrarPorDuracionPaginado(40, 50, null, 10)
+                .getElementos().stream().map(ContenidoAudiovisual::getTitulo).collect(java.util.stream.Collectors.toList()));
+    }
+
+    @Test
+    @DisplayName("Test parámetros de paginación inválidos")
+    void testPaginacionInvalida() {
+        assertThrows(IllegalArgumentException.class, () -> contenidoService.obtenerPaginaDeContenidos(null, 0));
+        assertThrows(IllegalArgumentException.class, () -> contenidoService.obtenerPaginaDeContenidos("abc", 10));
+        assertThrows(IllegalArgumentException.class, () -> contenidoService.obtenerPaginaDeContenidos("-5", 10));
+        assertThrows(IllegalArgumentException.class, () -> contenidoService.buscarPorTituloPaginado(" ", null, 10));
+        assertThrows(IllegalArgumentException.class, () -> contenidoService.filtrarPorDuracionPaginado(60, 30, null, 10));
+        assertThrows(IllegalArgumentException.class, () -> contenidoService.filtrarPorDuracionPaginado(0, 90, "15", 10));
+        assertThrows(IllegalArgumentException.class, () -> contenidoService.filtrarPorDuracionPaginado(0, 90, "15:x", 10));
+        assertThrows(IllegalArgumentException.class, () -> contenidoService.filtrarPorGeneroPaginado("drama", null, 0));
+        verify(mockRepository, never()).obtenerPaginaPorId(anyInt(), anyInt(), any());
+        verify(mockRepository, never()).buscarPorDuracionDesde(anyInt(), anyInt(), anyInt(), anyInt(), anyInt());
+        verify(mockRepository, never()).buscarPorGeneroDesde(anyString(), anyInt(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Test búsquedas paginadas recorren los índices desde el cursor")
+    void testBusquedasPaginadasUsanIndices() {
+        Pelicula a = new Pelicula(10, "Avatar", 162, "Ciencia Ficción", "Estudio");
+        Pelicula b = new Pelicula(20, "Avatar 2", 190, "Ciencia Ficción", "Estudio");
+        when(mockRepository.buscarPorTituloDesde("avatar", 0, 2)).thenReturn(List.of(a, b));
+        when(mockRepository.buscarPorDuracionDesde(100, 200, 162, 10, 2)).thenReturn(List.of(b));
+
+        Pagina<ContenidoAudiovisual> pagina = contenidoService.buscarPorTituloPaginado(" avatar ", null, 1);
+        assertEquals(List.of(a), pagina.getElementos());
+        assertEquals("10", pagina.getCursorSiguiente());
+
+        Pagina<ContenidoAudiovisual> porDuracion = contenidoService.filtrarPorDuracionPaginado(100, 200, "162:10", 1);
+        assertEquals(List.of(b), porDuracion.getElementos());
+        assertFalse(porDuracion.hayMas());
+        verify(mockRepository, never()).obtenerPaginaPorId(anyInt(), anyInt(), any());
+    }
+
+    @Test
+    @DisplayName("Test páginas iguales a las búsquedas completas en ambos repositorios")
+    void testPaginasIgualesABusquedas() {
+        List<IContenidoRepository> repositorios = List.of(new ContenidoRepository(new FileHandlerService()),
+                new ContenidoRepositoryConcurrente(new FileHandlerService()));
+        for (IContenidoRepository repositorio : repositorios) {
+            ContenidoService serviceReal = new ContenidoService(repositorio, "test.csv");
+            String[] generos = {"Drama", "Docudrama", "Comedia"};
+            for (int i = 0; i < 60; i++) {
+                serviceReal.agregarContenido(new Pelicula((i % 3 == 0 ? "El camino " : "Cosmos ") + i,
+                        40 + (i * 7) % 30, generos[i % generos.length], "Estudio"));
+            }
+
+            assertEquals(porId(serviceReal.buscarPorTitulo("camino")), recorrer(cursor ->
+                    serviceReal.buscarPorTituloPaginado("CAMINO", cursor, 7)));
+            assertEquals(porId(serviceReal.buscarPorTitulo("os")), recorrer(cursor ->
+                    serviceReal.buscarPorTituloPaginado("os", cursor, 7)));
+            assertEquals(porId(serviceReal.filtrarPorGenero("drama")), recorrer(cursor ->
+                    serviceReal.filtrarPorGeneroPaginado("drama", cursor, 7)));
+            // Por duración las páginas siguen el orden de filtrarPorDuracion
+            assertEquals(serviceReal.filtrarPorDuracion(45, 60), recorrer(cursor ->
+                    serviceReal.filtrarPorDuracionPaginado(45, 60, cursor, 7)));
+        }
+    }
+
+    private static List<ContenidoAudiovisual> porId(List<ContenidoAudiovisual> contenidos) {
+        List<ContenidoAudiovisual> ordenados = new ArrayList<>(contenidos);
+        ordenados.sort(java.util.Comparator.comparingInt(ContenidoAudiovisual::getId));
+        return ordenados;
+    }
+
+    private static List<ContenidoAudiovisual> recorrer(
+            java.util.function.Function<String, Pagina<ContenidoAudiovisual>> siguiente) {
+        List<ContenidoAudiovisual> recorridos = new ArrayList<>();
+        String cursor = null;
+        do {
+            Pagina<ContenidoAudiovisual> pagina = siguiente.apply(cursor);
+            recorridos.addAll(pagina.getElementos());
+            cursor = pagina.getCursorSiguiente();
+        } while (cursor != null);
+        return recorridos;
     }
-}
\ No newline at end of file
+}
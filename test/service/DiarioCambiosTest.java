@@ -0,0 +1,308 @@
+package service;
+
+import csv.ErroresLectura;
+import interfaces.IProgresoOperacion;
+import model.*;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Pruebas unitarias para DiarioCambios y su uso desde ContenidoService
+ */
+public class DiarioCambiosTest {
+
+    private DiarioCambios diario;
+    private Path rutaDiario;
+
+    @TempDir
+    Path tempDir;
+
+    @BeforeEach
+    void setUp() {
+        rutaDiario = tempDir.resolve("contenidos.diario");
+        diario = new DiarioCambios(rutaDiario.toString());
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        diario.close();
+    }
+
+    @Test
+    @DisplayName("Test reproducir altas, actualizaciones y bajas")
+    void testReproducirOperaciones() {
+        Pelicula pelicula = new Pelicula("Avatar", 162, "Ciencia Ficción", "20th Century Studios");
+        Documental documental = new Documental("Cosmos", 45, "Ciencia", "Astronomía");
+        diario.registrarAlta(pelicula);
+        diario.registrarAlta(documental);
+        pelicula.setTitulo("Avatar, el camino del \"agua\"");
+        diario.registrarActualizacion(pelicula);
+        diario.registrarBaja(documental.getId());
+        assertEquals(4, diario.getCantidadRegistros());
+
+        ContenidoRepository repository = new ContenidoRepository(new FileHandlerService());
+        assertEquals(4, new DiarioCambios(rutaDiario.toString()).reproducir(repository));
+
+        assertEquals(1, repository.getCantidadTotal());
+        assertEquals(pelicula.toCSV(), repository.buscarPorId(pelicula.getId()).toCSV());
+        assertNull(repository.buscarPorId(documental.getId()));
+    }
+
+    @Test
+    @DisplayName("Test registro final incompleto se descarta")
+    void testRegistroIncompleto() throws IOException {
+        Pelicula pelicula = new Pelicula("Avatar", 162, "Ciencia Ficción", "20th Century Studios");
+        SerieDeTV serie = new SerieDeTV("Game of Thrones", 60, "Fantasía", 8);
+        diario.registrarAlta(pelicula);
+        long tamanoValido = Files.size(rutaDiario);
+        diario.registrarAlta(serie);
+        diario.close();
+
+        // Simular una escritura cortada a mitad del segundo registro
+        try (FileChannel canal = FileChannel.open(rutaDiario, StandardOpenOption.WRITE)) {
+            canal.truncate(Files.size(rutaDiario) - 3);
+        }
+
+        ContenidoRepository repository = new ContenidoRepository(new FileHandlerService());
+        diario = new DiarioCambios(rutaDiario.toString());
+        assertEquals(1, diario.reproducir(repository));
+        assertEquals(tamanoValido, Files.size(rutaDiario));
+        assertNotNull(repository.buscarPorId(pelicula.getId()));
+
+        // Los registros nuevos quedan detrás del último registro válido
+        diario.registrarAlta(serie);
+        repository.limpiar();
+        assertEquals(2, new DiarioCambios(rutaDiario.toString()).reproducir(repository));
+        assertEquals(2, repository.getCantidadTotal());
+    }
+
+    @Test
+    @DisplayName("Test servicio registra cambios y guardar vacía el diario")
+    void testServicioConDiario() throws IOException {
+        String rutaArchivo = tempDir.resolve("contenidos.csv").toString();
+        FileHandlerService fileHandler = new FileHandlerService();
+        fileHandler.crearArchivoEjemplo(rutaArchivo);
+
+        ContenidoService service = new ContenidoService(new ContenidoRepository(fileHandler), rutaArchivo, diario);
+        service.cargarDatos();
+        int cantidadInicial = service.getCantidadTotal();
+        long tamanoArchivo = Files.size(tempDir.resolve("contenidos.csv"));
+
+        Pelicula nueva = new Pelicula("Película Nueva", 100, "Drama", "Estudio");
+        service.agregarContenido(nueva);
+        service.eliminarContenido(service.obtenerTodosLosContenidos().stream()
+                .filter(c -> c.getId() != nueva.getId()).findFirst().get().getId());
+
+        // El archivo principal no se reescribe; los cambios están en el diario
+        assertEquals(tamanoArchivo, Files.size(tempDir.resolve("contenidos.csv")));
+        assertEquals(2, diario.getCantidadRegistros());
+
+        // Un reinicio reproduce archivo + diario
+        DiarioCambios diarioReinicio = new DiarioCambios(rutaDiario.toString());
+        ContenidoService reinicio = new ContenidoService(new ContenidoRepository(fileHandler), rutaArchivo, diarioReinicio);
+        reinicio.cargarDatos();
+        assertEquals(cantidadInicial, reinicio.getCantidadTotal());
+        assertNotNull(reinicio.obtenerContenidoPorId(nueva.getId()));
+
+        // Compactar guarda el catálogo completo y deja el diario vacío
+        reinicio.compactarDiario();
+        assertEquals(0, diarioReinicio.getCantidadRegistros());
+        assertEquals(0, Files.size(rutaDiario));
+        diarioReinicio.close();
+
+        ContenidoService despues = new ContenidoService(new ContenidoRepository(fileHandler), rutaArchivo);
+        despues.cargarDatos();
+        assertEquals(cantidadInicial, despues.getCantidadTotal());
+        assertNotNull(despues.obtenerContenidoPorId(nueva.getId()));
+    }
+
+    @Test
+    @DisplayName("Test una carga cancelada no desactiva el diario")
+    void testCargaCanceladaConservaDiario() {
+        String rutaArchivo = tempDir.resolve("contenidos.csv").toString();
+        FileHandlerService fileHandler = new FileHandlerService();
+        fileHandler.crearArchivoEjemplo(rutaArchivo);
+
+        ContenidoService service = new ContenidoService(new ContenidoRepository(fileHandler), rutaArchivo, diario);
+        service.cargarDatos();
+        int cantidadInicial = service.getCantidadTotal();
+
+        IProgresoOperacion cancelado = new IProgresoOperacion() {
+            @Override
+            public void avance(long procesados) {
+            }
+
+            @Override
+            public boolean estaCancelada() {
+                return true;
+            }
+        };
+        assertThrows(CancellationException.class, () -> service.cargarDatosDesdeArchivo(rutaArchivo, cancelado));
+        assertEquals(cantidadInicial, service.getCantidadTotal());
+
+        service.agregarContenido(new Pelicula("Después de cancelar", 100, "Drama", "Estudio"));
+        assertEquals(1, diario.getCantidadRegistros());
+    }
+
+    @Test
+    @DisplayName("Test un lote se registra y se reproduce entero o nada")
+    void testLoteEnUnRegistro() throws IOException {
+        List<ContenidoAudiovisual> lote = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            lote.add(new Documental("Doc " + i, 30 + i, "Ciencia", "Tema"));
+        }
+        diario.registrarAlta(new Pelicula("Suelta", 100, "Drama", "Estudio"));
+        diario.sincronizar(diario.registrarLote(lote));
+        assertEquals(51, diario.getCantidadRegistros());
+
+        ContenidoRepository repository = new ContenidoRepository(new FileHandlerService());
+        assertEquals(51, new DiarioCambios(rutaDiario.toString()).reproducir(repository));
+        assertEquals(51, repository.getCantidadTotal());
+        assertEquals(lote.get(49).getTitulo(), repository.buscarPorId(lote.get(49).getId()).getTitulo());
+
+        // Una escritura cortada a mitad del lote descarta el lote completo
+        try (FileChannel canal = FileChannel.open(rutaDiario, StandardOpenOption.WRITE)) {
+            canal.truncate(canal.size() - 100);
+        }
+        repository.limpiar();
+        assertEquals(1, new DiarioCambios(rutaDiario.toString()).reproducir(repository));
+        assertEquals(1, repository.getCantidadTotal());
+    }
+
+    @Test
+    @DisplayName("Test guardar el archivo por defecto vacía el diario aunque no esté activo")
+    void testGuardarConDiarioInactivo() throws IOException {
+        String rutaArchivo = tempDir.resolve("contenidos.csv").toString();
+        String rutaOtro = tempDir.resolve("otro.csv").toString();
+        FileHandlerService fileHandler = new FileHandlerService();
+        fileHandler.crearArchivoEjemplo(rutaArchivo);
+        fileHandler.escribirArchivo(rutaOtro, List.of(new Documental("Otro", 30, "Ciencia", "Tema")));
+
+        ContenidoService service = new ContenidoService(new ContenidoRepository(fileHandler), rutaArchivo, diario);
+        service.iniciar();
+        service.cargarDatos();
+        service.agregarContenido(new Pelicula("Solo en el diario", 100, "Drama", "Estudio"));
+        assertEquals(1, diario.getCantidadRegistros());
+
+        // Otro archivo desactiva el diario; guardar pisa el archivo por defecto con esa base
+        service.cargarDatosDesdeArchivo(rutaOtro);
+        service.guardarDatos();
+        assertEquals(0, Files.size(rutaDiario));
+
+        // Desde esa base se vuelven a registrar los cambios
+        service.agregarContenido(new Pelicula("Después de guardar", 100, "Drama", "Estudio"));
+        assertEquals(1, diario.getCantidadRegistros());
+        service.cerrar();
+
+        DiarioCambios diarioReinicio = new DiarioCambios(rutaDiario.toString());
+        ContenidoService reinicio = new ContenidoService(new ContenidoRepository(fileHandler), rutaArchivo, diarioReinicio);
+        reinicio.cargarDatos();
+        assertEquals(2, reinicio.getCantidadTotal());
+        assertEquals(1, reinicio.buscarPorTitulo("Otro").size());
+        assertTrue(reinicio.buscarPorTitulo("Solo en el diario").isEmpty());
+        reinicio.cerrar();
+    }
+
+    @Test
+    @DisplayName("Test la lectura de una carga no bloquea cambios ni guardados")
+    void testCargaLeeFueraDelBloqueo() throws Exception {
+        String rutaArchivo = tempDir.resolve("contenidos.csv").toString();
+        new FileHandlerService().crearArchivoEjemplo(rutaArchivo);
+        CountDownLatch leido = new CountDownLatch(1);
+        CountDownLatch continuar = new CountDownLatch(1);
+        AtomicInteger lecturas = new AtomicInteger();
+        FileHandlerService lento = new FileHandlerService() {
+            @Override
+            public long leerArchivo(String ruta, Consumer<ContenidoAudiovisual> consumidor) {
+                List<ContenidoAudiovisual> contenidos = leerArchivo(ruta, new ErroresLectura(0));
+                // La segunda lectura se detiene con el archivo ya leído
+                if (lecturas.incrementAndGet() == 2) {
+                    leido.countDown();
+                    try {
+                        continuar.await(10, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                contenidos.forEach(consumidor);
+                return contenidos.size();
+            }
+        };
+
+        ContenidoService service = new ContenidoService(new ContenidoRepository(lento), rutaArchivo, diario);
+        service.cargarDatos();
+        int cantidadInicial = service.getCantidadTotal();
+
+        ExecutorService hilo = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> carga = hilo.submit(() -> service.cargarDatos());
+            assertTrue(leido.await(5, TimeUnit.SECONDS));
+
+            // Con la lectura en curso el alta y el guardado no esperan
+            Pelicula nueva = new Pelicula("Durante la carga", 100, "Drama", "Estudio");
+            assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+                service.agregarContenido(nueva);
+                service.guardarDatos();
+            });
+            continuar.countDown();
+            carga.get(5, TimeUnit.SECONDS);
+
+            // El guardado vació el diario: lo leído antes ya no sirve y se vuelve a leer
+            assertEquals(3, lecturas.get());
+            assertEquals(cantidadInicial + 1, service.getCantidadTotal());
+            assertNotNull(service.obtenerContenidoPorId(nueva.getId()));
+        } finally {
+            continuar.countDown();
+            hilo.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Test group commit comparte sincronizaciones entre hilos")
+    void testGroupCommit() throws Exception {
+        diario.close();
+        diario = new DiarioCambios(rutaDiario.toString(), 2);
+        int hilos = 8;
+        int registrosPorHilo = 50;
+        ExecutorService executor = Executors.newFixedThreadPool(hilos);
+        List<Future<?>> tareas = new ArrayList<>();
+
+        for (int h = 0; h < hilos; h++) {
+            tareas.add(executor.submit(() -> {
+                for (int i = 0; i < registrosPorHilo; i++) {
+                    long secuencia = diario.registrarAlta(new Documental("Doc", 30, "Ciencia", "Tema"));
+                    diario.sincronizar(secuencia);
+                }
+            }));
+        }
+        for (Future<?> tarea : tareas) {
+            tarea.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        assertTrue(diario.getCantidadSincronizaciones() < hilos * registrosPorHilo);
+        ContenidoRepository repository = new ContenidoRepository(new FileHandlerService());
+        assertEquals(hilos * registrosPorHilo, new DiarioCambios(rutaDiario.toString()).reproducir(repository));
+    }
+}
@@ -1,5 +1,6 @@
 package service;
 
+import csv.ErroresLectura;
 import model.*;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.BeforeEach;
@@ -10,6 +11,7 @@ import static org.junit.jupiter.api.Assertions.*;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.List;
 import java.util.ArrayList;
@@ -249,4 +251,272 @@ public class FileHandlerServiceTest {
         assertEquals("El Niño", contenidosLeidos.get(0).getTitulo());
         assertEquals("La Niña", contenidosLeidos.get(1).getTitulo());
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Test lectura en streaming")
+    void testLecturaEnStreaming() {
+        String rutaArchivo = tempDir.resolve("test_streaming.csv").toString();
+        fileHandler.escribirArchivo(rutaArchivo, contenidosTest);
+
+        List<String> titulos = new ArrayList<>();
+        long cantidad = fileHandler.leerArchivo(rutaArchivo, c -> titulos.add(c.getTitulo()));
+
+        assertEquals(contenidosTest.size(), cantidad);
+        assertEquals(List.of("Avatar", "Game of Thrones", "Cosmos", "Tutorial Java", "El Último Día"), titulos);
+    }
+
+    @Test
+    @DisplayName("Test lectura paralela equivalente a la secuencial")
+    void testLecturaParalela() throws IOException {
+        Path archivoTest = tempDir.resolve("test_paralelo.csv");
+        StringBuilder contenido = new StringBuilder("# Comentario\r\n");
+        for (int i = 1; i <= 500; i++) {
+            if (i % 50 == 0) {
+                contenido.append("LINEA_MALFORMATEADA,datos\r\n");
+            }
+            contenido.append("SERIE,").append(i).append(",Serie ").append(i).append(",30,Drama,2\r\n");
+        }
+        java.nio.file.Files.write(archivoTest, contenido.toString().getBytes(java.nio.charset.StandardCharsets.UTF_8));
+
+        List<ContenidoAudiovisual> secuencial = fileHandler.leerArchivo(archivoTest.toString());
+        List<ContenidoAudiovisual> paralelo = new ArrayList<>();
+        LectorCsvParalelo lector = new LectorCsvParalelo(
+                java.util.concurrent.ForkJoinPool.commonPool(), fileHandler::parsearLinea, 1024);
+        long cantidad = lector.leer(archivoTest, paralelo::add);
+
+        assertEquals(500, cantidad);
+        assertEquals(secuencial.size(), paralelo.size());
+        for (int i = 0; i < paralelo.size(); i++) {
+            assertEquals(i + 1, paralelo.get(i).getId());
+            assertEquals(secuencial.get(i).getTitulo(), paralelo.get(i).getTitulo());
+        }
+    }
+
+    @Test
+    @DisplayName("Test lectura conserva el ID del archivo")
+    void testLecturaConservaId() throws IOException {
+        Path archivoTest = tempDir.resolve("test_ids.csv");
+        java.nio.file.Files.write(archivoTest, "DOCUMENTAL,9000,Cosmos,45,Ciencia,Astronomía\n".getBytes(java.nio.charset.StandardCharsets.UTF_8));
+
+        List<ContenidoAudiovisual> contenidos = new FileHandlerService(true).leerArchivo(archivoTest.toString());
+
+        assertEquals(1, contenidos.size());
+        assertEquals(9000, contenidos.get(0).getId());
+        assertTrue(new Pelicula("Nueva", 90, "Drama", "Estudio").getId() > 9000);
+    }
+
+    @Test
+    @DisplayName("Test títulos con comas, comillas y saltos de línea")
+    void testCamposConCaracteresEspeciales() {
+        String rutaArchivo = tempDir.resolve("test_comillas.csv").toString();
+        List<ContenidoAudiovisual> especiales = List.of(
+            new Pelicula("Hola, \"mundo\"", 100, "Drama, Comedia", "Estudio"),
+            new VideoYouTube("Parte 1\nParte 2", 10, "Educativo", "Canal, Inc.", 5, 1, "2024-01-15", "720p"),
+            new Documental("Cosmos", 45, "Ciencia", "Astronomía")
+        );
+
+        fileHandler.escribirArchivo(rutaArchivo, especiales);
+
+        for (FileHandlerService lector : List.of(fileHandler, new FileHandlerService(true))) {
+            List<ContenidoAudiovisual> leidos = lector.leerArchivo(rutaArchivo);
+            assertEquals(3, leidos.size());
+            assertEquals("Hola, \"mundo\"", leidos.get(0).getTitulo());
+            assertEquals("Drama, Comedia", leidos.get(0).getGenero());
+            assertEquals("Parte 1\nParte 2", leidos.get(1).getTitulo());
+            assertEquals("Canal, Inc.", ((VideoYouTube) leidos.get(1)).getCanal());
+            assertEquals("Cosmos", leidos.get(2).getTitulo());
+        }
+    }
+
+    @Test
+    @DisplayName("Test una comilla suelta no se traga el resto del archivo")
+    void testComillaSuelta() throws IOException {
+        Path archivoTest = tempDir.resolve("test_comilla_suelta.csv");
+        StringBuilder contenido = new StringBuilder("PELICULA,1,\"Roto,100,Drama,Estudio\n");
+        for (int i = 2; i <= 600; i++) {
+            if (i == 50) {
+                contenido.append("PELICULA,50,\"Hola, mundo\",90,Drama,Estudio\n");
+            } else if (i == 300) {
+                // Sin ninguna comilla después: corta el límite de líneas de continuación
+                contenido.append("PELICULA,300,\"Otra rota,90,Drama,Estudio\n");
+            } else {
+                contenido.append("PELICULA,").append(i).append(",Pelicula ").append(i).append(",90,Drama,Estudio\n");
+            }
+        }
+        Files.write(archivoTest, contenido.toString().getBytes(java.nio.charset.StandardCharsets.UTF_8));
+
+        ErroresLectura secuencial = new ErroresLectura(10);
+        List<ContenidoAudiovisual> leidos = fileHandler.leerArchivo(archivoTest.toString(), secuencial);
+        ErroresLectura paralelo = new ErroresLectura(10);
+        List<ContenidoAudiovisual> leidosParalelo = new ArrayList<>();
+        new LectorCsvParalelo(java.util.concurrent.ForkJoinPool.commonPool(),
+                fileHandler::parsearLinea, 1024).leer(archivoTest, leidosParalelo::add, paralelo);
+
+        for (ErroresLectura errores : List.of(secuencial, paralelo)) {
+            assertEquals(2, errores.getCantidad());
+            assertError(errores, 0, 1, ErroresLectura.Codigo.COMILLAS_INVALIDAS, -1);
+            assertError(errores, 1, 300, ErroresLectura.Codigo.COMILLAS_INVALIDAS, -1);
+        }
+        for (List<ContenidoAudiovisual> contenidos : List.of(leidos, leidosParalelo)) {
+            assertEquals(598, contenidos.size());
+            assertEquals(2, contenidos.get(0).getId());
+            assertEquals("Hola, mundo", contenidos.get(48).getTitulo());
+            assertEquals(600, contenidos.get(597).getId());
+        }
+    }
+
+    @Test
+    @DisplayName("Test IDs repetidos se reportan y se conserva la primera fila")
+    void testIdsRepetidos() throws IOException {
+        Path archivoTest = tempDir.resolve("test_ids_repetidos.csv");
+        StringBuilder contenido = new StringBuilder();
+        for (int i = 1; i <= 400; i++) {
+            contenido.append("PELICULA,").append(i).append(",Pelicula ").append(i).append(",90,Drama,Estudio\n");
+        }
+        contenido.append("PELICULA,7,Repetida,90,Drama,Estudio\n");
+        contenido.append("SERIE,400,Otra repetida,30,Drama,2\n");
+        Files.write(archivoTest, contenido.toString().getBytes(java.nio.charset.StandardCharsets.UTF_8));
+
+        ErroresLectura secuencial = new ErroresLectura(10);
+        List<ContenidoAudiovisual> leidos = fileHandler.leerArchivo(archivoTest.toString(), secuencial);
+        ErroresLectura paralelo = new ErroresLectura(10);
+        List<ContenidoAudiovisual> leidosParalelo = new ArrayList<>();
+        new LectorCsvParalelo(java.util.concurrent.ForkJoinPool.commonPool(),
+                fileHandler::parsearLinea, 1024).leer(archivoTest, leidosParalelo::add, paralelo);
+
+        for (ErroresLectura errores : List.of(secuencial, paralelo)) {
+            assertEquals(2, errores.getCantidad(ErroresLectura.Codigo.ID_DUPLICADO));
+            assertError(errores, 0, 401, ErroresLectura.Codigo.ID_DUPLICADO, 1);
+            assertError(errores, 1, 402, ErroresLectura.Codigo.ID_DUPLICADO, 1);
+        }
+        for (List<ContenidoAudiovisual> contenidos : List.of(leidos, leidosParalelo)) {
+            assertEquals(400, contenidos.size());
+            assertEquals("Pelicula 7", contenidos.get(6).getTitulo());
+            assertTrue(contenidos.get(399) instanceof Pelicula);
+        }
+    }
+
+    @Test
+    @DisplayName("Test registros de varias líneas cortados entre bloques")
+    void testRegistrosEntreBloques() throws IOException {
+        String rutaArchivo = tempDir.resolve("test_entre_bloques.csv").toString();
+        List<ContenidoAudiovisual> escritos = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            escritos.add(new Documental("Parte " + i + "\nsigue,\"aquí\"\nfin", 45, "Ciencia", "Tema\n" + i));
+        }
+        fileHandler.escribirArchivo(rutaArchivo, escritos);
+
+        ErroresLectura errores = new ErroresLectura(10);
+        List<ContenidoAudiovisual> leidos = new ArrayList<>();
+        new LectorCsvParalelo(java.util.concurrent.ForkJoinPool.commonPool(),
+                fileHandler::parsearLinea, 256).leer(Path.of(rutaArchivo), leidos::add, errores);
+
+        assertTrue(errores.estaVacio(), errores.resumen());
+        assertEquals(300, leidos.size());
+        for (int i = 0; i < 300; i++) {
+            assertEquals(escritos.get(i).getTitulo(), leidos.get(i).getTitulo());
+            assertEquals("Tema\n" + i, ((Documental) leidos.get(i)).getTema());
+        }
+    }
+
+    @Test
+    @DisplayName("Test escritura fallida conserva el archivo anterior")
+    void testEscrituraAtomica() throws IOException {
+        String rutaArchivo = tempDir.resolve("atomico.csv").toString();
+        fileHandler.escribirArchivo(rutaArchivo, contenidosTest);
+        byte[] original = Files.readAllBytes(Path.of(rutaArchivo));
+
+        // Un elemento que falla al serializarse interrumpe la escritura a mitad del archivo
+        List<ContenidoAudiovisual> conError = new ArrayList<>(contenidosTest);
+        conError.add(new Pelicula("Rota", 90, "Drama", "Estudio") {
+            @Override
+            public String toCSV() {
+                throw new IllegalStateException("fallo simulado");
+            }
+        });
+
+        assertThrows(IllegalStateException.class, () -> {
+            fileHandler.escribirArchivo(rutaArchivo, conError);
+        });
+
+        assertArrayEquals(original, Files.readAllBytes(Path.of(rutaArchivo)));
+        assertFalse(Files.exists(Path.of(rutaArchivo + ".tmp")));
+        assertEquals(contenidosTest.size(), fileHandler.leerArchivo(rutaArchivo).size());
+    }
+
+    @Test
+    @DisplayName("Test errores de lectura con línea, código y campo")
+    void testErroresLectura() throws IOException {
+        Path archivoTest = tempDir.resolve("test_errores.csv");
+        Files.write(archivoTest, String.join("\n",
+                "# Comentario",
+                "PELICULA,1,Avatar,162,Ciencia Ficción,Estudio",
+                "SERIE,2,Lost,abc,Drama,6",
+                "PODCAST,3,Charla,30,Educativo,x",
+                "DOCUMENTAL,0,Cosmos,45,Ciencia,Astronomía",
+                "YOUTUBE,4,Video,10,Educativo",
+                "PELICULA,5,Sin estudio,90,Drama, ",
+                "DOCUMENTAL,6,Cosmos,-5,Ciencia,Astronomía",
+                "SERIE,7,Bien,30,Drama,2").getBytes(java.nio.charset.StandardCharsets.UTF_8));
+
+        for (FileHandlerService lector : List.of(fileHandler, new FileHandlerService(true))) {
+            ErroresLectura errores = new ErroresLectura(10);
+            List<ContenidoAudiovisual> contenidos = lector.leerArchivo(archivoTest.toString(), errores);
+
+            assertEquals(2, contenidos.size());
+            assertEquals(6, errores.getCantidad());
+            assertEquals(6, errores.getRegistrados());
+            assertError(errores, 0, 3, ErroresLectura.Codigo.NUMERO_INVALIDO, 3);
+            assertError(errores, 1, 4, ErroresLectura.Codigo.TIPO_DESCONOCIDO, 0);
+            assertError(errores, 2, 5, ErroresLectura.Codigo.ID_INVALIDO, 1);
+            assertError(errores, 3, 6, ErroresLectura.Codigo.CAMPOS_INSUFICIENTES, 5);
+            assertError(errores, 4, 7, ErroresLectura.Codigo.VALOR_INVALIDO, -1);
+            assertError(errores, 5, 8, ErroresLectura.Codigo.DURACION_INVALIDA, 3);
+            assertEquals("Tipo de contenido desconocido: PODCAST", errores.getMensaje(1));
+            assertTrue(errores.resumen().startsWith("6 líneas con errores"));
+        }
+    }
+
+    private static void assertError(ErroresLectura errores, int indice, int linea,
+                                    ErroresLectura.Codigo codigo, int campo) {
+        assertEquals(linea, errores.getLinea(indice));
+        assertEquals(codigo, errores.getCodigo(indice));
+        assertEquals(campo, errores.getCampo(indice));
+    }
+
+    @Test
+    @DisplayName("Test buffer de errores acotado con lectura paralela por bloques")
+    void testErroresAcotados() throws IOException {
+        Path archivoTest = tempDir.resolve("test_muchos_errores.csv");
+        StringBuilder contenido = new StringBuilder();
+        for (int i = 1; i <= 2000; i++) {
+            contenido.append(i % 2 == 0 ? "SERIE,x,Mala,30,Drama,2\n" : "SERIE," + i + ",Buena,30,Drama,2\n");
+        }
+        Files.write(archivoTest, contenido.toString().getBytes(java.nio.charset.StandardCharsets.UTF_8));
+
+        ErroresLectura errores = new ErroresLectura(5);
+        long cantidad = new LectorCsvParalelo(java.util.concurrent.ForkJoinPool.commonPool(),
+                fileHandler::parsearLinea, 1024).leer(archivoTest, c -> { }, errores);
+
+        assertEquals(1000, cantidad);
+        assertEquals(1000, errores.getCantidad());
+        assertEquals(1000, errores.getCantidad(ErroresLectura.Codigo.NUMERO_INVALIDO));
+        assertEquals(5, errores.getRegistrados());
+        assertEquals(10, errores.getLinea(4));
+        assertTrue(errores.resumen().endsWith("... y 995 más"));
+        assertThrows(IndexOutOfBoundsException.class, () -> errores.getLinea(5));
+    }
+
+    @Test
+    @DisplayName("Test errores de formato sin traza de pila")
+    void testErroresSinTraza() {
+        IllegalArgumentException tipo = assertThrows(IllegalArgumentException.class,
+                () -> fileHandler.parsearLinea("PODCAST,1,Charla,30,Educativo,x"));
+        NumberFormatException numero = assertThrows(NumberFormatException.class,
+                () -> fileHandler.parsearLinea("SERIE,1,Lost,abc,Drama,6"));
+
+        assertEquals(0, tipo.getStackTrace().length);
+        assertEquals(0, numero.getStackTrace().length);
+        assertEquals("For input string: \"abc\"", numero.getMessage());
+    }
+}
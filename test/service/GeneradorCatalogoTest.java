@@ -0,0 +1,120 @@
+package service;
+
+import model.*;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.stream.Collectors;
+
+import interfaces.IProgresoOperacion;
+
+/**
+ * Pruebas unitarias para GeneradorCatalogo
+ */
+public class GeneradorCatalogoTest {
+
+    @TempDir
+    Path tempDir;
+
+    private static List<String> comoCsv(List<ContenidoAudiovisual> contenidos) {
+        return contenidos.stream().map(ContenidoAudiovisual::toCSV).collect(Collectors.toList());
+    }
+
+    @Test
+    @DisplayName("Test misma semilla genera el mismo catálogo")
+    void testDeterminismo() {
+        List<String> primero = comoCsv(new GeneradorCatalogo(7).generar(500));
+        List<String> segundo = comoCsv(new GeneradorCatalogo(7).generar(500));
+        List<String> otraSemilla = comoCsv(new GeneradorCatalogo(8).generar(500));
+
+        assertEquals(primero, segundo);
+        assertNotEquals(primero, otraSemilla);
+    }
+
+    @Test
+    @DisplayName("Test el archivo escrito coincide con los contenidos generados")
+    void testArchivoIgualAGenerados() throws Exception {
+        GeneradorCatalogo generador = new GeneradorCatalogo(42).setIdInicial(100);
+        String ruta = tempDir.resolve("catalogo.csv").toString();
+
+        long bytes = generador.escribirArchivo(ruta, 5000);
+        List<ContenidoAudiovisual> leidos = new FileHandlerService().leerArchivo(ruta);
+
+        assertEquals(Files.size(Path.of(ruta)), bytes);
+        assertEquals(5000, leidos.size());
+        assertEquals(100, leidos.get(0).getId());
+        assertEquals(comoCsv(generador.generar(5000)), comoCsv(leidos));
+    }
+
+    @Test
+    @DisplayName("Test se generan los cinco tipos según la proporción")
+    void testProporcionTipos() {
+        Map<Class<?>, Integer> cantidades = new HashMap<>();
+        new GeneradorCatalogo(1).generar(10_000, contenido -> cantidades.merge(contenido.getClass(), 1, Integer::sum));
+
+        assertEquals(Set.of(Pelicula.class, SerieDeTV.class, Documental.class, VideoYouTube.class, Cortometraje.class),
+                cantidades.keySet());
+        cantidades.values().forEach(cantidad -> assertTrue(cantidad > 1500 && cantidad < 2500));
+
+        List<ContenidoAudiovisual> soloSeries = new GeneradorCatalogo(1).setProporcionTipos(0, 1, 0, 0, 0).generar(100);
+        assertTrue(soloSeries.stream().allMatch(contenido -> contenido instanceof SerieDeTV));
+        assertThrows(IllegalArgumentException.class, () -> new GeneradorCatalogo(1).setProporcionTipos(0, 0, 0, 0, 0));
+    }
+
+    @Test
+    @DisplayName("Test géneros sesgados con Zipf y uniformes con exponente 0")
+    void testDistribucionGeneros() {
+        Map<String, Integer> sesgados = contarGeneros(new GeneradorCatalogo(3).setExponenteGeneros(1.5));
+        Map<String, Integer> uniformes = contarGeneros(new GeneradorCatalogo(3).setExponenteGeneros(0));
+
+        // El género más frecuente concentra buena parte del catálogo solo con Zipf
+        assertTrue(sesgados.values().stream().mapToInt(Integer::intValue).max().getAsInt() > 3000);
+        assertTrue(uniformes.values().stream().mapToInt(Integer::intValue).max().getAsInt() < 1000);
+    }
+
+    private static Map<String, Integer> contarGeneros(GeneradorCatalogo generador) {
+        Map<String, Integer> cantidades = new HashMap<>();
+        generador.generar(10_000, contenido -> cantidades.merge(contenido.getGenero(), 1, Integer::sum));
+        return cantidades;
+    }
+
+    @Test
+    @DisplayName("Test títulos únicos y vocabulario configurable")
+    void testTitulos() {
+        List<ContenidoAudiovisual> repetidos = new GeneradorCatalogo(5).setTitulos(3, 1.0).generar(1000);
+        List<ContenidoAudiovisual> unicos = new GeneradorCatalogo(5).setTitulos(3, 1.0).setTitulosUnicos(true).generar(1000);
+
+        assertTrue(repetidos.stream().map(ContenidoAudiovisual::getTitulo).distinct().count() < 100);
+        Set<String> titulos = new HashSet<>();
+        unicos.forEach(contenido -> titulos.add(contenido.getTitulo()));
+        assertEquals(1000, titulos.size());
+    }
+
+    @Test
+    @DisplayName("Test cancelar la escritura del archivo")
+    void testCancelarEscritura() {
+        IProgresoOperacion cancelada = new IProgresoOperacion() {
+            @Override
+            public void avance(long procesados) {
+            }
+
+            @Override
+            public boolean estaCancelada() {
+                return true;
+            }
+        };
+        String ruta = tempDir.resolve("cancelado.csv").toString();
+
+        assertThrows(CancellationException.class, () -> new GeneradorCatalogo(1).escribirArchivo(ruta, 100_000, cancelada));
+    }
+}
@@ -0,0 +1,73 @@
+package service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Pruebas unitarias para IndiceDuraciones
+ */
+public class IndiceDuracionesTest {
+
+    private IndiceDuraciones indice;
+
+    @BeforeEach
+    void setUp() {
+        indice = new IndiceDuraciones();
+        indice.agregar(1, 162);
+        indice.agregar(2, 60);
+        indice.agregar(3, 45);
+        indice.agregar(4, 60);
+        indice.agregar(5, 100000);
+    }
+
+    private List<Integer> rango(int minimo, int maximo) {
+        List<Integer> ids = new ArrayList<>();
+        indice.buscarRango(minimo, maximo, ids::add);
+        return ids;
+    }
+
+    @Test
+    @DisplayName("Test rango ordenado por duración")
+    void testRangoOrdenado() {
+        assertEquals(List.of(3, 2, 4), rango(45, 60));
+        assertEquals(List.of(2, 4, 1), rango(50, 200));
+        assertEquals(List.of(3, 2, 4, 1, 5), rango(0, Integer.MAX_VALUE));
+        assertEquals(List.of(5), rango(70000, 200000));
+        assertTrue(rango(61, 161).isEmpty());
+        assertTrue(rango(100, 50).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Test rango desde un cursor de duración e ID")
+    void testRangoDesdeCursor() {
+        List<Integer> ids = new ArrayList<>();
+        indice.buscarRangoDesde(0, Integer.MAX_VALUE, 60, 2, ids::add);
+        assertEquals(List.of(4, 1, 5), ids);
+
+        // El cursor anterior al mínimo no adelanta el rango
+        List<Integer> desdeMinimo = new ArrayList<>();
+        indice.buscarRangoDesde(50, 200, 45, 3, desdeMinimo::add);
+        assertEquals(List.of(2, 4, 1), desdeMinimo);
+
+        List<Integer> pagina = new ArrayList<>();
+        indice.buscarRangoDesde(0, Integer.MAX_VALUE, 45, 3, id -> pagina.add(id) && pagina.size() < 2);
+        assertEquals(List.of(2, 4), pagina);
+    }
+
+    @Test
+    @DisplayName("Test cambio de duración y eliminación")
+    void testActualizarYEliminar() {
+        indice.agregar(1, 30);
+        indice.eliminar(2);
+        indice.agregar(5, 61);
+
+        List<Integer> ordenados = new ArrayList<>();
+        indice.recorrerOrdenado(ordenados::add);
+        assertEquals(List.of(1, 3, 4, 5), ordenados);
+    }
+}
@@ -0,0 +1,74 @@
+package service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Pruebas unitarias para IndiceGeneros
+ */
+public class IndiceGenerosTest {
+
+    private IndiceGeneros indice;
+
+    @BeforeEach
+    void setUp() {
+        indice = new IndiceGeneros();
+        indice.agregar(1, "Ciencia Ficción");
+        indice.agregar(2, "Ciencia");
+        indice.agregar(3, "Drama");
+        indice.agregar(4, "Docudrama");
+        indice.agregar(5, "ciencia");
+    }
+
+    @Test
+    @DisplayName("Test búsqueda exacta, por prefijo y por subcadena")
+    void testBusquedas() {
+        Set<Integer> exacto = new TreeSet<>();
+        indice.buscarExacto("CIENCIA", exacto::add);
+        assertEquals(Set.of(2, 5), exacto);
+
+        Set<Integer> prefijo = new TreeSet<>();
+        indice.buscarPorPrefijo("cien", prefijo::add);
+        assertEquals(Set.of(1, 2, 5), prefijo);
+
+        Set<Integer> subcadena = new TreeSet<>();
+        indice.buscarPorSubcadena("drama", subcadena::add);
+        assertEquals(Set.of(3, 4), subcadena);
+    }
+
+    @Test
+    @DisplayName("Test subcadena en orden de ID desde un cursor")
+    void testSubcadenaDesdeCursor() {
+        indice.agregar(6, "Drama");
+        List<Integer> ids = new ArrayList<>();
+        indice.buscarPorSubcadenaDesde("a", 1, ids::add);
+        assertEquals(List.of(2, 3, 4, 5, 6), ids);
+
+        // Se detiene cuando el consumidor lo pide
+        List<Integer> pagina = new ArrayList<>();
+        indice.buscarPorSubcadenaDesde("drama", 3, id -> pagina.add(id) && pagina.size() < 1);
+        assertEquals(List.of(4), pagina);
+    }
+
+    @Test
+    @DisplayName("Test cambio de género y eliminación")
+    void testActualizarYEliminar() {
+        indice.agregar(3, "Comedia");
+        indice.eliminar(4);
+
+        Set<Integer> drama = new TreeSet<>();
+        indice.buscarPorSubcadena("drama", drama::add);
+        assertTrue(drama.isEmpty());
+
+        Set<Integer> comedia = new TreeSet<>();
+        indice.buscarExacto("comedia", comedia::add);
+        assertEquals(Set.of(3), comedia);
+    }
+}
@@ -0,0 +1,106 @@
+package service;
+
+import model.*;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.text.Collator;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Pruebas unitarias para IndiceOrdenTitulo
+ */
+public class IndiceOrdenTituloTest {
+
+    private IndiceOrdenTitulo indice;
+
+    @BeforeEach
+    void setUp() {
+        indice = new IndiceOrdenTitulo();
+    }
+
+    private List<Integer> pagina(int desplazamiento, int limite) {
+        List<Integer> ids = new ArrayList<>();
+        indice.recorrer(desplazamiento, limite, ids::add);
+        return ids;
+    }
+
+    @Test
+    @DisplayName("Test orden con reglas del español y paginado")
+    void testOrdenYPaginado() {
+        List<ContenidoAudiovisual> contenidos = List.of(
+            new Pelicula(1, "Zorro", 90, "Acción", "Estudio"),
+            new Pelicula(2, "Ñandú", 90, "Acción", "Estudio"),
+            new Pelicula(3, "árbol", 90, "Acción", "Estudio"),
+            new Pelicula(4, "Nube", 90, "Acción", "Estudio"),
+            new Pelicula(5, "Abeja", 90, "Acción", "Estudio"));
+        indice.construir(contenidos);
+
+        // La Ñ va después de la N y los acentos no cambian la letra
+        assertEquals(List.of(5, 3, 4, 2, 1), pagina(0, 10));
+        assertEquals(List.of(4, 2), pagina(2, 2));
+        assertTrue(pagina(5, 3).isEmpty());
+        assertEquals(5, indice.tamano());
+    }
+
+    @Test
+    @DisplayName("Test clave de orden")
+    void testClaveOrden() {
+        assertEquals("arbol", IndiceOrdenTitulo.claveOrden("Árbol"));
+        assertEquals("strasse", IndiceOrdenTitulo.claveOrden("Straße"));
+        assertTrue(IndiceOrdenTitulo.claveOrden("Nz").compareTo(IndiceOrdenTitulo.claveOrden("ña")) < 0);
+        assertTrue(IndiceOrdenTitulo.claveOrden("ña").compareTo(IndiceOrdenTitulo.claveOrden("o")) < 0);
+        String normalizado = "titulo ya normalizado";
+        assertSame(normalizado, IndiceOrdenTitulo.claveOrden(normalizado));
+    }
+
+    @Test
+    @DisplayName("Test sin construir no indexa")
+    void testSinConstruir() {
+        indice.agregar(1, "Avatar");
+        assertFalse(indice.estaConstruido());
+        assertTrue(pagina(0, 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Test cambios incrementales iguales a ordenar todo")
+    void testEquivalenteAOrdenarTodo() {
+        // A nivel primario la colación del español ignora acentos y mayúsculas
+        Collator collator = Collator.getInstance(Locale.forLanguageTag("es"));
+        collator.setStrength(Collator.PRIMARY);
+        Random random = new Random(7);
+        String[] palabras = {"casa", "Casa", "cása", "perro", "Ñu", "nube", "árbol", "zeta", "Alba"};
+        Map<Integer, String> titulos = new HashMap<>();
+        indice.construir(List.of());
+
+        for (int paso = 0; paso < 3000; paso++) {
+            int id = 1 + random.nextInt(200);
+            if (random.nextInt(3) == 0) {
+                titulos.remove(id);
+                indice.eliminar(id);
+            } else {
+                String titulo = palabras[random.nextInt(palabras.length)] + " " + random.nextInt(20);
+                titulos.put(id, titulo);
+                indice.agregar(id, titulo);
+            }
+
+            if (paso % 100 == 0) {
+                List<Integer> esperado = new ArrayList<>(titulos.keySet());
+                esperado.sort(Comparator.<Integer, String>comparing(titulos::get, collator)
+                        .thenComparing(titulos::get)
+                        .thenComparing(Comparator.naturalOrder()));
+                assertEquals(esperado, pagina(0, Integer.MAX_VALUE));
+                int desde = esperado.isEmpty() ? 0 : random.nextInt(esperado.size());
+                assertEquals(esperado.subList(desde, Math.min(esperado.size(), desde + 7)), pagina(desde, 7));
+            }
+        }
+    }
+}
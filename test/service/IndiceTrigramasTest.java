@@ -0,0 +1,149 @@
+package service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Pruebas unitarias para IndiceTrigramas
+ */
+public class IndiceTrigramasTest {
+
+    private IndiceTrigramas indice;
+
+    @BeforeEach
+    void setUp() {
+        indice = new IndiceTrigramas();
+    }
+
+    private Set<Integer> buscar(String texto) {
+        Set<Integer> ids = new TreeSet<>();
+        indice.buscar(texto, ids::add);
+        return ids;
+    }
+
+    @Test
+    @DisplayName("Test búsqueda de subcadenas sin distinguir mayúsculas")
+    void testBusquedaSubcadena() {
+        indice.agregar(1, "Avatar");
+        indice.agregar(2, "El Señor de los Anillos");
+        indice.agregar(3, "Avatar: El Camino del Agua");
+
+        assertEquals(Set.of(1, 3), buscar("avatar"));
+        assertEquals(Set.of(2), buscar("SEÑOR"));
+        assertEquals(Set.of(2, 3), buscar("el"));
+        assertEquals(Set.of(1, 2, 3), buscar("a"));
+        assertEquals(Set.of(1, 2, 3), buscar(""));
+        assertTrue(buscar("matrix").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Test actualizar y eliminar mantienen el índice")
+    void testActualizarYEliminar() {
+        indice.agregar(1, "Avatar");
+        indice.agregar(2, "Cosmos");
+
+        indice.agregar(1, "Titanic");
+        assertTrue(buscar("avatar").isEmpty());
+        assertEquals(Set.of(1), buscar("tita"));
+
+        indice.eliminar(2);
+        assertTrue(buscar("cosmos").isEmpty());
+        assertTrue(buscar("os").isEmpty());
+
+        // Eliminar un ID inexistente no falla
+        indice.eliminar(99);
+    }
+
+    @Test
+    @DisplayName("Test claves de unigramas y bigramas distintas de los trigramas")
+    void testGramasCortos() {
+        long[] gramas = IndiceTrigramas.gramasDistintos("abab");
+        // a, b, ab, ba, aba, bab
+        assertEquals(6, gramas.length);
+        assertTrue(Arrays.binarySearch(gramas, IndiceTrigramas.gramaCorto("a")) >= 0);
+        assertTrue(Arrays.binarySearch(gramas, IndiceTrigramas.gramaCorto("ba")) >= 0);
+        for (long trigrama : IndiceTrigramas.trigramasDistintos("abab")) {
+            assertTrue(Arrays.binarySearch(gramas, trigrama) >= 0);
+        }
+        assertNotEquals(IndiceTrigramas.gramaCorto("a"), IndiceTrigramas.gramaCorto("\0a"));
+        assertEquals(1, IndiceTrigramas.gramasDistintos("x").length);
+        assertEquals(0, IndiceTrigramas.gramasDistintos("").length);
+
+        indice.agregar(1, "Abab");
+        indice.agregar(1, "Cosmos");
+        assertTrue(buscar("ab").isEmpty());
+        assertEquals(Set.of(1), buscar("Os"));
+    }
+
+    @Test
+    @DisplayName("Test búsqueda en orden de ID desde un cursor")
+    void testBuscarDesdeCursor() {
+        for (int id = 1; id <= 10; id++) {
+            indice.agregar(id, id % 2 == 0 ? "Avatar " + id : "Cosmos " + id);
+        }
+        List<Integer> largos = new ArrayList<>();
+        indice.buscarDesde("AVAT", 4, largos::add);
+        assertEquals(List.of(6, 8, 10), largos);
+
+        List<Integer> cortos = new ArrayList<>();
+        indice.buscarDesde("os", 3, id -> cortos.add(id) && cortos.size() < 2);
+        assertEquals(List.of(5, 7), cortos);
+
+        List<Integer> vacios = new ArrayList<>();
+        indice.buscarDesde("", 0, vacios::add);
+        assertTrue(vacios.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Test resultados iguales a la búsqueda secuencial")
+    void testEquivalenteABusquedaSecuencial() {
+        Random random = new Random(42);
+        String alfabeto = "abcde ";
+        Map<Integer, String> titulos = new HashMap<>();
+
+        for (int paso = 0; paso < 5000; paso++) {
+            int id = random.nextInt(300);
+            if (random.nextInt(4) == 0) {
+                titulos.remove(id);
+                indice.eliminar(id);
+            } else {
+                StringBuilder titulo = new StringBuilder();
+                int longitud = 1 + random.nextInt(10);
+                for (int i = 0; i < longitud; i++) {
+                    char c = alfabeto.charAt(random.nextInt(alfabeto.length()));
+                    titulo.append(random.nextBoolean() ? Character.toUpperCase(c) : c);
+                }
+                titulos.put(id, titulo.toString());
+                indice.agregar(id, titulo.toString());
+            }
+        }
+
+        for (int consulta = 0; consulta < 500; consulta++) {
+            StringBuilder texto = new StringBuilder();
+            int longitud = 1 + random.nextInt(4);
+            for (int i = 0; i < longitud; i++) {
+                texto.append(alfabeto.charAt(random.nextInt(alfabeto.length())));
+            }
+            String busqueda = texto.toString();
+
+            Set<Integer> esperados = new TreeSet<>();
+            titulos.forEach((id, titulo) -> {
+                if (titulo.toLowerCase().contains(busqueda)) {
+                    esperados.add(id);
+                }
+            });
+            assertEquals(esperados, buscar(busqueda), "Consulta: '" + busqueda + "'");
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package service;
+
+import model.*;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeMap;
+
+/**
+ * Pruebas unitarias para MapaPersistente
+ */
+public class MapaPersistenteTest {
+
+    private static Pelicula pelicula(int id) {
+        return new Pelicula(id, "Pelicula " + id, 90, "Drama", "Estudio");
+    }
+
+    @Test
+    @DisplayName("Test las versiones anteriores no cambian")
+    void testVersionesInmutables() {
+        MapaPersistente v1 = MapaPersistente.VACIO.con(pelicula(1)).con(pelicula(2));
+        List<ContenidoAudiovisual> instantanea = v1.valores();
+
+        Pelicula reemplazo = pelicula(2);
+        MapaPersistente v2 = v1.con(pelicula(3)).sin(1).con(reemplazo);
+
+        assertEquals(2, v1.tamano());
+        assertEquals(List.of(1, 2), ids(instantanea));
+        assertNotSame(reemplazo, v1.obtener(2));
+        assertEquals(List.of(2, 3), ids(v2.valores()));
+        assertSame(reemplazo, v2.obtener(2));
+        assertNull(v2.obtener(1));
+        assertSame(v2, v2.sin(99));
+        assertThrows(UnsupportedOperationException.class, () -> instantanea.add(pelicula(4)));
+    }
+
+    @Test
+    @DisplayName("Test operaciones aleatorias contra un TreeMap")
+    void testContraReferencia() {
+        Random random = new Random(42);
+        TreeMap<Integer, ContenidoAudiovisual> referencia = new TreeMap<>();
+        MapaPersistente mapa = MapaPersistente.VACIO;
+
+        for (int i = 0; i < 20000; i++) {
+            // IDs chicos y algunos muy grandes para que el árbol crezca en altura
+            int id = random.nextInt(10) == 0 ? random.nextInt(Integer.MAX_VALUE) + 1 : random.nextInt(3000) + 1;
+            if (random.nextInt(3) == 0) {
+                referencia.remove(id);
+                mapa = mapa.sin(id);
+            } else {
+                Pelicula pelicula = pelicula(id);
+                referencia.put(id, pelicula);
+                mapa = mapa.con(pelicula);
+            }
+        }
+
+        assertEquals(referencia.size(), mapa.tamano());
+        assertEquals(new ArrayList<>(referencia.values()), mapa.valores());
+        List<ContenidoAudiovisual> valores = mapa.valores();
+        List<ContenidoAudiovisual> esperados = new ArrayList<>(referencia.values());
+        for (int i = 0; i < esperados.size(); i += 37) {
+            assertSame(esperados.get(i), valores.get(i));
+        }
+        for (int id : referencia.keySet()) {
+            assertSame(referencia.get(id), mapa.obtener(id));
+        }
+    }
+
+    @Test
+    @DisplayName("Test el constructor arma el mismo mapa que las altas sucesivas")
+    void testConstructor() {
+        Random random = new Random(7);
+        MapaPersistente.Constructor constructor = new MapaPersistente.Constructor();
+        MapaPersistente esperado = MapaPersistente.VACIO;
+        for (int i = 0; i < 5000; i++) {
+            int id = random.nextInt(4) == 0 ? random.nextInt(Integer.MAX_VALUE) + 1 : random.nextInt(2000) + 1;
+            Pelicula pelicula = pelicula(id);
+            constructor.agregar(pelicula);
+            esperado = esperado.con(pelicula);
+        }
+
+        MapaPersistente construido = constructor.construir();
+        assertEquals(esperado.tamano(), construido.tamano());
+        assertEquals(esperado.valores(), construido.valores());
+        for (ContenidoAudiovisual contenido : esperado.valores()) {
+            assertSame(contenido, construido.obtener(contenido.getId()));
+        }
+        // El mapa construido admite cambios como cualquier otro
+        assertEquals(esperado.sin(1).con(pelicula(2001)).valores(),
+                construido.sin(1).con(pelicula(2001)).valores());
+    }
+
+    @Test
+    @DisplayName("Test agregar un lote equivale a las altas sucesivas")
+    void testConTodos() {
+        MapaPersistente base = MapaPersistente.VACIO;
+        for (int i = 1; i <= 1000; i++) {
+            base = base.con(pelicula(i * 3));
+        }
+        // Un lote chico recorre el camino de con(); uno grande reconstruye el mapa
+        for (int tamano : new int[] {10, 5000}) {
+            List<ContenidoAudiovisual> lote = new ArrayList<>();
+            MapaPersistente esperado = base;
+            for (int i = 0; i < tamano; i++) {
+                Pelicula pelicula = pelicula(i * 2 + 1);
+                lote.add(pelicula);
+                esperado = esperado.con(pelicula);
+            }
+            // Un ID repetido en el lote: queda el último
+            Pelicula repetida = pelicula(1);
+            lote.add(repetida);
+            esperado = esperado.con(repetida);
+
+            MapaPersistente resultado = base.conTodos(lote);
+            assertEquals(esperado.tamano(), resultado.tamano());
+            assertEquals(esperado.valores(), resultado.valores());
+            assertSame(repetida, resultado.obtener(1));
+            assertEquals(1000, base.tamano());
+        }
+    }
+
+    @Test
+    @DisplayName("Test recorrer desde un ID")
+    void testRecorrerDesde() {
+        MapaPersistente mapa = MapaPersistente.VACIO;
+        List<Integer> todos = new ArrayList<>();
+        for (int id = 3; id < 5000; id += 7) {
+            mapa = mapa.con(pelicula(id));
+            todos.add(id);
+        }
+        mapa = mapa.con(pelicula(1 << 30));
+        todos.add(1 << 30);
+
+        for (int desde : new int[] {0, 1, 3, 4, 100, 1023, 1024, 4999, 5000, 1 << 30, (1 << 30) + 1}) {
+            List<Integer> esperados = new ArrayList<>();
+            todos.stream().filter(id -> id >= desde).forEach(esperados::add);
+            List<Integer> recorridos = new ArrayList<>();
+            mapa.recorrerDesde(desde).forEachRemaining(c -> recorridos.add(c.getId()));
+            assertEquals(esperados, recorridos, "desde " + desde);
+        }
+        assertFalse(MapaPersistente.VACIO.recorrerDesde(5).hasNext());
+    }
+
+    @Test
+    @DisplayName("Test mapa vacío")
+    void testVacio() {
+        MapaPersistente mapa = MapaPersistente.VACIO.con(pelicula(5)).sin(5);
+        assertEquals(0, mapa.tamano());
+        assertTrue(mapa.valores().isEmpty());
+        assertNull(mapa.obtener(5));
+        assertThrows(IndexOutOfBoundsException.class, () -> MapaPersistente.VACIO.valores().get(0));
+        assertSame(MapaPersistente.VACIO, new MapaPersistente.Constructor().construir());
+    }
+
+    private static List<Integer> ids(List<ContenidoAudiovisual> contenidos) {
+        List<Integer> ids = new ArrayList<>();
+        contenidos.forEach(c -> ids.add(c.getId()));
+        return ids;
+    }
+}
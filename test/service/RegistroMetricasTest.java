@@ -0,0 +1,135 @@
+package service;
+
+import model.*;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import interfaces.IContenidoService;
+
+/**
+ * Pruebas unitarias para RegistroMetricas, HistogramaLatencias y los decoradores medidos
+ */
+public class RegistroMetricasTest {
+
+    private RegistroMetricas registro;
+
+    @TempDir
+    Path tempDir;
+
+    @BeforeEach
+    void setUp() {
+        registro = new RegistroMetricas();
+    }
+
+    @Test
+    @DisplayName("Test percentiles del histograma con error relativo acotado")
+    void testPercentiles() {
+        HistogramaLatencias histograma = new HistogramaLatencias();
+        for (long valor = 1; valor <= 10_000; valor++) {
+            histograma.registrar(valor * 1000);
+        }
+
+        assertEquals(10_000, histograma.getCantidad());
+        assertEquals(10_000_000, histograma.getMaximoNanos());
+        assertEquals(5_000_500, histograma.getPromedioNanos(), 1);
+        assertEquals(5_000_000, histograma.percentil(50), 5_000_000 * 0.0625);
+        assertEquals(9_900_000, histograma.percentil(99), 9_900_000 * 0.0625);
+        assertEquals(10_000_000, histograma.percentil(100));
+        assertThrows(IllegalArgumentException.class, () -> histograma.percentil(101));
+
+        histograma.reiniciar();
+        assertEquals(0, histograma.getCantidad());
+        assertEquals(0, histograma.percentil(99));
+    }
+
+    @Test
+    @DisplayName("Test cubetas del histograma cubren todo el rango de long")
+    void testCubetas() {
+        for (long valor : new long[] {0, 1, 15, 16, 17, 31, 32, 1000, 123_456_789, Long.MAX_VALUE}) {
+            int indice = HistogramaLatencias.indice(valor);
+            assertTrue(HistogramaLatencias.limiteSuperior(indice) >= valor);
+            assertTrue(HistogramaLatencias.limiteSuperior(indice) - valor <= Math.max(1, valor / 16));
+        }
+        assertEquals(Long.MAX_VALUE, HistogramaLatencias.limiteSuperior(HistogramaLatencias.indice(Long.MAX_VALUE)));
+    }
+
+    @Test
+    @DisplayName("Test operación medida cuenta duración y errores")
+    void testOperacion() {
+        RegistroMetricas.Operacion operacion = registro.operacion("prueba");
+
+        assertEquals("ok", operacion.medir(() -> "ok"));
+        assertThrows(IllegalStateException.class, () -> operacion.ejecutar(() -> {
+            throw new IllegalStateException("falla");
+        }));
+
+        assertEquals(2, registro.latencia("prueba").getCantidad());
+        assertEquals(1, registro.valor("errores.prueba"));
+        assertEquals(0, registro.valor("inexistente"));
+    }
+
+    @Test
+    @DisplayName("Test registro deshabilitado no mide")
+    void testDeshabilitado() {
+        RegistroMetricas.Operacion operacion = registro.operacion("prueba");
+        registro.setHabilitado(false);
+
+        assertEquals(3, operacion.medir(() -> 3));
+        assertEquals(0, registro.latencia("prueba").getCantidad());
+
+        registro.setHabilitado(true);
+        operacion.ejecutar(() -> { });
+        assertEquals(1, registro.latencia("prueba").getCantidad());
+    }
+
+    @Test
+    @DisplayName("Test decoradores miden servicio, repositorio y archivo")
+    void testDecoradores() throws Exception {
+        String ruta = tempDir.resolve("datos.csv").toString();
+        new GeneradorCatalogo(1).escribirArchivo(ruta, 100);
+        ContenidoRepositoryMedido repository = new ContenidoRepositoryMedido(
+                new ContenidoRepository(new FileHandlerMedido<>(new FileHandlerService(), registro)), registro);
+        IContenidoService service = new ContenidoServiceMedido(new ContenidoService(repository, ruta), registro);
+
+        service.cargarDatos();
+        service.agregarContenido(new Pelicula("Medida", 90, "Drama", "Estudio"));
+        List<ContenidoAudiovisual> encontrados = service.buscarPorTitulo("medida");
+        assertThrows(IllegalArgumentException.class, () -> service.eliminarContenido(-1));
+
+        assertEquals(1, encontrados.size());
+        assertEquals(1, registro.latencia("servicio.cargarDatos").getCantidad());
+        assertEquals(1, registro.latencia("servicio.buscarPorTitulo").getCantidad());
+        assertEquals(1, registro.latencia("repositorio.buscarPorTitulo").getCantidad());
+        assertEquals(1, registro.valor("errores.servicio.eliminarContenido"));
+        assertEquals(100, registro.valor("archivo.leer.filas"));
+        assertEquals(Files.size(Path.of(ruta)), registro.valor("archivo.leer.bytes"));
+        assertTrue(registro.tasaPorSegundo("archivo.leer.filas") > 0);
+
+        service.guardarDatos();
+        assertEquals(101, registro.valor("archivo.escribir.filas"));
+        assertEquals(Files.size(Path.of(ruta)), registro.valor("archivo.escribir.bytes"));
+    }
+
+    @Test
+    @DisplayName("Test volcar las métricas en un archivo")
+    void testVolcarEnArchivo() throws Exception {
+        registro.operacion("archivo.leer").ejecutar(() -> { });
+        registro.contador("archivo.leer.filas").add(500);
+        Path archivo = tempDir.resolve("metricas.txt");
+
+        registro.volcarEnArchivo(archivo.toString());
+
+        String texto = new String(Files.readAllBytes(archivo), StandardCharsets.UTF_8);
+        assertTrue(texto.contains("archivo.leer: n=1"));
+        assertTrue(texto.contains("archivo.leer.filas: 500 ("));
+        assertFalse(texto.contains("errores"));
+    }
+}
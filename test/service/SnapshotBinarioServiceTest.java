@@ -0,0 +1,129 @@
+package service;
+
+import model.*;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.ArrayList;
+
+/**
+ * Pruebas unitarias para SnapshotBinarioService
+ */
+public class SnapshotBinarioServiceTest {
+
+    private SnapshotBinarioService snapshotHandler;
+    private List<ContenidoAudiovisual> contenidosTest;
+
+    @TempDir
+    Path tempDir;
+
+    @BeforeEach
+    void setUp() {
+        snapshotHandler = new SnapshotBinarioService();
+        contenidosTest = new ArrayList<>();
+        contenidosTest.add(new Pelicula("Avatar, el camino", 162, "Ciencia Ficción", "20th Century Studios"));
+        contenidosTest.add(new SerieDeTV("Game of Thrones", 60, "Fantasía", 8));
+        contenidosTest.add(new Documental("Cosmos", 45, "Ciencia", "Astronomía"));
+        contenidosTest.add(new VideoYouTube("Tutorial Java", 25, "Educativo", "CodeAcademy", 150000, 1200, "2024-01-15", "4K"));
+        contenidosTest.add(new Cortometraje("El Último Día", 15, "Drama", "María García", "Festival de Cannes", true, "Analógico", 75000));
+    }
+
+    @Test
+    @DisplayName("Test validación de formato de instantánea")
+    void testValidarFormato() {
+        assertTrue(snapshotHandler.validarFormato("contenidos.bin"));
+        assertFalse(snapshotHandler.validarFormato("contenidos.csv"));
+        assertFalse(snapshotHandler.validarFormato(null));
+    }
+
+    @Test
+    @DisplayName("Test escritura y lectura de instantánea")
+    void testEscrituraYLectura() {
+        String ruta = tempDir.resolve("contenidos.bin").toString();
+
+        snapshotHandler.escribirArchivo(ruta, contenidosTest);
+        List<ContenidoAudiovisual> leidos = snapshotHandler.leerArchivo(ruta);
+
+        assertEquals(contenidosTest.size(), leidos.size());
+        for (int i = 0; i < leidos.size(); i++) {
+            assertEquals(contenidosTest.get(i).getClass(), leidos.get(i).getClass());
+            assertEquals(contenidosTest.get(i).getId(), leidos.get(i).getId());
+            assertEquals(contenidosTest.get(i).toCSV(), leidos.get(i).toCSV());
+        }
+    }
+
+    @Test
+    @DisplayName("Test instantánea truncada")
+    void testInstantaneaTruncada() throws IOException {
+        Path ruta = tempDir.resolve("truncada.bin");
+        snapshotHandler.escribirArchivo(ruta.toString(), contenidosTest);
+        byte[] bytes = Files.readAllBytes(ruta);
+        Files.write(ruta, java.util.Arrays.copyOf(bytes, bytes.length - 3));
+
+        assertThrows(RuntimeException.class, () -> snapshotHandler.leerArchivo(ruta.toString()));
+    }
+
+    @Test
+    @DisplayName("Test archivo que no es instantánea")
+    void testArchivoNoInstantanea() throws IOException {
+        Path ruta = tempDir.resolve("otro.bin");
+        Files.write(ruta, "PELICULA,1,Avatar".getBytes());
+
+        assertThrows(RuntimeException.class, () -> snapshotHandler.leerArchivo(ruta.toString()));
+    }
+
+    @Test
+    @DisplayName("Test repositorio prefiere la instantánea más reciente")
+    void testRepositorioPrefiereInstantanea() throws IOException {
+        String rutaCsv = tempDir.resolve("contenidos.csv").toString();
+        ContenidoRepository repositorio = new ContenidoRepository(new FileHandlerService(), snapshotHandler);
+        contenidosTest.forEach(repositorio::guardar);
+
+        repositorio.guardarEnArchivo(rutaCsv);
+        assertTrue(Files.exists(tempDir.resolve("contenidos.bin")));
+
+        // Si la instantánea está dañada se carga el CSV
+        Files.write(tempDir.resolve("contenidos.bin"), new byte[]{1, 2, 3});
+        ContenidoRepository otro = new ContenidoRepository(new FileHandlerService(), snapshotHandler);
+        otro.cargarDesdeArchivo(rutaCsv);
+        assertEquals(contenidosTest.size(), otro.getCantidadTotal());
+
+        // Si la instantánea es más reciente se usa en lugar del CSV
+        snapshotHandler.escribirArchivo(tempDir.resolve("contenidos.bin").toString(), contenidosTest.subList(0, 2));
+        tempDir.resolve("contenidos.csv").toFile().setLastModified(System.currentTimeMillis() - 60_000);
+        otro.cargarDesdeArchivo(rutaCsv);
+        assertEquals(2, otro.getCantidadTotal());
+    }
+
+    @Test
+    @DisplayName("Test longitud de texto dañada en la instantánea")
+    void testLongitudTextoDanada() throws IOException {
+        String rutaCsv = tempDir.resolve("contenidos.csv").toString();
+        ContenidoRepository repositorio = new ContenidoRepository(new FileHandlerService(), snapshotHandler);
+        contenidosTest.forEach(repositorio::guardar);
+        repositorio.guardarEnArchivo(rutaCsv);
+
+        // Cabecera válida y una película cuyo título declara casi 2 GB
+        Path rutaBin = tempDir.resolve("contenidos.bin");
+        Files.write(rutaBin, new byte[]{'C', 'A', 'V', 'S', 1, 1, 1,
+                (byte) 0xFE, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x07, 'A', 'v'});
+        tempDir.resolve("contenidos.csv").toFile().setLastModified(System.currentTimeMillis() - 60_000);
+
+        RuntimeException error = assertThrows(RuntimeException.class,
+                () -> snapshotHandler.leerArchivo(rutaBin.toString()));
+        assertTrue(error.getCause() instanceof IOException);
+        assertTrue(error.getCause().getMessage().contains("Longitud de texto inválida"));
+
+        // La carga descarta la instantánea y recurre al CSV
+        ContenidoRepository otro = new ContenidoRepository(new FileHandlerService(), snapshotHandler);
+        otro.cargarDesdeArchivo(rutaCsv);
+        assertEquals(contenidosTest.size(), otro.getCantidadTotal());
+    }
+}
@@ -0,0 +1,56 @@
+package view;
+
+import model.*;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import javax.swing.event.TableModelEvent;
+
+/**
+ * Pruebas unitarias para ModeloTablaContenidos
+ */
+public class ModeloTablaContenidosTest {
+
+    @Test
+    @DisplayName("Test celdas leídas del contenido de cada fila")
+    void testCeldas() {
+        ModeloTablaContenidos modelo = new ModeloTablaContenidos();
+        Pelicula pelicula = new Pelicula("Avatar", 162, "Ciencia Ficción", "20th Century Studios");
+        Documental documental = new Documental("Cosmos", 45, "Ciencia", "Astronomía");
+        modelo.setContenidos(List.of(pelicula, documental));
+
+        assertEquals(2, modelo.getRowCount());
+        assertEquals(5, modelo.getColumnCount());
+        assertEquals("Título", modelo.getColumnName(2));
+        assertEquals(Integer.class, modelo.getColumnClass(3));
+        assertEquals(pelicula.getId(), modelo.getValueAt(0, 0));
+        assertEquals("Documental", modelo.getValueAt(1, 1));
+        assertEquals(45, modelo.getValueAt(1, 3));
+        assertFalse(modelo.isCellEditable(0, 2));
+
+        // Los cambios en el contenido se ven sin recargar la tabla
+        pelicula.setTitulo("Avatar 2");
+        assertEquals("Avatar 2", modelo.getValueAt(0, 2));
+    }
+
+    @Test
+    @DisplayName("Test reemplazar los resultados dispara un solo evento")
+    void testUnSoloEvento() {
+        ModeloTablaContenidos modelo = new ModeloTablaContenidos();
+        List<TableModelEvent> eventos = new ArrayList<>();
+        modelo.addTableModelListener(eventos::add);
+
+        List<ContenidoAudiovisual> muchos = new ArrayList<>(Collections.nCopies(100000,
+                new Pelicula("Repetida", 90, "Drama", "Estudio")));
+        modelo.setContenidos(muchos);
+        modelo.setContenidos(null);
+
+        assertEquals(2, eventos.size());
+        assertEquals(0, modelo.getRowCount());
+    }
+}